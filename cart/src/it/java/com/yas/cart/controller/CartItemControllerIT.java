@@ -95,6 +95,31 @@ class CartItemControllerIT extends AbstractControllerIT {
         }
     }
 
+    @Nested
+    class MergeCartItemsTest {
+
+        @Test
+        void testMergeCartItems_whenCartItemExists_shouldAddGuestQuantities() {
+            CartItemPostVm cartItemPostVm = new CartItemPostVm(existingProduct.id(), 1);
+            when(productService.existsById(anyLong())).thenReturn(true);
+            performCreateCartItemThenExpectSuccess(cartItemPostVm);
+
+            List<CartItemPostVm> guestCartItems = List.of(
+                new CartItemPostVm(existingProduct.id(), 2),
+                new CartItemPostVm(existingProduct.id() + 1, 1));
+
+            givenLoggedInAsAdmin()
+                .body(guestCartItems)
+                .when()
+                .post("/v1/storefront/cart/items/merge")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("size()", equalTo(2))
+                .body("find { it.productId == %d }.quantity".formatted(existingProduct.id()), equalTo(3))
+                .log().ifValidationFails();
+        }
+    }
+
     @Nested
     class UpdateCartItemTest {
 
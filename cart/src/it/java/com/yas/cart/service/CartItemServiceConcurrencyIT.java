@@ -0,0 +1,133 @@
+package com.yas.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import com.yas.cart.model.CartItem;
+import com.yas.cart.model.CartItemId;
+import com.yas.cart.repository.CartItemRepository;
+import com.yas.cart.viewmodel.CartItemPostVm;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Hammers a single cart item from many threads, every request must succeed and no quantity may be lost.
+ */
+@SpringBootTest
+@Testcontainers
+@ComponentScan(basePackages = {"com.yas.commonlibrary"})
+class CartItemServiceConcurrencyIT {
+
+    private static final String CUSTOMER_ID = "concurrent-customer";
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 200;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    private CartItemService cartItemService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @MockBean
+    private ProductSnapshotService productSnapshotService;
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        when(productSnapshotService.existsById(anyLong())).thenReturn(true);
+        executorService = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+        cartItemRepository.deleteAll();
+    }
+
+    @Test
+    void addCartItem_whenSameCartItemIsAddedConcurrently_shouldKeepEveryQuantity() throws Exception {
+        runConcurrently(() -> cartItemService.addCartItem(new CartItemPostVm(1L, 1)));
+
+        assertEquals(REQUESTS, getQuantity(1L));
+    }
+
+    @Test
+    void mergeCartItems_whenMergedConcurrentlyWithAdds_shouldKeepEveryQuantity() throws Exception {
+        List<CartItemPostVm> guestCartItems = List.of(new CartItemPostVm(3L, 1), new CartItemPostVm(2L, 2));
+
+        runConcurrently(() -> cartItemService.mergeCartItems(guestCartItems),
+            () -> cartItemService.addCartItem(new CartItemPostVm(2L, 1)));
+
+        assertEquals(REQUESTS / 2 * 3, getQuantity(2L));
+        assertEquals(REQUESTS / 2, getQuantity(3L));
+    }
+
+    /**
+     * Runs {@link #REQUESTS} requests, taking turns among the given ones, released at once on {@link #THREADS}
+     * threads, and fails if any of them failed.
+     */
+    private void runConcurrently(Runnable... requests) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            Runnable request = requests[i % requests.length];
+            tasks.add(() -> {
+                start.await();
+                SecurityContextHolder.getContext().setAuthentication(authentication());
+                try {
+                    request.run();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            });
+        }
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Callable<Void> task : tasks) {
+            futures.add(executorService.submit(task));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+    }
+
+    private int getQuantity(Long productId) {
+        return cartItemRepository.findById(new CartItemId(CUSTOMER_ID, productId))
+            .map(CartItem::getQuantity)
+            .orElse(0);
+    }
+
+    private static JwtAuthenticationToken authentication() {
+        Jwt jwt = Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .subject(CUSTOMER_ID)
+            .build();
+        return new JwtAuthenticationToken(jwt);
+    }
+}
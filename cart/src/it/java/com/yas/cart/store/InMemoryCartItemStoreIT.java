@@ -0,0 +1,136 @@
+package com.yas.cart.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import com.yas.cart.model.CartItem;
+import com.yas.cart.repository.CartItemRepository;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the in-memory cart store against the {@code cart_item} and {@code cart_version} tables created by the
+ * changelogs, with flushes triggered by the tests only.
+ */
+@SpringBootTest(properties = {
+    "yas.cart.store.type=memory",
+    "yas.cart.store.memory.flush-interval=PT1H",
+    "yas.cart.store.memory.revalidate-after=PT1H",
+    "spring.liquibase.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=none"
+})
+@Testcontainers
+@ComponentScan(basePackages = {"com.yas.commonlibrary"})
+class InMemoryCartItemStoreIT {
+
+    private static final String CUSTOMER_ID = "memory-customer";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    private InMemoryCartItemStore cartItemStore;
+
+    @Autowired
+    private CartItemSnapshotWriter cartItemSnapshotWriter;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        cartItemRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM cart_version");
+    }
+
+    @Test
+    void write_whenVersionIsClaimed_thenReplaceItemsAndRejectWritesOverOlderVersion() {
+        assertThat(cartItemSnapshotWriter.write(CUSTOMER_ID, List.of(cartItem(1L, 2), cartItem(2L, 1)), 0))
+            .isTrue();
+        assertThat(cartItemSnapshotWriter.write(CUSTOMER_ID, List.of(cartItem(3L, 9)), 0)).isFalse();
+        assertThat(cartItemSnapshotWriter.write(CUSTOMER_ID, List.of(cartItem(2L, 4)), 1)).isTrue();
+        assertThat(cartItemSnapshotWriter.write(CUSTOMER_ID, List.of(cartItem(3L, 9)), 1)).isFalse();
+
+        assertThat(cartItemSnapshotWriter.readVersion(CUSTOMER_ID)).isEqualTo(2);
+        assertThat(storedCartItems()).containsExactly(tuple(2L, 4));
+    }
+
+    @Test
+    void flush_whenCartChangedInMemory_thenWriteItOverItsVersion() {
+        cartItemStore.addQuantity(CUSTOMER_ID, 1L, 2);
+        cartItemStore.updateQuantity(CUSTOMER_ID, 2L, 3);
+
+        cartItemStore.flush();
+
+        assertThat(cartItemSnapshotWriter.readVersion(CUSTOMER_ID)).isEqualTo(1);
+        assertThat(storedCartItems()).containsExactlyInAnyOrder(tuple(1L, 2), tuple(2L, 3));
+    }
+
+    @Test
+    void flush_whenCartWrittenByAnotherInstance_thenReloadAndWriteChangesOnTop() {
+        cartItemStore.addQuantity(CUSTOMER_ID, 1L, 2);
+        cartItemStore.flush();
+        // another instance holding the cart at version 1 writes it first
+        assertThat(cartItemSnapshotWriter.write(CUSTOMER_ID, List.of(cartItem(1L, 5), cartItem(2L, 1)), 1))
+            .isTrue();
+
+        cartItemStore.addQuantity(CUSTOMER_ID, 1L, 1);
+        cartItemStore.flush();
+
+        assertThat(cartItemSnapshotWriter.readVersion(CUSTOMER_ID)).isEqualTo(3);
+        assertThat(storedCartItems()).containsExactlyInAnyOrder(tuple(1L, 6), tuple(2L, 1));
+        assertThat(cartItemStore.findByCustomerId(CUSTOMER_ID))
+            .extracting(CartItem::getProductId, CartItem::getQuantity)
+            .containsExactlyInAnyOrder(tuple(1L, 6), tuple(2L, 1));
+    }
+
+    @Test
+    void removeQuantities_whenCartHeldInMemory_thenWriteItFirstAndReloadAfterCommit() {
+        cartItemStore.addQuantity(CUSTOMER_ID, 1L, 4);
+        cartItemStore.addQuantity(CUSTOMER_ID, 2L, 1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            cartItemStore.removeQuantities(CUSTOMER_ID, Map.of(1L, 1, 2L, 1)));
+
+        assertThat(cartItemSnapshotWriter.readVersion(CUSTOMER_ID)).isEqualTo(2);
+        assertThat(storedCartItems()).containsExactly(tuple(1L, 3));
+        assertThat(cartItemStore.findByCustomerId(CUSTOMER_ID))
+            .extracting(CartItem::getProductId, CartItem::getQuantity)
+            .containsExactly(tuple(1L, 3));
+
+        cartItemStore.addQuantity(CUSTOMER_ID, 1L, 1);
+        cartItemStore.flush();
+        assertThat(cartItemSnapshotWriter.readVersion(CUSTOMER_ID)).isEqualTo(3);
+        assertThat(storedCartItems()).containsExactly(tuple(1L, 4));
+    }
+
+    private List<Tuple> storedCartItems() {
+        return cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(CUSTOMER_ID).stream()
+            .map(cartItem -> tuple(cartItem.getProductId(), cartItem.getQuantity()))
+            .toList();
+    }
+
+    private static CartItem cartItem(Long productId, int quantity) {
+        return CartItem.builder().customerId(CUSTOMER_ID).productId(productId).quantity(quantity).build();
+    }
+}
@@ -6,6 +6,7 @@ import com.yas.cart.viewmodel.CartItemGetVm;
 import com.yas.cart.viewmodel.CartItemPostVm;
 import com.yas.cart.viewmodel.CartItemPutVm;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +29,13 @@ public class CartItemController {
         return ResponseEntity.ok(cartItemGetVm);
     }
 
+    @PostMapping("/storefront/cart/items/merge")
+    public ResponseEntity<List<CartItemGetVm>> mergeCartItems(
+        @RequestBody @Size(max = 100) List<@Valid CartItemPostVm> cartItemPostVms) {
+        List<CartItemGetVm> cartItemGetVms = cartItemService.mergeCartItems(cartItemPostVms);
+        return ResponseEntity.ok(cartItemGetVms);
+    }
+
     @PutMapping("/storefront/cart/items/{productId}")
     public ResponseEntity<CartItemGetVm> updateCartItem(@PathVariable Long productId,
                                                         @Valid @RequestBody CartItemPutVm cartItemPutVm) {
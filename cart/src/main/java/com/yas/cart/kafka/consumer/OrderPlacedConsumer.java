@@ -0,0 +1,53 @@
+package com.yas.cart.kafka.consumer;
+
+import static com.yas.commonlibrary.kafka.cdc.config.OrderOutboxKafkaListenerConfig.ORDER_OUTBOX_LISTENER_CONTAINER_FACTORY;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.commonlibrary.kafka.cdc.BaseOrderPlacedConsumer;
+import com.yas.commonlibrary.kafka.cdc.RetrySupportDql;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxMsgKey;
+import com.yas.commonlibrary.kafka.cdc.message.OrderPlacedPayload;
+import com.yas.cart.service.OrderEventService;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Headers;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+/**
+ * Removes ordered products from the customer cart on order placed events relayed from the order outbox.
+ */
+@Service
+public class OrderPlacedConsumer extends BaseOrderPlacedConsumer {
+
+    private final OrderEventService orderEventService;
+
+    public OrderPlacedConsumer(OrderEventService orderEventService, ObjectMapper objectMapper) {
+        super(objectMapper);
+        this.orderEventService = orderEventService;
+    }
+
+    @KafkaListener(
+        id = "order-placed-cart",
+        groupId = "order-placed-cart",
+        topics = "${order.outbox.topic.name}",
+        containerFactory = ORDER_OUTBOX_LISTENER_CONTAINER_FACTORY,
+        autoStartup = "${yas.order-outbox.consumer.enabled:true}"
+    )
+    @RetrySupportDql(listenerContainerFactory = ORDER_OUTBOX_LISTENER_CONTAINER_FACTORY)
+    public void processMessage(
+        @Header(KafkaHeaders.RECEIVED_KEY) OrderOutboxMsgKey key,
+        @Payload(required = false) OrderOutboxCdcMessage orderOutboxCdcMessage,
+        @Headers MessageHeaders headers
+    ) {
+        processMessage(key, orderOutboxCdcMessage, headers, this::apply);
+    }
+
+    @Override
+    protected void applyOrderPlaced(String eventId, OrderPlacedPayload payload) {
+        orderEventService.applyOrderPlaced(eventId, payload);
+    }
+}
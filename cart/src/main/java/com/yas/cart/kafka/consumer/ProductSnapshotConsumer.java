@@ -0,0 +1,46 @@
+package com.yas.cart.kafka.consumer;
+
+import static com.yas.cart.kafka.config.consumer.ProductCdcKafkaListenerConfig.PRODUCT_CDC_BATCH_LISTENER_CONTAINER_FACTORY;
+
+import com.yas.cart.service.ProductSnapshotService;
+import com.yas.commonlibrary.kafka.cdc.BaseProductSnapshotConsumer;
+import com.yas.commonlibrary.kafka.cdc.message.Product;
+import com.yas.commonlibrary.kafka.cdc.message.ProductCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.ProductMsgKey;
+import java.util.List;
+import java.util.Set;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the product snapshot of the cart up to date from product CDC events. The topic is read from the
+ * beginning on first start, so that the snapshot also holds the products created before the cart subscribed.
+ * This relies on the topic being compacted, see {@link BaseProductSnapshotConsumer}.
+ */
+@Component
+public class ProductSnapshotConsumer extends BaseProductSnapshotConsumer {
+
+    private final ProductSnapshotService productSnapshotService;
+
+    public ProductSnapshotConsumer(ProductSnapshotService productSnapshotService) {
+        this.productSnapshotService = productSnapshotService;
+    }
+
+    @KafkaListener(
+        id = "product-snapshot-cart",
+        groupId = "product-snapshot-cart",
+        topics = "${product.topic.name}",
+        containerFactory = PRODUCT_CDC_BATCH_LISTENER_CONTAINER_FACTORY,
+        autoStartup = "${yas.product-snapshot.consumer.enabled:true}",
+        properties = "auto.offset.reset=earliest"
+    )
+    public void processMessages(List<ConsumerRecord<ProductMsgKey, ProductCdcMessage>> records) {
+        syncSnapshot(records);
+    }
+
+    @Override
+    protected void applySnapshotChanges(List<Product> upsertedProducts, Set<Long> deletedProductIds) {
+        productSnapshotService.sync(upsertedProducts, deletedProductIds);
+    }
+}
@@ -2,7 +2,6 @@ package com.yas.cart.mapper;
 
 import com.yas.cart.model.CartItem;
 import com.yas.cart.viewmodel.CartItemGetVm;
-import com.yas.cart.viewmodel.CartItemPostVm;
 import java.util.List;
 import org.springframework.stereotype.Component;
 
@@ -17,15 +16,6 @@ public class CartItemMapper {
             .build();
     }
 
-    public CartItem toCartItem(CartItemPostVm cartItemPostVm, String currentUserId) {
-        return CartItem
-            .builder()
-            .customerId(currentUserId)
-            .productId(cartItemPostVm.productId())
-            .quantity(cartItemPostVm.quantity())
-            .build();
-    }
-
     public CartItem toCartItem(String currentUserId, Long productId, int quantity) {
         return CartItem
             .builder()
@@ -0,0 +1,33 @@
+package com.yas.cart.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Local copy of the products known by the product service, kept up to date from the product CDC topic.
+ */
+@Entity
+@Table(name = "product_snapshot")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSnapshot {
+
+    @Id
+    private Long id;
+
+    private Double price;
+
+    @Column(name = "last_synced_on", nullable = false)
+    private ZonedDateTime lastSyncedOn;
+}
@@ -5,27 +5,14 @@ import com.yas.cart.model.CartItemId;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
 import java.util.List;
-import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface CartItemRepository extends JpaRepository<CartItem, CartItemId> {
-    /**
-     * Retrieves a cart item for a specific customer and product, locking the record to prevent concurrent
-     * modifications.
-     *
-     * @param customerId the ID of the customer whose cart item is being retrieved
-     * @param productId the ID of the product for which the cart item should be retrieved
-     * @return an {@link Optional} containing the {@link CartItem} entity associated with the specified customer
-     *         and product ID, or an empty {@link Optional} if no matching cart item is found
-     */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @QueryHints({@QueryHint(name = "jakarta.persistence.lock.timeout", value = "0")})
-    @Query("SELECT c FROM CartItem c WHERE c.customerId = :customerId AND c.productId = :productId")
-    Optional<CartItem> findByCustomerIdAndProductId(String customerId, Long productId);
-
     List<CartItem> findByCustomerIdOrderByCreatedOnDesc(String customerId);
 
     /**
@@ -41,4 +28,50 @@ public interface CartItemRepository extends JpaRepository<CartItem, CartItemId>
     List<CartItem> findByCustomerIdAndProductIdIn(String customerId, List<Long> productIds);
 
     void deleteByCustomerIdAndProductId(String customerId, Long productId);
+
+    /**
+     * Adds a quantity of a product to the cart of a customer in a single statement, creating the cart item when it
+     * does not exist. Concurrent calls on the same cart item are serialized by the database on the row, none of
+     * them fails.
+     *
+     * @param customerId the ID of the customer, also recorded as the author of the change
+     * @param productId the ID of the product to add
+     * @param quantity the quantity to add
+     * @return the quantity of the cart item after the addition
+     */
+    @Query(value = """
+        INSERT INTO cart_item AS c (customer_id, product_id, quantity,
+            created_by, created_on, last_modified_by, last_modified_on)
+        VALUES (:customerId, :productId, :quantity, :customerId, now(), :customerId, now())
+        ON CONFLICT (customer_id, product_id) DO UPDATE SET
+            quantity = c.quantity + EXCLUDED.quantity,
+            last_modified_by = EXCLUDED.last_modified_by,
+            last_modified_on = EXCLUDED.last_modified_on
+        RETURNING c.quantity
+        """, nativeQuery = true)
+    int addQuantity(@Param("customerId") String customerId, @Param("productId") Long productId,
+                    @Param("quantity") int quantity);
+
+    /**
+     * Batch variant of {@link #addQuantity(String, Long, int)}, adds the quantities of several products in a single
+     * statement. A product must appear only once, rows are locked in the order of the given product IDs.
+     *
+     * @param customerId the ID of the customer, also recorded as the author of the change
+     * @param productIds the IDs of the products to add
+     * @param quantities the quantities to add, in the same order as the product IDs
+     * @return the number of inserted or updated cart items
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO cart_item AS c (customer_id, product_id, quantity,
+            created_by, created_on, last_modified_by, last_modified_on)
+        SELECT :customerId, item.product_id, item.quantity, :customerId, now(), :customerId, now()
+        FROM unnest(CAST(:productIds AS bigint[]), CAST(:quantities AS integer[])) AS item(product_id, quantity)
+        ON CONFLICT (customer_id, product_id) DO UPDATE SET
+            quantity = c.quantity + EXCLUDED.quantity,
+            last_modified_by = EXCLUDED.last_modified_by,
+            last_modified_on = EXCLUDED.last_modified_on
+        """, nativeQuery = true)
+    int addQuantities(@Param("customerId") String customerId, @Param("productIds") Long[] productIds,
+                      @Param("quantities") Integer[] quantities);
 }
\ No newline at end of file
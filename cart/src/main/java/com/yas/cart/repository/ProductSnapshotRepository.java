@@ -0,0 +1,9 @@
+package com.yas.cart.repository;
+
+import com.yas.cart.model.ProductSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductSnapshotRepository extends JpaRepository<ProductSnapshot, Long> {
+}
@@ -2,36 +2,32 @@ package com.yas.cart.service;
 
 import com.yas.cart.mapper.CartItemMapper;
 import com.yas.cart.model.CartItem;
-import com.yas.cart.repository.CartItemRepository;
+import com.yas.cart.store.CartItemStore;
 import com.yas.cart.utils.Constants;
 import com.yas.cart.viewmodel.CartItemDeleteVm;
 import com.yas.cart.viewmodel.CartItemGetVm;
 import com.yas.cart.viewmodel.CartItemPostVm;
 import com.yas.cart.viewmodel.CartItemPutVm;
 import com.yas.commonlibrary.exception.BadRequestException;
-import com.yas.commonlibrary.exception.InternalServerErrorException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.commonlibrary.utils.AuthenticationUtils;
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.function.Function;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class CartItemService {
-    private final CartItemRepository cartItemRepository;
-    private final ProductService productService;
+    private final CartItemStore cartItemStore;
+    private final ProductSnapshotService productSnapshotService;
     private final CartItemMapper cartItemMapper;
 
     @Transactional
@@ -39,51 +35,69 @@ public class CartItemService {
         validateProduct(cartItemPostVm.productId());
 
         String currentUserId = AuthenticationUtils.extractUserId();
-        CartItem cartItem = performAddCartItem(cartItemPostVm, currentUserId);
+        CartItem cartItem = cartItemStore.addQuantity(currentUserId, cartItemPostVm.productId(),
+            cartItemPostVm.quantity());
 
         return cartItemMapper.toGetVm(cartItem);
     }
 
+    /**
+     * Adds several products to the cart of the current customer at once, e.g. to merge the cart built as a guest
+     * after signing in. Quantities of a product listed more than once are summed up.
+     *
+     * @return the cart items of the current customer after the merge
+     */
+    @Transactional
+    public List<CartItemGetVm> mergeCartItems(List<CartItemPostVm> cartItemPostVms) {
+        // sorted by product id, so that concurrent merges lock the rows of a cart in the same order
+        SortedMap<Long, Integer> quantityByProductId = cartItemPostVms.stream()
+            .collect(Collectors.toMap(CartItemPostVm::productId, CartItemPostVm::quantity, Integer::sum,
+                TreeMap::new));
+        quantityByProductId.keySet().forEach(this::validateProduct);
+
+        String currentUserId = AuthenticationUtils.extractUserId();
+        cartItemStore.addQuantities(currentUserId, quantityByProductId);
+        return cartItemMapper.toGetVms(cartItemStore.findByCustomerId(currentUserId));
+    }
+
     @Transactional
     public CartItemGetVm updateCartItem(Long productId, CartItemPutVm cartItemPutVm) {
         validateProduct(productId);
 
         String currentUserId = AuthenticationUtils.extractUserId();
-        CartItem cartItem = cartItemMapper.toCartItem(currentUserId, productId, cartItemPutVm.quantity());
-
-        CartItem savedCartItem = cartItemRepository.save(cartItem);
+        CartItem savedCartItem = cartItemStore.updateQuantity(currentUserId, productId, cartItemPutVm.quantity());
         return cartItemMapper.toGetVm(savedCartItem);
     }
 
     public List<CartItemGetVm> getCartItems() {
         String currentUserId = AuthenticationUtils.extractUserId();
-        List<CartItem> cartItems = cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(currentUserId);
+        List<CartItem> cartItems = cartItemStore.findByCustomerId(currentUserId);
         return cartItemMapper.toGetVms(cartItems);
     }
 
     @Transactional
     public List<CartItemGetVm> deleteOrAdjustCartItem(List<CartItemDeleteVm> cartItemDeleteVms) {
         validateCartItemDeleteVms(cartItemDeleteVms);
+        return performDeleteOrAdjustCartItem(AuthenticationUtils.extractUserId(), cartItemDeleteVms);
+    }
 
-        Map<Long, CartItem> cartItemById = getCartItemsByProductIds(cartItemDeleteVms);
-
-        List<CartItem> cartItemsToDelete = new ArrayList<>();
-        List<CartItem> cartItemsToAdjust = new ArrayList<>();
-
-        for (CartItemDeleteVm cartItemDeleteVm : cartItemDeleteVms) {
-            Optional<CartItem> optionalCartItem = Optional.ofNullable(cartItemById.get(cartItemDeleteVm.productId()));
-            optionalCartItem.ifPresent(cartItem -> {
-                if (cartItem.getQuantity() <= cartItemDeleteVm.quantity()) {
-                    cartItemsToDelete.add(cartItem);
-                } else {
-                    cartItem.setQuantity(cartItem.getQuantity() - cartItemDeleteVm.quantity());
-                    cartItemsToAdjust.add(cartItem);
-                }
-            });
-        }
+    /**
+     * Same as {@link #deleteOrAdjustCartItem(List)} for the cart of the given customer, used when the change does
+     * not come from a request of the customer.
+     */
+    @Transactional
+    public List<CartItemGetVm> deleteOrAdjustCartItem(String customerId, List<CartItemDeleteVm> cartItemDeleteVms) {
+        validateCartItemDeleteVms(cartItemDeleteVms);
+        return performDeleteOrAdjustCartItem(customerId, cartItemDeleteVms);
+    }
 
-        cartItemRepository.deleteAll(cartItemsToDelete);
-        List<CartItem> updatedCartItems = cartItemRepository.saveAll(cartItemsToAdjust);
+    private List<CartItemGetVm> performDeleteOrAdjustCartItem(String customerId,
+                                                              List<CartItemDeleteVm> cartItemDeleteVms) {
+        // a product listed twice has the same quantity, see validateCartItemDeleteVms, it is removed once
+        Map<Long, Integer> quantityByProductId = cartItemDeleteVms.stream()
+            .collect(Collectors.toMap(CartItemDeleteVm::productId, CartItemDeleteVm::quantity,
+                (quantity, sameQuantity) -> quantity, LinkedHashMap::new));
+        List<CartItem> updatedCartItems = cartItemStore.removeQuantities(customerId, quantityByProductId);
 
         return cartItemMapper.toGetVms(updatedCartItems);
     }
@@ -91,36 +105,15 @@ public class CartItemService {
     @Transactional
     public void deleteCartItem(Long productId) {
         String currentUserId = AuthenticationUtils.extractUserId();
-        cartItemRepository.deleteByCustomerIdAndProductId(currentUserId, productId);
+        cartItemStore.delete(currentUserId, productId);
     }
 
     private void validateProduct(Long productId) {
-        if (!productService.existsById(productId)) {
+        if (!productSnapshotService.existsById(productId)) {
             throw new NotFoundException(Constants.ErrorCode.NOT_FOUND_PRODUCT, productId);
         }
     }
 
-    private CartItem performAddCartItem(CartItemPostVm cartItemPostVm, String currentUserId) {
-        try {
-            return cartItemRepository.findByCustomerIdAndProductId(currentUserId, cartItemPostVm.productId())
-                .map(existingCartItem -> updateExistingCartItem(cartItemPostVm, existingCartItem))
-                .orElseGet(() -> createNewCartItem(cartItemPostVm, currentUserId));
-        } catch (PessimisticLockingFailureException e) {
-            log.error("Failed to acquire lock for adding cart item", e);
-            throw new InternalServerErrorException(Constants.ErrorCode.ADD_CART_ITEM_FAILED);
-        }
-    }
-
-    private CartItem createNewCartItem(CartItemPostVm cartItemPostVm, String currentUserId) {
-        CartItem cartItem = cartItemMapper.toCartItem(cartItemPostVm, currentUserId);
-        return cartItemRepository.save(cartItem);
-    }
-
-    private CartItem updateExistingCartItem(CartItemPostVm cartItemPostVm, CartItem existingCartItem) {
-        existingCartItem.setQuantity(existingCartItem.getQuantity() + cartItemPostVm.quantity());
-        return cartItemRepository.save(existingCartItem);
-    }
-
     private void validateCartItemDeleteVms(List<CartItemDeleteVm> cartItemDeleteVms) {
         Map<Long, Integer> quantityByProductId = new HashMap<>();
 
@@ -134,16 +127,4 @@ public class CartItemService {
             quantityByProductId.put(cartItemDeleteVm.productId(), cartItemDeleteVm.quantity());
         }
     }
-
-    private Map<Long, CartItem> getCartItemsByProductIds(List<CartItemDeleteVm> cartItemDeleteVms) {
-        String currentUserId = AuthenticationUtils.extractUserId();
-        List<Long> productIds = cartItemDeleteVms
-            .stream()
-            .map(CartItemDeleteVm::productId)
-            .toList();
-        List<CartItem> cartItems = cartItemRepository.findByCustomerIdAndProductIdIn(currentUserId, productIds);
-        return cartItems
-            .stream()
-            .collect(Collectors.toMap(CartItem::getProductId, Function.identity()));
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.yas.cart.service;
+
+import com.yas.cart.viewmodel.CartItemDeleteVm;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxEvent;
+import com.yas.commonlibrary.kafka.cdc.message.OrderPlacedPayload;
+import com.yas.commonlibrary.repository.ProcessedEventRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies the cart side effects of order events. The event id is recorded in the same transaction as the
+ * cart update, so an event delivered more than once removes the ordered quantities only once.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OrderEventService {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final CartItemService cartItemService;
+
+    public void applyOrderPlaced(String eventId, OrderPlacedPayload payload) {
+        if (processedEventRepository.insertIfAbsent(eventId, OrderOutboxEvent.ORDER_PLACED) == 0) {
+            log.info("Order placed event {} of order {} is already processed", eventId, payload.orderId());
+            return;
+        }
+        if (payload.customerId() == null) {
+            log.warn("Order placed event {} of order {} has no customer, skip cart update",
+                eventId, payload.orderId());
+            return;
+        }
+        // the same product may be ordered on several lines, remove their total quantity
+        Map<Long, Integer> quantityByProductId = payload.items().stream()
+            .collect(Collectors.toMap(OrderPlacedPayload.Item::productId, OrderPlacedPayload.Item::quantity,
+                Integer::sum));
+        List<CartItemDeleteVm> cartItemDeleteVms = quantityByProductId.entrySet().stream()
+            .map(entry -> new CartItemDeleteVm(entry.getKey(), entry.getValue()))
+            .toList();
+        cartItemService.deleteOrAdjustCartItem(payload.customerId(), cartItemDeleteVms);
+    }
+}
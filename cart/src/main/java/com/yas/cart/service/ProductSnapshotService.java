@@ -0,0 +1,65 @@
+package com.yas.cart.service;
+
+import com.yas.cart.repository.ProductSnapshotRepository;
+import com.yas.commonlibrary.kafka.cdc.message.Product;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Validates cart products against the local product snapshot instead of calling the product service on every
+ * cart change. Products missing from the snapshot, e.g. created before their CDC event was consumed, are
+ * looked up on the product service.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSnapshotService {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO product_snapshot (id, price, last_synced_on) VALUES (:id, :price, now())
+        ON CONFLICT (id) DO UPDATE SET price = EXCLUDED.price, last_synced_on = EXCLUDED.last_synced_on
+        """;
+
+    private final ProductSnapshotRepository productSnapshotRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ProductService productService;
+
+    public boolean existsById(Long productId) {
+        if (productSnapshotRepository.existsById(productId)) {
+            return true;
+        }
+        log.debug("Product {} is not in the snapshot, look it up on the product service", productId);
+        return productService.existsById(productId);
+    }
+
+    /**
+     * Applies the changes of a batch of product CDC messages to the snapshot. The products are upserted with one
+     * batched {@code INSERT ... ON CONFLICT} statement rather than {@code saveAll}, which selects every product
+     * with an assigned id before inserting or updating it.
+     *
+     * @param upsertedProducts  the products to insert or update, at most once each
+     * @param deletedProductIds the ids of the products to remove
+     */
+    @Transactional
+    public void sync(List<Product> upsertedProducts, Set<Long> deletedProductIds) {
+        if (!deletedProductIds.isEmpty()) {
+            productSnapshotRepository.deleteAllByIdInBatch(deletedProductIds);
+        }
+        if (!upsertedProducts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, upsertedProducts.stream()
+                .map(product -> new MapSqlParameterSource()
+                    .addValue("id", product.getId())
+                    .addValue("price", product.getPrice()))
+                .toArray(SqlParameterSource[]::new));
+        }
+        log.debug("Product snapshot synced, {} upserted, {} deleted", upsertedProducts.size(),
+            deletedProductIds.size());
+    }
+}
@@ -0,0 +1,93 @@
+package com.yas.cart.store;
+
+import com.yas.cart.model.CartItem;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes whole carts of the {@link InMemoryCartItemStore} to the {@code cart_item} table.
+ *
+ * <p>Every write of a cart increments its version in the {@code cart_version} table, a cart without a row being at
+ * version 0. A snapshot is only written over the version it was read at, so that it cannot overwrite changes made
+ * meanwhile by another instance.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "yas.cart.store.type", havingValue = "memory")
+public class CartItemSnapshotWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Gets the current version of a cart, to be read before its items.
+     */
+    public long readVersion(String customerId) {
+        List<Long> versions = jdbcTemplate.queryForList(
+            "SELECT version FROM cart_version WHERE customer_id = ?", Long.class, customerId);
+        return versions.isEmpty() ? 0 : versions.getFirst();
+    }
+
+    /**
+     * Increments the version of a cart whose items are changed in the current transaction, the version row stays
+     * locked until it ends.
+     */
+    @Transactional
+    public void incrementVersion(String customerId) {
+        jdbcTemplate.update("""
+                INSERT INTO cart_version (customer_id, version) VALUES (?, 1)
+                ON CONFLICT (customer_id) DO UPDATE SET version = cart_version.version + 1
+                """,
+            customerId);
+    }
+
+    /**
+     * Replaces the stored items of a cart with the given ones, in a transaction of its own, unless the cart is no
+     * longer at the given version.
+     *
+     * @return whether the items are written, the cart then being at the next version
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean write(String customerId, Collection<CartItem> cartItems, long version) {
+        int claimed = version == 0
+            ? jdbcTemplate.update("""
+                INSERT INTO cart_version (customer_id, version) VALUES (?, 1)
+                ON CONFLICT (customer_id) DO NOTHING
+                """, customerId)
+            : jdbcTemplate.update("""
+                UPDATE cart_version SET version = version + 1 WHERE customer_id = ? AND version = ?
+                """, customerId, version);
+        if (claimed == 0) {
+            return false;
+        }
+        jdbcTemplate.update("DELETE FROM cart_item WHERE customer_id = ?", customerId);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO cart_item (customer_id, product_id, quantity,
+                    created_by, created_on, last_modified_by, last_modified_on)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """,
+            cartItems,
+            cartItems.size(),
+            (ps, cartItem) -> {
+                ps.setString(1, customerId);
+                ps.setLong(2, cartItem.getProductId());
+                ps.setInt(3, cartItem.getQuantity());
+                ps.setString(4, cartItem.getCreatedBy());
+                ps.setObject(5, toOffsetDateTime(cartItem.getCreatedOn()));
+                ps.setString(6, cartItem.getLastModifiedBy());
+                ps.setObject(7, toOffsetDateTime(cartItem.getLastModifiedOn()));
+            });
+        return true;
+    }
+
+    private static OffsetDateTime toOffsetDateTime(ZonedDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toOffsetDateTime();
+    }
+}
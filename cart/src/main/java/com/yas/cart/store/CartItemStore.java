@@ -0,0 +1,51 @@
+package com.yas.cart.store;
+
+import com.yas.cart.model.CartItem;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Storage of the cart items, selected with {@code yas.cart.store.type}: {@code database} (default) reads and writes
+ * the {@code cart_item} table directly, {@code memory} keeps the carts in memory and writes them behind to the
+ * {@code cart_item} table.
+ */
+public interface CartItemStore {
+
+    /**
+     * Adds a quantity of a product to a cart, creating the cart item when it does not exist.
+     *
+     * @return the cart item after the addition
+     */
+    CartItem addQuantity(String customerId, Long productId, int quantity);
+
+    /**
+     * Adds the quantities of several products to a cart at once.
+     *
+     * @param quantityByProductId the quantities to add, a product appears only once
+     */
+    void addQuantities(String customerId, SortedMap<Long, Integer> quantityByProductId);
+
+    /**
+     * Sets the quantity of a product in a cart, creating the cart item when it does not exist.
+     *
+     * @return the cart item after the update
+     */
+    CartItem updateQuantity(String customerId, Long productId, int quantity);
+
+    /**
+     * Gets the items of a cart, most recently added first.
+     */
+    List<CartItem> findByCustomerId(String customerId);
+
+    /**
+     * Removes quantities of products from a cart, cart items whose quantity drops to zero or below are deleted.
+     * Products not in the cart are ignored.
+     *
+     * @param quantityByProductId the quantities to remove, a product appears only once
+     * @return the adjusted cart items which are still in the cart
+     */
+    List<CartItem> removeQuantities(String customerId, Map<Long, Integer> quantityByProductId);
+
+    void delete(String customerId, Long productId);
+}
@@ -0,0 +1,471 @@
+package com.yas.cart.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.yas.cart.model.CartItem;
+import com.yas.cart.repository.CartItemRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cart items kept in memory, for carts which change often and are mostly abandoned.
+ *
+ * <p>A cart is loaded from the {@code cart_item} table on first use and expires after
+ * {@code yas.cart.store.memory.expire-after-access} without use. Changed carts are written as a whole to the table
+ * every {@code yas.cart.store.memory.flush-interval}, when they expire and on shutdown, so a crash loses at most the
+ * changes of the last interval.</p>
+ *
+ * <p>Removals are written through instead, in the transaction of the caller, since they also come from order events
+ * consumed by any instance. Several instances may thus hold a copy of a same cart: a copy is only written over the
+ * version it was loaded at, see {@link CartItemSnapshotWriter}. A copy found out of date, when written or when used
+ * {@code yas.cart.store.memory.revalidate-after} after its last check, is reloaded and its unwritten changes are
+ * applied again on top, as quantity differences. Routing the requests of a customer consistently to one instance
+ * keeps such conflicts rare. An item added less than a flush interval before its order is placed may stay in the
+ * cart, as the order event does not see it yet.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "yas.cart.store.type", havingValue = "memory")
+public class InMemoryCartItemStore implements CartItemStore {
+
+    private final CartItemRepository cartItemRepository;
+    private final CartItemSnapshotWriter cartItemSnapshotWriter;
+    private final JpaCartItemStore writeThroughStore;
+    private final Ticker ticker;
+    private final long revalidateAfterNanos;
+    private final Clock clock;
+    private final Cache<String, StoredCart> carts;
+    private final Set<String> changedCustomerIds = ConcurrentHashMap.newKeySet();
+    // expired carts not written yet, they are written on next flush unless used again before
+    private final Map<String, StoredCart> unwrittenCarts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InMemoryCartItemStore(
+        CartItemRepository cartItemRepository,
+        CartItemSnapshotWriter cartItemSnapshotWriter,
+        @Value("${yas.cart.store.memory.maximum-size:100000}") long maximumSize,
+        @Value("${yas.cart.store.memory.expire-after-access:PT30M}") Duration expireAfterAccess,
+        @Value("${yas.cart.store.memory.revalidate-after:PT5S}") Duration revalidateAfter
+    ) {
+        this(cartItemRepository, cartItemSnapshotWriter, maximumSize, expireAfterAccess, revalidateAfter,
+            Ticker.systemTicker(), Clock.systemDefaultZone());
+    }
+
+    InMemoryCartItemStore(CartItemRepository cartItemRepository, CartItemSnapshotWriter cartItemSnapshotWriter,
+                          long maximumSize, Duration expireAfterAccess, Duration revalidateAfter, Ticker ticker,
+                          Clock clock) {
+        this.cartItemRepository = cartItemRepository;
+        this.cartItemSnapshotWriter = cartItemSnapshotWriter;
+        this.writeThroughStore = new JpaCartItemStore(cartItemRepository);
+        this.ticker = ticker;
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+        this.clock = clock;
+        this.carts = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .ticker(ticker)
+            .executor(Runnable::run)
+            .evictionListener(this::onEviction)
+            .build();
+    }
+
+    @Override
+    public CartItem addQuantity(String customerId, Long productId, int quantity) {
+        return change(customerId, cart -> {
+            CartItem cartItem = cart.get(productId);
+            int addedQuantity = cartItem == null ? quantity : cartItem.getQuantity() + quantity;
+            return copyOf(put(customerId, cart, productId, addedQuantity));
+        });
+    }
+
+    @Override
+    public void addQuantities(String customerId, SortedMap<Long, Integer> quantityByProductId) {
+        change(customerId, cart -> {
+            quantityByProductId.forEach((productId, quantity) -> {
+                CartItem cartItem = cart.get(productId);
+                put(customerId, cart, productId, cartItem == null ? quantity : cartItem.getQuantity() + quantity);
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public CartItem updateQuantity(String customerId, Long productId, int quantity) {
+        return change(customerId, cart -> copyOf(put(customerId, cart, productId, quantity)));
+    }
+
+    @Override
+    public List<CartItem> findByCustomerId(String customerId) {
+        return read(customerId, cart -> cart.values().stream()
+            .sorted(Comparator.comparing(CartItem::getCreatedOn, Comparator.nullsLast(Comparator.reverseOrder())))
+            .map(InMemoryCartItemStore::copyOf)
+            .toList());
+    }
+
+    /**
+     * Removes quantities of products from the stored cart, in the transaction of the caller. The copy held here is
+     * written first, so that the removal applies to its changes, and reloaded on next use once the removal commits.
+     */
+    @Override
+    public List<CartItem> removeQuantities(String customerId, Map<Long, Integer> quantityByProductId) {
+        StoredCart cart = carts.policy().getIfPresentQuietly(customerId);
+        if (cart != null) {
+            write(customerId, cart);
+        }
+        // locks the version row first, as the snapshot writes do, so that a concurrent write waits for the removal
+        cartItemSnapshotWriter.incrementVersion(customerId);
+        List<CartItem> adjustedCartItems = writeThroughStore.removeQuantities(customerId, quantityByProductId);
+        revalidateAfterCommit(customerId);
+        return adjustedCartItems;
+    }
+
+    @Override
+    public void delete(String customerId, Long productId) {
+        change(customerId, cart -> cart.remove(productId));
+    }
+
+    /**
+     * Writes the changed carts to the database, the carts held in memory then the expired ones.
+     */
+    @Scheduled(fixedDelayString = "${yas.cart.store.memory.flush-interval:PT5S}")
+    public void flush() {
+        carts.cleanUp();
+        for (String customerId : changedCustomerIds) {
+            changedCustomerIds.remove(customerId);
+            StoredCart cart = carts.policy().getIfPresentQuietly(customerId);
+            if (cart != null) {
+                write(customerId, cart);
+            }
+        }
+        unwrittenCarts.forEach((customerId, cart) -> {
+            if (write(customerId, cart)) {
+                unwrittenCarts.remove(customerId, cart);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Applies a change to a cart, atomically with the other changes and the expiry of the cart.
+     */
+    private <T> T change(String customerId, Function<Map<Long, CartItem>, T> change) {
+        while (true) {
+            StoredCart cart = cart(customerId);
+            synchronized (cart) {
+                // an expired cart is changed once taken back from the unwritten carts or loaded again
+                if (!cart.evicted) {
+                    T result = change.apply(cart.items);
+                    cart.changed = true;
+                    changedCustomerIds.add(customerId);
+                    return result;
+                }
+            }
+        }
+    }
+
+    private <T> T read(String customerId, Function<Map<Long, CartItem>, T> read) {
+        StoredCart cart = cart(customerId);
+        synchronized (cart) {
+            return read.apply(cart.items);
+        }
+    }
+
+    /**
+     * Gets a cart held in memory, loading it first when needed. The database is never accessed while the cache
+     * entry is locked: a cart is loaded before being offered to the cache, and kept only if no other thread added
+     * the cart meanwhile.
+     */
+    private StoredCart cart(String customerId) {
+        StoredCart cart = carts.asMap().computeIfAbsent(customerId, this::takeUnwritten);
+        if (cart == null) {
+            StoredCart loadedCart = loadStored(customerId);
+            cart = carts.asMap().computeIfAbsent(customerId,
+                id -> Objects.requireNonNullElse(takeUnwritten(id), loadedCart));
+        }
+        revalidate(customerId, cart);
+        return cart;
+    }
+
+    private StoredCart takeUnwritten(String customerId) {
+        StoredCart unwrittenCart = unwrittenCarts.remove(customerId);
+        if (unwrittenCart != null) {
+            synchronized (unwrittenCart) {
+                unwrittenCart.evicted = false;
+                if (unwrittenCart.changed) {
+                    changedCustomerIds.add(customerId);
+                }
+            }
+        }
+        return unwrittenCart;
+    }
+
+    private StoredCart loadStored(String customerId) {
+        // the version is read first, items written meanwhile are then overwritten only after a reload
+        long version = cartItemSnapshotWriter.readVersion(customerId);
+        Map<Long, CartItem> cart = new LinkedHashMap<>();
+        cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(customerId)
+            .forEach(cartItem -> cart.put(cartItem.getProductId(), copyOf(cartItem)));
+        return new StoredCart(cart, version, ticker.read());
+    }
+
+    /**
+     * Reloads a cart held in memory when its stored version changed, keeping its unwritten changes.
+     */
+    private void revalidate(String customerId, StoredCart cart) {
+        long now = ticker.read();
+        synchronized (cart) {
+            if (!cart.outdated && now - cart.validatedAt < revalidateAfterNanos) {
+                return;
+            }
+        }
+        cart.storeLock.lock();
+        try {
+            long version;
+            synchronized (cart) {
+                if (!cart.outdated && now - cart.validatedAt < revalidateAfterNanos) {
+                    return;
+                }
+                // cleared first, so that a removal committing meanwhile marks the cart outdated again
+                cart.outdated = false;
+                version = cart.version;
+            }
+            StoredCart stored = cartItemSnapshotWriter.readVersion(customerId) == version
+                ? null
+                : loadStored(customerId);
+            synchronized (cart) {
+                if (stored == null) {
+                    cart.validatedAt = now;
+                } else {
+                    cart.rebase(stored);
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (cart) {
+                cart.outdated = true;
+            }
+            throw e;
+        } finally {
+            cart.storeLock.unlock();
+        }
+    }
+
+    private void revalidateAfterCommit(String customerId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markOutdated(customerId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markOutdated(customerId);
+            }
+        });
+    }
+
+    private void markOutdated(String customerId) {
+        StoredCart cart = carts.policy().getIfPresentQuietly(customerId);
+        if (cart != null) {
+            synchronized (cart) {
+                cart.outdated = true;
+            }
+        }
+    }
+
+    private CartItem put(String customerId, Map<Long, CartItem> cart, Long productId, int quantity) {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        CartItem cartItem = cart.computeIfAbsent(productId, id -> {
+            CartItem newCartItem = CartItem.builder().customerId(customerId).productId(id).build();
+            newCartItem.setCreatedBy(customerId);
+            newCartItem.setCreatedOn(now);
+            return newCartItem;
+        });
+        cartItem.setQuantity(quantity);
+        cartItem.setLastModifiedBy(customerId);
+        cartItem.setLastModifiedOn(now);
+        return cartItem;
+    }
+
+    /**
+     * Keeps a changed cart, or a cart being written, when it is evicted, until it is written by the next flush. The
+     * listener runs while the entry is being removed, so the cart is taken back from the unwritten carts rather than
+     * loaded again from the database before it is written.
+     */
+    private void onEviction(String customerId, StoredCart cart, RemovalCause cause) {
+        if (customerId == null || cart == null) {
+            return;
+        }
+        synchronized (cart) {
+            cart.evicted = true;
+            if (cart.changed || cart.writing) {
+                unwrittenCarts.put(customerId, cart);
+            }
+        }
+    }
+
+    /**
+     * Writes a changed cart over the version it was loaded at. When another instance or a removal wrote it meanwhile,
+     * the cart is reloaded with its changes applied on top and written once more. The items are copied while the cart
+     * is locked and written outside of the lock, changes made meanwhile are written by the next flush.
+     *
+     * @return whether the cart is unchanged since it was written, false when it is to be written again
+     */
+    private boolean write(String customerId, StoredCart cart) {
+        cart.storeLock.lock();
+        try {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                List<CartItem> cartItems;
+                long version;
+                synchronized (cart) {
+                    if (!cart.changed) {
+                        return true;
+                    }
+                    cartItems = cart.items.values().stream().map(InMemoryCartItemStore::copyOf).toList();
+                    version = cart.version;
+                    cart.changed = false;
+                    cart.writing = true;
+                }
+                boolean written = false;
+                StoredCart stored = null;
+                try {
+                    written = cartItemSnapshotWriter.write(customerId, cartItems, version);
+                    if (!written) {
+                        stored = loadStored(customerId);
+                    }
+                } finally {
+                    synchronized (cart) {
+                        cart.writing = false;
+                        if (written) {
+                            cart.written(cartItems, ticker.read());
+                        } else {
+                            cart.changed = true;
+                            if (stored != null) {
+                                cart.rebase(stored);
+                            }
+                        }
+                    }
+                }
+                if (written) {
+                    return true;
+                }
+            }
+            log.info("Cart of customer {} is written concurrently, retry on next flush", customerId);
+        } catch (RuntimeException e) {
+            log.error("Failed to write cart of customer {}, retry on next flush", customerId, e);
+        } finally {
+            cart.storeLock.unlock();
+        }
+        changedCustomerIds.add(customerId);
+        return false;
+    }
+
+    private static CartItem copyOf(CartItem cartItem) {
+        CartItem copy = CartItem.builder()
+            .customerId(cartItem.getCustomerId())
+            .productId(cartItem.getProductId())
+            .quantity(cartItem.getQuantity())
+            .build();
+        copy.setCreatedBy(cartItem.getCreatedBy());
+        copy.setCreatedOn(cartItem.getCreatedOn());
+        copy.setLastModifiedBy(cartItem.getLastModifiedBy());
+        copy.setLastModifiedOn(cartItem.getLastModifiedOn());
+        return copy;
+    }
+
+    /**
+     * A cart held in memory, with the quantities of its items as stored at {@link #version}. Its fields are accessed
+     * while it is locked, the database is accessed while its {@link #storeLock} only is held, so that the writes and
+     * the reloads of a same cart cannot overtake each other.
+     */
+    private static final class StoredCart {
+        private final ReentrantLock storeLock = new ReentrantLock();
+        private Map<Long, CartItem> items;
+        private Map<Long, Integer> storedQuantities;
+        private long version;
+        private long validatedAt;
+        private boolean outdated;
+        private boolean changed;
+        private boolean writing;
+        private boolean evicted;
+
+        StoredCart(Map<Long, CartItem> items, long version, long validatedAt) {
+            this.items = items;
+            this.storedQuantities = quantities(items);
+            this.version = version;
+            this.validatedAt = validatedAt;
+        }
+
+        void written(Collection<CartItem> writtenItems, long now) {
+            storedQuantities = quantities(writtenItems);
+            version++;
+            validatedAt = now;
+        }
+        /**
+         * Replaces the stored state of this cart with a newer one, then applies again the quantity differences of
+         * this cart with its previous stored state.
+         */
+        void rebase(StoredCart stored) {
+            Map<Long, CartItem> rebasedItems = new LinkedHashMap<>(stored.items);
+            Set<Long> productIds = new HashSet<>(items.keySet());
+            productIds.addAll(storedQuantities.keySet());
+            for (Long productId : productIds) {
+                CartItem cartItem = items.get(productId);
+                int difference = (cartItem == null ? 0 : cartItem.getQuantity())
+                    - storedQuantities.getOrDefault(productId, 0);
+                if (difference == 0) {
+                    continue;
+                }
+                CartItem storedCartItem = rebasedItems.get(productId);
+                int quantity = (storedCartItem == null ? 0 : storedCartItem.getQuantity()) + difference;
+                if (quantity <= 0) {
+                    rebasedItems.remove(productId);
+                } else {
+                    CartItem rebasedItem = copyOf(cartItem != null ? cartItem : storedCartItem);
+                    rebasedItem.setQuantity(quantity);
+                    rebasedItems.put(productId, rebasedItem);
+                }
+            }
+            items = rebasedItems;
+            storedQuantities = stored.storedQuantities;
+            version = stored.version;
+            validatedAt = stored.validatedAt;
+        }
+
+        private static Map<Long, Integer> quantities(Map<Long, CartItem> items) {
+            return quantities(items.values());
+        }
+
+        private static Map<Long, Integer> quantities(Collection<CartItem> items) {
+            return items.stream()
+                .collect(Collectors.toMap(CartItem::getProductId, CartItem::getQuantity));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.yas.cart.store;
+
+import com.yas.cart.model.CartItem;
+import com.yas.cart.repository.CartItemRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cart items stored in the {@code cart_item} table, every change is written in the transaction of the caller.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "yas.cart.store.type", havingValue = "database", matchIfMissing = true)
+public class JpaCartItemStore implements CartItemStore {
+
+    private final CartItemRepository cartItemRepository;
+
+    @Override
+    public CartItem addQuantity(String customerId, Long productId, int quantity) {
+        int addedQuantity = cartItemRepository.addQuantity(customerId, productId, quantity);
+        return CartItem.builder().customerId(customerId).productId(productId).quantity(addedQuantity).build();
+    }
+
+    @Override
+    public void addQuantities(String customerId, SortedMap<Long, Integer> quantityByProductId) {
+        if (quantityByProductId.isEmpty()) {
+            return;
+        }
+        cartItemRepository.addQuantities(customerId,
+            quantityByProductId.keySet().toArray(Long[]::new),
+            quantityByProductId.values().toArray(Integer[]::new));
+    }
+
+    @Override
+    public CartItem updateQuantity(String customerId, Long productId, int quantity) {
+        CartItem cartItem = CartItem.builder().customerId(customerId).productId(productId).quantity(quantity).build();
+        return cartItemRepository.save(cartItem);
+    }
+
+    @Override
+    public List<CartItem> findByCustomerId(String customerId) {
+        return cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(customerId);
+    }
+
+    @Override
+    public List<CartItem> removeQuantities(String customerId, Map<Long, Integer> quantityByProductId) {
+        Map<Long, CartItem> cartItemByProductId = cartItemRepository
+            .findByCustomerIdAndProductIdIn(customerId, new ArrayList<>(quantityByProductId.keySet()))
+            .stream()
+            .collect(Collectors.toMap(CartItem::getProductId, Function.identity()));
+
+        List<CartItem> cartItemsToDelete = new ArrayList<>();
+        List<CartItem> cartItemsToAdjust = new ArrayList<>();
+        quantityByProductId.forEach((productId, quantityToRemove) -> {
+            CartItem cartItem = cartItemByProductId.get(productId);
+            if (cartItem == null) {
+                return;
+            }
+            if (cartItem.getQuantity() <= quantityToRemove) {
+                cartItemsToDelete.add(cartItem);
+            } else {
+                cartItem.setQuantity(cartItem.getQuantity() - quantityToRemove);
+                cartItemsToAdjust.add(cartItem);
+            }
+        });
+
+        cartItemRepository.deleteAll(cartItemsToDelete);
+        return cartItemRepository.saveAll(cartItemsToAdjust);
+    }
+
+    @Override
+    public void delete(String customerId, Long productId) {
+        cartItemRepository.deleteByCustomerIdAndProductId(customerId, productId);
+    }
+}
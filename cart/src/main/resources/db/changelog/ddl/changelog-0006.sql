@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset yas:product-snapshot
+CREATE TABLE IF NOT EXISTS product_snapshot (
+    id BIGINT NOT NULL PRIMARY KEY,
+    price DOUBLE PRECISION,
+    last_synced_on TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
@@ -0,0 +1,7 @@
+--liquibase formatted sql
+
+--changeset yas:cart-version
+CREATE TABLE IF NOT EXISTS cart_version (
+    customer_id VARCHAR(255) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
@@ -22,6 +22,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -109,6 +110,37 @@ class CartItemControllerTest {
         }
     }
 
+    @Nested
+    class MergeCartItemsTest {
+
+        @Test
+        void testMergeCartItems_whenMoreThanMaxItems_shouldReturnBadRequest() throws Exception {
+            List<CartItemPostVm> cartItemPostVms = LongStream.rangeClosed(1, 101)
+                    .mapToObj(productId -> new CartItemPostVm(productId, 1))
+                    .toList();
+
+            mockMvc.perform(post("/storefront/cart/items/merge")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(cartItemPostVms)))
+                    .andExpect(status().isBadRequest());
+
+            verify(cartItemService, never()).mergeCartItems(anyList());
+        }
+
+        @Test
+        void testMergeCartItems_whenValidRequest_shouldReturnMergedCartItems() throws Exception {
+            List<CartItemPostVm> cartItemPostVms = List.of(new CartItemPostVm(PRODUCT_ID_SAMPLE, 2));
+            when(cartItemService.mergeCartItems(cartItemPostVms)).thenReturn(List.of(
+                    new CartItemGetVm(CUSTOMER_ID_SAMPLE, PRODUCT_ID_SAMPLE, 2)));
+
+            mockMvc.perform(post("/storefront/cart/items/merge")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(cartItemPostVms)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].quantity").value(2));
+        }
+    }
+
     @Nested
     class UpdateCartItemTest {
 
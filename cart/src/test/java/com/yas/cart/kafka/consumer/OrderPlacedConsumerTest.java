@@ -0,0 +1,91 @@
+package com.yas.cart.kafka.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.cart.service.CartItemService;
+import com.yas.cart.service.OrderEventService;
+import com.yas.cart.viewmodel.CartItemDeleteVm;
+import com.yas.commonlibrary.kafka.cdc.message.Operation;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxEvent;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxMsgKey;
+import com.yas.commonlibrary.repository.ProcessedEventRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class OrderPlacedConsumerTest {
+
+    private static final String EVENT_ID = "5f0c6f8e-1c1f-4b4e-9a57-8d7b0f7f2a11";
+    private static final String PAYLOAD = """
+        {"orderId":10,"customerId":"user-1","couponCode":null,
+        "items":[{"productId":1,"quantity":2},{"productId":1,"quantity":1},{"productId":2,"quantity":1}]}
+        """;
+
+    private ProcessedEventRepository processedEventRepository;
+    private CartItemService cartItemService;
+    private OrderPlacedConsumer orderPlacedConsumer;
+
+    @BeforeEach
+    void setUp() {
+        processedEventRepository = mock(ProcessedEventRepository.class);
+        cartItemService = mock(CartItemService.class);
+        orderPlacedConsumer = new OrderPlacedConsumer(
+            new OrderEventService(processedEventRepository, cartItemService), new ObjectMapper());
+    }
+
+    @Test
+    void apply_whenOrderPlacedForTheFirstTime_removesOrderedQuantitiesFromCustomerCart() {
+        when(processedEventRepository.insertIfAbsent(EVENT_ID, OrderOutboxEvent.ORDER_PLACED)).thenReturn(1);
+
+        orderPlacedConsumer.apply(key(), message(Operation.CREATE, OrderOutboxEvent.ORDER_PLACED));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CartItemDeleteVm>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cartItemService).deleteOrAdjustCartItem(eq("user-1"), captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(
+            new CartItemDeleteVm(1L, 3), new CartItemDeleteVm(2L, 1));
+    }
+
+    @Test
+    void apply_whenEventIsRedelivered_doesNotTouchTheCartAgain() {
+        when(processedEventRepository.insertIfAbsent(EVENT_ID, OrderOutboxEvent.ORDER_PLACED)).thenReturn(0);
+
+        orderPlacedConsumer.apply(key(), message(Operation.CREATE, OrderOutboxEvent.ORDER_PLACED));
+
+        verify(cartItemService, never()).deleteOrAdjustCartItem(anyString(), any());
+    }
+
+    @Test
+    void apply_whenNotAnOrderPlacedInsert_ignoresEvent() {
+        orderPlacedConsumer.apply(key(), message(Operation.DELETE, OrderOutboxEvent.ORDER_PLACED));
+        orderPlacedConsumer.apply(key(), message(Operation.CREATE, "ORDER_CANCELLED"));
+        orderPlacedConsumer.apply(key(), null);
+
+        verify(processedEventRepository, never()).insertIfAbsent(anyString(), anyString());
+        verify(cartItemService, never()).deleteOrAdjustCartItem(anyString(), any());
+    }
+
+    private static OrderOutboxMsgKey key() {
+        return new OrderOutboxMsgKey(EVENT_ID);
+    }
+
+    private static OrderOutboxCdcMessage message(Operation operation, String eventType) {
+        OrderOutboxEvent event = OrderOutboxEvent.builder()
+            .id(EVENT_ID)
+            .aggregateId(10L)
+            .eventType(eventType)
+            .payload(PAYLOAD)
+            .build();
+        return OrderOutboxCdcMessage.builder().after(event).op(operation).build();
+    }
+}
@@ -2,7 +2,6 @@ package com.yas.cart.mapper;
 
 import com.yas.cart.model.CartItem;
 import com.yas.cart.viewmodel.CartItemGetVm;
-import com.yas.cart.viewmodel.CartItemPostVm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -39,25 +38,6 @@ class CartItemMapperTest {
         assertEquals(5, result.quantity());
     }
 
-    @Test
-    void testToCartItem_whenValidCartItemPostVm_shouldReturnCartItem() {
-        // Given
-        CartItemPostVm cartItemPostVm = CartItemPostVm.builder()
-            .productId(2L)
-            .quantity(3)
-            .build();
-        String currentUserId = "user456";
-
-        // When
-        CartItem result = cartItemMapper.toCartItem(cartItemPostVm, currentUserId);
-
-        // Then
-        assertNotNull(result);
-        assertEquals("user456", result.getCustomerId());
-        assertEquals(2L, result.getProductId());
-        assertEquals(3, result.getQuantity());
-    }
-
     @Test
     void testToCartItem_whenValidParameters_shouldReturnCartItem() {
         // Given
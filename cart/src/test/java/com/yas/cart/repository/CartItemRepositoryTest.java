@@ -66,51 +66,6 @@ class CartItemRepositoryTest {
                 .build();
     }
 
-    @Test
-    void testFindByCustomerIdAndProductId_whenExists_shouldReturnCartItem() {
-        // Given
-        entityManager.persist(testCartItem1);
-        entityManager.flush();
-
-        // When
-        Optional<CartItem> result = cartItemRepository.findByCustomerIdAndProductId(
-                CUSTOMER_ID_1, PRODUCT_ID_1);
-
-        // Then
-        assertTrue(result.isPresent());
-        assertEquals(CUSTOMER_ID_1, result.get().getCustomerId());
-        assertEquals(PRODUCT_ID_1, result.get().getProductId());
-        assertEquals(5, result.get().getQuantity());
-    }
-
-    @Test
-    void testFindByCustomerIdAndProductId_whenNotExists_shouldReturnEmpty() {
-        // Given
-        entityManager.persist(testCartItem1);
-        entityManager.flush();
-
-        // When
-        Optional<CartItem> result = cartItemRepository.findByCustomerIdAndProductId(
-                CUSTOMER_ID_1, 999L);
-
-        // Then
-        assertFalse(result.isPresent());
-    }
-
-    @Test
-    void testFindByCustomerIdAndProductId_withDifferentCustomer_shouldReturnEmpty() {
-        // Given
-        entityManager.persist(testCartItem1);
-        entityManager.flush();
-
-        // When
-        Optional<CartItem> result = cartItemRepository.findByCustomerIdAndProductId(
-                "different-customer", PRODUCT_ID_1);
-
-        // Then
-        assertFalse(result.isPresent());
-    }
-
     @Test
     void testFindByCustomerIdOrderByCreatedOnDesc_whenMultipleItems_shouldReturnOrderedList() {
         // Given
@@ -251,13 +206,11 @@ class CartItemRepositoryTest {
         entityManager.flush();
 
         // Then
-        Optional<CartItem> result = cartItemRepository.findByCustomerIdAndProductId(
-                CUSTOMER_ID_1, PRODUCT_ID_1);
+        Optional<CartItem> result = cartItemRepository.findById(new CartItemId(CUSTOMER_ID_1, PRODUCT_ID_1));
         assertFalse(result.isPresent());
 
         // Other item should still exist
-        Optional<CartItem> other = cartItemRepository.findByCustomerIdAndProductId(
-                CUSTOMER_ID_1, PRODUCT_ID_2);
+        Optional<CartItem> other = cartItemRepository.findById(new CartItemId(CUSTOMER_ID_1, PRODUCT_ID_2));
         assertTrue(other.isPresent());
     }
 
@@ -286,13 +239,11 @@ class CartItemRepositoryTest {
         entityManager.flush();
 
         // Then
-        Optional<CartItem> customer1Item = cartItemRepository.findByCustomerIdAndProductId(
-                CUSTOMER_ID_1, PRODUCT_ID_1);
+        Optional<CartItem> customer1Item = cartItemRepository.findById(new CartItemId(CUSTOMER_ID_1, PRODUCT_ID_1));
         assertFalse(customer1Item.isPresent());
 
         // Customer 2 item should still exist
-        Optional<CartItem> customer2Item = cartItemRepository.findByCustomerIdAndProductId(
-                CUSTOMER_ID_2, PRODUCT_ID_1);
+        Optional<CartItem> customer2Item = cartItemRepository.findById(new CartItemId(CUSTOMER_ID_2, PRODUCT_ID_1));
         assertTrue(customer2Item.isPresent());
     }
 
@@ -311,8 +262,7 @@ class CartItemRepositoryTest {
         entityManager.clear();
 
         // Then
-        Optional<CartItem> result = cartItemRepository.findByCustomerIdAndProductId(
-                "new-customer", 100L);
+        Optional<CartItem> result = cartItemRepository.findById(new CartItemId("new-customer", 100L));
         assertTrue(result.isPresent());
         assertEquals(7, result.get().getQuantity());
     }
@@ -325,16 +275,14 @@ class CartItemRepositoryTest {
         entityManager.clear();
 
         // When
-        CartItem toUpdate = cartItemRepository.findByCustomerIdAndProductId(
-                CUSTOMER_ID_1, PRODUCT_ID_1).orElseThrow();
+        CartItem toUpdate = cartItemRepository.findById(new CartItemId(CUSTOMER_ID_1, PRODUCT_ID_1)).orElseThrow();
         toUpdate.setQuantity(20);
         cartItemRepository.save(toUpdate);
         entityManager.flush();
         entityManager.clear();
 
         // Then
-        CartItem updated = cartItemRepository.findByCustomerIdAndProductId(
-                CUSTOMER_ID_1, PRODUCT_ID_1).orElseThrow();
+        CartItem updated = cartItemRepository.findById(new CartItemId(CUSTOMER_ID_1, PRODUCT_ID_1)).orElseThrow();
         assertEquals(20, updated.getQuantity());
     }
 
@@ -7,31 +7,29 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.yas.cart.mapper.CartItemMapper;
 import com.yas.cart.model.CartItem;
 import com.yas.cart.repository.CartItemRepository;
+import com.yas.cart.store.JpaCartItemStore;
 import com.yas.cart.viewmodel.CartItemDeleteVm;
 import com.yas.cart.viewmodel.CartItemGetVm;
 import com.yas.cart.viewmodel.CartItemPostVm;
 import com.yas.cart.viewmodel.CartItemPutVm;
 import com.yas.commonlibrary.exception.BadRequestException;
-import com.yas.commonlibrary.exception.InternalServerErrorException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import java.util.List;
-import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -43,17 +41,18 @@ class CartItemServiceTest {
     private CartItemRepository cartItemRepository;
 
     @Mock
-    private ProductService productService;
+    private ProductSnapshotService productSnapshotService;
 
     @Spy
     private CartItemMapper cartItemMapper = new CartItemMapper();
 
-    @InjectMocks
     private CartItemService cartItemService;
 
     @BeforeEach
     void setUp() {
-        Mockito.reset(cartItemRepository, productService);
+        Mockito.reset(cartItemRepository, productSnapshotService);
+        cartItemService = new CartItemService(new JpaCartItemStore(cartItemRepository), productSnapshotService,
+            cartItemMapper);
     }
 
     private static final String CURRENT_USER_ID_SAMPLE = "userId";
@@ -75,64 +74,61 @@ class CartItemServiceTest {
             cartItemPostVmBuilder.productId(-1L);
             CartItemPostVm cartItemPostVm = cartItemPostVmBuilder.build();
 
-            when(productService.existsById(cartItemPostVm.productId())).thenReturn(false);
+            when(productSnapshotService.existsById(cartItemPostVm.productId())).thenReturn(false);
 
             assertThrows(NotFoundException.class, () -> cartItemService.addCartItem(cartItemPostVm));
         }
 
         @Test
-        void testAddCartItem_whenCartItemExists_shouldUpdateQuantity() {
+        void testAddCartItem_whenRequestIsValid_shouldAddQuantityToCartItem() {
             CartItemPostVm cartItemPostVm = cartItemPostVmBuilder.build();
-            CartItem existingCartItem = CartItem
-                .builder()
-                .customerId(CURRENT_USER_ID_SAMPLE)
-                .productId(cartItemPostVm.productId())
-                .quantity(1)
-                .build();
-            int expectedQuantity = existingCartItem.getQuantity() + cartItemPostVm.quantity();
+            int expectedQuantity = 3;
 
             mockCurrentUserId(CURRENT_USER_ID_SAMPLE);
-            when(productService.existsById(cartItemPostVm.productId())).thenReturn(true);
-            when(cartItemRepository.findByCustomerIdAndProductId(anyString(), anyLong())).thenReturn(
-                Optional.of(existingCartItem));
-            when(cartItemRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(productSnapshotService.existsById(cartItemPostVm.productId())).thenReturn(true);
+            when(cartItemRepository.addQuantity(CURRENT_USER_ID_SAMPLE, cartItemPostVm.productId(),
+                cartItemPostVm.quantity())).thenReturn(expectedQuantity);
 
             CartItemGetVm cartItem = cartItemService.addCartItem(cartItemPostVm);
 
-            verify(cartItemRepository).save(any());
             assertEquals(expectedQuantity, cartItem.quantity());
             assertEquals(CURRENT_USER_ID_SAMPLE, cartItem.customerId());
             assertEquals(cartItemPostVm.productId(), cartItem.productId());
         }
+    }
 
-        @Test
-        void testAddCartItem_whenCartItemDoesNotExist_shouldCreateCartItem() {
-            CartItemPostVm cartItemPostVm = cartItemPostVmBuilder.build();
+    @Nested
+    class MergeCartItemsTest {
 
-            mockCurrentUserId(CURRENT_USER_ID_SAMPLE);
-            when(productService.existsById(cartItemPostVm.productId())).thenReturn(true);
-            when(cartItemRepository.findByCustomerIdAndProductId(anyString(), anyLong())).thenReturn(
-                java.util.Optional.empty());
-            when(cartItemRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        @Test
+        void testMergeCartItems_whenProductNotFound_shouldThrowNotFoundException() {
+            List<CartItemPostVm> cartItemPostVms = List.of(new CartItemPostVm(-1L, 1));
 
-            CartItemGetVm cartItem = cartItemService.addCartItem(cartItemPostVm);
+            when(productSnapshotService.existsById(-1L)).thenReturn(false);
 
-            verify(cartItemRepository).save(any());
-            assertEquals(CURRENT_USER_ID_SAMPLE, cartItem.customerId());
-            assertEquals(cartItemPostVm.productId(), cartItem.productId());
-            assertEquals(cartItemPostVm.quantity(), cartItem.quantity());
+            assertThrows(NotFoundException.class, () -> cartItemService.mergeCartItems(cartItemPostVms));
+            verify(cartItemRepository, never()).addQuantities(anyString(), any(), any());
         }
 
         @Test
-        void testAddCartItem_whenAcquireLockFailed_shouldThrowInternalServerErrorException() {
-            CartItemPostVm cartItemPostVm = cartItemPostVmBuilder.build();
+        void testMergeCartItems_whenProductIsListedTwice_shouldAddTotalQuantitiesInProductOrder() {
+            List<CartItemPostVm> cartItemPostVms = List.of(
+                new CartItemPostVm(2L, 1),
+                new CartItemPostVm(1L, 2),
+                new CartItemPostVm(2L, 3));
+            List<CartItem> mergedCartItems = List.of(
+                CartItem.builder().customerId(CURRENT_USER_ID_SAMPLE).productId(1L).quantity(2).build(),
+                CartItem.builder().customerId(CURRENT_USER_ID_SAMPLE).productId(2L).quantity(4).build());
 
             mockCurrentUserId(CURRENT_USER_ID_SAMPLE);
-            when(productService.existsById(cartItemPostVm.productId())).thenReturn(true);
-            when(cartItemRepository.findByCustomerIdAndProductId(anyString(), anyLong()))
-                .thenThrow(new PessimisticLockingFailureException("Locking failed"));
+            when(productSnapshotService.existsById(anyLong())).thenReturn(true);
+            when(cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(CURRENT_USER_ID_SAMPLE))
+                .thenReturn(mergedCartItems);
+
+            List<CartItemGetVm> cartItemGetVms = cartItemService.mergeCartItems(cartItemPostVms);
 
-            assertThrows(InternalServerErrorException.class, () -> cartItemService.addCartItem(cartItemPostVm));
+            verify(cartItemRepository).addQuantities(CURRENT_USER_ID_SAMPLE, new Long[] {1L, 2L}, new Integer[] {2, 4});
+            assertEquals(mergedCartItems.size(), cartItemGetVms.size());
         }
     }
 
@@ -149,7 +145,7 @@ class CartItemServiceTest {
         void testUpdateCartItem_whenProductNotFound_shouldThrowNotFoundException() {
             Long notExistingProductId = -1L;
 
-            when(productService.existsById(notExistingProductId)).thenReturn(false);
+            when(productSnapshotService.existsById(notExistingProductId)).thenReturn(false);
 
             assertThrows(NotFoundException.class,
                 () -> cartItemService.updateCartItem(notExistingProductId, cartItemPutVm));
@@ -158,7 +154,7 @@ class CartItemServiceTest {
         @Test
         void testUpdateCartItem_whenRequestIsValid_shouldReturnCartItem() {
             mockCurrentUserId(CURRENT_USER_ID_SAMPLE);
-            when(productService.existsById(PRODUCT_ID_SAMPLE)).thenReturn(true);
+            when(productSnapshotService.existsById(PRODUCT_ID_SAMPLE)).thenReturn(true);
             when(cartItemRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
             CartItemGetVm updatedCartItem = cartItemService.updateCartItem(PRODUCT_ID_SAMPLE, cartItemPutVm);
@@ -0,0 +1,81 @@
+package com.yas.cart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.cart.repository.ProductSnapshotRepository;
+import com.yas.commonlibrary.kafka.cdc.message.Product;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+class ProductSnapshotServiceTest {
+
+    private ProductSnapshotRepository productSnapshotRepository;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private ProductService productService;
+    private ProductSnapshotService productSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        productSnapshotRepository = mock(ProductSnapshotRepository.class);
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        productService = mock(ProductService.class);
+        productSnapshotService = new ProductSnapshotService(productSnapshotRepository, jdbcTemplate, productService);
+    }
+
+    @Test
+    void existsById_whenProductIsInSnapshot_doesNotCallProductService() {
+        when(productSnapshotRepository.existsById(1L)).thenReturn(true);
+
+        assertThat(productSnapshotService.existsById(1L)).isTrue();
+        verify(productService, never()).existsById(anyLong());
+    }
+
+    @Test
+    void existsById_whenProductIsNotInSnapshot_looksItUpOnProductService() {
+        when(productSnapshotRepository.existsById(1L)).thenReturn(false);
+        when(productService.existsById(1L)).thenReturn(true);
+
+        assertThat(productSnapshotService.existsById(1L)).isTrue();
+    }
+
+    @Test
+    void sync_whenProductsAreUpsertedAndDeleted_updatesSnapshotInOneBatch() {
+        List<Product> products = List.of(
+            Product.builder().id(1L).isPublished(true).price(10.0).build(),
+            Product.builder().id(2L).isPublished(true).price(20.0).build()
+        );
+
+        productSnapshotService.sync(products, Set.of(3L, 4L));
+
+        verify(productSnapshotRepository).deleteAllByIdInBatch(Set.of(3L, 4L));
+        ArgumentCaptor<SqlParameterSource[]> captor = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertThat(captor.getValue())
+            .extracting(parameters -> parameters.getValue("id"), parameters -> parameters.getValue("price"))
+            .containsExactly(
+                tuple(1L, 10.0),
+                tuple(2L, 20.0));
+        verify(productSnapshotRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void sync_whenProductsAreOnlyDeleted_doesNotUpsert() {
+        productSnapshotService.sync(List.of(), Set.of(3L));
+
+        verify(productSnapshotRepository).deleteAllByIdInBatch(Set.of(3L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(SqlParameterSource[].class));
+    }
+}
@@ -0,0 +1,210 @@
+package com.yas.cart.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.cart.model.CartItem;
+import com.yas.cart.repository.CartItemRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+class InMemoryCartItemStoreTest {
+
+    private static final String CUSTOMER_ID = "customer";
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+    private static final Duration REVALIDATE_AFTER = Duration.ofSeconds(5);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final TickingClock clock = new TickingClock();
+    private CartItemRepository cartItemRepository;
+    private CartItemSnapshotWriter cartItemSnapshotWriter;
+    private InMemoryCartItemStore cartItemStore;
+
+    @BeforeEach
+    void setUp() {
+        cartItemRepository = mock(CartItemRepository.class);
+        cartItemSnapshotWriter = mock(CartItemSnapshotWriter.class);
+        when(cartItemSnapshotWriter.write(anyString(), anyCollection(), anyLong())).thenReturn(true);
+        cartItemStore = new InMemoryCartItemStore(cartItemRepository, cartItemSnapshotWriter, 100,
+            EXPIRE_AFTER_ACCESS, REVALIDATE_AFTER, nanos::get, clock);
+    }
+
+    @Test
+    void addQuantity_whenCartIsStored_loadsItOnceThenAddsInMemory() {
+        when(cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(CUSTOMER_ID))
+            .thenReturn(List.of(CartItem.builder().customerId(CUSTOMER_ID).productId(1L).quantity(2).build()));
+
+        cartItemStore.addQuantity(CUSTOMER_ID, 1L, 1);
+        CartItem cartItem = cartItemStore.addQuantity(CUSTOMER_ID, 1L, 1);
+
+        assertThat(cartItem.getQuantity()).isEqualTo(4);
+        verify(cartItemRepository, times(1)).findByCustomerIdOrderByCreatedOnDesc(CUSTOMER_ID);
+        verify(cartItemSnapshotWriter, never()).write(anyString(), anyCollection(), anyLong());
+    }
+
+    @Test
+    void findByCustomerId_returnsMostRecentlyAddedFirst() {
+        cartItemStore.addQuantity(CUSTOMER_ID, 1L, 1);
+        cartItemStore.addQuantities(CUSTOMER_ID, new TreeMap<>(Map.of(2L, 2)));
+        cartItemStore.updateQuantity(CUSTOMER_ID, 3L, 3);
+
+        assertThat(cartItemStore.findByCustomerId(CUSTOMER_ID))
+            .extracting(CartItem::getProductId, CartItem::getQuantity)
+            .containsExactly(tuple(3L, 3), tuple(2L, 2), tuple(1L, 1));
+    }
+
+    @Test
+    void removeQuantities_writesHeldCartFirstThenRemovesFromDatabaseAndReloadsOnNextUse() {
+        cartItemStore.addQuantities(CUSTOMER_ID, new TreeMap<>(Map.of(1L, 5, 2L, 1)));
+        CartItem storedCartItem = CartItem.builder().customerId(CUSTOMER_ID).productId(1L).quantity(5).build();
+        when(cartItemRepository.findByCustomerIdAndProductIdIn(CUSTOMER_ID, List.of(1L)))
+            .thenReturn(List.of(storedCartItem));
+        when(cartItemRepository.saveAll(List.of(storedCartItem))).thenReturn(List.of(storedCartItem));
+
+        List<CartItem> adjustedCartItems = cartItemStore.removeQuantities(CUSTOMER_ID, Map.of(1L, 2));
+
+        assertThat(adjustedCartItems).extracting(CartItem::getProductId, CartItem::getQuantity)
+            .containsExactly(tuple(1L, 3));
+        InOrder inOrder = inOrder(cartItemSnapshotWriter, cartItemRepository);
+        inOrder.verify(cartItemSnapshotWriter).write(eq(CUSTOMER_ID), anyCollection(), eq(0L));
+        inOrder.verify(cartItemSnapshotWriter).incrementVersion(CUSTOMER_ID);
+        inOrder.verify(cartItemRepository).saveAll(List.of(storedCartItem));
+
+        when(cartItemSnapshotWriter.readVersion(CUSTOMER_ID)).thenReturn(2L);
+        when(cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(CUSTOMER_ID)).thenReturn(List.of(
+            storedCartItem,
+            CartItem.builder().customerId(CUSTOMER_ID).productId(2L).quantity(1).build()));
+        assertThat(cartItemStore.findByCustomerId(CUSTOMER_ID))
+            .extracting(CartItem::getProductId, CartItem::getQuantity)
+            .containsExactlyInAnyOrder(tuple(1L, 3), tuple(2L, 1));
+    }
+
+    @Test
+    void findByCustomerId_whenStoredVersionChanged_reloadsAndKeepsUnwrittenChanges() {
+        when(cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(CUSTOMER_ID))
+            .thenReturn(List.of(CartItem.builder().customerId(CUSTOMER_ID).productId(1L).quantity(2).build()));
+        cartItemStore.addQuantity(CUSTOMER_ID, 2L, 1);
+
+        // an order of product 1 was applied by another instance
+        when(cartItemSnapshotWriter.readVersion(CUSTOMER_ID)).thenReturn(1L);
+        when(cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(CUSTOMER_ID)).thenReturn(List.of());
+        nanos.addAndGet(REVALIDATE_AFTER.toNanos());
+
+        assertThat(cartItemStore.findByCustomerId(CUSTOMER_ID))
+            .extracting(CartItem::getProductId, CartItem::getQuantity)
+            .containsExactly(tuple(2L, 1));
+        cartItemStore.flush();
+        verify(cartItemSnapshotWriter).write(eq(CUSTOMER_ID), anyCollection(), eq(1L));
+    }
+
+    @Test
+    void flush_whenWrittenMeanwhile_reloadsAndWritesChangesOnTop() {
+        cartItemStore.addQuantity(CUSTOMER_ID, 1L, 1);
+        cartItemStore.updateQuantity(CUSTOMER_ID, 2L, 3);
+        when(cartItemSnapshotWriter.write(eq(CUSTOMER_ID), anyCollection(), eq(0L))).thenReturn(false);
+        when(cartItemSnapshotWriter.readVersion(CUSTOMER_ID)).thenReturn(4L);
+        when(cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(CUSTOMER_ID))
+            .thenReturn(List.of(CartItem.builder().customerId(CUSTOMER_ID).productId(2L).quantity(1).build()));
+
+        cartItemStore.flush();
+
+        ArgumentCaptor<Collection<CartItem>> captor = cartItemsCaptor();
+        verify(cartItemSnapshotWriter).write(eq(CUSTOMER_ID), captor.capture(), eq(4L));
+        assertThat(captor.getValue()).extracting(CartItem::getProductId, CartItem::getQuantity)
+            .containsExactlyInAnyOrder(tuple(1L, 1), tuple(2L, 4));
+    }
+
+    @Test
+    void flush_writesChangedCartsOnlyOnce() {
+        cartItemStore.addQuantity(CUSTOMER_ID, 1L, 1);
+        cartItemStore.findByCustomerId("reader");
+
+        cartItemStore.flush();
+        cartItemStore.flush();
+
+        ArgumentCaptor<Collection<CartItem>> captor = cartItemsCaptor();
+        verify(cartItemSnapshotWriter, times(1)).write(anyString(), anyCollection(), anyLong());
+        verify(cartItemSnapshotWriter).write(eq(CUSTOMER_ID), captor.capture(), eq(0L));
+        assertThat(captor.getValue()).extracting(CartItem::getProductId, CartItem::getQuantity)
+            .containsExactly(tuple(1L, 1));
+    }
+
+    @Test
+    void flush_whenChangedCartExpired_writesItThenLoadsItAgainOnNextUse() {
+        cartItemStore.addQuantity(CUSTOMER_ID, 1L, 1);
+
+        nanos.addAndGet(EXPIRE_AFTER_ACCESS.plusSeconds(1).toNanos());
+        cartItemStore.flush();
+        cartItemStore.findByCustomerId(CUSTOMER_ID);
+
+        verify(cartItemSnapshotWriter, times(1)).write(anyString(), anyCollection(), anyLong());
+        verify(cartItemRepository, times(2)).findByCustomerIdOrderByCreatedOnDesc(CUSTOMER_ID);
+    }
+
+    @Test
+    void flush_whenWriteOfExpiredCartFailed_keepsItUntilWritten() {
+        cartItemStore.addQuantity(CUSTOMER_ID, 1L, 1);
+        doThrow(new DataAccessResourceFailureException("Database is down"))
+            .when(cartItemSnapshotWriter).write(anyString(), anyCollection(), anyLong());
+
+        nanos.addAndGet(EXPIRE_AFTER_ACCESS.plusSeconds(1).toNanos());
+        cartItemStore.flush();
+
+        assertThat(cartItemStore.findByCustomerId(CUSTOMER_ID)).extracting(CartItem::getQuantity)
+            .containsExactly(1);
+        verify(cartItemRepository, times(1)).findByCustomerIdOrderByCreatedOnDesc(CUSTOMER_ID);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<CartItem>> cartItemsCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+
+    /**
+     * Clock moving one second forward on every read, so that cart items get distinct creation times.
+     */
+    private static final class TickingClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            instant = instant.plusSeconds(1);
+            return instant;
+        }
+    }
+}
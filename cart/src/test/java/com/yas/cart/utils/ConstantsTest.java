@@ -15,7 +15,6 @@ class ConstantsTest {
         assertEquals("NOT_EXISTING_ITEM_IN_CART", Constants.ErrorCode.NOT_EXISTING_ITEM_IN_CART);
         assertEquals("NOT_EXISTING_PRODUCT_IN_CART", Constants.ErrorCode.NOT_EXISTING_PRODUCT_IN_CART);
         assertEquals("NON_EXISTING_CART_ITEM", Constants.ErrorCode.NON_EXISTING_CART_ITEM);
-        assertEquals("ADD_CART_ITEM_FAILED", Constants.ErrorCode.ADD_CART_ITEM_FAILED);
         assertEquals("DUPLICATED_CART_ITEMS_TO_DELETE", Constants.ErrorCode.DUPLICATED_CART_ITEMS_TO_DELETE);
     }
 
@@ -117,6 +117,11 @@ public abstract class CdcConsumerTest<K, M> {
         when(responseSpec.body(responseType)).thenThrow(exception);
     }
 
+    protected void simulateHttpRequestWithErrorToEntity(URI url, Throwable exception) {
+        setupMockGetRequest(url);
+        when(responseSpec.toEntity(any(ParameterizedTypeReference.class))).thenThrow(exception);
+    }
+
     private void setupMockGetRequest(URI url) {
         when(restClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(url)).thenReturn(requestHeadersUriSpec);
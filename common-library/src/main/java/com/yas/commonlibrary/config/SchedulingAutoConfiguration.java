@@ -0,0 +1,13 @@
+package com.yas.commonlibrary.config;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the {@code @Scheduled} jobs of every service, registered as an auto-configuration so that it also applies to
+ * the services not scanning the common library.
+ */
+@AutoConfiguration
+@EnableScheduling
+public class SchedulingAutoConfiguration {
+}
@@ -4,6 +4,7 @@ public final class MessageCode {
     public static final String WAREHOUSE_NOT_FOUND = "WAREHOUSE_NOT_FOUND";
     public static final String PRODUCT_NOT_FOUND = "PRODUCT_NOT_FOUND";
     public static final String NAME_ALREADY_EXITED = "NAME_ALREADY_EXITED";
+    public static final String INVALID_PAGINATION_CURSOR = "INVALID_PAGINATION_CURSOR";
 
     private MessageCode() {
         //Add constructor
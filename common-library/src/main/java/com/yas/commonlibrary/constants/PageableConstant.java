@@ -3,6 +3,7 @@ package com.yas.commonlibrary.constants;
 public final class PageableConstant {
     public static final String DEFAULT_PAGE_SIZE = "10";
     public static final String DEFAULT_PAGE_NUMBER = "0";
+    public static final int MAX_PAGE_SIZE = 100;
 
     private PageableConstant() {
         //Add constructor
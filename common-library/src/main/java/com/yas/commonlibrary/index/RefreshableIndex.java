@@ -0,0 +1,155 @@
+package com.yas.commonlibrary.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Base class for the in-memory indexes answering lookups from a snapshot of their source.
+ *
+ * <p>The snapshot is loaded on first use. Afterwards the changes made by this instance are applied to it, right away
+ * or once their transaction commits, and subclasses rebuild it periodically to pick up the writes of other
+ * instances. A change applied while a rebuild is loading is applied again to the rebuilt snapshot, so that the swap
+ * does not lose it.</p>
+ *
+ * @param <C> the type of a change, such as the id of a written entity
+ * @param <S> the type of the snapshot
+ */
+public abstract class RefreshableIndex<C, S> {
+
+    private final Object rebuildLock = new Object();
+
+    private volatile S snapshot;
+
+    /* Guarded by this, not null while a rebuild is loading */
+    private List<Collection<C>> changesDuringRebuild;
+
+    /**
+     * Loads the whole snapshot from the source.
+     */
+    protected abstract S load();
+
+    /**
+     * Applies changes to a snapshot.
+     *
+     * @return the changed snapshot, either a copy or the given one changed in place
+     */
+    protected abstract S apply(S current, Collection<C> changes);
+
+    /**
+     * Returns the current snapshot, loading it on first use.
+     */
+    protected S snapshot() {
+        S current = snapshot;
+        if (current == null) {
+            synchronized (rebuildLock) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns the current snapshot without loading it.
+     *
+     * @return the snapshot, null when not loaded yet
+     */
+    protected S loadedSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Loads the whole snapshot again and swaps it in. Lookups and changes are not blocked while loading.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                S rebuilt = load();
+                synchronized (this) {
+                    for (Collection<C> changes : changesDuringRebuild) {
+                        rebuilt = apply(rebuilt, changes);
+                    }
+                    snapshot = rebuilt;
+                }
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies changes right away.
+     */
+    protected synchronized void update(Collection<C> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(List.copyOf(changes));
+        }
+        S current = snapshot;
+        if (current != null) {
+            snapshot = apply(current, changes);
+        }
+        // otherwise not loaded yet, the first lookup will load the changes as committed
+    }
+
+    /**
+     * Applies changes once the current transaction commits, or right away outside a transaction.
+     * The changes made by one transaction are applied together.
+     */
+    protected void updateAfterCommit(Collection<C> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update(new LinkedHashSet<>(changes));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<C> pendingChanges = (Set<C>) TransactionSynchronizationManager.getResource(this);
+        if (pendingChanges == null) {
+            Set<C> committedChanges = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, committedChanges);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update(committedChanges);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RefreshableIndex.this);
+                }
+            });
+            pendingChanges = committedChanges;
+        }
+        pendingChanges.addAll(changes);
+    }
+
+    /**
+     * Creates a template for reading the source in a read-only transaction of its own, as {@link #update} may run
+     * after the commit of a transaction whose resources are still bound.
+     */
+    protected static TransactionTemplate readOnlyTransactionTemplate(PlatformTransactionManager transactionManager) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+}
@@ -1,10 +1,20 @@
 package com.yas.commonlibrary.kafka.cdc;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.messaging.MessageHeaders;
 
 /**
@@ -19,6 +29,9 @@ public abstract class BaseCdcConsumer<K, V> {
     public static final String RECEIVED_MESSAGE_HEADERS = "## Received message - headers: {}";
     public static final String PROCESSING_RECORD_KEY_VALUE = "## Processing record - Key: {} | Value: {}";
     public static final String RECORD_PROCESSED_SUCCESSFULLY_KEY = "## Record processed successfully - Key: {} \n";
+    public static final String RECEIVED_BATCH = "## Received batch - size: {}";
+    public static final String BATCH_PROCESSED_SUCCESSFULLY = "## Batch processed successfully - size: {} \n";
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(BaseCdcConsumer.class);
 
     protected void processMessage(V record, MessageHeaders headers, Consumer<V> consumer) {
         LOGGER.debug(RECEIVED_MESSAGE_HEADERS, headers);
@@ -33,4 +46,69 @@ public abstract class BaseCdcConsumer<K, V> {
         consumer.accept(key, value);
         LOGGER.debug(RECORD_PROCESSED_SUCCESSFULLY_KEY, key);
     }
+
+    /**
+     * Processes a batch of records. A record that failed to deserialize reaches a batch listener with a
+     * {@code null} key or value, which must not be mistaken for a tombstone: the records before it are processed,
+     * then a {@link BatchListenerFailedException} hands it to the error handler, which publishes it to the dead
+     * letter topic and redelivers the records after it. So a {@code null} value seen by the consumer is always a
+     * tombstone.
+     */
+    protected void processMessages(List<ConsumerRecord<K, V>> records, Consumer<List<ConsumerRecord<K, V>>> consumer) {
+        LOGGER.debug(RECEIVED_BATCH, records.size());
+        int failedIndex = indexOfDeserializationFailure(records);
+        if (failedIndex < 0) {
+            consumer.accept(records);
+            LOGGER.debug(BATCH_PROCESSED_SUCCESSFULLY, records.size());
+            return;
+        }
+        if (failedIndex > 0) {
+            consumer.accept(records.subList(0, failedIndex));
+            LOGGER.debug(BATCH_PROCESSED_SUCCESSFULLY, failedIndex);
+        }
+        ConsumerRecord<K, V> failedRecord = records.get(failedIndex);
+        LOGGER.warn("## Record failed to deserialize - Topic: {} | Partition: {} | Offset: {}",
+            failedRecord.topic(), failedRecord.partition(), failedRecord.offset());
+        throw new BatchListenerFailedException("Record failed to deserialize",
+            deserializationException(failedRecord), failedRecord);
+    }
+
+    private static <K, V> int indexOfDeserializationFailure(List<ConsumerRecord<K, V>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<K, V> consumerRecord = records.get(i);
+            if (consumerRecord.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null
+                || consumerRecord.headers().lastHeader(SerializationUtils.KEY_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static DeserializationException deserializationException(ConsumerRecord<?, ?> consumerRecord) {
+        DeserializationException exception = SerializationUtils.getExceptionFromHeader(consumerRecord,
+            SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+        return exception != null ? exception : SerializationUtils.getExceptionFromHeader(consumerRecord,
+            SerializationUtils.KEY_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+    }
+
+    /**
+     * Keeps only the latest record of each entity of a batch, records of a same key are in offset order
+     * since they come from the same partition. Records without key are skipped.
+     *
+     * @param records  the records of a batch
+     * @param entityId extracts the entity id from a record key
+     * @return the latest record of each entity, in order of first appearance
+     */
+    protected static <K, V, I> Collection<ConsumerRecord<K, V>> latestPerEntity(List<ConsumerRecord<K, V>> records,
+                                                                              Function<K, I> entityId) {
+        Map<I, ConsumerRecord<K, V>> latest = new LinkedHashMap<>();
+        for (ConsumerRecord<K, V> consumerRecord : records) {
+            if (consumerRecord.key() == null) {
+                LOGGER.warn("## Skipping record without key - Offset: {}", consumerRecord.offset());
+                continue;
+            }
+            latest.put(entityId.apply(consumerRecord.key()), consumerRecord);
+        }
+        return latest.values();
+    }
 }
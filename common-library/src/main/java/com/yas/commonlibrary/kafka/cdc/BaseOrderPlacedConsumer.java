@@ -0,0 +1,48 @@
+package com.yas.commonlibrary.kafka.cdc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.commonlibrary.kafka.cdc.message.Operation;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxEvent;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxMsgKey;
+import com.yas.commonlibrary.kafka.cdc.message.OrderPlacedPayload;
+
+/**
+ * Base class for the consumers of order placed events relayed from the order outbox.
+ *
+ * <p>Only the insertion of an outbox event means a new event, any other operation is ignored. An event may still be
+ * delivered more than once: implementations record its id with
+ * {@link com.yas.commonlibrary.repository.ProcessedEventRepository#insertIfAbsent} in the transaction applying it,
+ * and skip it when it is already recorded.</p>
+ */
+public abstract class BaseOrderPlacedConsumer extends BaseCdcConsumer<OrderOutboxMsgKey, OrderOutboxCdcMessage> {
+
+    private final ObjectMapper objectMapper;
+
+    protected BaseOrderPlacedConsumer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void apply(OrderOutboxMsgKey key, OrderOutboxCdcMessage orderOutboxCdcMessage) {
+        boolean isInsertEvent = orderOutboxCdcMessage != null && orderOutboxCdcMessage.getAfter() != null
+            && (Operation.CREATE.equals(orderOutboxCdcMessage.getOp())
+            || Operation.READ.equals(orderOutboxCdcMessage.getOp()));
+        if (!isInsertEvent) {
+            return;
+        }
+        OrderOutboxEvent event = orderOutboxCdcMessage.getAfter();
+        if (!OrderOutboxEvent.ORDER_PLACED.equals(event.getEventType())) {
+            LOGGER.debug("Ignore outbox event {} of type {}", event.getId(), event.getEventType());
+            return;
+        }
+        applyOrderPlaced(event.getId(), event.readPayload(objectMapper, OrderPlacedPayload.class));
+    }
+
+    /**
+     * Applies the side effects of a placed order in this service.
+     *
+     * @param eventId the id of the outbox event, the same on every delivery
+     * @param payload the placed order
+     */
+    protected abstract void applyOrderPlaced(String eventId, OrderPlacedPayload payload);
+}
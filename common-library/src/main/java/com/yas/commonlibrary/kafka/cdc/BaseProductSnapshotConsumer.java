@@ -0,0 +1,51 @@
+package com.yas.commonlibrary.kafka.cdc;
+
+import com.yas.commonlibrary.kafka.cdc.message.Operation;
+import com.yas.commonlibrary.kafka.cdc.message.Product;
+import com.yas.commonlibrary.kafka.cdc.message.ProductCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.ProductMsgKey;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Base class for the consumers keeping a local snapshot of the products up to date from the product CDC topic.
+ *
+ * <p>Only the latest record of each product of a batch is applied: a product whose latest record is a deletion or a
+ * tombstone is removed from the snapshot, any other product is upserted with its state after the change.</p>
+ *
+ * <p>A new consumer group fills the snapshot by reading the topic from the beginning, so the topic must be compacted
+ * rather than deleted after a retention time, see {@code kafka/connects/debezium-product.json}: it then keeps the
+ * latest record of every product, as written by the initial snapshot of the connector or by a later change.</p>
+ */
+public abstract class BaseProductSnapshotConsumer extends BaseCdcConsumer<ProductMsgKey, ProductCdcMessage> {
+
+    protected void syncSnapshot(List<ConsumerRecord<ProductMsgKey, ProductCdcMessage>> records) {
+        processMessages(records, batch -> {
+            List<Product> upsertedProducts = new ArrayList<>();
+            Set<Long> deletedProductIds = new LinkedHashSet<>();
+            for (ConsumerRecord<ProductMsgKey, ProductCdcMessage> consumerRecord
+                : latestPerEntity(batch, ProductMsgKey::getId)) {
+                ProductCdcMessage productCdcMessage = consumerRecord.value();
+                if (productCdcMessage == null || Operation.DELETE.equals(productCdcMessage.getOp())) {
+                    deletedProductIds.add(consumerRecord.key().getId());
+                } else if (productCdcMessage.getAfter() != null) {
+                    upsertedProducts.add(productCdcMessage.getAfter());
+                }
+            }
+            if (!upsertedProducts.isEmpty() || !deletedProductIds.isEmpty()) {
+                applySnapshotChanges(upsertedProducts, deletedProductIds);
+            }
+        });
+    }
+
+    /**
+     * Applies the changes of a batch to the snapshot, in one transaction.
+     *
+     * @param upsertedProducts  the products to insert or update, at most once each
+     * @param deletedProductIds the ids of the products to remove
+     */
+    protected abstract void applySnapshotChanges(List<Product> upsertedProducts, Set<Long> deletedProductIds);
+}
@@ -1,23 +1,50 @@
 package com.yas.commonlibrary.kafka.cdc.config;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 /**
  * Base configuration class for setting up Kafka consumers with typed deserialization.
  *
  * @param <V> The type of messages consumed.
  */
-public abstract class BaseKafkaListenerConfig<K, V> {
+public abstract class BaseKafkaListenerConfig<K, V> implements DisposableBean {
+
+    /**
+     * Suffix of the dead letter topics, same as the one of {@link com.yas.commonlibrary.kafka.cdc.RetrySupportDql}.
+     */
+    public static final String DEAD_LETTER_TOPIC_SUFFIX = "-dlt";
+
+    /**
+     * Same back off and number of attempts as {@link com.yas.commonlibrary.kafka.cdc.RetrySupportDql}, which does
+     * not apply to batch listeners.
+     */
+    private static final long BATCH_RETRY_INTERVAL_MS = 6000L;
+    private static final long BATCH_RETRY_MAX_ATTEMPTS = 3L;
 
     private final Class<K> keyType;
     private final Class<V> valueType;
     private final KafkaProperties kafkaProperties;
+    private DefaultKafkaProducerFactory<Object, Object> deadLetterProducerFactory;
 
     public BaseKafkaListenerConfig(Class<K> keyType, Class<V> type, KafkaProperties kafkaProperties) {
         this.valueType = type;
@@ -45,6 +72,65 @@ public abstract class BaseKafkaListenerConfig<K, V> {
         return factory;
     }
 
+    /**
+     * Batch instance type ConcurrentKafkaListenerContainerFactory, listeners receive every record of a poll
+     * at once (up to {@code spring.kafka.consumer.max-poll-records}). A failed batch is redelivered as a whole
+     * after a fixed back off, so batch listeners must be idempotent. Once the attempts are exhausted, the records
+     * of the batch are published to the {@value #DEAD_LETTER_TOPIC_SUFFIX} topic of their topic before their
+     * offsets are committed. A listener can fail from a given record on by throwing a
+     * {@link org.springframework.kafka.listener.BatchListenerFailedException}, the records before it are then
+     * committed.
+     *
+     * @return concurrentKafkaListenerContainerFactory {@link ConcurrentKafkaListenerContainerFactory}.
+     */
+    public ConcurrentKafkaListenerContainerFactory<K, V> batchKafkaListenerContainerFactory() {
+        var factory = kafkaListenerContainerFactory();
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+            new DeadLetterPublishingRecoverer(deadLetterTemplate(), BaseKafkaListenerConfig::deadLetterTopic),
+            new FixedBackOff(BATCH_RETRY_INTERVAL_MS, BATCH_RETRY_MAX_ATTEMPTS)));
+        return factory;
+    }
+
+    @Override
+    public void destroy() {
+        if (deadLetterProducerFactory != null) {
+            deadLetterProducerFactory.destroy();
+        }
+    }
+
+    /**
+     * Dead letter topic of a record, on the partition chosen by the producer since dead letter topics may have
+     * fewer partitions than the consumed topics.
+     */
+    static TopicPartition deadLetterTopic(ConsumerRecord<?, ?> consumerRecord, Exception exception) {
+        return new TopicPartition(consumerRecord.topic() + DEAD_LETTER_TOPIC_SUFFIX, -1);
+    }
+
+    /**
+     * Template publishing to the cluster the records are consumed from. Records that failed to deserialize are
+     * published as their original bytes, the others as JSON like the CDC messages.
+     */
+    private synchronized KafkaTemplate<Object, Object> deadLetterTemplate() {
+        if (deadLetterProducerFactory == null) {
+            Map<String, Object> props = kafkaProperties.buildProducerProperties(null);
+            Object bootstrapServers = buildConsumerProperties().get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG);
+            if (bootstrapServers != null) {
+                props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+            }
+            deadLetterProducerFactory = new DefaultKafkaProducerFactory<>(props,
+                deadLetterSerializer(), deadLetterSerializer());
+        }
+        return new KafkaTemplate<>(deadLetterProducerFactory);
+    }
+
+    private static Serializer<Object> deadLetterSerializer() {
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(Object.class, new JsonSerializer<>());
+        return new DelegatingByTypeSerializer(delegates, true);
+    }
+
     private ConsumerFactory<K, V> typeConsumerFactory(Class<K> keyClazz, Class<V> valueClazz) {
         Map<String, Object> props = buildConsumerProperties();
         // wrapper in case serialization/deserialization occur
@@ -0,0 +1,35 @@
+package com.yas.commonlibrary.kafka.cdc.config;
+
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxMsgKey;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+
+/**
+ * Order outbox CDC kafka listener, support convert order outbox cdc message to java object.
+ * Only set up in the services consuming the order outbox, which define {@code order.outbox.topic.name}.
+ */
+@EnableKafka
+@Configuration
+@ConditionalOnProperty(name = "order.outbox.topic.name")
+public class OrderOutboxKafkaListenerConfig
+    extends BaseKafkaListenerConfig<OrderOutboxMsgKey, OrderOutboxCdcMessage> {
+
+    public static final String ORDER_OUTBOX_LISTENER_CONTAINER_FACTORY = "orderOutboxListenerContainerFactory";
+
+    public OrderOutboxKafkaListenerConfig(KafkaProperties kafkaProperties) {
+        super(OrderOutboxMsgKey.class, OrderOutboxCdcMessage.class, kafkaProperties);
+    }
+
+    @Bean(name = ORDER_OUTBOX_LISTENER_CONTAINER_FACTORY)
+    @Override
+    public ConcurrentKafkaListenerContainerFactory<OrderOutboxMsgKey, OrderOutboxCdcMessage>
+        listenerContainerFactory() {
+        return super.kafkaListenerContainerFactory();
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.yas.commonlibrary.kafka.cdc.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+@lombok.Getter
+@lombok.Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderOutboxCdcMessage {
+
+    private OrderOutboxEvent after;
+
+    private OrderOutboxEvent before;
+
+    private Operation op;
+
+}
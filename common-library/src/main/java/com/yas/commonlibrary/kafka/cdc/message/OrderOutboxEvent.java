@@ -0,0 +1,48 @@
+package com.yas.commonlibrary.kafka.cdc.message;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row of the order outbox table as captured by Debezium.
+ */
+@lombok.Getter
+@lombok.Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderOutboxEvent {
+
+    public static final String ORDER_PLACED = "ORDER_PLACED";
+
+    private String id;
+
+    @JsonProperty("aggregate_id")
+    private Long aggregateId;
+
+    @JsonProperty("event_type")
+    private String eventType;
+
+    private String payload;
+
+    /**
+     * Reads the JSON payload of the event.
+     *
+     * @param objectMapper the mapper to read with
+     * @param payloadType  the payload type matching the event type
+     * @return the payload
+     * @throws IllegalArgumentException when the payload cannot be read as the given type
+     */
+    public <T> T readPayload(ObjectMapper objectMapper, Class<T> payloadType) {
+        try {
+            return objectMapper.readValue(payload, payloadType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid payload for outbox event " + id, e);
+        }
+    }
+
+}
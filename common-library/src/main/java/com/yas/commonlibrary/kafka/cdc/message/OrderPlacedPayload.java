@@ -0,0 +1,18 @@
+package com.yas.commonlibrary.kafka.cdc.message;
+
+import java.util.List;
+
+/**
+ * Payload of an {@link OrderOutboxEvent#ORDER_PLACED} outbox event, the side effects other services apply
+ * once an order is placed.
+ *
+ * @param orderId    the placed order
+ * @param customerId the customer who placed the order
+ * @param couponCode the coupon used, may be {@code null}
+ * @param items      the ordered products
+ */
+public record OrderPlacedPayload(Long orderId, String customerId, String couponCode, List<Item> items) {
+
+    public record Item(Long productId, int quantity) {
+    }
+}
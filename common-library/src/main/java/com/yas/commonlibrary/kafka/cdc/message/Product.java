@@ -14,7 +14,13 @@ public class Product {
 
     private long id;
 
+    private String name;
+
+    private String sku;
+
     @JsonProperty("is_published")
     private boolean isPublished;
 
+    private Double price;
+
 }
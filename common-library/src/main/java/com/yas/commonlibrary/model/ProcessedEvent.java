@@ -0,0 +1,35 @@
+package com.yas.commonlibrary.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Event consumed from another service, recorded so that a redelivered event is applied only once.
+ * Services consuming events scan this entity and own a {@code processed_event} table.
+ */
+@Entity
+@Table(name = "processed_event")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProcessedEvent {
+
+    @Id
+    private String id;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "processed_on", nullable = false)
+    private ZonedDateTime processedOn;
+}
@@ -0,0 +1,22 @@
+package com.yas.commonlibrary.repository;
+
+import com.yas.commonlibrary.model.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+
+    /**
+     * Records the event unless it is already recorded.
+     *
+     * @return 1 when the event is recorded by this call, 0 when it was processed before
+     */
+    @Modifying
+    @Query(value = "INSERT INTO processed_event (id, event_type, processed_on) VALUES (:id, :eventType, now()) "
+        + "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id, @Param("eventType") String eventType);
+}
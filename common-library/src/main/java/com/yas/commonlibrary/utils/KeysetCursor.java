@@ -0,0 +1,63 @@
+package com.yas.commonlibrary.utils;
+
+import com.yas.commonlibrary.constants.MessageCode;
+import com.yas.commonlibrary.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.springframework.util.StringUtils;
+
+/**
+ * Opaque continuation token for keyset (seek) pagination.
+ * It holds the sort key of the last row of a page: an optional timestamp and the row id as tie-breaker,
+ * so the next page can be read with a {@code WHERE (sortKey, id) < (:sortKey, :id)} predicate instead of an offset.
+ *
+ * @param sortKey the timestamp sort key of the last row, {@code null} when rows are ordered by id only
+ * @param id      the id of the last row
+ */
+public record KeysetCursor(Instant sortKey, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static KeysetCursor of(long id) {
+        return new KeysetCursor(null, id);
+    }
+
+    public static KeysetCursor of(ZonedDateTime sortKey, long id) {
+        return new KeysetCursor(sortKey.toInstant(), id);
+    }
+
+    public ZonedDateTime sortKeyAsZonedDateTime() {
+        return sortKey == null ? null : sortKey.atZone(ZoneOffset.UTC);
+    }
+
+    public String encode() {
+        String raw = (sortKey == null ? "" : sortKey.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the continuation token sent back by the client
+     * @return the decoded cursor
+     * @throws BadRequestException if the token was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new BadRequestException(MessageCode.INVALID_PAGINATION_CURSOR, token);
+            }
+            String sortKey = raw.substring(0, separatorIndex);
+            long id = Long.parseLong(raw.substring(separatorIndex + 1));
+            return new KeysetCursor(StringUtils.hasText(sortKey) ? Instant.parse(sortKey) : null, id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException(MessageCode.INVALID_PAGINATION_CURSOR, token);
+        }
+    }
+}
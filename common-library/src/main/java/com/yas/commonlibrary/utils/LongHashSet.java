@@ -0,0 +1,209 @@
+package com.yas.commonlibrary.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Set of primitive {@code long} values, stored in an open addressing table with linear probing, so that membership
+ * tests on large id sets neither box the ids nor allocate an entry per id.
+ * Not thread-safe: share it only once it is no longer modified, or guard it externally.
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int MIN_CAPACITY = 8;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private long[] slots;
+    private int shift;
+    private int resizeThreshold;
+    private int size;
+    /* 0 marks an empty slot, so its membership is held apart */
+    private boolean containsEmpty;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public static LongHashSet of(long... values) {
+        LongHashSet set = new LongHashSet(values.length);
+        for (long value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    public static LongHashSet of(Collection<Long> values) {
+        LongHashSet set = new LongHashSet(values.size());
+        for (Long value : values) {
+            if (value != null) {
+                set.add(value);
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @return true when the value was not in the set
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int index = indexOf(value);
+        while (slots[index] != EMPTY) {
+            if (slots[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(slots.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a value, shifting back the values probed after it so that lookups never stop on a hole.
+     *
+     * @return true when the value was in the set
+     */
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!containsEmpty) {
+                return false;
+            }
+            containsEmpty = false;
+            size--;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int index = indexOf(value);
+        while (slots[index] != value) {
+            if (slots[index] == EMPTY) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (slots[next] != EMPTY) {
+            int home = indexOf(slots[next]);
+            // move the value into the hole unless its home slot lies cyclically in (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                slots[hole] = slots[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        slots[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsEmpty;
+        }
+        int mask = slots.length - 1;
+        int index = indexOf(value);
+        while (slots[index] != EMPTY) {
+            if (slots[index] == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether any of the given values is in the set.
+     */
+    public boolean containsAny(Collection<Long> values) {
+        for (Long value : values) {
+            if (value != null && contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies the values, in no particular order.
+     */
+    public long[] toArray() {
+        long[] values = new long[size];
+        int count = 0;
+        if (containsEmpty) {
+            values[count++] = EMPTY;
+        }
+        for (long slot : slots) {
+            if (slot != EMPTY) {
+                values[count++] = slot;
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        long[] values = toArray();
+        Arrays.sort(values);
+        return Arrays.toString(values);
+    }
+
+    private int indexOf(long value) {
+        return (int) ((value * GOLDEN_RATIO) >>> shift);
+    }
+
+    private void rehash(int capacity) {
+        long[] previous = slots;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (long value : previous) {
+            if (value != EMPTY) {
+                int index = indexOf(value);
+                while (slots[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                slots[index] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new long[capacity];
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
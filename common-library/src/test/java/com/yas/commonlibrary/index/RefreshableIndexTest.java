@@ -0,0 +1,129 @@
+package com.yas.commonlibrary.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class RefreshableIndexTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void snapshot_whenNotLoaded_thenLoadOnce() {
+        NumberIndex index = new NumberIndex(Set.of(1, 2));
+
+        assertThat(index.snapshot()).containsExactly(1, 2);
+        assertThat(index.snapshot()).containsExactly(1, 2);
+        assertThat(index.loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void update_whenNotLoaded_thenLeaveLoadingToFirstUse() {
+        NumberIndex index = new NumberIndex(Set.of(1));
+
+        index.update(List.of(2));
+
+        assertThat(index.loadedSnapshot()).isNull();
+        assertThat(index.snapshot()).containsExactly(1);
+    }
+
+    @Test
+    void update_whenLoaded_thenApplyRightAway() {
+        NumberIndex index = new NumberIndex(Set.of(1));
+        index.snapshot();
+
+        index.update(List.of(2, 3));
+
+        assertThat(index.snapshot()).containsExactly(1, 2, 3);
+        assertThat(index.loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_whenUpdatedWhileLoading_thenApplyUpdateToRebuiltSnapshot() throws Exception {
+        NumberIndex index = new NumberIndex(Set.of(1));
+        index.snapshot();
+        index.loading = new CountDownLatch(1);
+        index.resumeLoading = new CountDownLatch(1);
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(index::rebuild);
+        assertThat(index.loading.await(5, TimeUnit.SECONDS)).isTrue();
+        index.update(List.of(2));
+        assertThat(index.snapshot()).containsExactly(1, 2);
+        index.resumeLoading.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertThat(index.snapshot()).containsExactly(1, 2);
+    }
+
+    @Test
+    void updateAfterCommit_whenInTransaction_thenApplyChangesTogetherAfterCommit() {
+        NumberIndex index = new NumberIndex(Set.of(1));
+        index.snapshot();
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.updateAfterCommit(List.of(2));
+        index.updateAfterCommit(List.of(3, 2));
+        assertThat(index.snapshot()).containsExactly(1);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(index.snapshot()).containsExactly(1, 2, 3);
+        assertThat(index.applied).containsExactly(List.of(2, 3));
+        assertThat(TransactionSynchronizationManager.getResource(index)).isNull();
+    }
+
+    private static final class NumberIndex extends RefreshableIndex<Integer, Set<Integer>> {
+        private final Set<Integer> source;
+        private final AtomicInteger loads = new AtomicInteger();
+        private final List<List<Integer>> applied = new ArrayList<>();
+        private volatile CountDownLatch loading;
+        private volatile CountDownLatch resumeLoading;
+
+        NumberIndex(Set<Integer> source) {
+            this.source = source;
+        }
+
+        @Override
+        protected Set<Integer> load() {
+            loads.incrementAndGet();
+            if (loading != null) {
+                loading.countDown();
+                try {
+                    resumeLoading.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new TreeSet<>(source);
+        }
+
+        @Override
+        protected Set<Integer> apply(Set<Integer> current, Collection<Integer> changes) {
+            applied.add(List.copyOf(changes));
+            Set<Integer> changed = new TreeSet<>(current);
+            changed.addAll(changes);
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.yas.commonlibrary.kafka.cdc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+class BaseCdcConsumerTest {
+
+    private static final String TOPIC = "dbproduct.public.product";
+
+    private final TestConsumer consumer = new TestConsumer();
+
+    private final List<List<ConsumerRecord<String, String>>> processedBatches = new ArrayList<>();
+
+    @Test
+    void processMessages_whenNullValueWithoutDeserializationFailure_thenProcessAsTombstone() {
+        List<ConsumerRecord<String, String>> records = List.of(
+            new ConsumerRecord<>(TOPIC, 0, 0L, "1", "created"),
+            new ConsumerRecord<>(TOPIC, 0, 1L, "2", null));
+
+        consumer.processMessages(records, processedBatches::add);
+
+        assertThat(processedBatches).containsExactly(records);
+    }
+
+    @Test
+    void processMessages_whenValueFailedToDeserialize_thenProcessRecordsBeforeAndFailOnIt() {
+        ConsumerRecord<String, String> poison = poisonRecord(1L, false);
+        List<ConsumerRecord<String, String>> records = List.of(
+            new ConsumerRecord<>(TOPIC, 0, 0L, "1", "created"),
+            poison,
+            new ConsumerRecord<>(TOPIC, 0, 2L, "3", "created"));
+
+        assertThatThrownBy(() -> consumer.processMessages(records, processedBatches::add))
+            .isInstanceOfSatisfying(BatchListenerFailedException.class, exception -> {
+                assertThat(exception.getRecord()).isSameAs(poison);
+                assertThat(exception.getCause()).isInstanceOf(DeserializationException.class);
+            });
+        assertThat(processedBatches).containsExactly(records.subList(0, 1));
+    }
+
+    @Test
+    void processMessages_whenFirstKeyFailedToDeserialize_thenFailWithoutProcessing() {
+        List<ConsumerRecord<String, String>> records = List.of(poisonRecord(0L, true));
+
+        assertThatThrownBy(() -> consumer.processMessages(records, processedBatches::add))
+            .isInstanceOf(BatchListenerFailedException.class);
+        assertThat(processedBatches).isEmpty();
+    }
+
+    private static ConsumerRecord<String, String> poisonRecord(long offset, boolean isForKey) {
+        ConsumerRecord<String, String> poison = new ConsumerRecord<>(TOPIC, 0, offset, isForKey ? null : "2", null);
+        byte[] data = "{not json".getBytes(StandardCharsets.UTF_8);
+        SerializationUtils.deserializationException(poison.headers(), data,
+            new DeserializationException("failed", data, isForKey, new IllegalStateException()), isForKey);
+        return poison;
+    }
+
+    private static final class TestConsumer extends BaseCdcConsumer<String, String> {
+    }
+}
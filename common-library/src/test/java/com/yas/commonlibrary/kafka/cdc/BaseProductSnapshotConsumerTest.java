@@ -0,0 +1,72 @@
+package com.yas.commonlibrary.kafka.cdc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import com.yas.commonlibrary.kafka.cdc.message.Operation;
+import com.yas.commonlibrary.kafka.cdc.message.Product;
+import com.yas.commonlibrary.kafka.cdc.message.ProductCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.ProductMsgKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+class BaseProductSnapshotConsumerTest {
+
+    private final TestConsumer consumer = new TestConsumer();
+
+    @Test
+    void syncSnapshot_whenProductsAreUpsertedAndDeleted_thenApplyLatestChangePerProduct() {
+        consumer.syncSnapshot(List.of(
+            record(1L, 0L, message(Operation.CREATE, 1L, "Laptop")),
+            record(2L, 1L, message(Operation.UPDATE, 2L, "Phone")),
+            record(3L, 2L, message(Operation.DELETE, 3L, "Tablet")),
+            record(4L, 3L, null),
+            record(1L, 4L, message(Operation.UPDATE, 1L, "Gaming laptop")),
+            record(2L, 5L, message(Operation.DELETE, 2L, "Phone"))
+        ));
+
+        assertThat(consumer.upsertedProducts).extracting(Product::getId, Product::getName)
+            .containsExactly(tuple(1L, "Gaming laptop"));
+        assertThat(consumer.deletedProductIds).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    void syncSnapshot_whenNoRecordChangesProduct_thenApplyNothing() {
+        consumer.syncSnapshot(List.of(record(1L, 0L, ProductCdcMessage.builder().op(Operation.UPDATE).build())));
+
+        assertThat(consumer.appliedBatches).isZero();
+    }
+
+    private static ConsumerRecord<ProductMsgKey, ProductCdcMessage> record(long productId, long offset,
+                                                                           ProductCdcMessage message) {
+        return new ConsumerRecord<>("dbproduct.public.product", 0, offset, new ProductMsgKey(productId), message);
+    }
+
+    private static ProductCdcMessage message(Operation operation, long productId, String name) {
+        Product product = Product.builder().id(productId).name(name).isPublished(true).build();
+        return ProductCdcMessage.builder()
+            .op(operation)
+            .before(product)
+            .after(Operation.DELETE.equals(operation) ? null : product)
+            .build();
+    }
+
+    private static final class TestConsumer extends BaseProductSnapshotConsumer {
+
+        private final List<Product> upsertedProducts = new ArrayList<>();
+
+        private final List<Long> deletedProductIds = new ArrayList<>();
+
+        private int appliedBatches;
+
+        @Override
+        protected void applySnapshotChanges(List<Product> upsertedProducts, Set<Long> deletedProductIds) {
+            this.upsertedProducts.addAll(upsertedProducts);
+            this.deletedProductIds.addAll(deletedProductIds);
+            appliedBatches++;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.yas.commonlibrary.kafka.cdc.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+
+class BaseKafkaListenerConfigTest {
+
+    @Test
+    void deadLetterTopic_thenSuffixTopicAndLetProducerChoosePartition() {
+        ConsumerRecord<String, String> consumerRecord = new ConsumerRecord<>("dbproduct.public.product", 3, 42L,
+            "key", "value");
+
+        TopicPartition destination = BaseKafkaListenerConfig.deadLetterTopic(consumerRecord,
+            new IllegalStateException("failed"));
+
+        assertThat(destination.topic()).isEqualTo("dbproduct.public.product-dlt");
+        assertThat(destination.partition()).isNegative();
+    }
+
+    @Test
+    void batchKafkaListenerContainerFactory_thenBatchListener() {
+        TestListenerConfig config = new TestListenerConfig();
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = config.batchKafkaListenerContainerFactory();
+
+        assertThat(factory.isBatchListener()).isTrue();
+        config.destroy();
+    }
+
+    private static final class TestListenerConfig extends BaseKafkaListenerConfig<String, String> {
+
+        TestListenerConfig() {
+            super(String.class, String.class, new KafkaProperties());
+        }
+
+        @Override
+        public ConcurrentKafkaListenerContainerFactory<String, String> listenerContainerFactory() {
+            return kafkaListenerContainerFactory();
+        }
+    }
+}
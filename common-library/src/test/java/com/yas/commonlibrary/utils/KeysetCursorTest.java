@@ -0,0 +1,35 @@
+package com.yas.commonlibrary.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.yas.commonlibrary.exception.BadRequestException;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_whenEncodedWithSortKey_thenKeepsFullPrecision() {
+        ZonedDateTime createdOn = ZonedDateTime.parse("2024-05-01T10:15:30.123456+07:00");
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of(createdOn, 42L).encode());
+
+        assertThat(cursor.sortKeyAsZonedDateTime().toInstant()).isEqualTo(createdOn.toInstant());
+        assertThat(cursor.id()).isEqualTo(42L);
+    }
+
+    @Test
+    void decode_whenEncodedWithIdOnly_thenSortKeyIsNull() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of(7L).encode());
+
+        assertThat(cursor.sortKey()).isNull();
+        assertThat(cursor.id()).isEqualTo(7L);
+    }
+
+    @Test
+    void decode_whenTokenIsNotACursor_thenThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("%%%"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.yas.commonlibrary.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class LongHashSetTest {
+
+    @Test
+    void add_whenValueIsNew_thenContainsIt() {
+        LongHashSet set = new LongHashSet();
+
+        assertThat(set.add(42L)).isTrue();
+        assertThat(set.add(42L)).isFalse();
+
+        assertThat(set.contains(42L)).isTrue();
+        assertThat(set.contains(43L)).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void add_whenValueIsZero_thenContainsIt() {
+        LongHashSet set = LongHashSet.of(0L, -1L);
+
+        assertThat(set.contains(0L)).isTrue();
+        assertThat(set.toArray()).containsExactlyInAnyOrder(0L, -1L);
+        assertThat(set.remove(0L)).isTrue();
+        assertThat(set.contains(0L)).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void of_whenCollectionHasNullsAndDuplicates_thenSkipsThem() {
+        LongHashSet set = LongHashSet.of(Arrays.asList(1L, null, 1L, 2L));
+
+        assertThat(set.toArray()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(set.containsAny(List.of(5L, 2L))).isTrue();
+        assertThat(set.containsAny(List.of(5L, 6L))).isFalse();
+    }
+
+    @Test
+    void addAndRemove_whenManyValues_thenBehavesLikeHashSet() {
+        Random random = new Random(7);
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            long value = random.nextInt(5_000) - 100L;
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            } else {
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+            }
+        }
+
+        for (long value = -200; value < 5_000; value++) {
+            assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+        }
+        assertThat(set.size()).isEqualTo(expected.size());
+        assertThat(set.toArray()).hasSize(expected.size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.yas.inventory.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.instancio.Select.field;
+
+import com.yas.commonlibrary.IntegrationTestConfiguration;
+import com.yas.inventory.model.ProductSnapshot;
+import com.yas.inventory.model.Stock;
+import com.yas.inventory.model.Warehouse;
+import com.yas.inventory.viewmodel.product.ProductInfoVm;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+@SpringBootTest
+@Import(IntegrationTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductSnapshotRepositoryIT {
+
+    @Autowired
+    private ProductSnapshotRepository productSnapshotRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    private Warehouse warehouse;
+
+    @BeforeEach
+    void insertTestData() {
+        warehouse = warehouseRepository.save(
+            Instancio.of(Warehouse.class)
+                .set(field(Warehouse::getId), 1L)
+                .create()
+        );
+        Warehouse otherWarehouse = warehouseRepository.save(
+            Instancio.of(Warehouse.class)
+                .set(field(Warehouse::getId), 2L)
+                .create()
+        );
+
+        productSnapshotRepository.saveAll(List.of(
+            new ProductSnapshot(1L, "Red Shirt", "SHIRT-R", ZonedDateTime.now()),
+            new ProductSnapshot(2L, "Blue Shirt", "SHIRT-B", ZonedDateTime.now()),
+            new ProductSnapshot(3L, "Green Hat", "HAT-G", ZonedDateTime.now())
+        ));
+        stockRepository.saveAll(List.of(stock(warehouse, 1L), stock(otherWarehouse, 2L)));
+    }
+
+    @AfterEach
+    void clearTestData() {
+        stockRepository.deleteAll();
+        productSnapshotRepository.deleteAll();
+        warehouseRepository.deleteAll();
+    }
+
+    @Test
+    void testFindProductForWarehouse_whenSelectionIsAll_shouldFlagStockedProducts() {
+        Page<ProductInfoVm> actual = productSnapshotRepository.findProductForWarehouse(
+            warehouse.getId(), "shirt", "shirt", "ALL", PageRequest.of(0, 10));
+
+        assertThat(actual.getTotalElements()).isEqualTo(2);
+        assertThat(actual.getContent()).containsExactly(
+            new ProductInfoVm(1L, "Red Shirt", "SHIRT-R", true),
+            new ProductInfoVm(2L, "Blue Shirt", "SHIRT-B", false));
+    }
+
+    @Test
+    void testFindProductForWarehouse_whenSelectionIsNo_shouldReturnProductsNotStocked() {
+        Page<ProductInfoVm> actual = productSnapshotRepository.findProductForWarehouse(
+            warehouse.getId(), "", "", "NO", PageRequest.of(0, 1));
+
+        assertThat(actual.getTotalElements()).isEqualTo(2);
+        assertThat(actual.getTotalPages()).isEqualTo(2);
+        assertThat(actual.getContent()).extracting(ProductInfoVm::id).containsExactly(2L);
+    }
+
+    @Test
+    void testFindProductForWarehouse_whenSelectionIsYes_shouldReturnStockedProducts() {
+        Page<ProductInfoVm> actual = productSnapshotRepository.findProductForWarehouse(
+            warehouse.getId(), "", "", "YES", PageRequest.of(0, 10));
+
+        assertThat(actual.getContent()).extracting(ProductInfoVm::id).containsExactly(1L);
+    }
+
+    private static Stock stock(Warehouse warehouse, Long productId) {
+        return Instancio.of(Stock.class)
+            .set(field(Stock::getId), null)
+            .set(field(Stock::getWarehouse), warehouse)
+            .set(field(Stock::getProductId), productId)
+            .create();
+    }
+}
@@ -0,0 +1,96 @@
+package com.yas.inventory.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.instancio.Select.field;
+
+import com.yas.commonlibrary.IntegrationTestConfiguration;
+import com.yas.inventory.model.Stock;
+import com.yas.inventory.model.Warehouse;
+import com.yas.inventory.viewmodel.stock.StockAdjustmentVm;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+@SpringBootTest
+@Import(IntegrationTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StockAdjustmentRepositoryIT {
+
+    @Autowired
+    private StockAdjustmentRepository stockAdjustmentRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    private Stock stock;
+
+    @BeforeEach
+    void insertTestData() {
+        Warehouse warehouse = warehouseRepository.save(
+            Instancio.of(Warehouse.class)
+                .set(field(Warehouse::getId), 1L)
+                .create()
+        );
+
+        stock = stockRepository.save(
+            Instancio.of(Stock.class)
+                .set(field(Stock::getWarehouse), warehouse)
+                .set(field(Stock::getQuantity), 10L)
+                .set(field(Stock::getReservedQuantity), 0L)
+                .create()
+        );
+    }
+
+    @AfterEach
+    void clearTestData() {
+        stockRepository.deleteAll();
+        warehouseRepository.deleteAll();
+    }
+
+    @Test
+    void testApplyAdjustments_whenGuardIsBroken_shouldRejectOnlyThatLine() {
+        int[] updateCounts = stockAdjustmentRepository.applyAdjustments(List.of(
+            new StockAdjustmentVm(stock.getId(), null, 8L, null),
+            new StockAdjustmentVm(stock.getId(), null, 3L, null),
+            new StockAdjustmentVm(stock.getId(), -2L, null, null),
+            new StockAdjustmentVm(stock.getId() + 1, 1L, null, null)
+        ));
+
+        assertThat(updateCounts).containsExactly(1, 0, 1, 0);
+        Stock actual = stockRepository.findById(stock.getId()).orElseThrow();
+        assertThat(actual.getQuantity()).isEqualTo(8L);
+        assertThat(actual.getReservedQuantity()).isEqualTo(8L);
+    }
+
+    @Test
+    void testApplyAdjustments_whenReservingConcurrently_shouldNeverOversell() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<int[]>> reservations = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                reservations.add(CompletableFuture.supplyAsync(() -> stockAdjustmentRepository.applyAdjustments(
+                    List.of(new StockAdjustmentVm(stock.getId(), null, 1L, null))), executor));
+            }
+
+            long succeeded = reservations.stream().map(CompletableFuture::join).filter(counts -> counts[0] == 1).count();
+
+            assertThat(succeeded).isEqualTo(10);
+            assertThat(stockRepository.findById(stock.getId()).orElseThrow().getReservedQuantity()).isEqualTo(10L);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.yas.inventory.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.instancio.Select.field;
+
+import com.yas.commonlibrary.IntegrationTestConfiguration;
+import com.yas.inventory.model.StockHistory;
+import com.yas.inventory.model.StockHistoryDaily;
+import com.yas.inventory.model.StockHistoryDailyId;
+import com.yas.inventory.model.Warehouse;
+import java.time.LocalDate;
+import java.util.List;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+@SpringBootTest
+@Import(IntegrationTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StockHistoryAppendRepositoryIT {
+
+    @Autowired
+    private StockHistoryAppendRepository stockHistoryAppendRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private StockHistoryDailyRepository stockHistoryDailyRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    private Warehouse warehouse;
+
+    @BeforeEach
+    void insertTestData() {
+        warehouse = warehouseRepository.save(
+            Instancio.of(Warehouse.class)
+                .set(field(Warehouse::getId), 1L)
+                .create()
+        );
+    }
+
+    @AfterEach
+    void clearTestData() {
+        stockHistoryDailyRepository.deleteAll();
+        stockHistoryRepository.deleteAll();
+        warehouseRepository.deleteAll();
+    }
+
+    @Test
+    void testAppendAll_whenCalledTwice_shouldInsertHistoriesAndAccumulateDailyRollup() {
+        stockHistoryAppendRepository.appendAll(List.of(history(10L, "Restock"), history(-4L, "Damaged")));
+        stockHistoryAppendRepository.appendAll(List.of(history(6L, "Restock")));
+
+        var histories = stockHistoryRepository.findByProductIdAndWarehouseIdOrderByCreatedOnDesc(1L, warehouse.getId());
+        assertThat(histories).hasSize(3);
+        assertThat(histories).allSatisfy(history -> assertThat(history.getCreatedOn()).isNotNull());
+
+        StockHistoryDaily daily = stockHistoryDailyRepository
+            .findById(new StockHistoryDailyId(1L, warehouse.getId(), LocalDate.now()))
+            .orElseThrow();
+        assertThat(daily.getQuantityIn()).isEqualTo(16L);
+        assertThat(daily.getQuantityOut()).isEqualTo(4L);
+        assertThat(daily.getAdjustmentCount()).isEqualTo(3);
+    }
+
+    private StockHistory history(Long adjustedQuantity, String note) {
+        return StockHistory.builder()
+            .productId(1L)
+            .adjustedQuantity(adjustedQuantity)
+            .note(note)
+            .warehouse(warehouse)
+            .build();
+    }
+}
@@ -6,6 +6,7 @@ import static org.instancio.Select.field;
 import com.yas.commonlibrary.IntegrationTestConfiguration;
 import com.yas.inventory.model.StockHistory;
 import com.yas.inventory.model.Warehouse;
+import java.time.ZonedDateTime;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 
 @SpringBootTest
 @Import(IntegrationTestConfiguration.class)
@@ -57,4 +59,17 @@ class StockHistoryRepositoryIT {
             warehouse.getId());
         assertThat(actual).asList().hasSize(1);
     }
+
+    @Test
+    void testFindInWindow_ifStockHistoryIsInWindow_shouldReturnPage() {
+        ZonedDateTime createdOn = stockHistoryRepository.findById(stockHistory.getId()).orElseThrow().getCreatedOn();
+
+        var inWindow = stockHistoryRepository.findInWindow(stockHistory.getProductId(), warehouse.getId(),
+            createdOn.minusDays(1), createdOn.plusDays(1), PageRequest.of(0, 10));
+        var outOfWindow = stockHistoryRepository.findInWindow(stockHistory.getProductId(), warehouse.getId(),
+            createdOn.plusDays(1), createdOn.plusDays(2), PageRequest.of(0, 10));
+
+        assertThat(inWindow.getTotalElements()).isEqualTo(1);
+        assertThat(outOfWindow.getTotalElements()).isZero();
+    }
 }
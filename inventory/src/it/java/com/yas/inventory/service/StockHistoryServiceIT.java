@@ -1,36 +1,58 @@
 package com.yas.inventory.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.yas.commonlibrary.exception.BadRequestException;
 import com.yas.inventory.model.Stock;
 import com.yas.inventory.model.StockHistory;
+import com.yas.inventory.model.StockHistoryDaily;
 import com.yas.inventory.model.Warehouse;
+import com.yas.inventory.repository.StockHistoryAppendRepository;
+import com.yas.inventory.repository.StockHistoryDailyRepository;
 import com.yas.inventory.repository.StockHistoryRepository;
 import com.yas.inventory.viewmodel.product.ProductInfoVm;
 import com.yas.inventory.viewmodel.stock.StockQuantityVm;
+import com.yas.inventory.viewmodel.stockhistory.StockHistoryDailyListVm;
 import com.yas.inventory.viewmodel.stockhistory.StockHistoryListVm;
+import com.yas.inventory.viewmodel.stockhistory.StockHistoryPagingVm;
 import com.yas.inventory.viewmodel.stockhistory.StockHistoryVm;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 class StockHistoryServiceIT {
 
     private StockHistoryRepository stockHistoryRepository;
+    private StockHistoryAppendRepository stockHistoryAppendRepository;
+    private StockHistoryDailyRepository stockHistoryDailyRepository;
     private ProductService productService;
     private StockHistoryService stockHistoryService;
 
     @BeforeEach
     void setUp() {
         stockHistoryRepository = Mockito.mock(StockHistoryRepository.class);
+        stockHistoryAppendRepository = Mockito.mock(StockHistoryAppendRepository.class);
+        stockHistoryDailyRepository = Mockito.mock(StockHistoryDailyRepository.class);
         productService = Mockito.mock(ProductService.class);
-        stockHistoryService = new StockHistoryService(stockHistoryRepository, productService);
+        stockHistoryService = new StockHistoryService(stockHistoryRepository, stockHistoryAppendRepository,
+            stockHistoryDailyRepository, productService);
     }
 
     @Test
@@ -62,7 +84,7 @@ class StockHistoryServiceIT {
 
         stockHistoryService.createStockHistories(stocks, stockQuantityVms);
 
-        verify(stockHistoryRepository, times(1)).saveAll(argumentCaptor.capture());
+        verify(stockHistoryAppendRepository, times(1)).appendAll(argumentCaptor.capture());
         assertThat(argumentCaptor.getValue()).isEmpty();
     }
 
@@ -81,7 +103,7 @@ class StockHistoryServiceIT {
 
         stockHistoryService.createStockHistories(stocks, stockQuantityVms);
 
-        verify(stockHistoryRepository, times(1)).saveAll(argumentCaptor.capture());
+        verify(stockHistoryAppendRepository, times(1)).appendAll(argumentCaptor.capture());
 
         StockHistory stockHistory = argumentCaptor.getValue().getFirst();
 
@@ -127,6 +149,85 @@ class StockHistoryServiceIT {
         assertEquals("Initial stock", stockHistoryVm.note());
     }
 
+    @Test
+    void testCreateStockHistories_whenSameStockIsAdjustedTwice_appendOneHistoryPerAdjustment() {
+        List<Stock> stocks = getStocks();
+        List<StockQuantityVm> stockQuantityVms = List.of(
+            new StockQuantityVm(2L, 5L, "Restock"),
+            new StockQuantityVm(2L, -3L, "Damaged"),
+            new StockQuantityVm(3L, 1L, "Unknown stock"));
+
+        ArgumentCaptor<List<StockHistory>> argumentCaptor = ArgumentCaptor.forClass(List.class);
+
+        stockHistoryService.createStockHistories(stocks, stockQuantityVms);
+
+        verify(stockHistoryAppendRepository, times(1)).appendAll(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue())
+            .extracting(StockHistory::getProductId, StockHistory::getAdjustedQuantity)
+            .containsExactly(tuple(2L, 5L), tuple(2L, -3L));
+    }
+
+    @Test
+    void testGetPageableStockHistories_whenWindowIsGiven_queryHistoriesOfWindowNewestFirst() {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setId(1L);
+        StockHistory stockHistory = StockHistory.builder()
+            .id(1L)
+            .productId(1L)
+            .adjustedQuantity(10L)
+            .note("Initial stock")
+            .warehouse(warehouse)
+            .build();
+        ZoneId zone = ZoneId.systemDefault();
+        ZonedDateTime from = LocalDate.of(2024, 1, 1).atStartOfDay(zone);
+        ZonedDateTime to = LocalDate.of(2024, 2, 1).atStartOfDay(zone);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdOn", "id"));
+
+        when(stockHistoryRepository.findInWindow(1L, 1L, from, to, pageable))
+            .thenReturn(new PageImpl<>(List.of(stockHistory), pageable, 11));
+        when(productService.getProduct(1L)).thenReturn(new ProductInfoVm(1L, "Product Name", "Abc", true));
+
+        StockHistoryPagingVm result = stockHistoryService.getPageableStockHistories(
+            1L, 1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 0, 10);
+
+        assertEquals(1, result.stockHistoryContent().size());
+        assertEquals("Product Name", result.stockHistoryContent().getFirst().productName());
+        assertEquals(11, result.totalElements());
+        assertEquals(2, result.totalPages());
+    }
+
+    @Test
+    void testGetPageableStockHistories_whenFromIsAfterTo_throwBadRequestException() {
+        LocalDate from = LocalDate.of(2024, 2, 1);
+        LocalDate to = LocalDate.of(2024, 1, 1);
+
+        assertThrows(BadRequestException.class,
+            () -> stockHistoryService.getPageableStockHistories(1L, 1L, from, to, 0, 10));
+    }
+
+    @Test
+    void testGetDailyStockHistories_whenWindowIsOmitted_readRollupsOfLastYear() {
+        LocalDate today = LocalDate.now();
+        StockHistoryDaily stockHistoryDaily = StockHistoryDaily.builder()
+            .productId(1L)
+            .warehouseId(1L)
+            .movementDate(today)
+            .quantityIn(30L)
+            .quantityOut(12L)
+            .adjustmentCount(4)
+            .build();
+
+        when(stockHistoryDailyRepository.findByProductIdAndWarehouseIdAndMovementDateBetweenOrderByMovementDateDesc(
+            eq(1L), eq(1L), eq(today.minusDays(364)), any()))
+            .thenReturn(List.of(stockHistoryDaily));
+
+        StockHistoryDailyListVm result = stockHistoryService.getDailyStockHistories(1L, 1L, null, null);
+
+        assertEquals(1, result.data().size());
+        assertEquals(18L, result.data().getFirst().netQuantity());
+        assertEquals(4, result.data().getFirst().adjustmentCount());
+    }
+
     private static List<Stock> getStocks() {
 
         Stock stock1 = new Stock();
@@ -9,6 +9,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -18,17 +19,24 @@ import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.commonlibrary.exception.StockExistingException;
 import com.yas.inventory.model.Stock;
 import com.yas.inventory.model.Warehouse;
+import com.yas.inventory.repository.StockAdjustmentRepository;
 import com.yas.inventory.repository.StockRepository;
 import com.yas.inventory.repository.WarehouseRepository;
 import com.yas.inventory.viewmodel.product.ProductInfoVm;
+import com.yas.inventory.viewmodel.product.ProductQuantityPostVm;
+import com.yas.inventory.viewmodel.stock.StockAdjustmentResultVm;
+import com.yas.inventory.viewmodel.stock.StockAdjustmentVm;
 import com.yas.inventory.viewmodel.stock.StockPostVm;
 import com.yas.inventory.viewmodel.stock.StockQuantityUpdateVm;
 import com.yas.inventory.viewmodel.stock.StockQuantityVm;
 import com.yas.inventory.viewmodel.stock.StockVm;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 class StockServiceIT {
 
@@ -36,23 +44,29 @@ class StockServiceIT {
 
     private StockRepository stockRepository;
 
+    private StockAdjustmentRepository stockAdjustmentRepository;
+
     private ProductService productService;
 
     private WarehouseService warehouseService;
 
     private StockHistoryService stockHistoryService;
 
+    private StockAvailabilityIndex stockAvailabilityIndex;
+
     private StockService stockService;
 
     @BeforeEach
     void setUp() {
         warehouseRepository = mock(WarehouseRepository.class);
         stockRepository = mock(StockRepository.class);
+        stockAdjustmentRepository = mock(StockAdjustmentRepository.class);
         productService = mock(ProductService.class);
         warehouseService = mock(WarehouseService.class);
         stockHistoryService = mock(StockHistoryService.class);
-        stockService = new StockService(warehouseRepository, stockRepository,
-            productService, warehouseService, stockHistoryService);
+        stockAvailabilityIndex = mock(StockAvailabilityIndex.class);
+        stockService = new StockService(warehouseRepository, stockRepository, stockAdjustmentRepository,
+            productService, warehouseService, stockHistoryService, stockAvailabilityIndex);
     }
 
     @Test
@@ -202,4 +216,74 @@ class StockServiceIT {
 
         assertEquals("Invalid adjusted quantity make a negative quantity", thrown.getMessage());
     }
+
+    @Test
+    void testAdjustStocks_whenSomeLinesAreRejected_returnResultPerLine() {
+
+        Stock stock = new Stock();
+        stock.setId(1L);
+        stock.setProductId(10L);
+        stock.setQuantity(7L);
+
+        List<StockAdjustmentVm> adjustments = List.of(
+            new StockAdjustmentVm(1L, -3L, null, "sold"),
+            new StockAdjustmentVm(1L, null, 50L, null),
+            new StockAdjustmentVm(2L, 1L, null, null)
+        );
+        when(stockAdjustmentRepository.applyAdjustments(adjustments)).thenReturn(new int[] {1, 0, 0});
+        when(stockRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(stock));
+
+        List<StockAdjustmentResultVm> results = stockService.adjustStocks(adjustments);
+
+        assertThat(results).containsExactly(
+            StockAdjustmentResultVm.succeeded(1L),
+            StockAdjustmentResultVm.failed(1L, "INSUFFICIENT_STOCK"),
+            StockAdjustmentResultVm.failed(2L, "STOCK_NOT_FOUND")
+        );
+        verify(stockHistoryService).createStockHistories(List.of(stock),
+            List.of(new StockQuantityVm(1L, -3L, "sold")));
+        verify(productService).updateProductQuantity(anyList());
+        verify(stockAvailabilityIndex).refreshAfterCommit(Set.of(10L));
+    }
+
+    @Test
+    void testAdjustStocks_whenOnlyReservedQuantityChanges_shouldNotRecordHistory() {
+
+        Stock stock = new Stock();
+        stock.setId(1L);
+
+        List<StockAdjustmentVm> adjustments = List.of(new StockAdjustmentVm(1L, null, 2L, null));
+        when(stockAdjustmentRepository.applyAdjustments(adjustments)).thenReturn(new int[] {1});
+        when(stockRepository.findAllById(List.of(1L))).thenReturn(List.of(stock));
+
+        List<StockAdjustmentResultVm> results = stockService.adjustStocks(adjustments);
+
+        assertThat(results).containsExactly(StockAdjustmentResultVm.succeeded(1L));
+        verify(stockHistoryService, never()).createStockHistories(anyList(), anyList());
+        verify(productService, never()).updateProductQuantity(anyList());
+    }
+
+    @Test
+    void testAdjustStocks_whenInTransaction_shouldUpdateProductQuantityAfterCommit() {
+
+        Stock stock = new Stock();
+        stock.setId(1L);
+        stock.setProductId(10L);
+        stock.setQuantity(4L);
+
+        List<StockAdjustmentVm> adjustments = List.of(new StockAdjustmentVm(1L, 4L, null, null));
+        when(stockAdjustmentRepository.applyAdjustments(adjustments)).thenReturn(new int[] {1});
+        when(stockRepository.findAllById(List.of(1L))).thenReturn(List.of(stock));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stockService.adjustStocks(adjustments);
+            verify(productService, never()).updateProductQuantity(anyList());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(productService).updateProductQuantity(List.of(new ProductQuantityPostVm(10L, 4L)));
+    }
 }
@@ -20,10 +20,12 @@ import com.yas.commonlibrary.exception.DuplicatedException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.inventory.model.Warehouse;
 import com.yas.inventory.model.enumeration.FilterExistInWhSelection;
+import com.yas.inventory.repository.ProductSnapshotRepository;
 import com.yas.inventory.repository.StockRepository;
 import com.yas.inventory.repository.WarehouseRepository;
 import com.yas.inventory.viewmodel.address.AddressDetailVm;
 import com.yas.inventory.viewmodel.address.AddressVm;
+import com.yas.inventory.viewmodel.product.ProductInfoListVm;
 import com.yas.inventory.viewmodel.product.ProductInfoVm;
 import com.yas.inventory.viewmodel.warehouse.WarehouseDetailVm;
 import com.yas.inventory.viewmodel.warehouse.WarehouseGetVm;
@@ -34,6 +36,7 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -47,6 +50,8 @@ class WarehouseServiceIT {
 
     private LocationService locationService;
 
+    private ProductSnapshotRepository productSnapshotRepository;
+
     private WarehouseService warehouseService;
 
     @BeforeEach
@@ -55,8 +60,9 @@ class WarehouseServiceIT {
         stockRepository = mock(StockRepository.class);
         productService = mock(ProductService.class);
         locationService = mock(LocationService.class);
+        productSnapshotRepository = mock(ProductSnapshotRepository.class);
         warehouseService = new WarehouseService(warehouseRepository,
-            stockRepository, productService, locationService);
+            stockRepository, productService, locationService, productSnapshotRepository);
     }
 
     @Test
@@ -92,6 +98,38 @@ class WarehouseServiceIT {
         assertTrue(result.getFirst().existInWh());
     }
 
+    @Test
+    void testGetProductWarehouse_whenSelectionIsAll_thenFlagsProductsInWarehouse() {
+        when(stockRepository.getProductIdsInWarehouse(anyLong())).thenReturn(List.of(1L, 3L));
+        when(productService.filterProducts(anyString(), anyString(), anyList(), any()))
+            .thenReturn(List.of(new ProductInfoVm(1L, "Product 1", "SKU1", false),
+                new ProductInfoVm(2L, "Product 2", "SKU2", false)));
+
+        List<ProductInfoVm> result
+            = warehouseService.getProductWarehouse(1L, "Product", "SKU", FilterExistInWhSelection.ALL);
+
+        assertThat(result).extracting(ProductInfoVm::existInWh).containsExactly(true, false);
+    }
+
+    @Test
+    void testGetPageableProductWarehouse_NormalCase_MethodSuccess() {
+        Pageable pageable = PageRequest.of(0, 2);
+        Page<ProductInfoVm> productPage = new PageImpl<>(
+            List.of(new ProductInfoVm(1L, "Product 1", "SKU1", true),
+                new ProductInfoVm(2L, "Product 2", "SKU2", false)),
+            pageable, 3);
+        when(productSnapshotRepository.findProductForWarehouse(1L, "Product", "SKU", "ALL", pageable))
+            .thenReturn(productPage);
+
+        ProductInfoListVm result = warehouseService.getPageableProductWarehouse(
+            1L, "Product", "SKU", FilterExistInWhSelection.ALL, 0, 2);
+
+        assertEquals(2, result.productContent().size());
+        assertEquals(3, result.totalElements());
+        assertEquals(2, result.totalPages());
+        assertFalse(result.isLast());
+    }
+
     @Test
     void testFindById_NormalCase_MethodSuccess() {
         Long id = 1L;
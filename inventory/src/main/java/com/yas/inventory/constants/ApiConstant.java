@@ -20,4 +20,6 @@ public final class ApiConstant {
     public static final String ACCESS_DENIED = "ACCESS_DENIED";
 
     public static final String INVALID_ADJUSTED_QUANTITY = "INVALID_ADJUSTED_QUANTITY";
+
+    public static final int MAX_STOCK_ADJUSTMENTS = 500;
 }
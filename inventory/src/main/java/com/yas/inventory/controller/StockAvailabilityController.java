@@ -0,0 +1,30 @@
+package com.yas.inventory.controller;
+
+import com.yas.inventory.service.StockAvailabilityService;
+import com.yas.inventory.viewmodel.stock.StockAvailabilityPostVm;
+import com.yas.inventory.viewmodel.stock.StockAvailabilityVm;
+import com.yas.inventory.viewmodel.stock.StockFulfillabilityVm;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class StockAvailabilityController {
+    private final StockAvailabilityService stockAvailabilityService;
+
+    @PostMapping("/backoffice/stocks/availability")
+    public ResponseEntity<StockAvailabilityVm> checkAvailability(
+        @Valid @RequestBody StockAvailabilityPostVm stockAvailabilityPostVm) {
+        return ResponseEntity.ok(stockAvailabilityService.checkAvailability(stockAvailabilityPostVm));
+    }
+
+    @PostMapping("/storefront/stocks/availability")
+    public ResponseEntity<StockFulfillabilityVm> checkFulfillability(
+        @Valid @RequestBody StockAvailabilityPostVm stockAvailabilityPostVm) {
+        return ResponseEntity.ok(stockAvailabilityService.checkFulfillability(stockAvailabilityPostVm));
+    }
+}
@@ -2,9 +2,14 @@ package com.yas.inventory.controller;
 
 import com.yas.inventory.constants.ApiConstant;
 import com.yas.inventory.service.StockService;
+import com.yas.inventory.viewmodel.stock.StockAdjustmentResultVm;
+import com.yas.inventory.viewmodel.stock.StockAdjustmentVm;
 import com.yas.inventory.viewmodel.stock.StockPostVm;
 import com.yas.inventory.viewmodel.stock.StockQuantityUpdateVm;
 import com.yas.inventory.viewmodel.stock.StockVm;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -46,4 +51,11 @@ public class StockController {
 
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping("/adjustments")
+    public ResponseEntity<List<StockAdjustmentResultVm>> adjustStocks(
+        @RequestBody @NotEmpty @Size(max = ApiConstant.MAX_STOCK_ADJUSTMENTS)
+        List<@Valid StockAdjustmentVm> adjustments) {
+        return ResponseEntity.ok(stockService.adjustStocks(adjustments));
+    }
 }
@@ -1,8 +1,15 @@
 package com.yas.inventory.controller;
 
+import com.yas.commonlibrary.constants.PageableConstant;
 import com.yas.inventory.constants.ApiConstant;
 import com.yas.inventory.service.StockHistoryService;
+import com.yas.inventory.viewmodel.stockhistory.StockHistoryDailyListVm;
 import com.yas.inventory.viewmodel.stockhistory.StockHistoryListVm;
+import com.yas.inventory.viewmodel.stockhistory.StockHistoryPagingVm;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -27,4 +34,27 @@ public class StockHistoryController {
                 warehouseId)
         );
     }
+
+    @GetMapping("/paging")
+    public ResponseEntity<StockHistoryPagingVm> getPageableStockHistories(
+        @RequestParam Long productId,
+        @RequestParam Long warehouseId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(value = "pageNo", defaultValue = PageableConstant.DEFAULT_PAGE_NUMBER, required = false)
+        @Min(0) final int pageNo,
+        @RequestParam(value = "pageSize", defaultValue = PageableConstant.DEFAULT_PAGE_SIZE, required = false)
+        @Min(1) @Max(PageableConstant.MAX_PAGE_SIZE) final int pageSize) {
+        return ResponseEntity.ok(
+            stockHistoryService.getPageableStockHistories(productId, warehouseId, from, to, pageNo, pageSize));
+    }
+
+    @GetMapping("/daily")
+    public ResponseEntity<StockHistoryDailyListVm> getDailyStockHistories(
+        @RequestParam Long productId,
+        @RequestParam Long warehouseId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(stockHistoryService.getDailyStockHistories(productId, warehouseId, from, to));
+    }
 }
@@ -6,6 +6,7 @@ import com.yas.inventory.model.Warehouse;
 import com.yas.inventory.model.enumeration.FilterExistInWhSelection;
 import com.yas.inventory.service.WarehouseService;
 import com.yas.inventory.viewmodel.error.ErrorVm;
+import com.yas.inventory.viewmodel.product.ProductInfoListVm;
 import com.yas.inventory.viewmodel.product.ProductInfoVm;
 import com.yas.inventory.viewmodel.warehouse.WarehouseDetailVm;
 import com.yas.inventory.viewmodel.warehouse.WarehouseGetVm;
@@ -44,6 +45,20 @@ public class WarehouseController {
             warehouseService.getProductWarehouse(warehouseId, productName, productSku, existStatus));
     }
 
+    @GetMapping("/{warehouseId}/products/paging")
+    public ResponseEntity<ProductInfoListVm> getPageableProductByWarehouse(
+        @PathVariable Long warehouseId,
+        @RequestParam(defaultValue = "") String productName,
+        @RequestParam(defaultValue = "") String productSku,
+        @RequestParam(defaultValue = "ALL") FilterExistInWhSelection existStatus,
+        @RequestParam(value = "pageNo", defaultValue = PageableConstant.DEFAULT_PAGE_NUMBER, required = false)
+        final int pageNo,
+        @RequestParam(value = "pageSize", defaultValue = PageableConstant.DEFAULT_PAGE_SIZE, required = false)
+        final int pageSize) {
+        return ResponseEntity.ok(warehouseService.getPageableProductWarehouse(
+            warehouseId, productName, productSku, existStatus, pageNo, pageSize));
+    }
+
     @GetMapping("/paging")
     public ResponseEntity<WarehouseListGetVm> getPageableWarehouses(
         @RequestParam(value = "pageNo", defaultValue = PageableConstant.DEFAULT_PAGE_NUMBER, required = false)
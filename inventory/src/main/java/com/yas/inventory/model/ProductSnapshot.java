@@ -0,0 +1,36 @@
+package com.yas.inventory.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Local copy of the name and SKU of the products known by the product service, kept up to date from the product
+ * CDC topic, so that the products of a warehouse are listed with a join instead of a call to the product service.
+ */
+@Entity
+@Table(name = "product_snapshot")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSnapshot {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    private String sku;
+
+    @Column(name = "last_synced_on", nullable = false)
+    private ZonedDateTime lastSyncedOn;
+}
@@ -0,0 +1,47 @@
+package com.yas.inventory.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Stock movements of a product in a warehouse over one day, accumulated as the stock histories are appended.
+ * Quantities in and out are both positive.
+ */
+@Entity
+@Table(name = "stock_history_daily")
+@IdClass(StockHistoryDailyId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@Builder
+public class StockHistoryDaily {
+
+    @Id
+    private Long productId;
+
+    @Id
+    private Long warehouseId;
+
+    @Id
+    private LocalDate movementDate;
+
+    @Column(nullable = false)
+    private long quantityIn;
+
+    @Column(nullable = false)
+    private long quantityOut;
+
+    @Column(nullable = false)
+    private int adjustmentCount;
+}
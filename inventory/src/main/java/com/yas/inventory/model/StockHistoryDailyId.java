@@ -0,0 +1,23 @@
+package com.yas.inventory.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class StockHistoryDailyId implements Serializable {
+
+    private Long productId;
+
+    private Long warehouseId;
+
+    private LocalDate movementDate;
+}
@@ -0,0 +1,36 @@
+package com.yas.inventory.repository;
+
+import com.yas.inventory.model.ProductSnapshot;
+import com.yas.inventory.viewmodel.product.ProductInfoVm;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductSnapshotRepository extends JpaRepository<ProductSnapshot, Long> {
+
+    @Query(value = "SELECT new com.yas.inventory.viewmodel.product.ProductInfoVm("
+            + "p.id, p.name, p.sku, CASE WHEN s.id IS NULL THEN false ELSE true END) "
+            + "FROM ProductSnapshot p LEFT JOIN Stock s ON s.productId = p.id AND s.warehouse.id = :warehouseId "
+            + "WHERE (LOWER(p.name) LIKE CONCAT('%', LOWER(:name), '%') "
+            + "OR LOWER(p.sku) LIKE CONCAT('%', LOWER(:sku), '%')) "
+            + "AND (:selection = 'ALL' "
+            + "OR (:selection = 'YES' AND s.id IS NOT NULL) "
+            + "OR (:selection = 'NO' AND s.id IS NULL)) "
+            + "ORDER BY p.id ASC",
+        countQuery = "SELECT COUNT(p) "
+            + "FROM ProductSnapshot p LEFT JOIN Stock s ON s.productId = p.id AND s.warehouse.id = :warehouseId "
+            + "WHERE (LOWER(p.name) LIKE CONCAT('%', LOWER(:name), '%') "
+            + "OR LOWER(p.sku) LIKE CONCAT('%', LOWER(:sku), '%')) "
+            + "AND (:selection = 'ALL' "
+            + "OR (:selection = 'YES' AND s.id IS NOT NULL) "
+            + "OR (:selection = 'NO' AND s.id IS NULL))")
+    Page<ProductInfoVm> findProductForWarehouse(@Param("warehouseId") Long warehouseId,
+                                                @Param("name") String name,
+                                                @Param("sku") String sku,
+                                                @Param("selection") String selection,
+                                                Pageable pageable);
+}
@@ -0,0 +1,52 @@
+package com.yas.inventory.repository;
+
+import com.yas.inventory.viewmodel.stock.StockAdjustmentVm;
+import java.util.List;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Applies stock adjustments as relative updates in the database instead of read-modify-write on entities,
+ * so concurrent adjustments of the same stock cannot overwrite each other.
+ */
+@Repository
+public class StockAdjustmentRepository {
+
+    /*
+     * The guard keeps reserved quantity non-negative and never lets it exceed the on-hand quantity,
+     * a line that would break it updates no row.
+     */
+    private static final String ADJUST_STOCK_SQL = """
+        UPDATE stock
+        SET quantity = COALESCE(quantity, 0) + :quantity,
+            reserved_quantity = COALESCE(reserved_quantity, 0) + :reservedQuantity
+        WHERE id = :stockId
+        AND COALESCE(reserved_quantity, 0) + :reservedQuantity >= 0
+        AND COALESCE(quantity, 0) + :quantity >= COALESCE(reserved_quantity, 0) + :reservedQuantity
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public StockAdjustmentRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Sends every adjustment in one JDBC batch, lines are applied in order.
+     *
+     * @param adjustments the adjustments to apply
+     * @return for each adjustment, the number of updated rows: 1 when applied, 0 when the stock does not exist
+     *     or the guard rejected it
+     */
+    public int[] applyAdjustments(List<StockAdjustmentVm> adjustments) {
+        SqlParameterSource[] parameters = adjustments.stream()
+            .map(adjustment -> new MapSqlParameterSource()
+                .addValue("stockId", adjustment.stockId())
+                .addValue("quantity", adjustment.quantityDelta())
+                .addValue("reservedQuantity", adjustment.reservedQuantityDelta()))
+            .toArray(SqlParameterSource[]::new);
+        return jdbcTemplate.batchUpdate(ADJUST_STOCK_SQL, parameters);
+    }
+}
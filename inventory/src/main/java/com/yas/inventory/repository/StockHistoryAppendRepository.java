@@ -0,0 +1,115 @@
+package com.yas.inventory.repository;
+
+import com.yas.inventory.model.StockHistory;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Appends stock histories with batched inserts, and accumulates them into the daily rollups of
+ * {@link com.yas.inventory.model.StockHistoryDaily} in the same transaction. Stock histories are never updated.
+ */
+@Repository
+public class StockHistoryAppendRepository {
+
+    private static final String INSERT_STOCK_HISTORY_SQL = """
+        INSERT INTO stock_history (warehouse_id, product_id, adjusted_quantity, note,
+            created_by, created_on, last_modified_by, last_modified_on)
+        VALUES (:warehouseId, :productId, :adjustedQuantity, :note,
+            :createdBy, :createdOn, :createdBy, :createdOn)
+        """;
+
+    private static final String UPSERT_STOCK_HISTORY_DAILY_SQL = """
+        INSERT INTO stock_history_daily (product_id, warehouse_id, movement_date,
+            quantity_in, quantity_out, adjustment_count)
+        VALUES (:productId, :warehouseId, :movementDate, :quantityIn, :quantityOut, :adjustmentCount)
+        ON CONFLICT (product_id, warehouse_id, movement_date) DO UPDATE
+        SET quantity_in = stock_history_daily.quantity_in + EXCLUDED.quantity_in,
+            quantity_out = stock_history_daily.quantity_out + EXCLUDED.quantity_out,
+            adjustment_count = stock_history_daily.adjustment_count + EXCLUDED.adjustment_count
+        """;
+
+    /* Rollups are upserted in key order, so that concurrent batches lock the same rows in the same order */
+    private static final Comparator<DailyKey> DAILY_KEY_ORDER = Comparator
+        .comparing(DailyKey::productId)
+        .thenComparing(DailyKey::warehouseId)
+        .thenComparing(DailyKey::movementDate);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+
+    public StockHistoryAppendRepository(NamedParameterJdbcTemplate jdbcTemplate, AuditorAware<String> auditorAware) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditorAware = auditorAware;
+    }
+
+    /**
+     * Inserts the stock histories in one JDBC batch, all created now by the current auditor, then adds their
+     * quantities to the daily rollups in a second batch.
+     *
+     * @param stockHistories the stock histories to append, their id, creation and modification fields are ignored
+     */
+    public void appendAll(List<StockHistory> stockHistories) {
+        if (stockHistories.isEmpty()) {
+            return;
+        }
+        ZonedDateTime createdOn = ZonedDateTime.now();
+        String createdBy = auditorAware.getCurrentAuditor().orElse(null);
+
+        SqlParameterSource[] historyParameters = stockHistories.stream()
+            .map(stockHistory -> new MapSqlParameterSource()
+                .addValue("warehouseId", stockHistory.getWarehouse().getId())
+                .addValue("productId", stockHistory.getProductId())
+                .addValue("adjustedQuantity", stockHistory.getAdjustedQuantity())
+                .addValue("note", stockHistory.getNote())
+                .addValue("createdBy", createdBy)
+                .addValue("createdOn", createdOn.toLocalDateTime()))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_STOCK_HISTORY_SQL, historyParameters);
+
+        LocalDate movementDate = createdOn.toLocalDate();
+        Map<DailyKey, DailyMovement> movements = new TreeMap<>(DAILY_KEY_ORDER);
+        for (StockHistory stockHistory : stockHistories) {
+            DailyKey key = new DailyKey(
+                stockHistory.getProductId(), stockHistory.getWarehouse().getId(), movementDate);
+            movements.computeIfAbsent(key, k -> new DailyMovement()).add(stockHistory.getAdjustedQuantity());
+        }
+        SqlParameterSource[] dailyParameters = movements.entrySet().stream()
+            .map(entry -> new MapSqlParameterSource()
+                .addValue("productId", entry.getKey().productId())
+                .addValue("warehouseId", entry.getKey().warehouseId())
+                .addValue("movementDate", entry.getKey().movementDate())
+                .addValue("quantityIn", entry.getValue().quantityIn)
+                .addValue("quantityOut", entry.getValue().quantityOut)
+                .addValue("adjustmentCount", entry.getValue().adjustmentCount))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(UPSERT_STOCK_HISTORY_DAILY_SQL, dailyParameters);
+    }
+
+    private record DailyKey(Long productId, Long warehouseId, LocalDate movementDate) {
+    }
+
+    private static final class DailyMovement {
+        private long quantityIn;
+        private long quantityOut;
+        private int adjustmentCount;
+
+        void add(Long adjustedQuantity) {
+            long quantity = adjustedQuantity == null ? 0 : adjustedQuantity;
+            if (quantity > 0) {
+                quantityIn += quantity;
+            } else {
+                quantityOut -= quantity;
+            }
+            adjustmentCount++;
+        }
+    }
+}
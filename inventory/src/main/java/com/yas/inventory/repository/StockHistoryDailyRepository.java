@@ -0,0 +1,13 @@
+package com.yas.inventory.repository;
+
+import com.yas.inventory.model.StockHistoryDaily;
+import com.yas.inventory.model.StockHistoryDailyId;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StockHistoryDailyRepository extends JpaRepository<StockHistoryDaily, StockHistoryDailyId> {
+
+    List<StockHistoryDaily> findByProductIdAndWarehouseIdAndMovementDateBetweenOrderByMovementDateDesc(
+        Long productId, Long warehouseId, LocalDate from, LocalDate to);
+}
@@ -1,10 +1,24 @@
 package com.yas.inventory.repository;
 
 import com.yas.inventory.model.StockHistory;
+import java.time.ZonedDateTime;
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface StockHistoryRepository extends JpaRepository<StockHistory, Long> {
     List<StockHistory> findByProductIdAndWarehouseIdOrderByCreatedOnDesc(Long productId,
                                                                          Long warehouseId);
+
+    // The bounds on created_on let the database scan only the monthly partitions of the window
+    @Query("SELECT h FROM StockHistory h WHERE h.productId = :productId AND h.warehouse.id = :warehouseId "
+        + "AND h.createdOn >= :from AND h.createdOn < :to")
+    Page<StockHistory> findInWindow(@Param("productId") Long productId,
+                                    @Param("warehouseId") Long warehouseId,
+                                    @Param("from") ZonedDateTime from,
+                                    @Param("to") ZonedDateTime to,
+                                    Pageable pageable);
 }
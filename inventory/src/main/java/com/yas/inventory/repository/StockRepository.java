@@ -1,9 +1,12 @@
 package com.yas.inventory.repository;
 
 import com.yas.inventory.model.Stock;
+import com.yas.inventory.viewmodel.stock.StockLevelVm;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface StockRepository extends JpaRepository<Stock, Long> {
 
@@ -16,4 +19,13 @@ public interface StockRepository extends JpaRepository<Stock, Long> {
                                                 List<Long> productIds);
 
     boolean existsByWarehouseIdAndProductId(Long warehouseId, Long productId);
+
+    @Query("select new com.yas.inventory.viewmodel.stock.StockLevelVm("
+        + "s.productId, s.warehouse.id, s.quantity, s.reservedQuantity) from Stock s")
+    List<StockLevelVm> findAllStockLevels();
+
+    @Query("select new com.yas.inventory.viewmodel.stock.StockLevelVm("
+        + "s.productId, s.warehouse.id, s.quantity, s.reservedQuantity) from Stock s "
+        + "where s.productId in :productIds")
+    List<StockLevelVm> findStockLevelsByProductIdIn(@Param("productIds") Collection<Long> productIds);
 }
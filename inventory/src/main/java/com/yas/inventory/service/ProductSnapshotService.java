@@ -0,0 +1,55 @@
+package com.yas.inventory.service;
+
+import com.yas.commonlibrary.kafka.cdc.message.Product;
+import com.yas.inventory.repository.ProductSnapshotRepository;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the local product snapshot that the warehouse product listing joins with the stocks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSnapshotService {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO product_snapshot (id, name, sku, last_synced_on) VALUES (:id, :name, :sku, now())
+        ON CONFLICT (id) DO UPDATE
+        SET name = EXCLUDED.name, sku = EXCLUDED.sku, last_synced_on = EXCLUDED.last_synced_on
+        """;
+
+    private final ProductSnapshotRepository productSnapshotRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies the changes of a batch of product CDC messages to the snapshot, the products are upserted in one
+     * JDBC batch without being read first.
+     *
+     * @param upsertedProducts  the products to insert or update, at most once each
+     * @param deletedProductIds the ids of the products to remove
+     */
+    @Transactional
+    public void sync(List<Product> upsertedProducts, Set<Long> deletedProductIds) {
+        if (!deletedProductIds.isEmpty()) {
+            productSnapshotRepository.deleteAllByIdInBatch(deletedProductIds);
+        }
+        if (!upsertedProducts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, upsertedProducts.stream()
+                .map(product -> new MapSqlParameterSource()
+                    .addValue("id", product.getId())
+                    .addValue("name", product.getName())
+                    .addValue("sku", product.getSku()))
+                .toArray(SqlParameterSource[]::new));
+        }
+        log.debug("Product snapshot synced, {} upserted, {} deleted", upsertedProducts.size(),
+            deletedProductIds.size());
+    }
+}
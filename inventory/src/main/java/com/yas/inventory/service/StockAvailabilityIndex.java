@@ -0,0 +1,101 @@
+package com.yas.inventory.service;
+
+import com.yas.commonlibrary.index.RefreshableIndex;
+import com.yas.inventory.repository.StockRepository;
+import com.yas.inventory.viewmodel.stock.StockLevelVm;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory index of the available quantity of every product in every warehouse, so that the availability of a
+ * whole order is answered without a query.
+ *
+ * <p>Only the products whose stocks are written by this instance are reloaded, once their transaction commits, and
+ * the whole index is rebuilt periodically to pick up the writes of other instances. It is advisory: reserving stock
+ * through the adjustments stays the authoritative check.</p>
+ */
+@Slf4j
+@Component
+public class StockAvailabilityIndex
+    extends RefreshableIndex<Long, Map<Long, List<StockAvailabilityIndex.WarehouseAvailability>>> {
+
+    /* Most available first, then by warehouse id, so that allocations are stable */
+    private static final Comparator<WarehouseAvailability> MOST_AVAILABLE_FIRST = Comparator
+        .comparingLong(WarehouseAvailability::availableQuantity).reversed()
+        .thenComparingLong(WarehouseAvailability::warehouseId);
+
+    private final StockRepository stockRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public StockAvailabilityIndex(StockRepository stockRepository, PlatformTransactionManager transactionManager) {
+        this.stockRepository = stockRepository;
+        this.transactionTemplate = readOnlyTransactionTemplate(transactionManager);
+    }
+
+    public record WarehouseAvailability(long warehouseId, long availableQuantity) {
+    }
+
+    /**
+     * Finds the warehouses stocking a product, most available first.
+     *
+     * @return the availability per warehouse, empty when no warehouse stocks the product
+     */
+    public List<WarehouseAvailability> findByProductId(Long productId) {
+        return snapshot().getOrDefault(productId, List.of());
+    }
+
+    /**
+     * Reloads the stocks of products once the current transaction commits, or right away outside a transaction.
+     * The products written by one transaction are reloaded together.
+     */
+    public void refreshAfterCommit(Collection<Long> productIds) {
+        updateAfterCommit(productIds);
+    }
+
+    @Override
+    @Scheduled(
+        initialDelayString = "${yas.inventory.availability-index.rebuild-interval:PT1M}",
+        fixedDelayString = "${yas.inventory.availability-index.rebuild-interval:PT1M}"
+    )
+    public void rebuild() {
+        super.rebuild();
+    }
+
+    @Override
+    protected Map<Long, List<WarehouseAvailability>> load() {
+        List<StockLevelVm> stockLevels = transactionTemplate.execute(status -> stockRepository.findAllStockLevels());
+        log.debug("Loaded {} stocks into the availability index", stockLevels.size());
+        return Map.copyOf(group(stockLevels));
+    }
+
+    @Override
+    protected Map<Long, List<WarehouseAvailability>> apply(Map<Long, List<WarehouseAvailability>> current,
+                                                           Collection<Long> productIds) {
+        List<StockLevelVm> stockLevels = transactionTemplate.execute(status ->
+            stockRepository.findStockLevelsByProductIdIn(productIds));
+        Map<Long, List<WarehouseAvailability>> refreshed = new HashMap<>(current);
+        refreshed.keySet().removeAll(productIds);
+        refreshed.putAll(group(stockLevels));
+        log.debug("Reloaded the stocks of products {} in the availability index", productIds);
+        return Map.copyOf(refreshed);
+    }
+
+    private static Map<Long, List<WarehouseAvailability>> group(List<StockLevelVm> stockLevels) {
+        Map<Long, List<WarehouseAvailability>> grouped = new HashMap<>();
+        for (StockLevelVm stockLevel : stockLevels) {
+            grouped.computeIfAbsent(stockLevel.productId(), productId -> new ArrayList<>())
+                .add(new WarehouseAvailability(stockLevel.warehouseId(), stockLevel.availableQuantity()));
+        }
+        grouped.replaceAll((productId, warehouses) -> warehouses.stream().sorted(MOST_AVAILABLE_FIRST).toList());
+        return grouped;
+    }
+}
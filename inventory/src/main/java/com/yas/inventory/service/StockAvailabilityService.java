@@ -0,0 +1,95 @@
+package com.yas.inventory.service;
+
+import com.yas.inventory.service.StockAvailabilityIndex.WarehouseAvailability;
+import com.yas.inventory.viewmodel.stock.ProductAvailabilityVm;
+import com.yas.inventory.viewmodel.stock.ProductFulfillabilityVm;
+import com.yas.inventory.viewmodel.stock.StockAvailabilityItemVm;
+import com.yas.inventory.viewmodel.stock.StockAvailabilityPostVm;
+import com.yas.inventory.viewmodel.stock.StockAvailabilityVm;
+import com.yas.inventory.viewmodel.stock.StockFulfillabilityVm;
+import com.yas.inventory.viewmodel.stock.WarehouseAllocationVm;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Answers whether the products of an order are available to promise, and from which warehouses, out of the
+ * {@link StockAvailabilityIndex}.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockAvailabilityService {
+
+    private final StockAvailabilityIndex stockAvailabilityIndex;
+
+    public StockAvailabilityVm checkAvailability(StockAvailabilityPostVm stockAvailabilityPostVm) {
+        Map<Long, Long> requestedQuantities = new LinkedHashMap<>();
+        for (StockAvailabilityItemVm item : stockAvailabilityPostVm.items()) {
+            requestedQuantities.merge(item.productId(), item.quantity(), Long::sum);
+        }
+
+        List<ProductAvailabilityVm> products = new ArrayList<>(requestedQuantities.size());
+        Set<Long> fulfillingWarehouseIds = null;
+        for (Map.Entry<Long, Long> requested : requestedQuantities.entrySet()) {
+            List<WarehouseAvailability> warehouses = stockAvailabilityIndex.findByProductId(requested.getKey());
+            products.add(allocate(requested.getKey(), requested.getValue(), warehouses));
+
+            Set<Long> sufficientWarehouseIds = new TreeSet<>();
+            for (WarehouseAvailability warehouse : warehouses) {
+                if (warehouse.availableQuantity() >= requested.getValue()) {
+                    sufficientWarehouseIds.add(warehouse.warehouseId());
+                }
+            }
+            if (fulfillingWarehouseIds == null) {
+                fulfillingWarehouseIds = sufficientWarehouseIds;
+            } else {
+                fulfillingWarehouseIds.retainAll(sufficientWarehouseIds);
+            }
+        }
+
+        return new StockAvailabilityVm(
+            products.stream().allMatch(ProductAvailabilityVm::fulfillable),
+            fulfillingWarehouseIds == null ? List.of() : List.copyOf(fulfillingWarehouseIds),
+            products
+        );
+    }
+
+    /**
+     * Same as {@link #checkAvailability(StockAvailabilityPostVm)} without the quantities and warehouses, which are
+     * not disclosed to customers.
+     */
+    public StockFulfillabilityVm checkFulfillability(StockAvailabilityPostVm stockAvailabilityPostVm) {
+        StockAvailabilityVm availability = checkAvailability(stockAvailabilityPostVm);
+        return new StockFulfillabilityVm(
+            availability.fulfillable(),
+            availability.products().stream()
+                .map(product -> new ProductFulfillabilityVm(product.productId(), product.fulfillable()))
+                .toList()
+        );
+    }
+
+    /*
+     * Warehouses come most available first, so taking them in order ships from the fewest warehouses
+     */
+    private static ProductAvailabilityVm allocate(Long productId, long requestedQuantity,
+                                                  List<WarehouseAvailability> warehouses) {
+        List<WarehouseAllocationVm> allocations = new ArrayList<>();
+        long availableQuantity = 0;
+        long remainingQuantity = requestedQuantity;
+        for (WarehouseAvailability warehouse : warehouses) {
+            availableQuantity += warehouse.availableQuantity();
+            long allocatedQuantity = Math.min(remainingQuantity, warehouse.availableQuantity());
+            if (allocatedQuantity > 0) {
+                allocations.add(new WarehouseAllocationVm(warehouse.warehouseId(), allocatedQuantity));
+                remainingQuantity -= allocatedQuantity;
+            }
+        }
+        return new ProductAvailabilityVm(
+            productId, requestedQuantity, availableQuantity, remainingQuantity == 0, allocations);
+    }
+}
@@ -0,0 +1,58 @@
+package com.yas.inventory.service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background job creating the monthly partitions of {@code stock_history} ahead of time, so that new histories
+ * never fall into the default partition. Creating a partition is idempotent, every instance may run the job.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "yas.stock-history.partition.enabled", havingValue = "true")
+public class StockHistoryPartitionJob {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String CREATE_PARTITION_SQL = """
+        CREATE TABLE IF NOT EXISTS stock_history_%s PARTITION OF stock_history
+        FOR VALUES FROM ('%s') TO ('%s')
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    public StockHistoryPartitionJob(JdbcTemplate jdbcTemplate,
+                                    @Value("${yas.stock-history.partition.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${yas.stock-history.partition.cron:0 0 1 * * *}")
+    public void createUpcomingPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(currentMonth.plusMonths(i));
+        }
+    }
+
+    void createPartition(YearMonth month) {
+        String sql = CREATE_PARTITION_SQL.formatted(
+            month.format(PARTITION_SUFFIX), month.atDay(1), month.plusMonths(1).atDay(1));
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            // e.g. created concurrently by another instance, or rows of that month already in the default partition
+            log.warn("Could not create the stock history partition of {}", month, e);
+        }
+    }
+}
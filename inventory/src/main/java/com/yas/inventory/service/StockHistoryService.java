@@ -1,42 +1,68 @@
 package com.yas.inventory.service;
 
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.inventory.constants.MessageCode;
 import com.yas.inventory.model.Stock;
 import com.yas.inventory.model.StockHistory;
+import com.yas.inventory.repository.StockHistoryAppendRepository;
+import com.yas.inventory.repository.StockHistoryDailyRepository;
 import com.yas.inventory.repository.StockHistoryRepository;
 import com.yas.inventory.viewmodel.product.ProductInfoVm;
 import com.yas.inventory.viewmodel.stock.StockQuantityVm;
+import com.yas.inventory.viewmodel.stockhistory.StockHistoryDailyListVm;
+import com.yas.inventory.viewmodel.stockhistory.StockHistoryDailyVm;
 import com.yas.inventory.viewmodel.stockhistory.StockHistoryListVm;
+import com.yas.inventory.viewmodel.stockhistory.StockHistoryPagingVm;
 import com.yas.inventory.viewmodel.stockhistory.StockHistoryVm;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Transactional
 public class StockHistoryService {
+    private static final int DEFAULT_HISTORY_WINDOW_DAYS = 30;
+    private static final int DEFAULT_DAILY_WINDOW_DAYS = 365;
+
     private final StockHistoryRepository stockHistoryRepository;
 
+    private final StockHistoryAppendRepository stockHistoryAppendRepository;
+
+    private final StockHistoryDailyRepository stockHistoryDailyRepository;
+
     private final ProductService productService;
 
     public StockHistoryService(StockHistoryRepository stockHistoryRepository,
+                               StockHistoryAppendRepository stockHistoryAppendRepository,
+                               StockHistoryDailyRepository stockHistoryDailyRepository,
                                ProductService productService) {
         this.stockHistoryRepository = stockHistoryRepository;
+        this.stockHistoryAppendRepository = stockHistoryAppendRepository;
+        this.stockHistoryDailyRepository = stockHistoryDailyRepository;
         this.productService = productService;
     }
 
     public void createStockHistories(final List<Stock> stocks,
                                      final List<StockQuantityVm> stockQuantityVms) {
+        Map<Long, Stock> stocksById = stocks.stream()
+            .filter(stock -> stock.getId() != null)
+            .collect(Collectors.toMap(Stock::getId, Function.identity(), (first, second) -> first));
         List<StockHistory> stockHistories = new ArrayList<>();
 
-        for (final Stock stock : stocks) {
-            StockQuantityVm stockQuantityVm = stockQuantityVms
-                .parallelStream()
-                .filter(stockQuantityVm1 -> stockQuantityVm1.stockId().equals(stock.getId()))
-                .findFirst()
-                .orElse(null);
+        for (final StockQuantityVm stockQuantityVm : stockQuantityVms) {
+            Stock stock = stocksById.get(stockQuantityVm.stockId());
 
-            if (stockQuantityVm == null) {
+            if (stock == null) {
                 continue;
             }
 
@@ -49,7 +75,7 @@ public class StockHistoryService {
                     .build()
             );
         }
-        stockHistoryRepository.saveAll(stockHistories);
+        stockHistoryAppendRepository.appendAll(stockHistories);
     }
 
     public StockHistoryListVm getStockHistories(final Long productId,
@@ -69,4 +95,69 @@ public class StockHistoryService {
             ).toList()
         );
     }
+
+    /**
+     * Lists a page of the stock histories of a product in a warehouse, newest first, created within a window of
+     * days. The window defaults to the last {@value #DEFAULT_HISTORY_WINDOW_DAYS} days up to today.
+     *
+     * @param from the first day of the window, inclusive
+     * @param to   the last day of the window, inclusive
+     */
+    @Transactional(readOnly = true)
+    public StockHistoryPagingVm getPageableStockHistories(final Long productId, final Long warehouseId,
+                                                          final LocalDate from, final LocalDate to,
+                                                          final int pageNo, final int pageSize) {
+        LocalDate lastDay = to != null ? to : LocalDate.now();
+        LocalDate firstDay = from != null ? from : lastDay.minusDays(DEFAULT_HISTORY_WINDOW_DAYS - 1L);
+        validateDateRange(firstDay, lastDay);
+
+        ZoneId zone = ZoneId.systemDefault();
+        final Pageable pageable = PageRequest.of(pageNo, pageSize,
+            Sort.by(Sort.Direction.DESC, "createdOn", "id"));
+        final Page<StockHistory> stockHistoryPage = stockHistoryRepository.findInWindow(
+            productId, warehouseId, firstDay.atStartOfDay(zone), lastDay.plusDays(1).atStartOfDay(zone), pageable);
+        ProductInfoVm productInfoVm = productService.getProduct(productId);
+
+        return new StockHistoryPagingVm(
+            stockHistoryPage.getContent().stream()
+                .map(stockHistory -> StockHistoryVm.fromModel(stockHistory, productInfoVm))
+                .toList(),
+            stockHistoryPage.getNumber(),
+            stockHistoryPage.getSize(),
+            (int) stockHistoryPage.getTotalElements(),
+            stockHistoryPage.getTotalPages(),
+            stockHistoryPage.isLast()
+        );
+    }
+
+    /**
+     * Lists the daily stock movements of a product in a warehouse, newest day first, read from the rollups rather
+     * than from the histories. The window defaults to the last {@value #DEFAULT_DAILY_WINDOW_DAYS} days up to today,
+     * days without movement are omitted.
+     *
+     * @param from the first day of the window, inclusive
+     * @param to   the last day of the window, inclusive
+     */
+    @Transactional(readOnly = true)
+    public StockHistoryDailyListVm getDailyStockHistories(final Long productId, final Long warehouseId,
+                                                          final LocalDate from, final LocalDate to) {
+        LocalDate lastDay = to != null ? to : LocalDate.now();
+        LocalDate firstDay = from != null ? from : lastDay.minusDays(DEFAULT_DAILY_WINDOW_DAYS - 1L);
+        validateDateRange(firstDay, lastDay);
+
+        return new StockHistoryDailyListVm(
+            stockHistoryDailyRepository
+                .findByProductIdAndWarehouseIdAndMovementDateBetweenOrderByMovementDateDesc(
+                    productId, warehouseId, firstDay, lastDay)
+                .stream()
+                .map(StockHistoryDailyVm::fromModel)
+                .toList()
+        );
+    }
+
+    private static void validateDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException(MessageCode.INVALID_DATE_RANGE, from, to);
+        }
+    }
 }
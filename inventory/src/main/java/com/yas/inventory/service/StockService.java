@@ -8,42 +8,61 @@ import com.yas.inventory.constants.MessageCode;
 import com.yas.inventory.model.Stock;
 import com.yas.inventory.model.Warehouse;
 import com.yas.inventory.model.enumeration.FilterExistInWhSelection;
+import com.yas.inventory.repository.StockAdjustmentRepository;
 import com.yas.inventory.repository.StockRepository;
 import com.yas.inventory.repository.WarehouseRepository;
 import com.yas.inventory.viewmodel.product.ProductInfoVm;
 import com.yas.inventory.viewmodel.product.ProductQuantityPostVm;
+import com.yas.inventory.viewmodel.stock.StockAdjustmentResultVm;
+import com.yas.inventory.viewmodel.stock.StockAdjustmentVm;
 import com.yas.inventory.viewmodel.stock.StockPostVm;
 import com.yas.inventory.viewmodel.stock.StockQuantityUpdateVm;
 import com.yas.inventory.viewmodel.stock.StockQuantityVm;
 import com.yas.inventory.viewmodel.stock.StockVm;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+@Slf4j
 @Service
 @Transactional
 public class StockService {
     private final WarehouseRepository warehouseRepository;
     private final StockRepository stockRepository;
+    private final StockAdjustmentRepository stockAdjustmentRepository;
     private final ProductService productService;
 
     private final WarehouseService warehouseService;
 
     private final StockHistoryService stockHistoryService;
 
+    private final StockAvailabilityIndex stockAvailabilityIndex;
+
     public StockService(WarehouseRepository warehouseRepository,
                         StockRepository stockRepository,
+                        StockAdjustmentRepository stockAdjustmentRepository,
                         ProductService productService,
                         WarehouseService warehouseService,
-                        StockHistoryService stockHistoryService) {
+                        StockHistoryService stockHistoryService,
+                        StockAvailabilityIndex stockAvailabilityIndex) {
         this.warehouseRepository = warehouseRepository;
         this.stockRepository = stockRepository;
+        this.stockAdjustmentRepository = stockAdjustmentRepository;
         this.productService = productService;
         this.warehouseService = warehouseService;
         this.stockHistoryService = stockHistoryService;
+        this.stockAvailabilityIndex = stockAvailabilityIndex;
     }
 
     public void addProductIntoWarehouse(List<StockPostVm> postVms) {
@@ -80,7 +99,7 @@ public class StockService {
 
 
         stockRepository.saveAll(stocks);
-
+        stockAvailabilityIndex.refreshAfterCommit(stocks.stream().map(Stock::getProductId).toList());
     }
 
     public List<StockVm> getStocksByWarehouseIdAndProductNameAndSku(Long warehouseId,
@@ -135,6 +154,7 @@ public class StockService {
         }
         stockRepository.saveAll(stocks);
         stockHistoryService.createStockHistories(stocks, stockQuantityVms);
+        stockAvailabilityIndex.refreshAfterCommit(stocks.stream().map(Stock::getProductId).toList());
 
         //Update stock quantity for product
         List<ProductQuantityPostVm> productQuantityPostVms = stocks.parallelStream()
@@ -144,4 +164,80 @@ public class StockService {
             productService.updateProductQuantity(productQuantityPostVms);
         }
     }
+
+    /**
+     * Applies on-hand and reserved quantity deltas with relative SQL updates sent as one batch.
+     * A line that would make the reserved quantity negative or larger than the on-hand quantity is rejected
+     * without failing the other lines. The product service is only told about the new quantities once the
+     * adjustments are committed, so that its call does not hold the stock rows locked.
+     *
+     * @param adjustments the adjustments to apply, in order
+     * @return the outcome of each line, in request order
+     */
+    public List<StockAdjustmentResultVm> adjustStocks(final List<StockAdjustmentVm> adjustments) {
+        if (adjustments.isEmpty()) {
+            return List.of();
+        }
+
+        int[] updateCounts = stockAdjustmentRepository.applyAdjustments(adjustments);
+
+        Map<Long, Stock> stocksById = stockRepository.findAllById(
+                adjustments.stream().map(StockAdjustmentVm::stockId).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(Stock::getId, Function.identity()));
+
+        List<StockAdjustmentResultVm> results = new ArrayList<>(adjustments.size());
+        List<StockQuantityVm> appliedQuantityChanges = new ArrayList<>();
+        Set<Long> adjustedProductIds = new HashSet<>();
+        for (int i = 0; i < adjustments.size(); i++) {
+            StockAdjustmentVm adjustment = adjustments.get(i);
+            if (updateCounts[i] > 0) {
+                results.add(StockAdjustmentResultVm.succeeded(adjustment.stockId()));
+                adjustedProductIds.add(stocksById.get(adjustment.stockId()).getProductId());
+                if (adjustment.quantityDelta() != 0) {
+                    appliedQuantityChanges.add(new StockQuantityVm(
+                        adjustment.stockId(), adjustment.quantityDelta(), adjustment.note()));
+                }
+            } else if (stocksById.containsKey(adjustment.stockId())) {
+                results.add(StockAdjustmentResultVm.failed(adjustment.stockId(), MessageCode.INSUFFICIENT_STOCK));
+            } else {
+                results.add(StockAdjustmentResultVm.failed(adjustment.stockId(), MessageCode.STOCK_NOT_FOUND));
+            }
+        }
+
+        // reserved quantity changes alone also change availability
+        stockAvailabilityIndex.refreshAfterCommit(adjustedProductIds);
+
+        if (!appliedQuantityChanges.isEmpty()) {
+            List<Stock> adjustedStocks = appliedQuantityChanges.stream()
+                .map(StockQuantityVm::stockId)
+                .distinct()
+                .map(stocksById::get)
+                .toList();
+            stockHistoryService.createStockHistories(adjustedStocks, appliedQuantityChanges);
+            updateProductQuantityAfterCommit(adjustedStocks.stream()
+                .map(ProductQuantityPostVm::fromModel)
+                .toList());
+        }
+        return results;
+    }
+
+    private void updateProductQuantityAfterCommit(List<ProductQuantityPostVm> productQuantityPostVms) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            productService.updateProductQuantity(productQuantityPostVms);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    productService.updateProductQuantity(productQuantityPostVms);
+                } catch (RuntimeException e) {
+                    // the adjustments are committed, failing the request would only get them applied twice
+                    log.error("Failed to update the quantity of products {} after adjusting their stocks",
+                        productQuantityPostVms.stream().map(ProductQuantityPostVm::productId).toList(), e);
+                }
+            }
+        });
+    }
 }
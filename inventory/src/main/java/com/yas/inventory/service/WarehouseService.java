@@ -2,14 +2,17 @@ package com.yas.inventory.service;
 
 import com.yas.commonlibrary.exception.DuplicatedException;
 import com.yas.commonlibrary.exception.NotFoundException;
+import com.yas.commonlibrary.utils.LongHashSet;
 import com.yas.inventory.constants.MessageCode;
 import com.yas.inventory.model.Warehouse;
 import com.yas.inventory.model.enumeration.FilterExistInWhSelection;
+import com.yas.inventory.repository.ProductSnapshotRepository;
 import com.yas.inventory.repository.StockRepository;
 import com.yas.inventory.repository.WarehouseRepository;
 import com.yas.inventory.viewmodel.address.AddressDetailVm;
 import com.yas.inventory.viewmodel.address.AddressPostVm;
 import com.yas.inventory.viewmodel.address.AddressVm;
+import com.yas.inventory.viewmodel.product.ProductInfoListVm;
 import com.yas.inventory.viewmodel.product.ProductInfoVm;
 import com.yas.inventory.viewmodel.warehouse.WarehouseDetailVm;
 import com.yas.inventory.viewmodel.warehouse.WarehouseGetVm;
@@ -32,6 +35,7 @@ public class WarehouseService {
     private final StockRepository stockRepository;
     private final ProductService productService;
     private final LocationService locationService;
+    private final ProductSnapshotRepository productSnapshotRepository;
 
     @Transactional(readOnly = true)
     public List<WarehouseGetVm> findAllWarehouses() {
@@ -50,15 +54,38 @@ public class WarehouseService {
             productName, productSku, productIds, existStatus);
 
         if (!CollectionUtils.isEmpty(productIds)) {
+            LongHashSet productIdsInWarehouse = LongHashSet.of(productIds);
             return productVmList.stream().map(productVm ->
                 new ProductInfoVm(productVm.id(), productVm.name(), productVm.sku(),
-                    productIds.contains(productVm.id()))
+                    productIdsInWarehouse.contains(productVm.id()))
             ).toList();
         }
 
         return productVmList;
     }
 
+    /**
+     * Lists a page of the products matching a name or SKU, with whether the warehouse stocks them, by joining the
+     * stocks of the warehouse with the local product snapshot, so that no product id leaves the inventory.
+     */
+    @Transactional(readOnly = true)
+    public ProductInfoListVm getPageableProductWarehouse(Long warehouseId, String productName, String productSku,
+                                                         FilterExistInWhSelection existStatus,
+                                                         final int pageNo, final int pageSize) {
+        final Pageable pageable = PageRequest.of(pageNo, pageSize);
+        final Page<ProductInfoVm> productPage = productSnapshotRepository.findProductForWarehouse(
+            warehouseId, productName, productSku, existStatus.name(), pageable);
+
+        return new ProductInfoListVm(
+            productPage.getContent(),
+            productPage.getNumber(),
+            productPage.getSize(),
+            (int) productPage.getTotalElements(),
+            productPage.getTotalPages(),
+            productPage.isLast()
+        );
+    }
+
     @Transactional(readOnly = true)
     public WarehouseDetailVm findById(final Long id) {
         final Warehouse warehouse = warehouseRepository
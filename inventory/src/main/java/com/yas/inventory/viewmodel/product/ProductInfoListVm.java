@@ -0,0 +1,14 @@
+package com.yas.inventory.viewmodel.product;
+
+import java.util.List;
+
+public record ProductInfoListVm(
+    List<ProductInfoVm> productContent,
+    int pageNo,
+    int pageSize,
+    int totalElements,
+    int totalPages,
+    boolean isLast
+) {
+
+}
@@ -0,0 +1,19 @@
+package com.yas.inventory.viewmodel.stock;
+
+import java.util.List;
+
+/**
+ * Availability of a product of an order.
+ *
+ * @param availableQuantity the quantity available over all warehouses
+ * @param allocations       where to take the requested quantity from, in as few warehouses as possible, or as
+ *                          much as available when the product is not fulfillable
+ */
+public record ProductAvailabilityVm(
+    Long productId,
+    long requestedQuantity,
+    long availableQuantity,
+    boolean fulfillable,
+    List<WarehouseAllocationVm> allocations
+) {
+}
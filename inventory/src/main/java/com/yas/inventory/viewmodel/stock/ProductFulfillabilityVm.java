@@ -0,0 +1,4 @@
+package com.yas.inventory.viewmodel.stock;
+
+public record ProductFulfillabilityVm(Long productId, boolean fulfillable) {
+}
@@ -0,0 +1,12 @@
+package com.yas.inventory.viewmodel.stock;
+
+public record StockAdjustmentResultVm(Long stockId, boolean success, String errorCode) {
+
+    public static StockAdjustmentResultVm succeeded(Long stockId) {
+        return new StockAdjustmentResultVm(stockId, true, null);
+    }
+
+    public static StockAdjustmentResultVm failed(Long stockId, String errorCode) {
+        return new StockAdjustmentResultVm(stockId, false, errorCode);
+    }
+}
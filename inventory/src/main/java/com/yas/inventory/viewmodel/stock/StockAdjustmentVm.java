@@ -0,0 +1,22 @@
+package com.yas.inventory.viewmodel.stock;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One line of a bulk stock adjustment, both quantities are deltas applied to the current values.
+ *
+ * @param stockId          the stock to adjust
+ * @param quantity         the change of on-hand quantity, {@code null} means no change
+ * @param reservedQuantity the change of reserved quantity, {@code null} means no change
+ * @param note             recorded in the stock history when the on-hand quantity changes
+ */
+public record StockAdjustmentVm(@NotNull Long stockId, Long quantity, Long reservedQuantity, String note) {
+
+    public long quantityDelta() {
+        return quantity != null ? quantity : 0;
+    }
+
+    public long reservedQuantityDelta() {
+        return reservedQuantity != null ? reservedQuantity : 0;
+    }
+}
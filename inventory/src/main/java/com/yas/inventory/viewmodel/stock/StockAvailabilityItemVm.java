@@ -0,0 +1,7 @@
+package com.yas.inventory.viewmodel.stock;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record StockAvailabilityItemVm(@NotNull Long productId, @NotNull @Positive Long quantity) {
+}
@@ -0,0 +1,12 @@
+package com.yas.inventory.viewmodel.stock;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * The products and quantities of an order whose availability is checked, lines of the same product add up.
+ */
+public record StockAvailabilityPostVm(@NotEmpty @Size(max = 100) List<@Valid StockAvailabilityItemVm> items) {
+}
@@ -0,0 +1,17 @@
+package com.yas.inventory.viewmodel.stock;
+
+import java.util.List;
+
+/**
+ * Availability of an order.
+ *
+ * @param fulfillable            whether every product is available in the requested quantity
+ * @param fulfillingWarehouseIds the warehouses that can ship the whole order alone
+ * @param products               the availability of each product, in request order
+ */
+public record StockAvailabilityVm(
+    boolean fulfillable,
+    List<Long> fulfillingWarehouseIds,
+    List<ProductAvailabilityVm> products
+) {
+}
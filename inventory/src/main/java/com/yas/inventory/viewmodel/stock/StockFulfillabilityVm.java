@@ -0,0 +1,12 @@
+package com.yas.inventory.viewmodel.stock;
+
+import java.util.List;
+
+/**
+ * Availability of an order as shown to customers, without quantities nor warehouses.
+ *
+ * @param fulfillable whether every product is available in the requested quantity
+ * @param products    whether each product is available in the requested quantity, in request order
+ */
+public record StockFulfillabilityVm(boolean fulfillable, List<ProductFulfillabilityVm> products) {
+}
@@ -0,0 +1,16 @@
+package com.yas.inventory.viewmodel.stock;
+
+/**
+ * On-hand and reserved quantities of a product in a warehouse.
+ */
+public record StockLevelVm(Long productId, Long warehouseId, Long quantity, Long reservedQuantity) {
+
+    /**
+     * The quantity that can still be promised, never negative.
+     */
+    public long availableQuantity() {
+        long onHand = quantity != null ? quantity : 0;
+        long reserved = reservedQuantity != null ? reservedQuantity : 0;
+        return Math.max(0, onHand - reserved);
+    }
+}
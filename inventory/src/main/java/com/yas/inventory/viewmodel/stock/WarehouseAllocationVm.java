@@ -0,0 +1,4 @@
+package com.yas.inventory.viewmodel.stock;
+
+public record WarehouseAllocationVm(Long warehouseId, long quantity) {
+}
@@ -0,0 +1,6 @@
+package com.yas.inventory.viewmodel.stockhistory;
+
+import java.util.List;
+
+public record StockHistoryDailyListVm(List<StockHistoryDailyVm> data) {
+}
@@ -0,0 +1,22 @@
+package com.yas.inventory.viewmodel.stockhistory;
+
+import com.yas.inventory.model.StockHistoryDaily;
+import java.time.LocalDate;
+
+public record StockHistoryDailyVm(
+    LocalDate date,
+    long quantityIn,
+    long quantityOut,
+    long netQuantity,
+    int adjustmentCount
+) {
+    public static StockHistoryDailyVm fromModel(StockHistoryDaily stockHistoryDaily) {
+        return new StockHistoryDailyVm(
+            stockHistoryDaily.getMovementDate(),
+            stockHistoryDaily.getQuantityIn(),
+            stockHistoryDaily.getQuantityOut(),
+            stockHistoryDaily.getQuantityIn() - stockHistoryDaily.getQuantityOut(),
+            stockHistoryDaily.getAdjustmentCount()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.yas.inventory.viewmodel.stockhistory;
+
+import java.util.List;
+
+public record StockHistoryPagingVm(
+    List<StockHistoryVm> stockHistoryContent,
+    int pageNo,
+    int pageSize,
+    int totalElements,
+    int totalPages,
+    boolean isLast
+) {
+
+}
@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset yas:product-snapshot
+CREATE TABLE IF NOT EXISTS product_snapshot (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(450),
+    sku VARCHAR(255),
+    last_synced_on TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+--changeset yas:stock-warehouse-product-index
+CREATE INDEX IF NOT EXISTS idx_stock_warehouse_id_product_id ON stock (warehouse_id, product_id);
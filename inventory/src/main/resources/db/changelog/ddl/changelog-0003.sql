@@ -0,0 +1,65 @@
+--liquibase formatted sql
+
+--changeset yas:stock-history-partitioned splitStatements:false
+ALTER TABLE stock_history RENAME TO stock_history_legacy;
+ALTER SEQUENCE stock_history_id_seq OWNED BY NONE;
+
+CREATE TABLE stock_history (
+    id BIGINT NOT NULL DEFAULT nextval('stock_history_id_seq'),
+    warehouse_id BIGINT NOT NULL REFERENCES warehouse (id),
+    product_id BIGINT NOT NULL,
+    adjusted_quantity BIGINT,
+    note VARCHAR(450),
+    created_by VARCHAR(255),
+    created_on TIMESTAMP(6) NOT NULL DEFAULT now(),
+    last_modified_by VARCHAR(255),
+    last_modified_on TIMESTAMP(6),
+    PRIMARY KEY (id, created_on)
+) PARTITION BY RANGE (created_on);
+
+CREATE TABLE stock_history_default PARTITION OF stock_history DEFAULT;
+
+-- one partition per month, from the oldest history to the months StockHistoryPartitionJob would create
+DO $$
+DECLARE
+    partition_month DATE := date_trunc('month', COALESCE((SELECT MIN(created_on) FROM stock_history_legacy), now()));
+BEGIN
+    WHILE partition_month < date_trunc('month', now()) + INTERVAL '4 months' LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF stock_history FOR VALUES FROM (%L) TO (%L)',
+            'stock_history_' || to_char(partition_month, 'YYYYMM'),
+            partition_month,
+            (partition_month + INTERVAL '1 month')::DATE);
+        partition_month := partition_month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO stock_history (id, warehouse_id, product_id, adjusted_quantity, note,
+    created_by, created_on, last_modified_by, last_modified_on)
+SELECT id, warehouse_id, product_id, adjusted_quantity, note,
+    created_by, COALESCE(created_on, last_modified_on, now()), last_modified_by, last_modified_on
+FROM stock_history_legacy;
+
+DROP TABLE stock_history_legacy;
+ALTER SEQUENCE stock_history_id_seq OWNED BY stock_history.id;
+
+CREATE INDEX idx_stock_history_product_warehouse_created_on
+    ON stock_history (product_id, warehouse_id, created_on DESC);
+
+--changeset yas:stock-history-daily
+CREATE TABLE IF NOT EXISTS stock_history_daily (
+    product_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL REFERENCES warehouse (id),
+    movement_date DATE NOT NULL,
+    quantity_in BIGINT NOT NULL DEFAULT 0,
+    quantity_out BIGINT NOT NULL DEFAULT 0,
+    adjustment_count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (product_id, warehouse_id, movement_date)
+);
+
+INSERT INTO stock_history_daily (product_id, warehouse_id, movement_date, quantity_in, quantity_out, adjustment_count)
+SELECT product_id, warehouse_id, CAST(created_on AS DATE),
+    SUM(GREATEST(COALESCE(adjusted_quantity, 0), 0)),
+    SUM(GREATEST(-COALESCE(adjusted_quantity, 0), 0)),
+    COUNT(*)
+FROM stock_history
+GROUP BY product_id, warehouse_id, CAST(created_on AS DATE);
@@ -0,0 +1,85 @@
+package com.yas.inventory.controller;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.inventory.InventoryApplication;
+import com.yas.inventory.service.StockAvailabilityService;
+import com.yas.inventory.viewmodel.stock.ProductAvailabilityVm;
+import com.yas.inventory.viewmodel.stock.ProductFulfillabilityVm;
+import com.yas.inventory.viewmodel.stock.StockAvailabilityItemVm;
+import com.yas.inventory.viewmodel.stock.StockAvailabilityPostVm;
+import com.yas.inventory.viewmodel.stock.StockAvailabilityVm;
+import com.yas.inventory.viewmodel.stock.StockFulfillabilityVm;
+import com.yas.inventory.viewmodel.stock.WarehouseAllocationVm;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = StockAvailabilityController.class)
+@ContextConfiguration(classes = InventoryApplication.class)
+@AutoConfigureMockMvc(addFilters = false)
+class StockAvailabilityControllerTest {
+
+    @MockBean
+    private StockAvailabilityService stockAvailabilityService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testCheckAvailability_whenRequestIsValid_thenReturnAvailability() throws Exception {
+        StockAvailabilityPostVm request = new StockAvailabilityPostVm(List.of(new StockAvailabilityItemVm(1L, 2L)));
+        given(stockAvailabilityService.checkAvailability(request)).willReturn(new StockAvailabilityVm(
+            true, List.of(10L),
+            List.of(new ProductAvailabilityVm(1L, 2L, 5L, true, List.of(new WarehouseAllocationVm(10L, 2L))))));
+
+        mockMvc.perform(post("/backoffice/stocks/availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.fulfillable").value(true))
+            .andExpect(jsonPath("$.fulfillingWarehouseIds[0]").value(10))
+            .andExpect(jsonPath("$.products[0].allocations[0].quantity").value(2));
+    }
+
+    @Test
+    void testCheckFulfillability_whenRequestIsValid_thenReturnFlagsOnly() throws Exception {
+        StockAvailabilityPostVm request = new StockAvailabilityPostVm(List.of(new StockAvailabilityItemVm(1L, 2L)));
+        given(stockAvailabilityService.checkFulfillability(request)).willReturn(new StockFulfillabilityVm(
+            false, List.of(new ProductFulfillabilityVm(1L, false))));
+
+        mockMvc.perform(post("/storefront/stocks/availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.fulfillable").value(false))
+            .andExpect(jsonPath("$.products[0].productId").value(1))
+            .andExpect(jsonPath("$.products[0].fulfillable").value(false))
+            .andExpect(jsonPath("$.fulfillingWarehouseIds").doesNotExist());
+    }
+
+    @Test
+    void testCheckAvailability_whenQuantityIsNotPositive_thenReturnBadRequest() throws Exception {
+        StockAvailabilityPostVm request = new StockAvailabilityPostVm(List.of(new StockAvailabilityItemVm(1L, 0L)));
+
+        mockMvc.perform(post("/backoffice/stocks/availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -1,6 +1,9 @@
 package com.yas.inventory.controller;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -9,11 +12,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.yas.inventory.InventoryApplication;
+import com.yas.inventory.constants.ApiConstant;
 import com.yas.inventory.service.StockService;
+import com.yas.inventory.viewmodel.stock.StockAdjustmentResultVm;
+import com.yas.inventory.viewmodel.stock.StockAdjustmentVm;
 import com.yas.inventory.viewmodel.stock.StockPostVm;
 import com.yas.inventory.viewmodel.stock.StockQuantityUpdateVm;
 import com.yas.inventory.viewmodel.stock.StockVm;
 import java.util.List;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -120,4 +127,64 @@ class StockControllerTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void testAdjustStocks_whenRequestIsValid_thenReturnResultPerLine() throws Exception {
+
+        List<StockAdjustmentVm> adjustments = List.of(
+            new StockAdjustmentVm(1L, -2L, null, "sold"),
+            new StockAdjustmentVm(2L, null, 5L, null)
+        );
+        given(stockService.adjustStocks(adjustments)).willReturn(List.of(
+            StockAdjustmentResultVm.succeeded(1L),
+            StockAdjustmentResultVm.failed(2L, "INSUFFICIENT_STOCK")
+        ));
+
+        mockMvc.perform(post("/backoffice/stocks/adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectWriter.writeValueAsString(adjustments)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].success").value(true))
+            .andExpect(jsonPath("$[1].success").value(false))
+            .andExpect(jsonPath("$[1].errorCode").value("INSUFFICIENT_STOCK"));
+    }
+
+    @Test
+    void testAdjustStocks_whenNoAdjustment_thenReturnBadRequest() throws Exception {
+
+        mockMvc.perform(post("/backoffice/stocks/adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(status().isBadRequest());
+
+        verify(stockService, never()).adjustStocks(anyList());
+    }
+
+    @Test
+    void testAdjustStocks_whenStockIdIsMissing_thenReturnBadRequest() throws Exception {
+
+        List<StockAdjustmentVm> adjustments = List.of(new StockAdjustmentVm(null, 1L, null, null));
+
+        mockMvc.perform(post("/backoffice/stocks/adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectWriter.writeValueAsString(adjustments)))
+            .andExpect(status().isBadRequest());
+
+        verify(stockService, never()).adjustStocks(anyList());
+    }
+
+    @Test
+    void testAdjustStocks_whenTooManyAdjustments_thenReturnBadRequest() throws Exception {
+
+        List<StockAdjustmentVm> adjustments = LongStream.rangeClosed(1, ApiConstant.MAX_STOCK_ADJUSTMENTS + 1)
+            .mapToObj(stockId -> new StockAdjustmentVm(stockId, 1L, null, null))
+            .toList();
+
+        mockMvc.perform(post("/backoffice/stocks/adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectWriter.writeValueAsString(adjustments)))
+            .andExpect(status().isBadRequest());
+
+        verify(stockService, never()).adjustStocks(anyList());
+    }
+}
@@ -1,6 +1,11 @@
 package com.yas.inventory.controller;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -9,11 +14,17 @@ import com.yas.inventory.InventoryApplication;
 import com.yas.inventory.model.StockHistory;
 import com.yas.inventory.service.StockHistoryService;
 import com.yas.inventory.viewmodel.product.ProductInfoVm;
+import com.yas.inventory.viewmodel.stockhistory.StockHistoryDailyListVm;
+import com.yas.inventory.viewmodel.stockhistory.StockHistoryDailyVm;
 import com.yas.inventory.viewmodel.stockhistory.StockHistoryListVm;
+import com.yas.inventory.viewmodel.stockhistory.StockHistoryPagingVm;
 import com.yas.inventory.viewmodel.stockhistory.StockHistoryVm;
+import java.time.LocalDate;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -82,4 +93,67 @@ class StockHistoryControllerTest {
                 .value(stockHistoryVm2.adjustedQuantity()));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testGetPageableStockHistories_whenWindowIsGiven_thenReturnPageOfStockHistories() throws Exception {
+        StockHistory stockHistory = StockHistory.builder()
+            .id(1L)
+            .productId(1L)
+            .adjustedQuantity(100L)
+            .note("Initial stock")
+            .build();
+        StockHistoryPagingVm stockHistoryPagingVm = new StockHistoryPagingVm(
+            List.of(StockHistoryVm.fromModel(stockHistory, new ProductInfoVm(1L, "Product1", "SKU123", true))),
+            0, 10, 1, 1, true);
+
+        given(stockHistoryService.getPageableStockHistories(
+            1L, 2L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 0, 10))
+            .willReturn(stockHistoryPagingVm);
+
+        this.mockMvc.perform(get("/backoffice/stocks/histories/paging")
+                .param("productId", "1")
+                .param("warehouseId", "2")
+                .param("from", "2024-01-01")
+                .param("to", "2024-01-31")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.stockHistoryContent.length()").value(1))
+            .andExpect(jsonPath("$.stockHistoryContent[0].note").value("Initial stock"))
+            .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"-1, 10", "0, 0", "0, 101"})
+    void testGetPageableStockHistories_whenPagingIsOutOfBounds_thenReturnBadRequest(String pageNo, String pageSize)
+        throws Exception {
+
+        this.mockMvc.perform(get("/backoffice/stocks/histories/paging")
+                .param("productId", "1")
+                .param("warehouseId", "2")
+                .param("pageNo", pageNo)
+                .param("pageSize", pageSize)
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+
+        verify(stockHistoryService, never())
+            .getPageableStockHistories(anyLong(), anyLong(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testGetDailyStockHistories_whenWindowIsOmitted_thenReturnDailyMovements() throws Exception {
+        StockHistoryDailyListVm stockHistoryDailyListVm = new StockHistoryDailyListVm(
+            List.of(new StockHistoryDailyVm(LocalDate.of(2024, 1, 2), 30L, 10L, 20L, 3)));
+
+        given(stockHistoryService.getDailyStockHistories(1L, 2L, null, null))
+            .willReturn(stockHistoryDailyListVm);
+
+        this.mockMvc.perform(get("/backoffice/stocks/histories/daily")
+                .param("productId", "1")
+                .param("warehouseId", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].date").value("2024-01-02"))
+            .andExpect(jsonPath("$.data[0].netQuantity").value(20))
+            .andExpect(jsonPath("$.data[0].adjustmentCount").value(3));
+    }
+
+}
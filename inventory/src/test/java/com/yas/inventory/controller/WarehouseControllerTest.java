@@ -13,6 +13,7 @@ import com.yas.inventory.InventoryApplication;
 import com.yas.inventory.model.Warehouse;
 import com.yas.inventory.model.enumeration.FilterExistInWhSelection;
 import com.yas.inventory.service.WarehouseService;
+import com.yas.inventory.viewmodel.product.ProductInfoListVm;
 import com.yas.inventory.viewmodel.product.ProductInfoVm;
 import com.yas.inventory.viewmodel.warehouse.WarehouseDetailVm;
 import com.yas.inventory.viewmodel.warehouse.WarehouseGetVm;
@@ -81,6 +82,25 @@ class WarehouseControllerTest {
             .andExpect(jsonPath("$[1].sku").value("SKU2"));
     }
 
+    @Test
+    void testGetPageableProductByWarehouse_whenNoFilter_thenReturnPagedProducts() throws Exception {
+        ProductInfoListVm productInfoListVm = new ProductInfoListVm(
+            List.of(new ProductInfoVm(1L, "Product1", "SKU1", true),
+                new ProductInfoVm(2L, "Product2", "SKU2", false)),
+            0, 10, 2, 1, true);
+
+        given(warehouseService.getPageableProductWarehouse(1L, "", "", FilterExistInWhSelection.ALL, 0, 10))
+            .willReturn(productInfoListVm);
+
+        this.mockMvc.perform(get("/backoffice/warehouses/{warehouseId}/products/paging", 1L)
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.productContent[0].existInWh").value(true))
+            .andExpect(jsonPath("$.productContent[1].existInWh").value(false))
+            .andExpect(jsonPath("$.totalElements").value(2))
+            .andExpect(jsonPath("$.isLast").value(true));
+    }
+
     @Test
     void testGetPageableWarehouses_whenValidRequest_thenReturnPagedWarehouses() throws Exception {
 
@@ -0,0 +1,61 @@
+package com.yas.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.yas.commonlibrary.kafka.cdc.message.Product;
+import com.yas.inventory.repository.ProductSnapshotRepository;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+class ProductSnapshotServiceTest {
+
+    private ProductSnapshotRepository productSnapshotRepository;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private ProductSnapshotService productSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        productSnapshotRepository = mock(ProductSnapshotRepository.class);
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        productSnapshotService = new ProductSnapshotService(productSnapshotRepository, jdbcTemplate);
+    }
+
+    @Test
+    void sync_whenProductsAreUpsertedAndDeleted_updatesSnapshotInOneBatch() {
+        List<Product> products = List.of(
+            Product.builder().id(1L).name("Laptop").sku("LAP-1").isPublished(true).build(),
+            Product.builder().id(2L).name("Phone").sku("PHO-2").isPublished(true).build()
+        );
+
+        productSnapshotService.sync(products, Set.of(3L, 4L));
+
+        verify(productSnapshotRepository).deleteAllByIdInBatch(Set.of(3L, 4L));
+        ArgumentCaptor<SqlParameterSource[]> captor = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertThat(captor.getValue())
+            .extracting(parameters -> parameters.getValue("id"),
+                parameters -> parameters.getValue("name"),
+                parameters -> parameters.getValue("sku"))
+            .containsExactly(tuple(1L, "Laptop", "LAP-1"), tuple(2L, "Phone", "PHO-2"));
+    }
+
+    @Test
+    void sync_whenProductsAreOnlyUpserted_doesNotDelete() {
+        productSnapshotService.sync(List.of(Product.builder().id(1L).name("Laptop").build()), Set.of());
+
+        verify(productSnapshotRepository, never()).deleteAllByIdInBatch(anyCollection());
+        verify(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class));
+    }
+}
@@ -0,0 +1,80 @@
+package com.yas.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.inventory.repository.StockRepository;
+import com.yas.inventory.service.StockAvailabilityIndex.WarehouseAvailability;
+import com.yas.inventory.viewmodel.stock.StockLevelVm;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class StockAvailabilityIndexTest {
+
+    @Mock
+    StockRepository stockRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    StockAvailabilityIndex stockAvailabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        stockAvailabilityIndex = new StockAvailabilityIndex(stockRepository, transactionManager);
+    }
+
+    @Test
+    void findByProductId_whenStocked_shouldReturnMostAvailableWarehousesFirst() {
+        when(stockRepository.findAllStockLevels()).thenReturn(List.of(
+            new StockLevelVm(1L, 10L, 5L, 0L),
+            new StockLevelVm(1L, 11L, 20L, 5L),
+            new StockLevelVm(1L, 12L, 3L, 7L),
+            new StockLevelVm(2L, 10L, null, null)
+        ));
+
+        assertThat(stockAvailabilityIndex.findByProductId(1L)).containsExactly(
+            new WarehouseAvailability(11L, 15L),
+            new WarehouseAvailability(10L, 5L),
+            new WarehouseAvailability(12L, 0L));
+        assertThat(stockAvailabilityIndex.findByProductId(2L)).containsExactly(new WarehouseAvailability(10L, 0L));
+        assertThat(stockAvailabilityIndex.findByProductId(3L)).isEmpty();
+        verify(stockRepository, times(1)).findAllStockLevels();
+    }
+
+    @Test
+    void refreshAfterCommit_whenLoaded_shouldReloadOnlyGivenProducts() {
+        when(stockRepository.findAllStockLevels()).thenReturn(List.of(
+            new StockLevelVm(1L, 10L, 5L, 0L),
+            new StockLevelVm(2L, 10L, 8L, 0L)
+        ));
+        when(stockRepository.findStockLevelsByProductIdIn(Set.of(1L))).thenReturn(List.of(
+            new StockLevelVm(1L, 10L, 5L, 4L)
+        ));
+        stockAvailabilityIndex.findByProductId(1L);
+
+        stockAvailabilityIndex.refreshAfterCommit(List.of(1L));
+
+        assertThat(stockAvailabilityIndex.findByProductId(1L)).containsExactly(new WarehouseAvailability(10L, 1L));
+        assertThat(stockAvailabilityIndex.findByProductId(2L)).containsExactly(new WarehouseAvailability(10L, 8L));
+        verify(stockRepository, times(1)).findAllStockLevels();
+    }
+
+    @Test
+    void refreshAfterCommit_whenNotLoaded_shouldLeaveLoadingToFirstLookup() {
+        stockAvailabilityIndex.refreshAfterCommit(List.of(1L));
+
+        verify(stockRepository, never()).findStockLevelsByProductIdIn(ArgumentMatchers.anyCollection());
+    }
+}
@@ -0,0 +1,82 @@
+package com.yas.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.yas.inventory.service.StockAvailabilityIndex.WarehouseAvailability;
+import com.yas.inventory.viewmodel.stock.ProductAvailabilityVm;
+import com.yas.inventory.viewmodel.stock.ProductFulfillabilityVm;
+import com.yas.inventory.viewmodel.stock.StockAvailabilityItemVm;
+import com.yas.inventory.viewmodel.stock.StockAvailabilityPostVm;
+import com.yas.inventory.viewmodel.stock.StockAvailabilityVm;
+import com.yas.inventory.viewmodel.stock.StockFulfillabilityVm;
+import com.yas.inventory.viewmodel.stock.WarehouseAllocationVm;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StockAvailabilityServiceTest {
+
+    private StockAvailabilityIndex stockAvailabilityIndex;
+    private StockAvailabilityService stockAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        stockAvailabilityIndex = mock(StockAvailabilityIndex.class);
+        stockAvailabilityService = new StockAvailabilityService(stockAvailabilityIndex);
+        when(stockAvailabilityIndex.findByProductId(1L)).thenReturn(List.of(
+            new WarehouseAvailability(10L, 8L), new WarehouseAvailability(11L, 5L)));
+        when(stockAvailabilityIndex.findByProductId(2L)).thenReturn(List.of(
+            new WarehouseAvailability(11L, 4L), new WarehouseAvailability(10L, 2L)));
+    }
+
+    @Test
+    void checkAvailability_whenOneWarehouseHoldsWholeOrder_thenShipFromIt() {
+        StockAvailabilityVm result = stockAvailabilityService.checkAvailability(new StockAvailabilityPostVm(List.of(
+            new StockAvailabilityItemVm(1L, 3L), new StockAvailabilityItemVm(2L, 2L))));
+
+        assertThat(result.fulfillable()).isTrue();
+        assertThat(result.fulfillingWarehouseIds()).containsExactly(10L, 11L);
+        assertThat(result.products()).extracting(ProductAvailabilityVm::allocations).containsExactly(
+            List.of(new WarehouseAllocationVm(10L, 3L)),
+            List.of(new WarehouseAllocationVm(11L, 2L)));
+    }
+
+    @Test
+    void checkAvailability_whenLinesOfSameProductAddUp_thenSplitAcrossWarehouses() {
+        StockAvailabilityVm result = stockAvailabilityService.checkAvailability(new StockAvailabilityPostVm(List.of(
+            new StockAvailabilityItemVm(1L, 6L), new StockAvailabilityItemVm(1L, 4L))));
+
+        assertThat(result.fulfillable()).isTrue();
+        assertThat(result.fulfillingWarehouseIds()).isEmpty();
+        ProductAvailabilityVm product = result.products().getFirst();
+        assertThat(product.requestedQuantity()).isEqualTo(10L);
+        assertThat(product.availableQuantity()).isEqualTo(13L);
+        assertThat(product.allocations()).containsExactly(
+            new WarehouseAllocationVm(10L, 8L), new WarehouseAllocationVm(11L, 2L));
+    }
+
+    @Test
+    void checkAvailability_whenProductIsShortOrUnknown_thenNotFulfillable() {
+        StockAvailabilityVm result = stockAvailabilityService.checkAvailability(new StockAvailabilityPostVm(List.of(
+            new StockAvailabilityItemVm(2L, 7L), new StockAvailabilityItemVm(3L, 1L))));
+
+        assertThat(result.fulfillable()).isFalse();
+        assertThat(result.fulfillingWarehouseIds()).isEmpty();
+        assertThat(result.products()).extracting(ProductAvailabilityVm::fulfillable).containsExactly(false, false);
+        assertThat(result.products().getFirst().allocations()).containsExactly(
+            new WarehouseAllocationVm(11L, 4L), new WarehouseAllocationVm(10L, 2L));
+        assertThat(result.products().getLast().allocations()).isEmpty();
+    }
+
+    @Test
+    void checkFulfillability_thenKeepFlagsOnly() {
+        StockFulfillabilityVm result = stockAvailabilityService.checkFulfillability(new StockAvailabilityPostVm(
+            List.of(new StockAvailabilityItemVm(1L, 3L), new StockAvailabilityItemVm(2L, 7L))));
+
+        assertThat(result.fulfillable()).isFalse();
+        assertThat(result.products()).containsExactly(
+            new ProductFulfillabilityVm(1L, true), new ProductFulfillabilityVm(2L, false));
+    }
+}
@@ -5,15 +5,19 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
 
 import com.yas.commonlibrary.IntegrationTestConfiguration;
 import com.yas.commonlibrary.exception.NotFoundException;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxEvent;
 import com.yas.order.OrderApplication;
 import com.yas.order.model.Order;
+import com.yas.order.model.OutboxEvent;
 import com.yas.order.model.enumeration.OrderStatus;
 import com.yas.order.model.enumeration.PaymentStatus;
 import com.yas.order.repository.OrderItemRepository;
 import com.yas.order.repository.OrderRepository;
+import com.yas.order.repository.OutboxEventRepository;
 import com.yas.order.viewmodel.order.OrderBriefVm;
 import com.yas.order.viewmodel.order.OrderItemPostVm;
 import com.yas.order.viewmodel.order.OrderListVm;
@@ -23,16 +27,20 @@ import com.yas.order.viewmodel.order.PaymentOrderStatusVm;
 import com.yas.order.viewmodel.orderaddress.OrderAddressPostVm;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.util.Pair;
 
@@ -44,11 +52,8 @@ class OrderServiceIT {
     @MockBean
     private ProductService productService;
 
-    @MockBean
-    private PromotionService promotionService;
-
-    @MockBean
-    private CartService cartService;
+    @SpyBean
+    private OutboxEventRepository outboxEventRepository;
 
     @Autowired
     private OrderItemRepository orderItemRepository;
@@ -106,6 +111,20 @@ class OrderServiceIT {
         assertEquals("abc@gmail.com", orderDb.getEmail());
     }
 
+    @Test
+    void testCreateOrder_whenCreated_thenPublishOrderPlacedThroughOutbox() {
+
+        OrderVm orderVm = orderService.createOrder(orderPostVm);
+
+        ArgumentCaptor<OutboxEvent> eventCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).saveAndFlush(eventCaptor.capture());
+        OutboxEvent event = eventCaptor.getValue();
+        assertEquals(orderVm.id(), event.getAggregateId());
+        assertEquals(OrderOutboxEvent.ORDER_PLACED, event.getEventType());
+        assertTrue(event.getPayload().contains("\"productId\":1"));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
     @Test
     void testGetOrderWithItemsById_whenNormalCase_returnOrderVm() {
         orderService.createOrder(orderPostVm);
@@ -174,6 +193,33 @@ class OrderServiceIT {
         assertNull(orderListVm.orderList());
     }
 
+    @Test
+    void testGetAllOrderByCursor_whenWalkingAllPages_returnEveryOrderOnce() {
+
+        for (int i = 0; i < 5; i++) {
+            orderService.createOrder(orderPostVm);
+        }
+
+        Pair<ZonedDateTime, ZonedDateTime> timePair
+            = Pair.of(ZonedDateTime.now().minusDays(7), ZonedDateTime.now().plusDays(1));
+        List<Long> orderIds = new ArrayList<>();
+        String cursor = "";
+        int pageCount = 0;
+        do {
+            OrderListVm page = orderService.getAllOrderByCursor(
+                timePair, "", List.of(), Pair.of("", ""), "", cursor, 2);
+            page.orderList().forEach(order -> orderIds.add(order.id()));
+            assertEquals(-1, page.totalElements());
+            cursor = page.nextCursor();
+            pageCount++;
+        } while (cursor != null);
+
+        assertEquals(3, pageCount);
+        assertEquals(5, orderIds.size());
+        assertEquals(orderRepository.findAll().stream().map(Order::getId).sorted(Comparator.reverseOrder()).toList(),
+            orderIds);
+    }
+
     @Test
     void testFindOrderByCheckoutId_whenNormalCase_returnOrder() {
         orderService.createOrder(orderPostVm);
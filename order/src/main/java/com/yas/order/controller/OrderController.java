@@ -1,5 +1,6 @@
 package com.yas.order.controller;
 
+import com.yas.commonlibrary.constants.PageableConstant;
 import com.yas.commonlibrary.csv.CsvExporter;
 import com.yas.order.model.csv.OrderItemCsv;
 import com.yas.order.model.enumeration.OrderStatus;
@@ -13,6 +14,8 @@ import com.yas.order.viewmodel.order.OrderPostVm;
 import com.yas.order.viewmodel.order.OrderVm;
 import com.yas.order.viewmodel.order.PaymentOrderStatusVm;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -84,9 +87,23 @@ public class OrderController {
             @RequestParam(value = "email", defaultValue = "", required = false) String email,
             @RequestParam(value = "billingCountry", defaultValue = "", required = false) String billingCountry,
             @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
-            @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize
+            @RequestParam(value = "pageSize", defaultValue = "10", required = false)
+            @Min(1) @Max(PageableConstant.MAX_PAGE_SIZE) int pageSize,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
 
+        if (cursor != null) {
+            return ResponseEntity.ok(orderService.getAllOrderByCursor(
+                    Pair.of(createdFrom, createdTo),
+                    productName,
+                    orderStatus,
+                    Pair.of(billingCountry, billingPhoneNumber),
+                    email,
+                    cursor,
+                    pageSize)
+            );
+        }
+
         return ResponseEntity.ok(orderService.getAllOrder(
                 Pair.of(createdFrom, createdTo),
                 productName,
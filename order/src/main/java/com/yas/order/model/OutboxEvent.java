@@ -0,0 +1,38 @@
+package com.yas.order.model;
+
+import com.yas.commonlibrary.model.AbstractAuditEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Event written in the same transaction as the order it belongs to, then relayed to Kafka by Debezium.
+ */
+@Entity
+@Table(name = "order_outbox_event")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent extends AbstractAuditEntity {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+}
@@ -0,0 +1,10 @@
+package com.yas.order.repository;
+
+import com.yas.order.model.OutboxEvent;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+}
@@ -22,9 +22,12 @@ import com.yas.order.viewmodel.checkout.CheckoutStatusPutVm;
 import com.yas.order.viewmodel.checkout.CheckoutVm;
 import com.yas.order.viewmodel.product.ProductCheckoutListVm;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,9 +41,13 @@ import org.springframework.util.CollectionUtils;
 @RequiredArgsConstructor
 public class CheckoutService {
 
+    /* Bounds the ids query parameter of a product lookup, larger checkouts are looked up in parallel batches */
+    private static final int PRODUCT_LOOKUP_BATCH_SIZE = 20;
+
     private final CheckoutRepository checkoutRepository;
     private final OrderService orderService;
     private final ProductService productService;
+    private final DownstreamCallExecutor downstreamCallExecutor;
     private final CheckoutMapper checkoutMapper;
 
     /**
@@ -82,8 +89,7 @@ public class CheckoutService {
                     return item;
                 }).toList();
 
-        Map<Long, ProductCheckoutListVm> products
-                = productService.getProductInfomation(productIds, 0, productIds.size());
+        Map<Long, ProductCheckoutListVm> products = getProductInformation(productIds);
 
         List<CheckoutItem> enrichedItems = enrichCheckoutItemsWithProductDetails(products, checkoutItems);
         BigDecimal totalAmount = enrichedItems.stream()
@@ -94,6 +100,19 @@ public class CheckoutService {
         checkout.setTotalAmount(totalAmount);
     }
 
+    private Map<Long, ProductCheckoutListVm> getProductInformation(Set<Long> productIds) {
+        List<Long> ids = List.copyOf(productIds);
+        List<Callable<Map<Long, ProductCheckoutListVm>>> lookups = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += PRODUCT_LOOKUP_BATCH_SIZE) {
+            Set<Long> batch = Set.copyOf(ids.subList(from, Math.min(from + PRODUCT_LOOKUP_BATCH_SIZE, ids.size())));
+            lookups.add(() -> productService.getProductInfomation(batch, 0, batch.size()));
+        }
+
+        Map<Long, ProductCheckoutListVm> products = new HashMap<>();
+        downstreamCallExecutor.invokeAll(lookups).forEach(products::putAll);
+        return products;
+    }
+
     private List<CheckoutItem> enrichCheckoutItemsWithProductDetails(
             Map<Long, ProductCheckoutListVm> products,
             List<CheckoutItem> checkoutItems) {
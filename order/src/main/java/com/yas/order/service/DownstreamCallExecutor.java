@@ -0,0 +1,97 @@
+package com.yas.order.service;
+
+import static com.yas.order.utils.Constants.ErrorCode.DOWNSTREAM_CALL_FAILED;
+import static com.yas.order.utils.Constants.ErrorCode.DOWNSTREAM_CALL_TIMEOUT;
+
+import com.yas.commonlibrary.exception.InternalServerErrorException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs independent downstream calls in parallel, one virtual thread per call, under a single deadline.
+ *
+ * <p>Each call sees the security context of the calling thread, so that the services reading the JWT from
+ * {@link SecurityContextHolder} forward the caller's token. The first failure, or the deadline, cancels the calls
+ * still running.</p>
+ */
+@Component
+public class DownstreamCallExecutor {
+
+    private final Duration timeout;
+
+    public DownstreamCallExecutor(@Value("${yas.order.downstream.timeout:PT5S}") Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Runs the given calls and waits for all of them.
+     *
+     * @param calls the calls, which must not depend on each other
+     * @return the results, in the order of the calls
+     * @throws InternalServerErrorException when the calls do not complete before the deadline
+     */
+    public <T> List<T> invokeAll(List<? extends Callable<T>> calls) {
+        if (calls.isEmpty()) {
+            return List.of();
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletionService<T> completionService = new ExecutorCompletionService<>(executor);
+            Map<Future<T>, Integer> indexes = new IdentityHashMap<>();
+            for (int i = 0; i < calls.size(); i++) {
+                indexes.put(completionService.submit(
+                    new DelegatingSecurityContextCallable<>(calls.get(i), securityContext)), i);
+            }
+
+            Object[] results = new Object[calls.size()];
+            for (int remaining = calls.size(); remaining > 0; remaining--) {
+                Future<T> completed = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (completed == null) {
+                    throw new InternalServerErrorException(DOWNSTREAM_CALL_TIMEOUT, timeout);
+                }
+                results[indexes.get(completed)] = completed.get();
+            }
+            return castResults(results);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerErrorException(DOWNSTREAM_CALL_FAILED, e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> castResults(Object[] results) {
+        return (List<T>) Arrays.asList(results);
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new InternalServerErrorException(DOWNSTREAM_CALL_FAILED, cause.getMessage());
+    }
+}
@@ -0,0 +1,63 @@
+package com.yas.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.commonlibrary.exception.InternalServerErrorException;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxEvent;
+import com.yas.commonlibrary.kafka.cdc.message.OrderPlacedPayload;
+import com.yas.order.model.Order;
+import com.yas.order.model.OrderItem;
+import com.yas.order.model.OutboxEvent;
+import com.yas.order.repository.OutboxEventRepository;
+import com.yas.order.utils.Constants;
+import java.util.Collection;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records order side effects in the outbox table instead of calling other services during the order transaction.
+ * Debezium captures the insert from the WAL and publishes it, so the row is deleted right away and the table
+ * stays empty.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderOutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishOrderPlaced(Order order, Collection<OrderItem> orderItems) {
+        OrderPlacedPayload payload = new OrderPlacedPayload(
+            order.getId(),
+            order.getCreatedBy(),
+            order.getCouponCode(),
+            orderItems.stream()
+                .map(item -> new OrderPlacedPayload.Item(item.getProductId(), item.getQuantity()))
+                .toList()
+        );
+        publish(order.getId(), OrderOutboxEvent.ORDER_PLACED, payload);
+    }
+
+    private void publish(Long aggregateId, String eventType, Object payload) {
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+            .id(UUID.randomUUID())
+            .aggregateId(aggregateId)
+            .eventType(eventType)
+            .payload(toJson(payload))
+            .build();
+        outboxEventRepository.delete(outboxEventRepository.saveAndFlush(outboxEvent));
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new InternalServerErrorException(Constants.ErrorCode.OUTBOX_EVENT_SERIALIZATION_FAILED,
+                e.getMessage());
+        }
+    }
+}
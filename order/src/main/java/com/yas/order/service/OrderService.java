@@ -4,8 +4,11 @@ import static com.yas.order.utils.Constants.ErrorCode.ORDER_NOT_FOUND;
 
 import com.yas.commonlibrary.csv.BaseCsv;
 import com.yas.commonlibrary.csv.CsvExporter;
+import com.yas.commonlibrary.constants.MessageCode;
+import com.yas.commonlibrary.exception.BadRequestException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.commonlibrary.utils.AuthenticationUtils;
+import com.yas.commonlibrary.utils.KeysetCursor;
 import com.yas.order.mapper.OrderMapper;
 import com.yas.order.model.Order;
 import com.yas.order.model.OrderAddress;
@@ -28,10 +31,8 @@ import com.yas.order.viewmodel.order.OrderVm;
 import com.yas.order.viewmodel.order.PaymentOrderStatusVm;
 import com.yas.order.viewmodel.orderaddress.OrderAddressPostVm;
 import com.yas.order.viewmodel.product.ProductVariationVm;
-import com.yas.order.viewmodel.promotion.PromotionUsageVm;
 import java.io.IOException;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -50,6 +51,7 @@ import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 @Slf4j
 @Service
@@ -59,9 +61,8 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final ProductService productService;
-    private final CartService cartService;
     private final OrderMapper orderMapper;
-    private final PromotionService promotionService;
+    private final OrderOutboxService orderOutboxService;
 
     public OrderVm createOrder(OrderPostVm orderPostVm) {
 
@@ -129,21 +130,10 @@ public class OrderService {
         orderItemRepository.saveAll(orderItems);
 
         OrderVm orderVm = OrderVm.fromModel(order, orderItems);
-        productService.subtractProductStockQuantity(orderVm);
-        cartService.deleteCartItems(orderVm);
         acceptOrder(orderVm.id());
 
-        // update promotion
-        List<PromotionUsageVm> promotionUsageVms = new ArrayList<>();
-        orderItems.forEach(item -> {
-            PromotionUsageVm promotionUsageVm = PromotionUsageVm.builder()
-                    .productId(item.getProductId())
-                    .orderId(order.getId())
-                    .promotionCode(order.getCouponCode())
-                    .build();
-            promotionUsageVms.add(promotionUsageVm);
-        });
-        promotionService.updateUsagePromotion(promotionUsageVms);
+        // stock, cart and promotion usage are updated asynchronously from the outbox event
+        orderOutboxService.publishOrderPlaced(order, orderItems);
         return orderVm;
     }
 
@@ -166,6 +156,68 @@ public class OrderService {
         Sort sort = Sort.by(Sort.Direction.DESC, Constants.Column.CREATE_ON_COLUMN);
         Pageable pageable = PageRequest.of(infoPage.getFirst(), infoPage.getSecond(), sort);
 
+        Specification<Order> spec = buildOrderFilter(timePair, productName, orderStatus, billingPair, email);
+
+        Page<Order> orderPage = orderRepository.findAll(spec, pageable);
+        if (orderPage.isEmpty()) {
+            return new OrderListVm(null, 0, 0, null);
+        }
+
+        List<OrderBriefVm> orderVms = orderPage.getContent()
+                .stream()
+                .map(OrderBriefVm::fromModel)
+                .toList();
+
+        return new OrderListVm(orderVms, orderPage.getTotalElements(), orderPage.getTotalPages(), null);
+    }
+
+    /**
+     * Reads the page of orders following {@code cursor} with a keyset predicate on {@code (createdOn, id)},
+     * so deep pages cost the same as the first one and no count query is issued.
+     *
+     * @param cursor   the continuation token of the previous page, empty for the first page
+     * @param pageSize the number of orders to return
+     * @return the orders with a {@code nextCursor} to continue from, {@code null} on the last page
+     */
+    @Transactional(readOnly = true)
+    public OrderListVm getAllOrderByCursor(Pair<ZonedDateTime, ZonedDateTime> timePair,
+                                           String productName,
+                                           List<OrderStatus> orderStatus,
+                                           Pair<String, String> billingPair,
+                                           String email,
+                                           String cursor,
+                                           int pageSize) {
+
+        Specification<Order> spec = buildOrderFilter(timePair, productName, orderStatus, billingPair, email);
+        if (StringUtils.hasText(cursor)) {
+            KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+            if (keysetCursor.sortKey() == null) {
+                throw new BadRequestException(MessageCode.INVALID_PAGINATION_CURSOR, cursor);
+            }
+            spec = spec.and(OrderSpecification.createdBefore(keysetCursor.sortKeyAsZonedDateTime(),
+                keysetCursor.id()));
+        }
+
+        Sort sort = Sort.by(Sort.Direction.DESC, Constants.Column.CREATE_ON_COLUMN, Constants.Column.ID_COLUMN);
+        List<Order> orders = orderRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+        boolean hasNext = orders.size() > pageSize;
+        List<Order> pageContent = hasNext ? orders.subList(0, pageSize) : orders;
+        String nextCursor = null;
+        if (hasNext && !pageContent.isEmpty()) {
+            Order last = pageContent.get(pageContent.size() - 1);
+            nextCursor = KeysetCursor.of(last.getCreatedOn(), last.getId()).encode();
+        }
+
+        List<OrderBriefVm> orderVms = pageContent.stream().map(OrderBriefVm::fromModel).toList();
+        return new OrderListVm(orderVms, -1, -1, nextCursor);
+    }
+
+    private static Specification<Order> buildOrderFilter(Pair<ZonedDateTime, ZonedDateTime> timePair,
+                                                         String productName,
+                                                         List<OrderStatus> orderStatus,
+                                                         Pair<String, String> billingPair,
+                                                         String email) {
         List<OrderStatus> allOrderStatus = Arrays.asList(OrderStatus.values());
 
         ZonedDateTime createdFrom = timePair.getFirst();
@@ -173,7 +225,7 @@ public class OrderService {
         String billingCountry = billingPair.getFirst();
         String billingPhoneNumber = billingPair.getSecond();
 
-        Specification<Order> spec = OrderSpecification.findOrderByWithMulCriteria(
+        return OrderSpecification.findOrderByWithMulCriteria(
             orderStatus.isEmpty() ? allOrderStatus : orderStatus,
             billingPhoneNumber,
             billingCountry,
@@ -182,18 +234,6 @@ public class OrderService {
             createdFrom,
             createdTo
         );
-
-        Page<Order> orderPage = orderRepository.findAll(spec, pageable);
-        if (orderPage.isEmpty()) {
-            return new OrderListVm(null, 0, 0);
-        }
-
-        List<OrderBriefVm> orderVms = orderPage.getContent()
-                .stream()
-                .map(OrderBriefVm::fromModel)
-                .toList();
-
-        return new OrderListVm(orderVms, orderPage.getTotalElements(), orderPage.getTotalPages());
     }
 
     public List<OrderBriefVm> getLatestOrders(int count) {
@@ -228,6 +228,20 @@ public class OrderSpecification {
         };
     }
 
+    /**
+     * Restricts orders to those sorted after the given keyset position
+     * when ordering by {@code createdOn DESC, id DESC}.
+     */
+    public static Specification<Order> createdBefore(ZonedDateTime createdOn, long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+            criteriaBuilder.lessThan(root.get(Constants.Column.CREATE_ON_COLUMN), createdOn),
+            criteriaBuilder.and(
+                criteriaBuilder.equal(root.get(Constants.Column.CREATE_ON_COLUMN), createdOn),
+                criteriaBuilder.lessThan(root.get(Constants.Column.ID_COLUMN), id)
+            )
+        );
+    }
+
     public static Specification<Order> withDateRange(ZonedDateTime createdFrom, ZonedDateTime createdTo) {
         return (root, query, criteriaBuilder) -> {
             if (createdFrom != null && createdTo != null) {
@@ -11,6 +11,9 @@ public final class Constants {
         public static final String CHECKOUT_NOT_FOUND = "CHECKOUT_NOT_FOUND";
         public static final String CHECKOUT_ITEM_NOT_EMPTY = "CHECKOUT_ITEM_NOT_EMPTY";
         public static final String SIGN_IN_REQUIRED = "SIGN_IN_REQUIRED";
+        public static final String OUTBOX_EVENT_SERIALIZATION_FAILED = "OUTBOX_EVENT_SERIALIZATION_FAILED";
+        public static final String DOWNSTREAM_CALL_TIMEOUT = "DOWNSTREAM_CALL_TIMEOUT";
+        public static final String DOWNSTREAM_CALL_FAILED = "DOWNSTREAM_CALL_FAILED";
     }
 
     public final class MessageCode {
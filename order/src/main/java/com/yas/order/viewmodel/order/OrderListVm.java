@@ -3,10 +3,16 @@ package com.yas.order.viewmodel.order;
 import java.util.List;
 import lombok.Builder;
 
+/**
+ * A page of orders.
+ * When the page was read with a keyset cursor, {@code totalElements} and {@code totalPages} are {@code -1}
+ * because no count query is issued, and {@code nextCursor} is {@code null} on the last page.
+ */
 @Builder(toBuilder = true)
 public record OrderListVm(
     List<OrderBriefVm> orderList,
     long totalElements,
-    int totalPages
+    int totalPages,
+    String nextCursor
 ) {
 }
@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset yas:order-outbox-event
+create table if not exists order_outbox_event (
+    id uuid not null,
+    aggregate_id bigint not null,
+    event_type varchar(255) not null,
+    payload text not null,
+    created_by varchar(255),
+    created_on timestamp(6),
+    last_modified_by varchar(255),
+    last_modified_on timestamp(6),
+    primary key (id)
+);
@@ -1,8 +1,11 @@
 package com.yas.order.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -72,6 +75,19 @@ class OrderControllerTest {
         objectWriter = new ObjectMapper().writer().withDefaultPrettyPrinter();
     }
 
+    @Test
+    void testGetOrders_whenCursorPageSizeIsOutOfBounds_thenBadRequest() throws Exception {
+        String createdTo = ZonedDateTime.now().toString();
+        mockMvc.perform(get("/backoffice/orders").param("createdFrom", createdTo).param("createdTo", createdTo)
+                .param("cursor", "").param("pageSize", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/backoffice/orders").param("createdFrom", createdTo).param("createdTo", createdTo)
+                .param("cursor", "").param("pageSize", "101"))
+            .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).getAllOrderByCursor(any(), any(), anyList(), any(), any(), any(), anyInt());
+    }
+
     @Test
     void testCreateOrder_whenRequestIsValid_thenReturnOrderVm() throws Exception {
 
@@ -187,7 +203,8 @@ class OrderControllerTest {
         OrderListVm orderListVm = new OrderListVm(
             null,
             2L,
-            1
+            1,
+            null
         );
         when(orderService.getAllOrder(
             any(),
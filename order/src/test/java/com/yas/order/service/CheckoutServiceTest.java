@@ -5,8 +5,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -45,7 +47,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 @ExtendWith(SpringExtension.class)
-@SpringBootTest(classes = {CheckoutMapperImpl.class, CheckoutService.class})
+@SpringBootTest(classes = {CheckoutMapperImpl.class, CheckoutService.class, DownstreamCallExecutor.class})
 class CheckoutServiceTest {
 
     @MockBean
@@ -133,6 +135,27 @@ class CheckoutServiceTest {
                 .allMatch(item -> item.checkoutId().equals(checkoutId));
     }
 
+    @Test
+    void testCreateCheckout_whenManyProducts_lookUpProductsByBatches() {
+        checkoutPostVm = Instancio.of(CheckoutPostVm.class)
+                .supply(field(CheckoutPostVm.class, "shippingAddressId"), gen -> Long.toString(gen.longRange(1, 10000)))
+                .generate(field(CheckoutPostVm.class, "checkoutItemPostVms"), gen -> gen.collection().size(45))
+                .create();
+        when(checkoutRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productService.getProductInfomation(any(Set.class), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Set<Long> ids = invocation.getArgument(0);
+            return ids.stream().collect(Collectors.toMap(Function.identity(),
+                    id -> Instancio.of(ProductCheckoutListVm.class)
+                            .set(field(ProductCheckoutListVm.class, "id"), id)
+                            .create()));
+        });
+
+        var res = checkoutService.createCheckout(checkoutPostVm);
+
+        assertThat(res.checkoutItemVms()).hasSize(45);
+        verify(productService, times(3)).getProductInfomation(argThat(ids -> ids.size() <= 20), eq(0), anyInt());
+    }
+
     @Test
     void testCreateCheckout_whenCheckoutItemsIsEmpty_throwError() {
 
@@ -0,0 +1,96 @@
+package com.yas.order.service;
+
+import static com.yas.order.utils.SecurityContextUtils.setUpSecurityContext;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.yas.commonlibrary.exception.InternalServerErrorException;
+import com.yas.commonlibrary.exception.NotFoundException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+class DownstreamCallExecutorTest {
+
+    private DownstreamCallExecutor downstreamCallExecutor;
+
+    @BeforeEach
+    void setUp() {
+        downstreamCallExecutor = new DownstreamCallExecutor(Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testInvokeAll_whenCallsSucceed_returnResultsInCallOrder() {
+        List<Callable<Integer>> calls = List.of(
+            () -> {
+                Thread.sleep(100);
+                return 1;
+            },
+            () -> 2,
+            () -> 3
+        );
+
+        assertThat(downstreamCallExecutor.invokeAll(calls)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void testInvokeAll_whenCallsAreBlocked_runThemInParallel() {
+        CountDownLatch latch = new CountDownLatch(3);
+        Callable<Boolean> call = () -> {
+            latch.countDown();
+            return latch.await(1, TimeUnit.SECONDS);
+        };
+
+        assertThat(downstreamCallExecutor.invokeAll(List.of(call, call, call))).containsOnly(true);
+    }
+
+    @Test
+    void testInvokeAll_whenSecurityContextIsSet_propagateJwtToCalls() {
+        setUpSecurityContext("test");
+        Callable<String> call = () -> ((Jwt) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+            .getTokenValue();
+
+        assertThat(downstreamCallExecutor.invokeAll(List.of(call, call))).containsExactly("token", "token");
+    }
+
+    @Test
+    void testInvokeAll_whenCallFails_throwItsExceptionWithoutWaitingForOthers() {
+        CountDownLatch never = new CountDownLatch(1);
+        List<Callable<Object>> calls = List.of(
+            () -> never.await(1, TimeUnit.MINUTES),
+            () -> {
+                throw new NotFoundException("PRODUCT_NOT_FOUND");
+            }
+        );
+
+        long start = System.nanoTime();
+        assertThrows(NotFoundException.class, () -> downstreamCallExecutor.invokeAll(calls));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void testInvokeAll_whenDeadlineExceeded_throwInternalServerError() {
+        downstreamCallExecutor = new DownstreamCallExecutor(Duration.ofMillis(100));
+        CountDownLatch never = new CountDownLatch(1);
+        List<Callable<Object>> calls = List.of(() -> 1, () -> never.await(1, TimeUnit.MINUTES));
+
+        assertThrows(InternalServerErrorException.class, () -> downstreamCallExecutor.invokeAll(calls));
+    }
+
+    @Test
+    void testInvokeAll_whenNoCall_returnEmptyList() {
+        assertThat(downstreamCallExecutor.invokeAll(List.<Callable<Object>>of())).isEmpty();
+    }
+}
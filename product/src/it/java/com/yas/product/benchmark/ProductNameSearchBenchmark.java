@@ -0,0 +1,174 @@
+package com.yas.product.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Latency curve of the backoffice product name filter as the catalog grows, with and without the
+ * pg_trgm GIN index of changelog-0012. It runs against an embedded PostgreSQL binary, no Docker needed.
+ *
+ * <p>Not part of the regular build, run it with
+ * {@code mvn -pl product verify -Dit.test=ProductNameSearchBenchmark}.
+ */
+@Slf4j
+class ProductNameSearchBenchmark {
+
+    private static final String TRGM_CHANGELOG = "db/changelog/ddl/changelog-0012-product-name-trgm.sql";
+    private static final int[] CATALOG_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 30;
+
+    /** Same predicate and ordering as {@code ProductRepository#getProductsWithFilter}. */
+    private static final String FILTER_QUERY = "SELECT p.* FROM product p JOIN brand b ON b.id = p.brand_id "
+        + "WHERE LOWER(p.name) LIKE CONCAT('%', ?, '%') "
+        + "AND (b.name = ? OR COALESCE(?, '') = '') "
+        + "AND p.is_visible_individually = TRUE "
+        + "AND p.is_published = TRUE "
+        + "ORDER BY p.id ASC LIMIT 20";
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void productNameFilter_latencyCurve() throws Exception {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+            createSchema(connection);
+
+            int loaded = 0;
+            for (int catalogSize : CATALOG_SIZES) {
+                loadProducts(connection, loaded + 1, catalogSize);
+                loaded = catalogSize;
+                execute(connection, "ANALYZE product");
+
+                String rareTerm = rareTerm(connection, catalogSize / 2);
+                double indexedMs = medianLatencyMs(connection, rareTerm, true);
+                double scanMs = medianLatencyMs(connection, rareTerm, false);
+                log.info("products={} term='{}' trigram index p50={} ms, sequential scan p50={} ms",
+                    catalogSize, rareTerm, String.format("%.2f", indexedMs), String.format("%.2f", scanMs));
+            }
+
+            assertThat(explain(connection, rareTerm(connection, 42))).contains("idx_product_lower_name_trgm");
+        }
+    }
+
+    private static void createSchema(Connection connection) throws SQLException, IOException {
+        execute(connection, "create table brand (id bigserial primary key, name varchar(255))");
+        execute(connection, "create table product (id bigserial primary key, name varchar(255), sku varchar(255), "
+            + "price float(53), brand_id bigint, is_published boolean, is_visible_individually boolean)");
+        execute(connection, "insert into brand (name) values ('benchmark')");
+        for (String statement : changelogStatements()) {
+            execute(connection, statement);
+        }
+    }
+
+    private static List<String> changelogStatements() throws IOException {
+        try (InputStream input = ProductNameSearchBenchmark.class.getClassLoader()
+            .getResourceAsStream(TRGM_CHANGELOG)) {
+            assertThat(input).as(TRGM_CHANGELOG).isNotNull();
+            String sql = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            String withoutComments = Arrays.stream(sql.split("\n"))
+                .filter(line -> !line.startsWith("--"))
+                .reduce("", (left, right) -> left + "\n" + right);
+            return Arrays.stream(withoutComments.split(";"))
+                .map(String::trim)
+                .filter(statement -> !statement.isEmpty())
+                .toList();
+        }
+    }
+
+    private static void loadProducts(Connection connection, int fromId, int toId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+            "insert into product (name, sku, price, brand_id, is_published, is_visible_individually) "
+                + "select 'Product ' || md5(g::text), 'SKU-' || g, g % 1000, 1, true, true "
+                + "from generate_series(?, ?) g")) {
+            statement.setInt(1, fromId);
+            statement.setInt(2, toId);
+            statement.executeUpdate();
+        }
+    }
+
+    private static String rareTerm(Connection connection, int productId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select substr(md5(?::text), 5, 8)")) {
+            statement.setInt(1, productId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private static double medianLatencyMs(Connection connection, String term, boolean useIndex) throws SQLException {
+        execute(connection, "SET enable_bitmapscan = " + useIndex);
+        try (PreparedStatement statement = connection.prepareStatement(FILTER_QUERY)) {
+            statement.setString(1, term);
+            statement.setString(2, "");
+            statement.setString(3, "");
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                drain(statement);
+            }
+            long[] timings = new long[MEASURED_RUNS];
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long start = System.nanoTime();
+                drain(statement);
+                timings[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(timings);
+            return timings[MEASURED_RUNS / 2] / 1_000_000.0;
+        } finally {
+            execute(connection, "RESET enable_bitmapscan");
+        }
+    }
+
+    private static void drain(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                resultSet.getLong(1);
+            }
+        }
+    }
+
+    private static String explain(Connection connection, String term) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + FILTER_QUERY)) {
+            statement.setString(1, term);
+            statement.setString(2, "");
+            statement.setString(3, "");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
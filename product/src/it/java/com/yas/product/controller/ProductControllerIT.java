@@ -527,7 +527,7 @@ class ProductControllerIT extends AbstractControllerIT {
             .when()
             .put(PRODUCT_BACKOFFICE_URL + "/subtract-quantity")
             .then()
-            .statusCode(HttpStatus.NO_CONTENT.value())
+            .statusCode(HttpStatus.OK.value())
             .log().ifValidationFails();
 
     }
@@ -0,0 +1,85 @@
+package com.yas.product.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yas.commonlibrary.IntegrationTestConfiguration;
+import com.yas.product.model.Brand;
+import com.yas.product.model.Category;
+import com.yas.product.model.Product;
+import com.yas.product.model.ProductCategory;
+import com.yas.product.viewmodel.product.ProductEsDetailVm;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+@SpringBootTest
+@Import(IntegrationTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductEsDetailRepositoryIT {
+
+    @Autowired
+    private ProductEsDetailRepository productEsDetailRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BrandRepository brandRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        Brand brand = new Brand();
+        brand.setName("brand");
+        brand.setSlug("brand");
+        brand = brandRepository.save(brand);
+
+        Category category = new Category();
+        category.setName("category");
+        category.setSlug("category");
+        category = categoryRepository.save(category);
+
+        products = productRepository.saveAll(List.of(
+            Product.builder().name("first").slug("first").price(1.0).isPublished(true).brand(brand).build(),
+            Product.builder().name("second").slug("second").price(2.0).isPublished(true).build(),
+            Product.builder().name("third").slug("third").price(3.0).isPublished(false).build()));
+        productCategoryRepository.save(ProductCategory.builder().product(products.get(0)).category(category).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        productCategoryRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        brandRepository.deleteAll();
+    }
+
+    @Test
+    void findPublishedByIds_whenIdsAreKnown_returnsPublishedProductsWithBrandAndCategories() {
+        List<ProductEsDetailVm> details = productEsDetailRepository.findPublishedByIds(
+            List.of(products.get(2).getId(), products.get(1).getId(), products.get(0).getId(), Long.MAX_VALUE));
+
+        assertThat(details).extracting(ProductEsDetailVm::name).containsExactly("first", "second");
+        assertThat(details.get(0).brand()).isEqualTo("brand");
+        assertThat(details.get(0).categories()).containsExactly("category");
+        assertThat(details.get(1).brand()).isNull();
+        assertThat(details.get(1).categories()).isEmpty();
+    }
+
+    @Test
+    void findByIdRange_whenMoreProductsThanLimit_returnsLowestIds() {
+        List<ProductEsDetailVm> details = productEsDetailRepository.findByIdRange(
+            products.get(0).getId(), products.get(2).getId(), 2);
+
+        assertThat(details).extracting(ProductEsDetailVm::id)
+            .containsExactly(products.get(0).getId(), products.get(1).getId());
+    }
+}
@@ -0,0 +1,60 @@
+package com.yas.product.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yas.commonlibrary.IntegrationTestConfiguration;
+import com.yas.product.model.Product;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+@SpringBootTest
+@Import(IntegrationTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductStockQuantityRepositoryIT {
+
+    @Autowired
+    private ProductStockQuantityRepository productStockQuantityRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Product tracked;
+    private Product untracked;
+
+    @BeforeEach
+    void setUp() {
+        tracked = productRepository.save(Product.builder()
+            .name("tracked").slug("tracked").stockTrackingEnabled(true).stockQuantity(10L).build());
+        untracked = productRepository.save(Product.builder()
+            .name("untracked").slug("untracked").stockTrackingEnabled(false).stockQuantity(10L).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void subtractStockQuantities_whenAmountExceedsStock_clampsAtZeroAndSkipsUntracked() {
+        int affected = productStockQuantityRepository.subtractStockQuantities(
+            Map.of(tracked.getId(), 15L, untracked.getId(), 3L, Long.MAX_VALUE, 1L));
+
+        assertThat(affected).isEqualTo(1);
+        assertThat(productRepository.findById(tracked.getId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(productRepository.findById(untracked.getId()).orElseThrow().getStockQuantity()).isEqualTo(10L);
+    }
+
+    @Test
+    void restoreStockQuantities_whenProductIsTracked_addsAmount() {
+        int affected = productStockQuantityRepository.restoreStockQuantities(Map.of(tracked.getId(), 5L));
+
+        assertThat(affected).isEqualTo(1);
+        assertThat(productRepository.findById(tracked.getId()).orElseThrow().getStockQuantity()).isEqualTo(15L);
+    }
+}
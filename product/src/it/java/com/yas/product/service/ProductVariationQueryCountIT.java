@@ -0,0 +1,143 @@
+package com.yas.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import com.yas.commonlibrary.IntegrationTestConfiguration;
+import com.yas.product.model.Product;
+import com.yas.product.model.ProductImage;
+import com.yas.product.model.ProductOption;
+import com.yas.product.model.ProductOptionCombination;
+import com.yas.product.repository.ProductImageRepository;
+import com.yas.product.repository.ProductOptionCombinationRepository;
+import com.yas.product.repository.ProductOptionRepository;
+import com.yas.product.repository.ProductRepository;
+import com.yas.product.viewmodel.NoFileMediaVm;
+import com.yas.product.viewmodel.product.ProductVariationGetVm;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Checks that loading the variations of a product costs the same number of queries
+ * whatever the number of variations is.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(IntegrationTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductVariationQueryCountIT {
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductImageRepository productImageRepository;
+    @Autowired
+    private ProductOptionRepository productOptionRepository;
+    @Autowired
+    private ProductOptionCombinationRepository productOptionCombinationRepository;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockBean
+    private MediaService mediaService;
+
+    private Statistics statistics;
+    private List<ProductOption> productOptions;
+    private final List<Product> parents = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(mediaService.getMedia(anyLong())).thenReturn(new NoFileMediaVm(1L, "", "", "", "url"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        ProductOption size = new ProductOption();
+        size.setName("size");
+        ProductOption colour = new ProductOption();
+        colour.setName("colour");
+        productOptions = productOptionRepository.saveAll(List.of(size, colour));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productOptionCombinationRepository.deleteAll();
+        productImageRepository.deleteAll();
+        productRepository.deleteAll(productRepository.findAll().stream()
+            .filter(product -> product.getParent() != null).toList());
+        productRepository.deleteAll(parents);
+        productOptionRepository.deleteAll();
+    }
+
+    @Test
+    void getProductVariationsByParentId_whenVariantCountGrows_thenQueryCountIsConstant() {
+        Product smallParent = createParentWithVariations("small", 3);
+        Product largeParent = createParentWithVariations("large", 60);
+
+        long smallQueryCount = countQueries(() -> assertThat(
+            productService.getProductVariationsByParentId(smallParent.getId())).hasSize(3));
+        List<ProductVariationGetVm> largeVariations = new ArrayList<>();
+        long largeQueryCount = countQueries(() -> largeVariations.addAll(
+            productService.getProductVariationsByParentId(largeParent.getId())));
+
+        assertThat(largeVariations).hasSize(60);
+        assertThat(largeVariations).allSatisfy(variation -> {
+            assertThat(variation.options()).hasSize(2);
+            assertThat(variation.productImages()).hasSize(1);
+        });
+        assertThat(largeQueryCount).isEqualTo(smallQueryCount);
+    }
+
+    private long countQueries(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Product createParentWithVariations(String name, int variantCount) {
+        Product parent = productRepository.save(Product.builder()
+            .name(name)
+            .slug(name)
+            .hasOptions(true)
+            .isPublished(true)
+            .build());
+        parents.add(parent);
+
+        List<Product> variations = new ArrayList<>();
+        for (int i = 0; i < variantCount; i++) {
+            variations.add(Product.builder()
+                .name(name + "-" + i)
+                .slug(name + "-" + i)
+                .isPublished(true)
+                .thumbnailMediaId(1L)
+                .parent(parent)
+                .build());
+        }
+        variations = productRepository.saveAll(variations);
+
+        List<ProductImage> images = new ArrayList<>();
+        List<ProductOptionCombination> combinations = new ArrayList<>();
+        for (Product variation : variations) {
+            images.add(ProductImage.builder().imageId(1L).product(variation).build());
+            for (ProductOption productOption : productOptions) {
+                combinations.add(ProductOptionCombination.builder()
+                    .product(variation)
+                    .productOption(productOption)
+                    .value(productOption.getName() + "-" + variation.getId())
+                    .build());
+            }
+        }
+        productImageRepository.saveAll(images);
+        productOptionCombinationRepository.saveAll(combinations);
+        return parent;
+    }
+}
@@ -1,7 +1,9 @@
 package com.yas.product.controller;
 
+import com.yas.commonlibrary.constants.PageableConstant;
 import com.yas.product.model.enumeration.FilterExistInWhSelection;
 import com.yas.product.service.ProductDetailService;
+import com.yas.product.service.ProductEsDetailService;
 import com.yas.product.service.ProductService;
 import com.yas.product.viewmodel.error.ErrorVm;
 import com.yas.product.viewmodel.product.ProductDetailGetVm;
@@ -30,7 +32,11 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import java.util.List;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -44,25 +50,38 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Validated
 @RestController
 public class ProductController {
     private final ProductService productService;
     private final ProductDetailService productDetailService;
+    private final ProductEsDetailService productEsDetailService;
 
-    public ProductController(ProductService productService, ProductDetailService productDetailService) {
+    public ProductController(ProductService productService, ProductDetailService productDetailService,
+                             ProductEsDetailService productEsDetailService) {
         this.productService = productService;
         this.productDetailService = productDetailService;
+        this.productEsDetailService = productEsDetailService;
     }
 
     @GetMapping("/backoffice/products")
     public ResponseEntity<ProductListGetVm> listProducts(
             @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
-            @RequestParam(value = "pageSize", defaultValue = "5", required = false) int pageSize,
+            @RequestParam(value = "pageSize", defaultValue = "5", required = false)
+            @Min(1) @Max(PageableConstant.MAX_PAGE_SIZE) int pageSize,
             @RequestParam(value = "product-name", defaultValue = "", required = false) String productName,
-            @RequestParam(value = "brand-name", defaultValue = "", required = false) String brandName
+            @RequestParam(value = "brand-name", defaultValue = "", required = false) String brandName,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
+        // sending a cursor (empty for the first page) switches to keyset pagination
+        if (cursor != null) {
+            return ResponseEntity.ok(
+                productService.getProductsWithFilterByCursor(cursor, pageSize, productName, brandName));
+        }
         return ResponseEntity.ok(productService.getProductsWithFilter(pageNo, pageSize, productName, brandName));
     }
 
@@ -188,6 +207,26 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductEsDetailById(productId));
     }
 
+    @GetMapping("/storefront/products-es")
+    public ResponseEntity<List<ProductEsDetailVm>> getProductEsDetailsByIds(
+        @RequestParam @Size(max = ProductEsDetailService.MAX_IDS_PER_REQUEST) List<Long> ids) {
+        return ResponseEntity.ok(productEsDetailService.getPublishedProductEsDetailsByIds(ids));
+    }
+
+    @GetMapping(path = "/backoffice/products-es/range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProductEsDetails(@RequestParam long fromId,
+                                                                        @RequestParam long toId,
+                                                                        HttpServletRequest request) {
+        productEsDetailService.checkIdRange(fromId, toId);
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncWebRequest != null) {
+            asyncWebRequest.setTimeout(productEsDetailService.getStreamTimeout().toMillis());
+        }
+        StreamingResponseBody body = outputStream ->
+            productEsDetailService.writeProductEsDetails(fromId, toId, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Get related products by product id successfully",
                 content = @Content(mediaType = "application/json",
@@ -242,16 +281,15 @@ public class ProductController {
 
     @PutMapping(path = "/backoffice/products/subtract-quantity", consumes = {MediaType.APPLICATION_JSON_VALUE})
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "204", description = "Updated"),
+        @ApiResponse(responseCode = "200", description = "Number of products whose stock changed"),
         @ApiResponse(responseCode = "404", description = "Not found",
                 content = @Content(schema = @Schema(implementation = ErrorVm.class))),
         @ApiResponse(responseCode = "400", description = "Bad request",
                 content = @Content(schema = @Schema(implementation = ErrorVm.class)))})
-    public ResponseEntity<Void> subtractProductQuantity(
+    public ResponseEntity<Integer> subtractProductQuantity(
             @Valid @RequestBody List<ProductQuantityPutVm> productQuantityPutVm
     ) {
-        productService.subtractStockQuantity(productQuantityPutVm);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(productService.subtractStockQuantity(productQuantityPutVm));
     }
 
     @GetMapping("/backoffice/products/by-ids")
@@ -281,6 +319,12 @@ public class ProductController {
         return ResponseEntity.ok(productDetailService.getProductDetailById(productId));
     }
 
+    @GetMapping("/storefront/products/details")
+    public ResponseEntity<List<ProductDetailInfoVm>> getProductDetailsByIds(
+            @RequestParam("ids") List<Long> productIds) {
+        return ResponseEntity.ok(productDetailService.getProductDetailsByIds(productIds));
+    }
+
     @GetMapping("/products")
     public ResponseEntity<ProductGetCheckoutListVm> getProductCheckoutList(
         @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
@@ -0,0 +1,33 @@
+package com.yas.product.kafka.config.consumer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.yas.commonlibrary.kafka.cdc.config.BaseKafkaListenerConfig;
+import com.yas.product.kafka.message.ProductRelationCdcMessage;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+
+/**
+ * Kafka listener of the CDC topics of the tables related to products, the keys of which differ per table.
+ */
+@EnableKafka
+@Configuration
+public class ProductRelationCdcKafkaListenerConfig
+    extends BaseKafkaListenerConfig<JsonNode, ProductRelationCdcMessage> {
+
+    public static final String PRODUCT_RELATION_CDC_LISTENER_CONTAINER_FACTORY =
+        "productRelationCdcListenerContainerFactory";
+
+    public ProductRelationCdcKafkaListenerConfig(KafkaProperties kafkaProperties) {
+        super(JsonNode.class, ProductRelationCdcMessage.class, kafkaProperties);
+    }
+
+    @Bean(name = PRODUCT_RELATION_CDC_LISTENER_CONTAINER_FACTORY)
+    @Override
+    public ConcurrentKafkaListenerContainerFactory<JsonNode, ProductRelationCdcMessage> listenerContainerFactory() {
+        return super.kafkaListenerContainerFactory();
+    }
+
+}
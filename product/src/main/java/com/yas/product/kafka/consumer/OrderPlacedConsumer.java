@@ -0,0 +1,55 @@
+package com.yas.product.kafka.consumer;
+
+import static com.yas.commonlibrary.kafka.cdc.config.OrderOutboxKafkaListenerConfig.ORDER_OUTBOX_LISTENER_CONTAINER_FACTORY;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.commonlibrary.exception.NotFoundException;
+import com.yas.commonlibrary.kafka.cdc.BaseOrderPlacedConsumer;
+import com.yas.commonlibrary.kafka.cdc.RetrySupportDql;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxMsgKey;
+import com.yas.commonlibrary.kafka.cdc.message.OrderPlacedPayload;
+import com.yas.product.service.OrderEventService;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Headers;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+/**
+ * Subtracts the stock of ordered products on order placed events relayed from the order outbox.
+ */
+@Service
+public class OrderPlacedConsumer extends BaseOrderPlacedConsumer {
+
+    private final OrderEventService orderEventService;
+
+    public OrderPlacedConsumer(OrderEventService orderEventService, ObjectMapper objectMapper) {
+        super(objectMapper);
+        this.orderEventService = orderEventService;
+    }
+
+    @KafkaListener(
+        id = "order-placed-product",
+        groupId = "order-placed-product",
+        topics = "${order.outbox.topic.name}",
+        containerFactory = ORDER_OUTBOX_LISTENER_CONTAINER_FACTORY,
+        autoStartup = "${yas.order-outbox.consumer.enabled:true}"
+    )
+    @RetrySupportDql(listenerContainerFactory = ORDER_OUTBOX_LISTENER_CONTAINER_FACTORY,
+        exclude = NotFoundException.class)
+    public void processMessage(
+        @Header(KafkaHeaders.RECEIVED_KEY) OrderOutboxMsgKey key,
+        @Payload(required = false) OrderOutboxCdcMessage orderOutboxCdcMessage,
+        @Headers MessageHeaders headers
+    ) {
+        processMessage(key, orderOutboxCdcMessage, headers, this::apply);
+    }
+
+    @Override
+    protected void applyOrderPlaced(String eventId, OrderPlacedPayload payload) {
+        orderEventService.applyOrderPlaced(eventId, payload);
+    }
+}
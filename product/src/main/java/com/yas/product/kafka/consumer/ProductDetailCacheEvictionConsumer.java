@@ -0,0 +1,57 @@
+package com.yas.product.kafka.consumer;
+
+import static com.yas.product.kafka.config.consumer.ProductCdcKafkaListenerConfig.PRODUCT_CDC_LISTENER_CONTAINER_FACTORY;
+
+import com.yas.commonlibrary.kafka.cdc.BaseCdcConsumer;
+import com.yas.commonlibrary.kafka.cdc.message.ProductCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.ProductMsgKey;
+import com.yas.product.service.ProductDetailCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Headers;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evicts the product detail near-cache on product CDC events.
+ * Every instance uses a consumer group of its own so that all of them see every change, its id must be stable
+ * across restarts of the instance so that groups do not pile up on the brokers.
+ */
+@Slf4j
+@Service
+public class ProductDetailCacheEvictionConsumer extends BaseCdcConsumer<ProductMsgKey, ProductCdcMessage> {
+
+    private final ProductDetailCache productDetailCache;
+
+    public ProductDetailCacheEvictionConsumer(ProductDetailCache productDetailCache) {
+        this.productDetailCache = productDetailCache;
+    }
+
+    @KafkaListener(
+        id = "product-detail-cache-eviction",
+        groupId = "${yas.product.detail-cache.cdc-eviction.group-id}",
+        topics = "${product.topic.name}",
+        containerFactory = PRODUCT_CDC_LISTENER_CONTAINER_FACTORY,
+        autoStartup = "${yas.product.detail-cache.cdc-eviction.enabled:true}",
+        properties = "auto.offset.reset=latest"
+    )
+    public void processMessage(
+        @Header(KafkaHeaders.RECEIVED_KEY) ProductMsgKey key,
+        @Payload(required = false) ProductCdcMessage productCdcMessage,
+        @Headers MessageHeaders headers
+    ) {
+        processMessage(key, productCdcMessage, headers, this::evict);
+    }
+
+    public void evict(ProductMsgKey key, ProductCdcMessage productCdcMessage) {
+        if (key == null || key.getId() == null) {
+            log.warn("Product CDC event without key, clearing the whole product detail cache");
+            productDetailCache.evictAll();
+            return;
+        }
+        productDetailCache.evict(key.getId());
+    }
+}
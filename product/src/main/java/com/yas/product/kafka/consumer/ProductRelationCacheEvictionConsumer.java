@@ -0,0 +1,72 @@
+package com.yas.product.kafka.consumer;
+
+import static com.yas.product.kafka.config.consumer.ProductRelationCdcKafkaListenerConfig.PRODUCT_RELATION_CDC_LISTENER_CONTAINER_FACTORY;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.yas.commonlibrary.kafka.cdc.BaseCdcConsumer;
+import com.yas.product.kafka.message.ProductRelationCdcMessage;
+import com.yas.product.service.ProductDetailCache;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.handler.annotation.Headers;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evicts the product detail near-cache on CDC events of the tables a detail is assembled from besides
+ * {@code product}: categories, brands, attributes, options and images. A change of a row with a {@code product_id}
+ * column evicts that product, any other change, such as a renamed category, clears the whole cache.
+ * Like {@link ProductDetailCacheEvictionConsumer}, every instance consumes in a group of its own.
+ */
+@Slf4j
+@Service
+public class ProductRelationCacheEvictionConsumer
+    extends BaseCdcConsumer<JsonNode, ProductRelationCdcMessage> {
+
+    private static final String PRODUCT_ID_COLUMN = "product_id";
+
+    private final ProductDetailCache productDetailCache;
+
+    public ProductRelationCacheEvictionConsumer(ProductDetailCache productDetailCache) {
+        this.productDetailCache = productDetailCache;
+    }
+
+    @KafkaListener(
+        id = "product-detail-cache-relation-eviction",
+        groupId = "${yas.product.detail-cache.cdc-eviction.group-id}-relations",
+        topics = "#{'${yas.product.detail-cache.cdc-eviction.relation-topics}'.split(',')}",
+        containerFactory = PRODUCT_RELATION_CDC_LISTENER_CONTAINER_FACTORY,
+        autoStartup = "${yas.product.detail-cache.cdc-eviction.enabled:true}",
+        properties = "auto.offset.reset=latest"
+    )
+    public void processMessage(
+        @Payload(required = false) ProductRelationCdcMessage message,
+        @Headers MessageHeaders headers
+    ) {
+        processMessage(message, headers, this::evict);
+    }
+
+    public void evict(ProductRelationCdcMessage message) {
+        if (message == null) {
+            // tombstone following a delete, which is already handled
+            return;
+        }
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (Map<String, Object> row : Arrays.asList(message.getBefore(), message.getAfter())) {
+            if (row != null && row.get(PRODUCT_ID_COLUMN) instanceof Number productId) {
+                productIds.add(productId.longValue());
+            }
+        }
+        if (productIds.isEmpty()) {
+            log.debug("Product relation changed without product id, clearing the whole product detail cache");
+            productDetailCache.evictAll();
+            return;
+        }
+        productIds.forEach(productDetailCache::evict);
+    }
+}
@@ -0,0 +1,26 @@
+package com.yas.product.kafka.message;
+
+import com.yas.commonlibrary.kafka.cdc.message.Operation;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+/**
+ * CDC message of a table a product detail is assembled from, other than {@code product}. Rows are kept as column
+ * maps since only their {@code product_id} column, when there is one, matters.
+ */
+@lombok.Getter
+@lombok.Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRelationCdcMessage {
+
+    private Map<String, Object> after;
+
+    private Map<String, Object> before;
+
+    private Operation op;
+
+}
@@ -0,0 +1,138 @@
+package com.yas.product.repository;
+
+import com.yas.product.viewmodel.product.ProductEsDetailVm;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads {@link ProductEsDetailVm} for many products with three queries whatever their number: the products joined
+ * with their brand, then the category names and attribute names of all of them. Entities are not involved so
+ * that the eager brand and parent associations of {@code Product} do not trigger extra selects.
+ */
+@Repository
+public class ProductEsDetailRepository {
+
+    private static final String PRODUCT_SELECT = """
+        SELECT p.id, p.name, p.slug, p.price, p.is_published, p.is_visible_individually, p.is_allowed_to_order,
+               p.is_featured, p.thumbnail_media_id, b.name AS brand_name
+        FROM product p
+        LEFT JOIN brand b ON b.id = p.brand_id
+        """;
+
+    private static final String FIND_PUBLISHED_BY_IDS_SQL = PRODUCT_SELECT
+        + "WHERE p.id IN (:ids) AND p.is_published ORDER BY p.id";
+
+    private static final String FIND_BY_ID_RANGE_SQL = PRODUCT_SELECT
+        + "WHERE p.id BETWEEN :fromId AND :toId ORDER BY p.id LIMIT :limit";
+
+    private static final String CATEGORY_NAMES_SQL = """
+        SELECT pc.product_id, c.name
+        FROM product_category pc
+        JOIN category c ON c.id = pc.category_id
+        WHERE pc.product_id IN (:ids)
+        ORDER BY pc.id
+        """;
+
+    private static final String ATTRIBUTE_NAMES_SQL = """
+        SELECT pav.product_id, pa.name
+        FROM product_attribute_value pav
+        JOIN product_attribute pa ON pa.id = pav.product_attribute_id
+        WHERE pav.product_id IN (:ids)
+        ORDER BY pav.id
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductEsDetailRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Finds the published products of the given ids, unknown and unpublished ids are left out.
+     *
+     * @param productIds the product ids
+     * @return the products ordered by id
+     */
+    @Transactional(readOnly = true)
+    public List<ProductEsDetailVm> findPublishedByIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        List<ProductRow> rows = jdbcTemplate.query(FIND_PUBLISHED_BY_IDS_SQL,
+            new MapSqlParameterSource("ids", productIds), (rs, rowNum) -> toRow(rs));
+        return withNames(rows);
+    }
+
+    /**
+     * Finds at most {@code limit} products whose id is within the given bounds.
+     *
+     * @param fromId the lowest id, inclusive
+     * @param toId   the highest id, inclusive
+     * @param limit  the maximum number of products
+     * @return the products with the lowest ids in the range, ordered by id
+     */
+    @Transactional(readOnly = true)
+    public List<ProductEsDetailVm> findByIdRange(long fromId, long toId, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("fromId", fromId)
+            .addValue("toId", toId)
+            .addValue("limit", limit);
+        List<ProductRow> rows = jdbcTemplate.query(FIND_BY_ID_RANGE_SQL, parameters, (rs, rowNum) -> toRow(rs));
+        return withNames(rows);
+    }
+
+    private List<ProductEsDetailVm> withNames(List<ProductRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = rows.stream().map(ProductRow::id).toList();
+        Map<Long, List<String>> categoryNames = namesByProductId(CATEGORY_NAMES_SQL, ids);
+        Map<Long, List<String>> attributeNames = namesByProductId(ATTRIBUTE_NAMES_SQL, ids);
+        return rows.stream()
+            .map(row -> row.toVm(
+                categoryNames.getOrDefault(row.id(), List.of()),
+                attributeNames.getOrDefault(row.id(), List.of())))
+            .toList();
+    }
+
+    private Map<Long, List<String>> namesByProductId(String sql, List<Long> productIds) {
+        Map<Long, List<String>> names = new HashMap<>();
+        jdbcTemplate.query(sql, new MapSqlParameterSource("ids", productIds), rs -> {
+            names.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+        });
+        return names;
+    }
+
+    private static ProductRow toRow(ResultSet rs) throws SQLException {
+        return new ProductRow(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("slug"),
+            rs.getObject("price", Double.class),
+            rs.getBoolean("is_published"),
+            rs.getBoolean("is_visible_individually"),
+            rs.getBoolean("is_allowed_to_order"),
+            rs.getBoolean("is_featured"),
+            rs.getObject("thumbnail_media_id", Long.class),
+            rs.getString("brand_name"));
+    }
+
+    private record ProductRow(long id, String name, String slug, Double price, boolean isPublished,
+                              boolean isVisibleIndividually, boolean isAllowedToOrder, boolean isFeatured,
+                              Long thumbnailMediaId, String brandName) {
+
+        ProductEsDetailVm toVm(List<String> categoryNames, List<String> attributeNames) {
+            return new ProductEsDetailVm(id, name, slug, price, isPublished, isVisibleIndividually,
+                isAllowedToOrder, isFeatured, thumbnailMediaId, brandName, categoryNames, attributeNames);
+        }
+    }
+}
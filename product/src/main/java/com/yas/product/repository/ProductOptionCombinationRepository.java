@@ -3,7 +3,9 @@ package com.yas.product.repository;
 import com.yas.product.model.Product;
 import com.yas.product.model.ProductOptionCombination;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -15,6 +17,29 @@ public interface ProductOptionCombinationRepository extends JpaRepository<Produc
         + " where e.product.parent.id = ?1")
     List<ProductOptionCombination> findAllByParentProductId(Long parentProductId);
 
+    @Query("select e from ProductOptionCombination e"
+        + " join fetch e.product p"
+        + " join fetch e.productOption"
+        + " where p.parent.id = ?1")
+    List<ProductOptionCombination> findAllWithOptionByParentProductId(Long parentProductId);
+
+    /**
+     * Loads the option values of every variation of a product with one query.
+     *
+     * @param parentProductId the id of the parent product
+     * @return the option values of each variation, keyed by variation id then by product option id
+     */
+    default Map<Long, Map<Long, String>> findOptionValuesByParentProductId(Long parentProductId) {
+        return findAllWithOptionByParentProductId(parentProductId).stream()
+            .collect(Collectors.groupingBy(
+                productOptionCombination -> productOptionCombination.getProduct().getId(),
+                Collectors.toMap(
+                    productOptionCombination -> productOptionCombination.getProductOption().getId(),
+                    ProductOptionCombination::getValue
+                )
+            ));
+    }
+
     List<ProductOptionCombination> findAllByProduct(Product product);
 
     Optional<ProductOptionCombination> findByProductId(Long productId);
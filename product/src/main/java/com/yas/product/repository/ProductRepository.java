@@ -21,6 +21,10 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     Optional<Product> findBySkuAndIsPublishedTrue(String sku);
 
+    /*
+     * The name filters render LOWER(name) LIKE ? and LOWER(sku) LIKE ?, the expressions covered by the pg_trgm GIN
+     * indexes of changelog-0012.
+     */
     @Query(value = "SELECT p FROM Product p WHERE LOWER(p.name) LIKE %:productName% "
             + "AND (p.brand.name IN :brandName OR (:brandName is null OR :brandName = '')) "
             + "AND p.isVisibleIndividually = TRUE "
@@ -30,6 +34,17 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                                         @Param("brandName") String brandName,
                                         Pageable pageable);
 
+    @Query(value = "SELECT p FROM Product p WHERE LOWER(p.name) LIKE %:productName% "
+            + "AND (p.brand.name IN :brandName OR (:brandName is null OR :brandName = '')) "
+            + "AND p.isVisibleIndividually = TRUE "
+            + "AND p.isPublished = TRUE "
+            + "AND p.id > :lastId "
+            + "ORDER BY p.id ASC ")
+    List<Product> getProductsWithFilterAfterId(@Param("productName") String productName,
+                                               @Param("brandName") String brandName,
+                                               @Param("lastId") long lastId,
+                                               Pageable pageable);
+
     @Query(value = "SELECT p FROM Product p WHERE LOWER(p.name) LIKE %:productName% "
             + "AND (p.brand.name IN :brandName OR (:brandName is null OR :brandName = '')) "
             + "AND p.isVisibleIndividually = TRUE "
@@ -80,4 +95,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @Query("SELECT p FROM Product p WHERE p.id IN :productIds AND p.isPublished = TRUE")
     Page<Product> findAllPublishedProductsByIds(@Param("productIds") List<Long> productIds, Pageable pageable);
+
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.productImages "
+            + "WHERE p.parent.id = :parentId AND p.isPublished = TRUE ORDER BY p.id ASC")
+    List<Product> findAllPublishedVariationsByParentId(@Param("parentId") Long parentId);
 }
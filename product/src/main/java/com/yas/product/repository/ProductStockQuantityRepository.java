@@ -0,0 +1,71 @@
+package com.yas.product.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Changes product stock quantities with a single set-based statement per call, the new quantity is computed
+ * by the database from the current one so concurrent orders cannot overwrite each other. The rows are listed by
+ * ascending product id, so that concurrent statements lock the products in the same order and cannot deadlock.
+ */
+@Repository
+public class ProductStockQuantityRepository {
+
+    private static final String SUBTRACT_SQL = """
+        UPDATE product p
+        SET stock_quantity = GREATEST(COALESCE(p.stock_quantity, 0) - v.quantity, 0)
+        FROM (VALUES %s) AS v(id, quantity)
+        WHERE p.id = v.id AND p.stock_tracking_enabled = TRUE
+        """;
+
+    private static final String RESTORE_SQL = """
+        UPDATE product p
+        SET stock_quantity = GREATEST(COALESCE(p.stock_quantity, 0) + v.quantity, 0)
+        FROM (VALUES %s) AS v(id, quantity)
+        WHERE p.id = v.id AND p.stock_tracking_enabled = TRUE
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductStockQuantityRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Subtracts the given amounts, a quantity never drops below zero.
+     *
+     * @param quantitiesByProductId the amount to subtract per product id, one entry per product
+     * @return the number of products whose stock was changed
+     */
+    public int subtractStockQuantities(Map<Long, Long> quantitiesByProductId) {
+        return update(SUBTRACT_SQL, quantitiesByProductId);
+    }
+
+    /**
+     * Adds the given amounts back to the stock.
+     *
+     * @param quantitiesByProductId the amount to add per product id, one entry per product
+     * @return the number of products whose stock was changed
+     */
+    public int restoreStockQuantities(Map<Long, Long> quantitiesByProductId) {
+        return update(RESTORE_SQL, quantitiesByProductId);
+    }
+
+    private int update(String sqlTemplate, Map<Long, Long> quantitiesByProductId) {
+        if (quantitiesByProductId.isEmpty()) {
+            return 0;
+        }
+        String rows = String.join(", ", Collections.nCopies(quantitiesByProductId.size(), "(?, ?)"));
+        List<Object> parameters = new ArrayList<>(quantitiesByProductId.size() * 2);
+        new TreeMap<>(quantitiesByProductId).forEach((productId, quantity) -> {
+            parameters.add(productId);
+            parameters.add(quantity);
+        });
+        return jdbcTemplate.update(sqlTemplate.formatted(rows), parameters.toArray());
+    }
+}
@@ -5,7 +5,11 @@ import com.yas.product.viewmodel.NoFileMediaVm;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import java.net.URI;
+import java.util.Collection;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -57,6 +61,26 @@ public class MediaService extends AbstractCircuitBreakFallbackHandler {
                 .body(NoFileMediaVm.class);
     }
 
+    @Retry(name = "restApi")
+    @CircuitBreaker(name = "restCircuitBreaker", fallbackMethod = "handleMediaListFallback")
+    public List<NoFileMediaVm> getMediaByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        final URI url = UriComponentsBuilder.fromHttpUrl(serviceUrlConfig.media())
+            .path("/medias")
+            .queryParam("ids", ids)
+            .build()
+            .toUri();
+        // media service answers 404 when none of the ids exist, which is not an error for a batch lookup
+        List<NoFileMediaVm> medias = restClient.get()
+                .uri(url)
+                .retrieve()
+                .onStatus(status -> status.isSameCodeAs(HttpStatus.NOT_FOUND), (request, response) -> { })
+                .body(new ParameterizedTypeReference<List<NoFileMediaVm>>() { });
+        return medias == null ? List.of() : medias;
+    }
+
     @Retry(name = "restApi")
     @CircuitBreaker(name = "restCircuitBreaker", fallbackMethod = "handleBodilessFallback")
     public void removeMedia(Long id) {
@@ -74,4 +98,8 @@ public class MediaService extends AbstractCircuitBreakFallbackHandler {
     private NoFileMediaVm handleMediaFallback(Throwable throwable) throws Throwable {
         return handleTypedFallback(throwable);
     }
+
+    private List<NoFileMediaVm> handleMediaListFallback(Throwable throwable) throws Throwable {
+        return handleTypedFallback(throwable);
+    }
 }
@@ -0,0 +1,68 @@
+package com.yas.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yas.product.viewmodel.NoFileMediaVm;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves media urls for a whole page of products with a single call to the media service.
+ * Resolved urls are kept in a short-lived local cache so that repeated thumbnails skip the network.
+ */
+@Service
+public class MediaUrlResolver {
+    private final MediaService mediaService;
+    private final Cache<Long, String> urlCache;
+
+    public MediaUrlResolver(MediaService mediaService,
+                            @Value("${yas.media.url-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${yas.media.url-cache.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        this.mediaService = mediaService;
+        this.urlCache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .build();
+    }
+
+    /**
+     * Resolves the urls of the given media ids, fetching every id missing from the cache in one request.
+     *
+     * @param mediaIds the media ids to resolve, {@code null} ids are ignored
+     * @return the url of each requested id, an empty string when the media service does not know the id
+     */
+    public Map<Long, String> resolveUrls(Collection<Long> mediaIds) {
+        Set<Long> ids = mediaIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, String> urls = new HashMap<>(urlCache.getAllPresent(ids));
+
+        Set<Long> missingIds = ids.stream().filter(id -> !urls.containsKey(id)).collect(Collectors.toSet());
+        if (!missingIds.isEmpty()) {
+            for (NoFileMediaVm media : mediaService.getMediaByIds(missingIds)) {
+                if (media.id() != null && media.url() != null) {
+                    urlCache.put(media.id(), media.url());
+                    urls.put(media.id(), media.url());
+                }
+            }
+            missingIds.forEach(id -> urls.putIfAbsent(id, ""));
+        }
+        return urls;
+    }
+
+    /**
+     * Looks up a url previously returned by {@link #resolveUrls(Collection)}.
+     *
+     * @param urls    the resolved urls
+     * @param mediaId the media id, may be {@code null}
+     * @return the url or an empty string when the id is {@code null} or unknown
+     */
+    public static String urlOf(Map<Long, String> urls, Long mediaId) {
+        return mediaId == null ? "" : urls.getOrDefault(mediaId, "");
+    }
+}
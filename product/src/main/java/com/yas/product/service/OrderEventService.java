@@ -0,0 +1,58 @@
+package com.yas.product.service;
+
+import com.yas.commonlibrary.exception.NotFoundException;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxEvent;
+import com.yas.commonlibrary.kafka.cdc.message.OrderPlacedPayload;
+import com.yas.commonlibrary.repository.ProcessedEventRepository;
+import com.yas.product.utils.Constants;
+import com.yas.product.viewmodel.product.ProductListVm;
+import com.yas.product.viewmodel.product.ProductQuantityPutVm;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies the product side effects of order events. The event id is recorded in the same transaction as the
+ * stock update, so an event delivered more than once subtracts the stock only once. An order of a product that no
+ * longer exists fails with a {@link NotFoundException} and rolls back, leaving the event to the dead letter topic.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OrderEventService {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final ProductService productService;
+
+    public void applyOrderPlaced(String eventId, OrderPlacedPayload payload) {
+        if (processedEventRepository.insertIfAbsent(eventId, OrderOutboxEvent.ORDER_PLACED) == 0) {
+            log.info("Order placed event {} of order {} is already processed", eventId, payload.orderId());
+            return;
+        }
+        List<ProductQuantityPutVm> quantities = payload.items().stream()
+            .map(item -> new ProductQuantityPutVm(item.productId(), (long) item.quantity()))
+            .toList();
+        int updatedCount = productService.subtractStockQuantity(quantities);
+        Set<Long> productIds = quantities.stream().map(ProductQuantityPutVm::productId).collect(Collectors.toSet());
+        if (updatedCount < productIds.size()) {
+            checkProductsExist(productIds);
+            log.debug("Order {} contains {} products without stock tracking", payload.orderId(),
+                productIds.size() - updatedCount);
+        }
+    }
+
+    private void checkProductsExist(Set<Long> productIds) {
+        Set<Long> existingIds = productService.getProductByIds(List.copyOf(productIds)).stream()
+            .map(ProductListVm::id)
+            .collect(Collectors.toSet());
+        List<Long> missingIds = productIds.stream().filter(id -> !existingIds.contains(id)).sorted().toList();
+        if (!missingIds.isEmpty()) {
+            throw new NotFoundException(Constants.ErrorCode.PRODUCT_NOT_FOUND, missingIds);
+        }
+    }
+}
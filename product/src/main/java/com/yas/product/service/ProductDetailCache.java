@@ -0,0 +1,59 @@
+package com.yas.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yas.product.viewmodel.product.ProductDetailGetVm;
+import com.yas.product.viewmodel.product.ProductDetailInfoVm;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded near-cache of assembled storefront product details, keyed by product id and by slug.
+ * Entries expire after a short TTL and are evicted on product change events.
+ */
+@Component
+public class ProductDetailCache {
+    private final Cache<Long, ProductDetailInfoVm> detailById;
+    private final Cache<String, ProductDetailGetVm> detailBySlug;
+
+    public ProductDetailCache(@Value("${yas.product.detail-cache.maximum-size:5000}") long maximumSize,
+                              @Value("${yas.product.detail-cache.expire-after-write:PT10M}")
+                              Duration expireAfterWrite) {
+        this.detailById = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .build();
+        this.detailBySlug = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .build();
+    }
+
+    public ProductDetailInfoVm getById(long productId, Function<Long, ProductDetailInfoVm> loader) {
+        return detailById.get(productId, loader);
+    }
+
+    public ProductDetailGetVm getBySlug(String slug, Function<String, ProductDetailGetVm> loader) {
+        return detailBySlug.get(slug, loader);
+    }
+
+    /**
+     * Evicts every cached detail of the given product, including parent details listing it as a variation.
+     *
+     * @param productId the id of the changed product
+     */
+    public void evict(long productId) {
+        detailById.invalidate(productId);
+        detailById.asMap().values().removeIf(detail -> detail.getVariations().stream()
+            .anyMatch(variation -> Objects.equals(variation.id(), productId)));
+        detailBySlug.asMap().values().removeIf(detail -> detail.id() == productId);
+    }
+
+    public void evictAll() {
+        detailById.invalidateAll();
+        detailBySlug.invalidateAll();
+    }
+}
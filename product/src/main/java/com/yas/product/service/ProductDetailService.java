@@ -5,7 +5,6 @@ import com.yas.product.model.Brand;
 import com.yas.product.model.Category;
 import com.yas.product.model.Product;
 import com.yas.product.model.ProductCategory;
-import com.yas.product.model.ProductOptionCombination;
 import com.yas.product.repository.ProductOptionCombinationRepository;
 import com.yas.product.repository.ProductRepository;
 import com.yas.product.utils.Constants;
@@ -18,7 +17,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +31,7 @@ public class ProductDetailService {
     private final ProductRepository productRepository;
     private final MediaService mediaService;
     private final ProductOptionCombinationRepository productOptionCombinationRepository;
+    private final ProductDetailCache productDetailCache;
 
     /**
      * Constructor for {@code ProductRecommendationService} that initializes the service with necessary dependencies.
@@ -41,30 +40,56 @@ public class ProductDetailService {
      * @param mediaService                       the service responsible for managing media assets associated
      *                                           with products
      * @param productOptionCombinationRepository the repository for managing product option combinations
+     * @param productDetailCache                 the near-cache of assembled product details
      */
     public ProductDetailService(ProductRepository productRepository, MediaService mediaService,
-                                ProductOptionCombinationRepository productOptionCombinationRepository) {
+                                ProductOptionCombinationRepository productOptionCombinationRepository,
+                                ProductDetailCache productDetailCache) {
         this.productRepository = productRepository;
         this.mediaService = mediaService;
         this.productOptionCombinationRepository = productOptionCombinationRepository;
+        this.productDetailCache = productDetailCache;
     }
 
     /**
      * Retrieves detailed information about a product by its unique identifier.
+     * The assembled detail is served from {@link ProductDetailCache} when present.
      *
      * @param productId the unique identifier of the product to be retrieved
      * @return a {@link ProductDetailInfoVm} containing detailed information about the product
      * @throws NotFoundException if no product is found with the given {@code productId}
      */
     public ProductDetailInfoVm getProductDetailById(long productId) {
-        List<ProductVariationGetVm> variations = new ArrayList<>();
+        return productDetailCache.getById(productId, this::loadProductDetailById);
+    }
+
+    /**
+     * Retrieves the detailed information of many products at once, the details already in
+     * {@link ProductDetailCache} are not loaded again.
+     *
+     * @param productIds the unique identifiers of the products to be retrieved
+     * @return the details of the published products among {@code productIds}, unknown and unpublished products
+     *     are left out
+     */
+    public List<ProductDetailInfoVm> getProductDetailsByIds(List<Long> productIds) {
+        return productRepository.findAllById(productIds).stream()
+                .filter(Product::isPublished)
+                .map(product -> productDetailCache.getById(product.getId(), id -> toProductDetailInfoVm(product)))
+                .toList();
+    }
+
+    private ProductDetailInfoVm loadProductDetailById(long productId) {
         Product product = productRepository
                 .findById(productId)
                 .filter(Product::isPublished)
                 .orElseThrow(() ->
                         new NotFoundException(Constants.ErrorCode.PRODUCT_NOT_FOUND, productId)
                 );
+        return toProductDetailInfoVm(product);
+    }
 
+    private ProductDetailInfoVm toProductDetailInfoVm(Product product) {
+        List<ProductVariationGetVm> variations = new ArrayList<>();
         List<Category> categories = Optional.ofNullable(product.getProductCategories())
                 .orElse(Collections.emptyList())  // Handle null case
                 .stream()
@@ -84,18 +109,13 @@ public class ProductDetailService {
                 .toList();
 
         if (Boolean.TRUE.equals(product.isHasOptions())) {
-            List<Product> productVariations = product.getProducts()
-                    .stream()
-                    .toList();
+            // load every published variation with its images and every option combination in two queries
+            List<Product> productVariations = productRepository.findAllPublishedVariationsByParentId(product.getId());
+            Map<Long, Map<Long, String>> optionsByVariationId = productOptionCombinationRepository
+                    .findOptionValuesByParentProductId(product.getId());
             variations = productVariations.stream()
-                    .filter(Product::isPublished)
                     .map(pro -> {
-                        List<ProductOptionCombination> productOptionCombinations =
-                                productOptionCombinationRepository.findAllByProduct(pro);
-                        Map<Long, String> options = productOptionCombinations.stream().collect(Collectors.toMap(
-                                productOptionCombination -> productOptionCombination.getProductOption().getId(),
-                                ProductOptionCombination::getValue
-                        ));
+                        Map<Long, String> options = optionsByVariationId.getOrDefault(pro.getId(), Map.of());
 
                         return new ProductVariationGetVm(
                                 pro.getId(),
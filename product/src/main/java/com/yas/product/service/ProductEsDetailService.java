@@ -0,0 +1,108 @@
+package com.yas.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.product.repository.ProductEsDetailRepository;
+import com.yas.product.utils.Constants;
+import com.yas.product.viewmodel.product.ProductEsDetailVm;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves {@link ProductEsDetailVm} in bulk to the indexers of the search and recommendation services.
+ */
+@Service
+public class ProductEsDetailService {
+
+    /** The most product ids a storefront client may ask the details of at once. */
+    public static final int MAX_IDS_PER_REQUEST = 500;
+
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
+    private final ProductEsDetailRepository productEsDetailRepository;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final long maxRangeSize;
+    private final Duration streamTimeout;
+
+    public ProductEsDetailService(ProductEsDetailRepository productEsDetailRepository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${yas.product.es-detail.chunk-size:1000}") int chunkSize,
+                                  @Value("${yas.product.es-detail.max-range-size:100000}") long maxRangeSize,
+                                  @Value("${yas.product.es-detail.stream-timeout:PT10M}") Duration streamTimeout) {
+        this.productEsDetailRepository = productEsDetailRepository;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxRangeSize = maxRangeSize;
+        this.streamTimeout = streamTimeout;
+    }
+
+    /**
+     * Gets how long a stream of product details may run, streams outliving the default async request timeout.
+     */
+    public Duration getStreamTimeout() {
+        return streamTimeout;
+    }
+
+    /**
+     * Checks that an id range is ordered and spans at most the configured number of ids.
+     *
+     * @throws BadRequestException when the range is empty or too large
+     */
+    public void checkIdRange(long fromId, long toId) {
+        if (fromId > toId || toId - fromId >= maxRangeSize) {
+            throw new BadRequestException(Constants.ErrorCode.INVALID_PRODUCT_ID_RANGE, fromId, toId, maxRangeSize);
+        }
+    }
+
+    /**
+     * Gets the details of the given published products, unknown and unpublished ids are left out of the result.
+     *
+     * @param productIds the product ids, duplicates are ignored
+     * @return the details ordered by product id within each chunk of ids
+     */
+    public List<ProductEsDetailVm> getPublishedProductEsDetailsByIds(List<Long> productIds) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(productIds));
+        List<ProductEsDetailVm> details = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            details.addAll(productEsDetailRepository.findPublishedByIds(chunk));
+        }
+        return details;
+    }
+
+    /**
+     * Writes the details of every product whose id is within the given bounds as newline delimited JSON.
+     * Products are read by chunks of ids so that memory stays flat whatever the size of the range.
+     *
+     * @param fromId       the lowest id, inclusive
+     * @param toId         the highest id, inclusive
+     * @param outputStream where to write, flushed after each chunk
+     * @throws IOException when the client goes away
+     */
+    public void writeProductEsDetails(long fromId, long toId, OutputStream outputStream) throws IOException {
+        long nextId = fromId;
+        while (nextId <= toId) {
+            List<ProductEsDetailVm> chunk = productEsDetailRepository.findByIdRange(nextId, toId, chunkSize);
+            for (ProductEsDetailVm detail : chunk) {
+                outputStream.write(objectMapper.writeValueAsBytes(detail));
+                outputStream.write(LINE_SEPARATOR);
+            }
+            outputStream.flush();
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            long lastId = chunk.get(chunk.size() - 1).id();
+            if (lastId == Long.MAX_VALUE) {
+                return;
+            }
+            nextId = lastId + 1;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.yas.commonlibrary.exception.BadRequestException;
 import com.yas.commonlibrary.exception.DuplicatedException;
 import com.yas.commonlibrary.exception.InternalServerErrorException;
 import com.yas.commonlibrary.exception.NotFoundException;
+import com.yas.commonlibrary.utils.KeysetCursor;
 import com.yas.product.model.Brand;
 import com.yas.product.model.Category;
 import com.yas.product.model.Product;
@@ -27,6 +28,7 @@ import com.yas.product.repository.ProductOptionRepository;
 import com.yas.product.repository.ProductOptionValueRepository;
 import com.yas.product.repository.ProductRelatedRepository;
 import com.yas.product.repository.ProductRepository;
+import com.yas.product.repository.ProductStockQuantityRepository;
 import com.yas.product.utils.Constants;
 import com.yas.product.viewmodel.ImageVm;
 import com.yas.product.viewmodel.product.ProductCheckoutListVm;
@@ -56,7 +58,6 @@ import com.yas.product.viewmodel.product.ProductVariationPutVm;
 import com.yas.product.viewmodel.product.ProductsGetVm;
 import com.yas.product.viewmodel.productattribute.ProductAttributeGroupGetVm;
 import com.yas.product.viewmodel.productattribute.ProductAttributeValueVm;
-import io.micrometer.common.util.StringUtils;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -65,17 +66,16 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.ListUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 @Service
 @Transactional
@@ -84,6 +84,8 @@ public class ProductService {
     private static final String NONE_GROUP = "None group";
     private final ProductRepository productRepository;
     private final MediaService mediaService;
+    private final MediaUrlResolver mediaUrlResolver;
+    private final ProductDetailCache productDetailCache;
     private final BrandRepository brandRepository;
     private final CategoryRepository categoryRepository;
     private final ProductCategoryRepository productCategoryRepository;
@@ -92,9 +94,12 @@ public class ProductService {
     private final ProductOptionValueRepository productOptionValueRepository;
     private final ProductOptionCombinationRepository productOptionCombinationRepository;
     private final ProductRelatedRepository productRelatedRepository;
+    private final ProductStockQuantityRepository productStockQuantityRepository;
 
     public ProductService(ProductRepository productRepository,
                           MediaService mediaService,
+                          MediaUrlResolver mediaUrlResolver,
+                          ProductDetailCache productDetailCache,
                           BrandRepository brandRepository,
                           ProductCategoryRepository productCategoryRepository,
                           CategoryRepository categoryRepository,
@@ -102,9 +107,12 @@ public class ProductService {
                           ProductOptionRepository productOptionRepository,
                           ProductOptionValueRepository productOptionValueRepository,
                           ProductOptionCombinationRepository productOptionCombinationRepository,
-                          ProductRelatedRepository productRelatedRepository) {
+                          ProductRelatedRepository productRelatedRepository,
+                          ProductStockQuantityRepository productStockQuantityRepository) {
         this.productRepository = productRepository;
         this.mediaService = mediaService;
+        this.mediaUrlResolver = mediaUrlResolver;
+        this.productDetailCache = productDetailCache;
         this.brandRepository = brandRepository;
         this.categoryRepository = categoryRepository;
         this.productCategoryRepository = productCategoryRepository;
@@ -113,6 +121,7 @@ public class ProductService {
         this.productOptionValueRepository = productOptionValueRepository;
         this.productOptionCombinationRepository = productOptionCombinationRepository;
         this.productRelatedRepository = productRelatedRepository;
+        this.productStockQuantityRepository = productStockQuantityRepository;
     }
 
     public ProductGetDetailVm createProduct(ProductPostVm productPostVm) {
@@ -187,7 +196,7 @@ public class ProductService {
         checkPropertyExists(productProperties.slug().toLowerCase(), existingProduct,
             productRepository::findBySlugAndIsPublishedTrue, Constants.ErrorCode.SLUG_ALREADY_EXISTED_OR_DUPLICATED);
         // only check gtin when it's not empty
-        if (StringUtils.isNotEmpty(productProperties.gtin())) {
+        if (StringUtils.hasLength(productProperties.gtin())) {
             checkPropertyExists(productProperties.gtin(), existingProduct,
                 productRepository::findByGtinAndIsPublishedTrue,
                 Constants.ErrorCode.GTIN_ALREADY_EXISTED_OR_DUPLICATED);
@@ -214,7 +223,7 @@ public class ProductService {
                 throw new DuplicatedException(Constants.ErrorCode.SLUG_ALREADY_EXISTED_OR_DUPLICATED, variation.slug());
             }
             // only check gtin when it's not empty
-            if (StringUtils.isNotEmpty(variation.gtin()) && !seenGtins.add(variation.gtin())) {
+            if (StringUtils.hasLength(variation.gtin()) && !seenGtins.add(variation.gtin())) {
                 throw new DuplicatedException(Constants.ErrorCode.GTIN_ALREADY_EXISTED_OR_DUPLICATED, variation.gtin());
             }
             if (!seenSkus.add(variation.sku())) {
@@ -628,7 +637,34 @@ public class ProductService {
             productPage.getSize(),
             (int) productPage.getTotalElements(),
             productPage.getTotalPages(),
-            productPage.isLast()
+            productPage.isLast(),
+            null
+        );
+    }
+
+    /**
+     * Keyset variant of {@link #getProductsWithFilter(int, int, String, String)}: seeks past the product id held by
+     * the cursor instead of skipping rows, and does not run a count query.
+     */
+    public ProductListGetVm getProductsWithFilterByCursor(String cursor, int pageSize,
+                                                         String productName, String brandName) {
+        long lastId = StringUtils.hasText(cursor) ? KeysetCursor.decode(cursor).id() : 0L;
+        List<Product> products = productRepository.getProductsWithFilterAfterId(productName.trim().toLowerCase(),
+            brandName.trim(), lastId, PageRequest.of(0, pageSize + 1));
+
+        boolean isLast = products.size() <= pageSize;
+        List<Product> pageContent = isLast ? products : products.subList(0, pageSize);
+        String nextCursor = isLast || pageContent.isEmpty()
+            ? null : KeysetCursor.of(pageContent.getLast().getId()).encode();
+
+        return new ProductListGetVm(
+            pageContent.stream().map(ProductListVm::fromModel).toList(),
+            0,
+            pageSize,
+            -1,
+            -1,
+            isLast,
+            nextCursor
         );
     }
 
@@ -716,12 +752,13 @@ public class ProductService {
             .findBySlug(brandSlug)
             .orElseThrow(() -> new NotFoundException(Constants.ErrorCode.BRAND_NOT_FOUND, brandSlug));
         List<Product> products = productRepository.findAllByBrandAndIsPublishedTrueOrderByIdAsc(brand);
+        Map<Long, String> thumbnailUrls = resolveThumbnailUrls(products);
         for (Product product : products) {
             productThumbnailVms.add(new ProductThumbnailVm(
                 product.getId(),
                 product.getName(),
                 product.getSlug(),
-                mediaService.getMedia(product.getThumbnailMediaId()).url()));
+                MediaUrlResolver.urlOf(thumbnailUrls, product.getThumbnailMediaId())));
         }
         return productThumbnailVms;
     }
@@ -737,12 +774,13 @@ public class ProductService {
         List<ProductCategory> productList = productCategoryPage.getContent();
         List<Product> products = productList.stream()
             .map(ProductCategory::getProduct).toList();
+        Map<Long, String> thumbnailUrls = resolveThumbnailUrls(products);
         for (Product product : products) {
             productThumbnailVms.add(new ProductThumbnailVm(
                 product.getId(),
                 product.getName(),
                 product.getSlug(),
-                mediaService.getMedia(product.getThumbnailMediaId()).url()));
+                MediaUrlResolver.urlOf(thumbnailUrls, product.getThumbnailMediaId())));
         }
         return new ProductListGetFromCategoryVm(
             productThumbnailVms,
@@ -759,7 +797,7 @@ public class ProductService {
         return products.stream().map(product -> {
 
             String thumbnailUrl = mediaService.getMedia(product.getThumbnailMediaId()).url();
-            if (StringUtils.isNotEmpty(thumbnailUrl) || Objects.isNull(product.getParent())) {
+            if (StringUtils.hasLength(thumbnailUrl) || Objects.isNull(product.getParent())) {
                 return new ProductThumbnailGetVm(
                     product.getId(),
                     product.getName(),
@@ -797,6 +835,10 @@ public class ProductService {
     }
 
     public ProductDetailGetVm getProductDetail(String slug) {
+        return productDetailCache.getBySlug(slug, this::loadProductDetail);
+    }
+
+    private ProductDetailGetVm loadProductDetail(String slug) {
         Product product = productRepository.findBySlugAndIsPublishedTrue(slug)
             .orElseThrow(() -> new NotFoundException(Constants.ErrorCode.PRODUCT_NOT_FOUND, slug));
 
@@ -918,16 +960,12 @@ public class ProductService {
         Product parentProduct = productRepository.findById(id)
             .orElseThrow(() -> new NotFoundException(Constants.ErrorCode.PRODUCT_NOT_FOUND, id));
         if (Boolean.TRUE.equals(parentProduct.isHasOptions())) {
-            List<Product> productVariations
-                = parentProduct.getProducts().stream().filter(Product::isPublished).toList();
+            List<Product> productVariations = productRepository.findAllPublishedVariationsByParentId(id);
+            Map<Long, Map<Long, String>> optionsByVariationId = productOptionCombinationRepository
+                .findOptionValuesByParentProductId(id);
 
             return productVariations.stream().map(product -> {
-                List<ProductOptionCombination> productOptionCombinations =
-                    productOptionCombinationRepository.findAllByProduct(product);
-                Map<Long, String> options = productOptionCombinations.stream().collect(Collectors.toMap(
-                    productOptionCombination -> productOptionCombination.getProductOption().getId(),
-                    ProductOptionCombination::getValue
-                ));
+                Map<Long, String> options = optionsByVariationId.getOrDefault(product.getId(), Map.of());
                 ImageVm image = null;
                 if (product.getThumbnailMediaId() != null) {
                     image = new ImageVm(product.getThumbnailMediaId(),
@@ -995,7 +1033,10 @@ public class ProductService {
             .orElseThrow(() ->
                 new NotFoundException(Constants.ErrorCode.PRODUCT_NOT_FOUND, productId)
             );
+        return toProductEsDetailVm(product);
+    }
 
+    private ProductEsDetailVm toProductEsDetailVm(Product product) {
         Long thumbnailMediaId = null;
         if (null != product.getThumbnailMediaId()) {
             thumbnailMediaId = product.getThumbnailMediaId();
@@ -1053,17 +1094,18 @@ public class ProductService {
             .orElseThrow(() -> new NotFoundException(Constants.ErrorCode.PRODUCT_NOT_FOUND, id));
         Page<ProductRelated> relatedProductsPage
             = productRelatedRepository.findAllByProduct(product, PageRequest.of(pageNo, pageSize));
-        List<ProductThumbnailGetVm> productThumbnailVms = relatedProductsPage.stream()
-            .filter(productRelated -> productRelated.getRelatedProduct().isPublished())
-            .map(productRelated -> {
-                Product relatedProduct = productRelated.getRelatedProduct();
-                return new ProductThumbnailGetVm(
-                    relatedProduct.getId(),
-                    relatedProduct.getName(),
-                    relatedProduct.getSlug(),
-                    mediaService.getMedia(relatedProduct.getThumbnailMediaId()).url(),
-                    relatedProduct.getPrice());
-            })
+        List<Product> publishedRelatedProducts = relatedProductsPage.stream()
+            .map(ProductRelated::getRelatedProduct)
+            .filter(Product::isPublished)
+            .toList();
+        Map<Long, String> thumbnailUrls = resolveThumbnailUrls(publishedRelatedProducts);
+        List<ProductThumbnailGetVm> productThumbnailVms = publishedRelatedProducts.stream()
+            .map(relatedProduct -> new ProductThumbnailGetVm(
+                relatedProduct.getId(),
+                relatedProduct.getName(),
+                relatedProduct.getSlug(),
+                MediaUrlResolver.urlOf(thumbnailUrls, relatedProduct.getThumbnailMediaId()),
+                relatedProduct.getPrice()))
             .toList();
         return new ProductsGetVm(
             productThumbnailVms,
@@ -1095,67 +1137,31 @@ public class ProductService {
         productRepository.saveAll(products);
     }
 
-    private void partitionUpdateStockQuantityByCalculation(List<ProductQuantityPutVm> productQuantityItems,
-                                                           BiFunction<Long, Long, Long> calculation) {
-        var productIds = productQuantityItems.stream()
-            .map(ProductQuantityPutVm::productId)
-            .toList();
-
-        var productQuantityItemMap = productQuantityItems.stream()
-            .collect(Collectors.toMap(
-                ProductQuantityPutVm::productId,
-                Function.identity(),
-                this::mergeProductQuantityItem
-            ));
-
-
-        List<Product> products = this.productRepository.findAllByIdIn(productIds);
-        products.forEach(product -> {
-            if (product.isStockTrackingEnabled()) {
-                long amount = getRemainAmountOfStockQuantity(productQuantityItemMap, product, calculation);
-                product.setStockQuantity(amount);
-            }
-        });
-        this.productRepository.saveAll(products);
-    }
-
-    public void subtractStockQuantity(List<ProductQuantityPutVm> productQuantityItems) {
-        ListUtils.partition(productQuantityItems, 5)
-            .forEach(it -> partitionUpdateStockQuantityByCalculation(it, this.subtractStockQuantity()));
-    }
-
-    private BiFunction<Long, Long, Long> subtractStockQuantity() {
-        return (totalQuantity, amount) -> {
-            long result = totalQuantity - amount;
-            return result < 0 ? 0 : result;
-        };
+    /**
+     * Subtracts ordered quantities from the stock of tracked products in one statement, clamping at zero.
+     *
+     * @return the number of products whose stock was changed
+     */
+    public int subtractStockQuantity(List<ProductQuantityPutVm> productQuantityItems) {
+        return productStockQuantityRepository.subtractStockQuantities(sumQuantityByProductId(productQuantityItems));
     }
 
     public List<ProductListVm> getProductByIds(List<Long> productIds) {
         return this.productRepository.findAllByIdIn(productIds).stream().map(ProductListVm::fromModel).toList();
     }
 
-    public void restoreStockQuantity(List<ProductQuantityPutVm> productQuantityItems) {
-        ListUtils.partition(productQuantityItems, 5)
-            .forEach(it -> partitionUpdateStockQuantityByCalculation(it, this.restoreStockQuantity()));
-    }
-
-    private BiFunction<Long, Long, Long> restoreStockQuantity() {
-        return Long::sum;
+    /**
+     * Adds quantities back to the stock of tracked products in one statement.
+     *
+     * @return the number of products whose stock was changed
+     */
+    public int restoreStockQuantity(List<ProductQuantityPutVm> productQuantityItems) {
+        return productStockQuantityRepository.restoreStockQuantities(sumQuantityByProductId(productQuantityItems));
     }
 
-    private Long getRemainAmountOfStockQuantity(Map<Long, ProductQuantityPutVm> productQuantityItemMap,
-                                                Product product, BiFunction<Long, Long, Long> calculation) {
-        Long stockQuantity = product.getStockQuantity();
-        var productItem = productQuantityItemMap.get(product.getId());
-        Long quantity = productItem.quantity();
-        return calculation.apply(stockQuantity, quantity);
-    }
-
-    private ProductQuantityPutVm mergeProductQuantityItem(ProductQuantityPutVm p1, ProductQuantityPutVm p2) {
-        var q1 = p1.quantity();
-        var q2 = p2.quantity();
-        return new ProductQuantityPutVm(p1.productId(), q1 + q2);
+    private static Map<Long, Long> sumQuantityByProductId(List<ProductQuantityPutVm> productQuantityItems) {
+        return productQuantityItems.stream()
+            .collect(Collectors.toMap(ProductQuantityPutVm::productId, ProductQuantityPutVm::quantity, Long::sum));
     }
 
     public List<ProductListVm> getProductByCategoryIds(List<Long> categoryIds) {
@@ -1170,11 +1176,12 @@ public class ProductService {
         Pageable pageable = PageRequest.of(pageNo, pageSize);
         Page<Product> productPage = productRepository.findAllPublishedProductsByIds(productIds, pageable);
 
+        Map<Long, String> thumbnailUrls = resolveThumbnailUrls(productPage.getContent());
         List<ProductCheckoutListVm> productCheckoutListVms = productPage.getContent()
             .stream().map(product -> {
-                String thumbnailUrl = mediaService.getMedia(product.getThumbnailMediaId()).url();
+                String thumbnailUrl = MediaUrlResolver.urlOf(thumbnailUrls, product.getThumbnailMediaId());
                 ProductCheckoutListVm productCheckoutListVm = ProductCheckoutListVm.fromModel(product);
-                if (StringUtils.isNotEmpty(thumbnailUrl)) {
+                if (StringUtils.hasLength(thumbnailUrl)) {
                     return productCheckoutListVm.toBuilder().thumbnailUrl(thumbnailUrl).build();
                 }
                 return productCheckoutListVm;
@@ -1188,4 +1195,8 @@ public class ProductService {
             productPage.isLast()
         );
     }
+
+    private Map<Long, String> resolveThumbnailUrls(List<Product> products) {
+        return mediaUrlResolver.resolveUrls(products.stream().map(Product::getThumbnailMediaId).toList());
+    }
 }
@@ -1,6 +1,8 @@
 package com.yas.product.viewmodel.product;
 
 import com.yas.product.viewmodel.productattribute.ProductAttributeGroupGetVm;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public record ProductDetailGetVm(
@@ -20,4 +22,15 @@ public record ProductDetailGetVm(
         String thumbnailMediaUrl,
         List<String> productImageMediaUrls
 ) {
+    /**
+     * Copies the lists into unmodifiable ones, details being shared through the product detail cache.
+     */
+    public ProductDetailGetVm {
+        productCategories = productCategories == null ? null
+            : Collections.unmodifiableList(new ArrayList<>(productCategories));
+        productAttributeGroups = productAttributeGroups == null ? null
+            : Collections.unmodifiableList(new ArrayList<>(productAttributeGroups));
+        productImageMediaUrls = productImageMediaUrls == null ? null
+            : Collections.unmodifiableList(new ArrayList<>(productImageMediaUrls));
+    }
 }
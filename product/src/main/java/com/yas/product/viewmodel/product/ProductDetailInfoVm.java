@@ -3,40 +3,39 @@ package com.yas.product.viewmodel.product;
 import com.yas.product.model.Category;
 import com.yas.product.viewmodel.ImageVm;
 import com.yas.product.viewmodel.productattribute.ProductAttributeValueGetVm;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * ViewModel class that represents detailed information about a product.
+ * Instances are immutable since they are shared through {@link com.yas.product.service.ProductDetailCache}.
  */
 @lombok.Getter
-@lombok.Setter
 public class ProductDetailInfoVm {
-    private long id;
-    private String name;
-    private String shortDescription;
-    private String description;
-    private String specification;
-    private String sku;
-    private String gtin;
-    private String slug;
-    private Boolean isAllowedToOrder;
-    private Boolean isPublished;
-    private Boolean isFeatured;
-    private Boolean isVisible;
-    private Boolean stockTrackingEnabled;
-    private Double price;
-    private Long brandId;
-    private List<Category> categories;
-    private String metaTitle;
-    private String metaKeyword;
-    private String metaDescription;
-    private Long taxClassId;
-    private String brandName;
-    private List<ProductAttributeValueGetVm> attributeValues;
-    private List<ProductVariationGetVm> variations;
-    private ImageVm thumbnail;
-    private List<ImageVm> productImages;
+    private final long id;
+    private final String name;
+    private final String shortDescription;
+    private final String description;
+    private final String specification;
+    private final String sku;
+    private final String gtin;
+    private final String slug;
+    private final Boolean isAllowedToOrder;
+    private final Boolean isPublished;
+    private final Boolean isFeatured;
+    private final Boolean isVisible;
+    private final Boolean stockTrackingEnabled;
+    private final Double price;
+    private final Long brandId;
+    private final List<Category> categories;
+    private final String metaTitle;
+    private final String metaKeyword;
+    private final String metaDescription;
+    private final Long taxClassId;
+    private final String brandName;
+    private final List<ProductAttributeValueGetVm> attributeValues;
+    private final List<ProductVariationGetVm> variations;
+    private final ImageVm thumbnail;
+    private final List<ImageVm> productImages;
 
     /**
      * Constructs a new {@code ProductDetailInfoVm} instance with detailed product information.
@@ -64,15 +63,15 @@ public class ProductDetailInfoVm {
         this.stockTrackingEnabled = stockTrackingEnabled;
         this.price = price;
         this.brandId = brandId;
-        this.categories = (categories != null) ? categories : new ArrayList<>();  // Handle null
+        this.categories = (categories != null) ? List.copyOf(categories) : List.of();  // Handle null
         this.metaTitle = metaTitle;
         this.metaKeyword = metaKeyword;
         this.metaDescription = metaDescription;
         this.taxClassId = taxClassId;
         this.brandName = brandName;
-        this.attributeValues = (attributeValues != null) ? attributeValues : new ArrayList<>();  // Handle null
-        this.variations = (variations != null) ? variations : new ArrayList<>();  // Handle null
+        this.attributeValues = (attributeValues != null) ? List.copyOf(attributeValues) : List.of();  // Handle null
+        this.variations = (variations != null) ? List.copyOf(variations) : List.of();  // Handle null
         this.thumbnail = thumbnail;
-        this.productImages = productImages;
+        this.productImages = (productImages != null) ? List.copyOf(productImages) : null;
     }
 }
@@ -2,12 +2,17 @@ package com.yas.product.viewmodel.product;
 
 import java.util.List;
 
+/**
+ * Page of backoffice products. In cursor mode {@code totalElements} and {@code totalPages} are not computed
+ * and set to -1, the next page is read by sending {@code nextCursor} back.
+ */
 public record ProductListGetVm(
         List<ProductListVm> productContent,
         int pageNo,
         int pageSize,
         int totalElements,
         int totalPages,
-        boolean isLast
+        boolean isLast,
+        String nextCursor
 ) {
 }
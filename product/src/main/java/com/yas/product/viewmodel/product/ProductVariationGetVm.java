@@ -1,6 +1,9 @@
 package com.yas.product.viewmodel.product;
 
 import com.yas.product.viewmodel.ImageVm;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -15,4 +18,11 @@ public record ProductVariationGetVm(
         List<ImageVm> productImages,
         Map<Long, String> options
 ) {
+    /**
+     * Copies the collections into unmodifiable ones, variations being shared through the product detail cache.
+     */
+    public ProductVariationGetVm {
+        productImages = productImages == null ? null : Collections.unmodifiableList(new ArrayList<>(productImages));
+        options = options == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(options));
+    }
 }
@@ -1,6 +1,12 @@
 package com.yas.product.viewmodel.productattribute;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public record ProductAttributeGroupGetVm(String name, List<ProductAttributeValueVm> productAttributeValues) {
+    public ProductAttributeGroupGetVm {
+        productAttributeValues = productAttributeValues == null ? null
+            : Collections.unmodifiableList(new ArrayList<>(productAttributeValues));
+    }
 }
@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset yas:product-name-trgm-index
+create extension if not exists pg_trgm;
+create index if not exists idx_product_lower_name_trgm on product using gin (lower(name) gin_trgm_ops);
+create index if not exists idx_product_lower_sku_trgm on product using gin (lower(sku) gin_trgm_ops);
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset yas:processed-event
+create table if not exists processed_event (
+    id varchar(255) not null primary key,
+    event_type varchar(255) not null,
+    processed_on timestamp(6) with time zone not null default now()
+);
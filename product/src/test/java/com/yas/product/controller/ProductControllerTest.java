@@ -1,22 +1,31 @@
 package com.yas.product.controller;
 
+import com.yas.commonlibrary.exception.BadRequestException;
 import com.yas.product.ProductApplication;
 import com.yas.product.model.Product;
 import com.yas.product.model.enumeration.DimensionUnit;
 import com.yas.product.service.ProductDetailService;
+import com.yas.product.service.ProductEsDetailService;
 import com.yas.product.service.ProductService;
 import com.yas.product.viewmodel.product.ProductListVm;
 import com.yas.product.viewmodel.product.ProductPostVm;
 import com.yas.product.viewmodel.product.ProductPutVm;
 import com.yas.product.viewmodel.product.ProductQuantityPutVm;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,8 +40,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -50,6 +63,9 @@ class ProductControllerTest {
     @MockBean
     private ProductDetailService productDetailService;
 
+    @MockBean
+    private ProductEsDetailService productEsDetailService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
@@ -58,6 +74,20 @@ class ProductControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testListProductsEndpoint_whenCursorPageSizeIsOutOfBounds_thenBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/backoffice/products")
+                        .param("cursor", "")
+                        .param("pageSize", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/backoffice/products")
+                        .param("cursor", "")
+                        .param("pageSize", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).getProductsWithFilterByCursor(any(), anyInt(), any(), any());
+    }
+
     @Test
     void testExportProductsEndpoint() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/backoffice/export/products"))
@@ -214,6 +244,59 @@ class ProductControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testGetProductEsDetailsByIds() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/storefront/products-es")
+                        .param("ids", "1", "2"))
+                .andExpect(status().isOk());
+
+        verify(productEsDetailService).getPublishedProductEsDetailsByIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void testGetProductEsDetailsByIds_whenTooManyIds_returnBadRequest() throws Exception {
+        String[] ids = LongStream.rangeClosed(1, ProductEsDetailService.MAX_IDS_PER_REQUEST + 1)
+                .mapToObj(String::valueOf)
+                .toArray(String[]::new);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/storefront/products-es")
+                        .param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(productEsDetailService, never()).getPublishedProductEsDetailsByIds(anyList());
+    }
+
+    @Test
+    void testStreamProductEsDetails() throws Exception {
+        when(productEsDetailService.getStreamTimeout()).thenReturn(Duration.ofMinutes(10));
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/backoffice/products-es/range")
+                        .param("fromId", "1")
+                        .param("toId", "100"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        verify(productEsDetailService).writeProductEsDetails(eq(1L), eq(100L), any());
+        assertEquals(Duration.ofMinutes(10).toMillis(), mvcResult.getRequest().getAsyncContext().getTimeout());
+    }
+
+    @Test
+    void testStreamProductEsDetails_whenRangeIsInvalid_thenBadRequest() throws Exception {
+        doThrow(new BadRequestException("INVALID_PRODUCT_ID_RANGE", 100L, 1L, 100000L))
+            .when(productEsDetailService).checkIdRange(100L, 1L);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/backoffice/products-es/range")
+                        .param("fromId", "100")
+                        .param("toId", "1"))
+                .andExpect(status().isBadRequest());
+
+        verify(productEsDetailService, never()).writeProductEsDetails(anyLong(), anyLong(), any());
+    }
+
     @Test
     void testGetRelatedProductsBackoffice() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/backoffice/products/related-products/1"))
@@ -250,10 +333,13 @@ class ProductControllerTest {
 
         String jsonBody = objectMapper.writeValueAsString(productQuantityPutVmList);
 
+        when(productService.subtractStockQuantity(productQuantityPutVmList)).thenReturn(1);
+
         mockMvc.perform(MockMvcRequestBuilders.put("/backoffice/products/subtract-quantity")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(jsonBody))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
     }
 
     @Test
@@ -338,6 +424,15 @@ class ProductControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testGetProductDetailsByIds() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/storefront/products/details")
+                        .param("ids", "1", "2"))
+                .andExpect(status().isOk());
+
+        verify(productDetailService, times(1)).getProductDetailsByIds(List.of(1L, 2L));
+    }
+
     @Test
     void testGetProductCheckoutList_returnListProduct() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/products")
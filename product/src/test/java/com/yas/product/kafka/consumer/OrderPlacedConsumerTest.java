@@ -0,0 +1,123 @@
+package com.yas.product.kafka.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.commonlibrary.exception.NotFoundException;
+import com.yas.commonlibrary.kafka.cdc.message.Operation;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxEvent;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxMsgKey;
+import com.yas.commonlibrary.repository.ProcessedEventRepository;
+import com.yas.product.service.OrderEventService;
+import com.yas.product.service.ProductService;
+import com.yas.product.viewmodel.product.ProductListVm;
+import com.yas.product.viewmodel.product.ProductQuantityPutVm;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class OrderPlacedConsumerTest {
+
+    private static final String EVENT_ID = "5f0c6f8e-1c1f-4b4e-9a57-8d7b0f7f2a11";
+    private static final String PAYLOAD = """
+        {"orderId":10,"customerId":"user-1","couponCode":null,
+        "items":[{"productId":1,"quantity":2},{"productId":2,"quantity":1}]}
+        """;
+
+    private ProcessedEventRepository processedEventRepository;
+    private ProductService productService;
+    private OrderPlacedConsumer orderPlacedConsumer;
+
+    @BeforeEach
+    void setUp() {
+        processedEventRepository = mock(ProcessedEventRepository.class);
+        productService = mock(ProductService.class);
+        orderPlacedConsumer = new OrderPlacedConsumer(
+            new OrderEventService(processedEventRepository, productService), new ObjectMapper());
+    }
+
+    @Test
+    void apply_whenOrderPlacedForTheFirstTime_subtractsStock() {
+        when(processedEventRepository.insertIfAbsent(EVENT_ID, OrderOutboxEvent.ORDER_PLACED)).thenReturn(1);
+        when(productService.subtractStockQuantity(anyList())).thenReturn(2);
+
+        orderPlacedConsumer.apply(key(), message(Operation.CREATE, OrderOutboxEvent.ORDER_PLACED));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProductQuantityPutVm>> captor = ArgumentCaptor.forClass(List.class);
+        verify(productService).subtractStockQuantity(captor.capture());
+        assertThat(captor.getValue()).containsExactly(
+            new ProductQuantityPutVm(1L, 2L), new ProductQuantityPutVm(2L, 1L));
+        verify(productService, never()).getProductByIds(anyList());
+    }
+
+    @Test
+    void apply_whenSomeProductsAreNotTracked_subtractsStockOfTheOthers() {
+        when(processedEventRepository.insertIfAbsent(EVENT_ID, OrderOutboxEvent.ORDER_PLACED)).thenReturn(1);
+        when(productService.subtractStockQuantity(anyList())).thenReturn(1);
+        when(productService.getProductByIds(anyList())).thenReturn(List.of(product(1L), product(2L)));
+
+        orderPlacedConsumer.apply(key(), message(Operation.CREATE, OrderOutboxEvent.ORDER_PLACED));
+
+        verify(productService).getProductByIds(anyList());
+    }
+
+    @Test
+    void apply_whenAProductDoesNotExist_throwsNotFoundException() {
+        when(processedEventRepository.insertIfAbsent(EVENT_ID, OrderOutboxEvent.ORDER_PLACED)).thenReturn(1);
+        when(productService.subtractStockQuantity(anyList())).thenReturn(1);
+        when(productService.getProductByIds(anyList())).thenReturn(List.of(product(1L)));
+
+        OrderOutboxCdcMessage message = message(Operation.CREATE, OrderOutboxEvent.ORDER_PLACED);
+        assertThatThrownBy(() -> orderPlacedConsumer.apply(key(), message))
+            .isInstanceOf(NotFoundException.class)
+            .hasMessageContaining("2");
+    }
+
+    @Test
+    void apply_whenEventIsRedelivered_doesNotSubtractStockAgain() {
+        when(processedEventRepository.insertIfAbsent(EVENT_ID, OrderOutboxEvent.ORDER_PLACED)).thenReturn(0);
+
+        orderPlacedConsumer.apply(key(), message(Operation.CREATE, OrderOutboxEvent.ORDER_PLACED));
+
+        verify(productService, never()).subtractStockQuantity(any());
+    }
+
+    @Test
+    void apply_whenNotAnOrderPlacedInsert_ignoresEvent() {
+        orderPlacedConsumer.apply(key(), message(Operation.DELETE, OrderOutboxEvent.ORDER_PLACED));
+        orderPlacedConsumer.apply(key(), message(Operation.CREATE, "ORDER_CANCELLED"));
+        orderPlacedConsumer.apply(key(), null);
+
+        verify(processedEventRepository, never()).insertIfAbsent(anyString(), anyString());
+        verify(productService, never()).subtractStockQuantity(any());
+    }
+
+    private static ProductListVm product(Long id) {
+        return new ProductListVm(id, "Product " + id, "product-" + id, true, true, false, true, 10.0, null, 1L, null);
+    }
+
+    private static OrderOutboxMsgKey key() {
+        return new OrderOutboxMsgKey(EVENT_ID);
+    }
+
+    private static OrderOutboxCdcMessage message(Operation operation, String eventType) {
+        OrderOutboxEvent event = OrderOutboxEvent.builder()
+            .id(EVENT_ID)
+            .aggregateId(10L)
+            .eventType(eventType)
+            .payload(PAYLOAD)
+            .build();
+        return OrderOutboxCdcMessage.builder().after(event).op(operation).build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.yas.product.kafka.consumer;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.yas.commonlibrary.kafka.cdc.message.Operation;
+import com.yas.product.kafka.message.ProductRelationCdcMessage;
+import com.yas.product.service.ProductDetailCache;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductRelationCacheEvictionConsumerTest {
+
+    private ProductDetailCache productDetailCache;
+    private ProductRelationCacheEvictionConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        productDetailCache = mock(ProductDetailCache.class);
+        consumer = new ProductRelationCacheEvictionConsumer(productDetailCache);
+    }
+
+    @Test
+    void evict_whenRowOfAProductChanges_evictsThatProduct() {
+        consumer.evict(ProductRelationCdcMessage.builder()
+            .after(Map.of("id", 7, "product_id", 3, "image_id", 11))
+            .op(Operation.CREATE)
+            .build());
+
+        verify(productDetailCache).evict(3L);
+        verify(productDetailCache, never()).evictAll();
+    }
+
+    @Test
+    void evict_whenRowMovesToAnotherProduct_evictsBothProducts() {
+        consumer.evict(ProductRelationCdcMessage.builder()
+            .before(Map.of("id", 7, "product_id", 3))
+            .after(Map.of("id", 7, "product_id", 4))
+            .op(Operation.UPDATE)
+            .build());
+
+        verify(productDetailCache).evict(3L);
+        verify(productDetailCache).evict(4L);
+    }
+
+    @Test
+    void evict_whenSharedRowChanges_evictsWholeCache() {
+        consumer.evict(ProductRelationCdcMessage.builder()
+            .before(Map.of("id", 5, "name", "Phones"))
+            .after(Map.of("id", 5, "name", "Smartphones"))
+            .op(Operation.UPDATE)
+            .build());
+
+        verify(productDetailCache).evictAll();
+        verify(productDetailCache, never()).evict(anyLong());
+    }
+
+    @Test
+    void evict_whenTombstone_doesNothing() {
+        consumer.evict(null);
+
+        verifyNoInteractions(productDetailCache);
+    }
+}
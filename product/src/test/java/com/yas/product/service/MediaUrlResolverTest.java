@@ -0,0 +1,72 @@
+package com.yas.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.product.viewmodel.NoFileMediaVm;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MediaUrlResolverTest {
+
+    private MediaService mediaService;
+    private MediaUrlResolver mediaUrlResolver;
+
+    @BeforeEach
+    void setUp() {
+        mediaService = mock(MediaService.class);
+        mediaUrlResolver = new MediaUrlResolver(mediaService, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void resolveUrls_whenNotCached_fetchesAllIdsInOneCall() {
+        when(mediaService.getMediaByIds(Set.of(1L, 2L))).thenReturn(List.of(
+            new NoFileMediaVm(1L, "", "1.png", "image/png", "http://media/1.png"),
+            new NoFileMediaVm(2L, "", "2.png", "image/png", "http://media/2.png")));
+
+        Map<Long, String> urls = mediaUrlResolver.resolveUrls(Arrays.asList(1L, 2L, 1L, null));
+
+        assertThat(urls).containsExactlyInAnyOrderEntriesOf(Map.of(
+            1L, "http://media/1.png",
+            2L, "http://media/2.png"));
+        verify(mediaService, times(1)).getMediaByIds(anyCollection());
+    }
+
+    @Test
+    void resolveUrls_whenCached_skipsMediaService() {
+        when(mediaService.getMediaByIds(Set.of(1L))).thenReturn(List.of(
+            new NoFileMediaVm(1L, "", "1.png", "image/png", "http://media/1.png")));
+        mediaUrlResolver.resolveUrls(List.of(1L));
+
+        Map<Long, String> urls = mediaUrlResolver.resolveUrls(List.of(1L));
+
+        assertThat(urls).containsEntry(1L, "http://media/1.png");
+        verify(mediaService, times(1)).getMediaByIds(anyCollection());
+    }
+
+    @Test
+    void resolveUrls_whenMediaUnknown_returnsEmptyUrl() {
+        when(mediaService.getMediaByIds(Set.of(9L))).thenReturn(List.of());
+
+        Map<Long, String> urls = mediaUrlResolver.resolveUrls(List.of(9L));
+
+        assertThat(MediaUrlResolver.urlOf(urls, 9L)).isEmpty();
+        assertThat(MediaUrlResolver.urlOf(urls, null)).isEmpty();
+    }
+
+    @Test
+    void resolveUrls_whenNoIds_doesNotCallMediaService() {
+        assertThat(mediaUrlResolver.resolveUrls(Arrays.asList(null, null))).isEmpty();
+        verify(mediaService, never()).getMediaByIds(anyCollection());
+    }
+}
@@ -0,0 +1,84 @@
+package com.yas.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.yas.product.viewmodel.product.ProductDetailGetVm;
+import com.yas.product.viewmodel.product.ProductDetailInfoVm;
+import com.yas.product.viewmodel.product.ProductVariationGetVm;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductDetailCacheTest {
+
+    private ProductDetailCache productDetailCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        productDetailCache = new ProductDetailCache(100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getById_whenCached_doesNotReload() {
+        productDetailCache.getById(1L, this::detail);
+        productDetailCache.getById(1L, this::detail);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evict_whenVariationChanges_evictsParentDetail() {
+        productDetailCache.getById(1L, id -> detailWithVariation(id, 2L));
+
+        productDetailCache.evict(2L);
+        productDetailCache.getById(1L, this::detail);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evict_whenProductChanges_evictsSlugEntry() {
+        productDetailCache.getBySlug("slug", slug -> slugDetail(1L));
+        productDetailCache.getBySlug("other", slug -> slugDetail(3L));
+
+        productDetailCache.evict(1L);
+        productDetailCache.getBySlug("slug", slug -> slugDetail(1L));
+        productDetailCache.getBySlug("other", slug -> slugDetail(3L));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void getById_whenCached_returnsDetailThatCannotBeModified() {
+        ProductDetailInfoVm detail = productDetailCache.getById(1L, id -> detailWithVariation(id, 2L));
+
+        assertThatThrownBy(() -> detail.getVariations().clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> detail.getVariations().getFirst().options().put(1L, "red"))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(productDetailCache.getById(1L, this::detail).getVariations()).hasSize(1);
+    }
+
+    private ProductDetailInfoVm detail(long id) {
+        return detailWithVariation(id, null);
+    }
+
+    private ProductDetailInfoVm detailWithVariation(long id, Long variationId) {
+        loads.incrementAndGet();
+        List<ProductVariationGetVm> variations = variationId == null ? List.of() : List.of(
+            new ProductVariationGetVm(variationId, "v", "v", "sku", "gtin", 1.0, null, List.of(), Map.of()));
+        return new ProductDetailInfoVm(id, "name", "", "", "", "sku", "gtin", "slug", true, true, false, true,
+            false, 1.0, null, List.of(), "", "", "", null, null, List.of(), variations, null, List.of());
+    }
+
+    private ProductDetailGetVm slugDetail(long id) {
+        loads.incrementAndGet();
+        return new ProductDetailGetVm(id, "name", null, List.of(), List.of(), "", "", "", true, true, false,
+            false, 1.0, "", List.of());
+    }
+}
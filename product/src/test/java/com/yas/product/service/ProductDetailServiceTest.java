@@ -5,7 +5,6 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.atLeastOnce;
@@ -27,6 +26,7 @@ import com.yas.product.repository.ProductOptionCombinationRepository;
 import com.yas.product.repository.ProductRepository;
 import com.yas.product.viewmodel.NoFileMediaVm;
 import com.yas.product.viewmodel.product.ProductDetailInfoVm;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -36,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +48,8 @@ class ProductDetailServiceTest {
     private MediaService mediaService;
     @Mock
     private ProductOptionCombinationRepository productOptionCombinationRepository;
+    @Spy
+    private ProductDetailCache productDetailCache = new ProductDetailCache(100, Duration.ofMinutes(1));
 
     @InjectMocks
     private ProductDetailService productDetailService;
@@ -119,15 +122,18 @@ class ProductDetailServiceTest {
         List<ProductOptionCombination> combinations = createSampleProductOptionCombinations();
 
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productRepository.findAllPublishedVariationsByParentId(productId)).thenReturn(product.getProducts());
         when(mediaService.getMedia(anyLong())).thenReturn(mediaVm);
-        when(productOptionCombinationRepository.findAllByProduct(any(Product.class))).thenReturn(combinations);
+        when(productOptionCombinationRepository.findOptionValuesByParentProductId(productId)).thenCallRealMethod();
+        when(productOptionCombinationRepository.findAllWithOptionByParentProductId(productId))
+            .thenReturn(combinations);
 
         ProductDetailInfoVm result = productDetailService.getProductDetailById(productId);
 
         assertNotNull(result);
         assertEquals(1, result.getVariations().size());
-        assertNotNull(result.getVariations().get(0).options());
-        verify(productOptionCombinationRepository, times(1)).findAllByProduct(any(Product.class));
+        assertEquals("Red", result.getVariations().get(0).options().get(1L));
+        verify(productOptionCombinationRepository, times(1)).findAllWithOptionByParentProductId(productId);
         verify(mediaService, atLeastOnce()).getMedia(anyLong());
     }
 
@@ -206,6 +212,45 @@ class ProductDetailServiceTest {
         assertEquals(1, result.getAttributeValues().size());
     }
 
+    // Test getProductDetailById is served from the near-cache on repeated calls
+    @Test
+    void test_get_product_detail_by_id_served_from_cache_until_evicted() {
+        // Arrange
+        Long productId = 1L;
+        Product product = createSampleProduct();
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+
+        // Act
+        ProductDetailInfoVm first = productDetailService.getProductDetailById(productId);
+        ProductDetailInfoVm second = productDetailService.getProductDetailById(productId);
+        productDetailCache.evict(productId);
+        productDetailService.getProductDetailById(productId);
+
+        // Assert
+        assertEquals(first, second);
+        verify(productRepository, times(2)).findById(productId);
+    }
+
+    // Test getProductDetailsByIds loads the products in one query and leaves unpublished ones out
+    @Test
+    void test_get_product_details_by_ids_returns_published_products_only() {
+        // Arrange
+        Product published = createSampleProduct();
+        Product unpublished = createSampleProduct();
+        unpublished.setId(2L);
+        unpublished.setPublished(false);
+        when(productRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(published, unpublished));
+
+        // Act
+        List<ProductDetailInfoVm> result = productDetailService.getProductDetailsByIds(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(1L, result.getFirst().getId());
+        assertEquals(result.getFirst(), productDetailService.getProductDetailById(1L));
+        verify(productRepository, times(0)).findById(anyLong());
+    }
+
     // Helper methods to create sample objects
 
     private Product createSampleProduct() {
@@ -309,8 +354,11 @@ class ProductDetailServiceTest {
         option.setId(1L);
         option.setName("Color");
 
+        Product variation = Product.builder().id(2L).build();
+
         ProductOptionCombination combination = new ProductOptionCombination();
         combination.setId(1L);
+        combination.setProduct(variation);
         combination.setProductOption(option);
         combination.setValue("Red");
 
@@ -0,0 +1,87 @@
+package com.yas.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.product.repository.ProductEsDetailRepository;
+import com.yas.product.viewmodel.product.ProductEsDetailVm;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductEsDetailServiceTest {
+
+    private ProductEsDetailRepository productEsDetailRepository;
+    private ProductEsDetailService productEsDetailService;
+
+    @BeforeEach
+    void setUp() {
+        productEsDetailRepository = mock(ProductEsDetailRepository.class);
+        productEsDetailService = new ProductEsDetailService(productEsDetailRepository, new ObjectMapper(), 2,
+            10, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void getPublishedProductEsDetailsByIds_whenMoreIdsThanChunkSize_queriesByChunksWithoutDuplicates() {
+        when(productEsDetailRepository.findPublishedByIds(List.of(1L, 2L))).thenReturn(List.of(detail(1L), detail(2L)));
+        when(productEsDetailRepository.findPublishedByIds(List.of(3L))).thenReturn(List.of(detail(3L)));
+
+        List<ProductEsDetailVm> details =
+            productEsDetailService.getPublishedProductEsDetailsByIds(List.of(1L, 2L, 1L, 3L));
+
+        assertThat(details).extracting(ProductEsDetailVm::id).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void checkIdRange_whenRangeIsWithinMaxSize_passes() {
+        assertThatNoException().isThrownBy(() -> productEsDetailService.checkIdRange(1L, 10L));
+    }
+
+    @Test
+    void checkIdRange_whenRangeIsReversedOrTooLarge_throwsBadRequestException() {
+        assertThatThrownBy(() -> productEsDetailService.checkIdRange(10L, 1L))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> productEsDetailService.checkIdRange(1L, 11L))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void writeProductEsDetails_whenRangeSpansChunks_writesOneLinePerProduct() throws Exception {
+        when(productEsDetailRepository.findByIdRange(1L, 10L, 2)).thenReturn(List.of(detail(1L), detail(4L)));
+        when(productEsDetailRepository.findByIdRange(5L, 10L, 2)).thenReturn(List.of(detail(7L)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        productEsDetailService.writeProductEsDetails(1L, 10L, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(new ObjectMapper().readValue(lines[2], ProductEsDetailVm.class).id()).isEqualTo(7L);
+    }
+
+    @Test
+    void writeProductEsDetails_whenRangeIsEmpty_writesNothing() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        productEsDetailService.writeProductEsDetails(10L, 1L, outputStream);
+
+        assertThat(outputStream.size()).isZero();
+        verify(productEsDetailRepository, never()).findByIdRange(anyLong(), anyLong(), anyInt());
+    }
+
+    private static ProductEsDetailVm detail(long id) {
+        return new ProductEsDetailVm(id, "product " + id, "product-" + id, 10.0, true, true, true, false,
+            null, "brand", List.of("category"), List.of("attribute"));
+    }
+}
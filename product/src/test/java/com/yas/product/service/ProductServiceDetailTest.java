@@ -18,6 +18,7 @@ import com.yas.product.repository.ProductOptionCombinationRepository;
 import com.yas.product.repository.ProductOptionRepository;
 import com.yas.product.repository.ProductOptionValueRepository;
 import com.yas.product.repository.ProductRelatedRepository;
+import com.yas.product.repository.ProductStockQuantityRepository;
 import com.yas.product.repository.ProductRepository;
 import com.yas.product.viewmodel.NoFileMediaVm;
 import com.yas.product.viewmodel.product.ProductDetailGetVm;
@@ -27,20 +28,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +53,10 @@ class ProductServiceDetailTest {
     @Mock
     private MediaService mediaService;
     @Mock
+    private MediaUrlResolver mediaUrlResolver;
+    @Spy
+    private ProductDetailCache productDetailCache = new ProductDetailCache(100, Duration.ofMinutes(1));
+    @Mock
     private BrandRepository brandRepository;
     @Mock
     private CategoryRepository categoryRepository;
@@ -65,6 +72,8 @@ class ProductServiceDetailTest {
     private ProductOptionCombinationRepository productOptionCombinationRepository;
     @Mock
     private ProductRelatedRepository productRelatedRepository;
+    @Mock
+    private ProductStockQuantityRepository productStockQuantityRepository;
 
     @InjectMocks
     private ProductService productService;
@@ -224,12 +233,13 @@ class ProductServiceDetailTest {
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(main));
         when(productRelatedRepository.findAllByProduct(main, PageRequest.of(0, 10))).thenReturn(page);
-        when(mediaService.getMedia(eq(11L))).thenReturn(new NoFileMediaVm(11L, "c", "f", "t", "http://thumb"));
+        when(mediaUrlResolver.resolveUrls(List.of(11L))).thenReturn(Map.of(11L, "http://thumb"));
 
         ProductsGetVm vm = productService.getRelatedProductsStorefront(1L, 0, 10);
 
         assertThat(vm.productContent()).hasSize(1);
         assertThat(vm.productContent().getFirst().slug()).isEqualTo("pub");
+        assertThat(vm.productContent().getFirst().thumbnailUrl()).isEqualTo("http://thumb");
         assertThat(vm.totalElements()).isEqualTo(2);
     }
 }
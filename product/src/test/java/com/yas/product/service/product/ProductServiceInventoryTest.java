@@ -5,9 +5,12 @@ import com.yas.product.viewmodel.product.ProductQuantityPutVm;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,32 +29,27 @@ class ProductServiceInventoryTest extends ProductServiceTestBase {
     }
 
     @Test
-    void subtractStockQuantity_withValidData_subtractsSuccessfully() {
-        testProduct.setStockQuantity(100L);
-        testProduct.setStockTrackingEnabled(true);
-        List<ProductQuantityPutVm> quantityUpdates = List.of(new ProductQuantityPutVm(1L, 10L));
-
-        when(productRepository.findAllByIdIn(List.of(1L))).thenReturn(List.of(testProduct));
-        when(productRepository.saveAll(anyList())).thenReturn(List.of(testProduct));
+    void subtractStockQuantity_withDuplicatedProducts_sendsOneMergedUpdate() {
+        List<ProductQuantityPutVm> quantityUpdates = List.of(
+            new ProductQuantityPutVm(1L, 10L),
+            new ProductQuantityPutVm(2L, 1L),
+            new ProductQuantityPutVm(1L, 5L));
+        when(productStockQuantityRepository.subtractStockQuantities(Map.of(1L, 15L, 2L, 1L))).thenReturn(2);
 
-        assertDoesNotThrow(() -> productService.subtractStockQuantity(quantityUpdates));
+        assertEquals(2, productService.subtractStockQuantity(quantityUpdates));
 
-        verify(productRepository).findAllByIdIn(List.of(1L));
-        verify(productRepository).saveAll(anyList());
+        verify(productStockQuantityRepository).subtractStockQuantities(Map.of(1L, 15L, 2L, 1L));
+        verify(productRepository, never()).saveAll(anyList());
     }
 
     @Test
-    void restoreStockQuantity_withValidData_restoresSuccessfully() {
-        testProduct.setStockQuantity(90L);
-        testProduct.setStockTrackingEnabled(true);
+    void restoreStockQuantity_withValidData_restoresInOneUpdate() {
         List<ProductQuantityPutVm> quantityUpdates = List.of(new ProductQuantityPutVm(1L, 10L));
+        when(productStockQuantityRepository.restoreStockQuantities(Map.of(1L, 10L))).thenReturn(1);
 
-        when(productRepository.findAllByIdIn(List.of(1L))).thenReturn(List.of(testProduct));
-        when(productRepository.saveAll(anyList())).thenReturn(List.of(testProduct));
-
-        assertDoesNotThrow(() -> productService.restoreStockQuantity(quantityUpdates));
+        assertEquals(1, productService.restoreStockQuantity(quantityUpdates));
 
-        verify(productRepository).findAllByIdIn(List.of(1L));
-        verify(productRepository).saveAll(anyList());
+        verify(productStockQuantityRepository).restoreStockQuantities(Map.of(1L, 10L));
+        verify(productRepository, never()).saveAll(anyList());
     }
 }
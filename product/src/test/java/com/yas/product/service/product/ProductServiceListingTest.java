@@ -1,6 +1,8 @@
 package com.yas.product.service.product;
 
+import com.yas.commonlibrary.exception.BadRequestException;
 import com.yas.commonlibrary.exception.NotFoundException;
+import com.yas.commonlibrary.utils.KeysetCursor;
 import com.yas.product.model.Product;
 import com.yas.product.model.ProductCategory;
 import com.yas.product.viewmodel.NoFileMediaVm;
@@ -17,6 +19,7 @@ import org.springframework.data.domain.PageRequest;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -54,6 +57,41 @@ class ProductServiceListingTest extends ProductServiceTestBase {
         assertThat(result.totalElements()).isEqualTo(0);
     }
 
+    @Test
+    void getProductsWithFilterByCursor_whenMoreRowsThanPageSize_returnsNextCursor() {
+        Product second = Product.builder().id(2L).name("Second").slug("second").build();
+        Product third = Product.builder().id(3L).name("Third").slug("third").build();
+        when(productRepository.getProductsWithFilterAfterId("test", "brand", 0L, PageRequest.of(0, 3)))
+            .thenReturn(List.of(testProduct, second, third));
+
+        ProductListGetVm result = productService.getProductsWithFilterByCursor("", 2, "test", "brand");
+
+        assertThat(result.productContent()).extracting(ProductListVm::id).containsExactly(1L, 2L);
+        assertThat(result.isLast()).isFalse();
+        assertThat(result.totalElements()).isEqualTo(-1);
+        assertThat(KeysetCursor.decode(result.nextCursor()).id()).isEqualTo(2L);
+    }
+
+    @Test
+    void getProductsWithFilterByCursor_whenLastPage_seeksPastCursorAndReturnsNoCursor() {
+        Product third = Product.builder().id(3L).name("Third").slug("third").build();
+        when(productRepository.getProductsWithFilterAfterId("test", "brand", 2L, PageRequest.of(0, 3)))
+            .thenReturn(List.of(third));
+
+        ProductListGetVm result = productService.getProductsWithFilterByCursor(
+            KeysetCursor.of(2L).encode(), 2, "test", "brand");
+
+        assertThat(result.productContent()).extracting(ProductListVm::id).containsExactly(3L);
+        assertThat(result.isLast()).isTrue();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void getProductsWithFilterByCursor_whenCursorInvalid_throwsBadRequest() {
+        assertThrows(BadRequestException.class,
+            () -> productService.getProductsWithFilterByCursor("not a cursor", 2, "test", "brand"));
+    }
+
     @Test
     void getLatestProducts_withPositiveCount_returnsLatestProducts() {
         List<Product> products = List.of(testProduct);
@@ -87,12 +125,13 @@ class ProductServiceListingTest extends ProductServiceTestBase {
 
         when(brandRepository.findBySlug("test-brand")).thenReturn(Optional.of(testBrand));
         when(productRepository.findAllByBrandAndIsPublishedTrueOrderByIdAsc(testBrand)).thenReturn(products);
-        when(mediaService.getMedia(1L)).thenReturn(testMediaVm);
+        when(mediaUrlResolver.resolveUrls(List.of(1L))).thenReturn(Map.of(1L, testMediaVm.url()));
 
         List<ProductThumbnailVm> result = productService.getProductsByBrand("test-brand");
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().id()).isEqualTo(1L);
+        assertThat(result.getFirst().thumbnailUrl()).isEqualTo(testMediaVm.url());
     }
 
     @Test
@@ -112,7 +151,7 @@ class ProductServiceListingTest extends ProductServiceTestBase {
 
         when(categoryRepository.findBySlug("test-category")).thenReturn(Optional.of(testCategory));
         when(productCategoryRepository.findAllByCategory(PageRequest.of(0, 10), testCategory)).thenReturn(page);
-        when(mediaService.getMedia(1L)).thenReturn(testMediaVm);
+        when(mediaUrlResolver.resolveUrls(List.of(1L))).thenReturn(Map.of(1L, testMediaVm.url()));
 
         ProductListGetFromCategoryVm result = productService.getProductsFromCategory(0, 10, "test-category");
 
@@ -16,14 +16,19 @@ import com.yas.product.repository.ProductOptionCombinationRepository;
 import com.yas.product.repository.ProductOptionRepository;
 import com.yas.product.repository.ProductOptionValueRepository;
 import com.yas.product.repository.ProductRelatedRepository;
+import com.yas.product.repository.ProductStockQuantityRepository;
 import com.yas.product.repository.ProductRepository;
 import com.yas.product.service.MediaService;
+import com.yas.product.service.MediaUrlResolver;
+import com.yas.product.service.ProductDetailCache;
 import com.yas.product.service.ProductService;
 import com.yas.product.viewmodel.NoFileMediaVm;
+import java.time.Duration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +39,10 @@ abstract class ProductServiceTestBase {
     @Mock
     protected MediaService mediaService;
     @Mock
+    protected MediaUrlResolver mediaUrlResolver;
+    @Spy
+    protected ProductDetailCache productDetailCache = new ProductDetailCache(100, Duration.ofMinutes(1));
+    @Mock
     protected BrandRepository brandRepository;
     @Mock
     protected CategoryRepository categoryRepository;
@@ -49,6 +58,8 @@ abstract class ProductServiceTestBase {
     protected ProductOptionCombinationRepository productOptionCombinationRepository;
     @Mock
     protected ProductRelatedRepository productRelatedRepository;
+    @Mock
+    protected ProductStockQuantityRepository productStockQuantityRepository;
 
     @InjectMocks
     protected ProductService productService;
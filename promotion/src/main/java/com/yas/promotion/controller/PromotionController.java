@@ -109,6 +109,12 @@ public class PromotionController {
         return ResponseEntity.ok(promotionService.verifyPromotion(promotionVerifyInfo));
     }
 
+    @PostMapping("/backoffice/promotions/verify-cart")
+    public ResponseEntity<PromotionVerifyResultDto> verifyPromotionForCart(
+        @Valid @RequestBody PromotionCartVerifyVm promotionCartVerifyVm) {
+        return ResponseEntity.ok(promotionService.verifyPromotionForCart(promotionCartVerifyVm));
+    }
+
     @PostMapping({"/storefront/promotions/updateUsage", "/backoffice/promotions/updateUsage"})
     public ResponseEntity<Void> updateUsagePromotion(
             @RequestBody List<PromotionUsageVm> promotionUsageVms) {
@@ -1,6 +1,7 @@
 package com.yas.promotion.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -9,6 +10,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 import com.yas.commonlibrary.model.AbstractAuditEntity;
+import com.yas.promotion.model.listener.PromotionRuleIndexListener;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -18,6 +20,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(PromotionRuleIndexListener.class)
 @Table(name = "promotion_apply")
 @Getter
 @Setter
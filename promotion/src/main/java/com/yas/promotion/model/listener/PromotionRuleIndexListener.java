@@ -0,0 +1,37 @@
+package com.yas.promotion.model.listener;
+
+import com.yas.promotion.model.Promotion;
+import com.yas.promotion.model.PromotionApply;
+import com.yas.promotion.service.PromotionRuleIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectFactory;
+
+/**
+ * Keeps the {@link PromotionRuleIndex} in line with the promotions, whichever code path writes them: each written
+ * promotion, or promotion of a written apply, is recompiled once the transaction commits.
+ */
+public class PromotionRuleIndexListener {
+
+    private final ObjectFactory<PromotionRuleIndex> promotionRuleIndex;
+
+    public PromotionRuleIndexListener(ObjectFactory<PromotionRuleIndex> promotionRuleIndex) {
+        this.promotionRuleIndex = promotionRuleIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object target) {
+        Long promotionId = switch (target) {
+            case Promotion promotion -> promotion.getId();
+            case PromotionApply promotionApply when promotionApply.getPromotion() != null ->
+                promotionApply.getPromotion().getId();
+            default -> null;
+        };
+        if (promotionId != null) {
+            promotionRuleIndex.getObject().refreshAfterCommit(promotionId);
+        }
+    }
+}
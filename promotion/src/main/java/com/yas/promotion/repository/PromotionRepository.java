@@ -2,9 +2,12 @@ package com.yas.promotion.repository;
 
 import com.yas.promotion.model.Promotion;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +19,12 @@ public interface PromotionRepository extends JpaRepository<Promotion, Long> {
 
     Optional<Promotion> findByCouponCodeAndIsActiveTrue(String couponCode);
 
+    @EntityGraph(attributePaths = "promotionApplies")
+    List<Promotion> findAllByIsActiveTrueOrderByIdAsc();
+
+    @EntityGraph(attributePaths = "promotionApplies")
+    List<Promotion> findAllByIdIn(Collection<Long> ids);
+
     @Query("SELECT p FROM Promotion p "
             + "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%',:name,'%')) "
             + "AND LOWER(p.couponCode) LIKE LOWER(CONCAT('%',:couponCode,'%')) "
@@ -0,0 +1,41 @@
+package com.yas.promotion.service;
+
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxEvent;
+import com.yas.commonlibrary.kafka.cdc.message.OrderPlacedPayload;
+import com.yas.commonlibrary.repository.ProcessedEventRepository;
+import com.yas.promotion.viewmodel.PromotionUsageVm;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * Applies the promotion side effects of order events. The event id is recorded in the same transaction as the
+ * promotion usage, so an event delivered more than once counts the usage only once.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OrderEventService {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final PromotionService promotionService;
+
+    public void applyOrderPlaced(String eventId, OrderPlacedPayload payload) {
+        if (!StringUtils.hasText(payload.couponCode())) {
+            return;
+        }
+        if (processedEventRepository.insertIfAbsent(eventId, OrderOutboxEvent.ORDER_PLACED) == 0) {
+            log.info("Order placed event {} of order {} is already processed", eventId, payload.orderId());
+            return;
+        }
+        List<PromotionUsageVm> promotionUsageVms = payload.items().stream()
+            .map(item -> new PromotionUsageVm(payload.couponCode(), item.productId(), payload.customerId(),
+                payload.orderId()))
+            .toList();
+        promotionService.updateUsagePromotion(payload.customerId(), promotionUsageVms);
+    }
+}
@@ -0,0 +1,83 @@
+package com.yas.promotion.service;
+
+import com.yas.commonlibrary.utils.LongHashSet;
+import com.yas.promotion.model.Promotion;
+import com.yas.promotion.model.PromotionApply;
+import com.yas.promotion.model.enumeration.ApplyTo;
+import com.yas.promotion.model.enumeration.DiscountType;
+import com.yas.promotion.model.enumeration.UsageType;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A promotion compiled for verification: its conditions, and the ids of the products, brands or categories it
+ * applies to, depending on {@link #applyTo()}, as a primitive set.
+ * The id set is never modified once compiled.
+ */
+public record PromotionRule(
+        Long id,
+        String couponCode,
+        ApplyTo applyTo,
+        DiscountType discountType,
+        Long discountValue,
+        UsageType usageType,
+        int usageLimit,
+        int usageCount,
+        long minimumOrderPurchaseAmount,
+        LongHashSet applicableIds
+) {
+
+    public static PromotionRule compile(Promotion promotion) {
+        List<PromotionApply> promotionApplies = promotion.getPromotionApplies() == null
+                ? List.of() : promotion.getPromotionApplies();
+        Function<PromotionApply, Long> applicableId = switch (promotion.getApplyTo()) {
+            case PRODUCT -> PromotionApply::getProductId;
+            case BRAND -> PromotionApply::getBrandId;
+            case CATEGORY -> PromotionApply::getCategoryId;
+            case null -> promotionApply -> null;
+        };
+        LongHashSet applicableIds = new LongHashSet(promotionApplies.size());
+        for (PromotionApply promotionApply : promotionApplies) {
+            Long id = applicableId.apply(promotionApply);
+            if (id != null) {
+                applicableIds.add(id);
+            }
+        }
+
+        return new PromotionRule(
+                promotion.getId(),
+                promotion.getCouponCode(),
+                promotion.getApplyTo(),
+                promotion.getDiscountType(),
+                DiscountType.FIXED.equals(promotion.getDiscountType())
+                        ? promotion.getDiscountAmount() : promotion.getDiscountPercentage(),
+                promotion.getUsageType(),
+                promotion.getUsageLimit(),
+                promotion.getUsageCount(),
+                promotion.getMinimumOrderPurchaseAmount() == null ? 0 : promotion.getMinimumOrderPurchaseAmount(),
+                applicableIds);
+    }
+
+    public boolean isExhaustedUsageQuantity() {
+        return UsageType.LIMITED.equals(usageType) && usageLimit <= usageCount;
+    }
+
+    public boolean isInvalidOrderPrice(Long orderPrice) {
+        return orderPrice == null || orderPrice <= 0 || orderPrice < minimumOrderPurchaseAmount;
+    }
+
+    /**
+     * Tells whether the promotion applies to a product, given the brand and categories of the product.
+     */
+    public boolean appliesTo(long productId, Long brandId, Collection<Long> categoryIds) {
+        if (applyTo == null) {
+            return false;
+        }
+        return switch (applyTo) {
+            case PRODUCT -> applicableIds.contains(productId);
+            case BRAND -> brandId != null && applicableIds.contains(brandId);
+            case CATEGORY -> categoryIds != null && applicableIds.containsAny(categoryIds);
+        };
+    }
+}
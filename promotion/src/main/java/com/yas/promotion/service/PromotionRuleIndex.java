@@ -0,0 +1,91 @@
+package com.yas.promotion.service;
+
+import com.yas.commonlibrary.index.RefreshableIndex;
+import com.yas.promotion.model.Promotion;
+import com.yas.promotion.repository.PromotionRepository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory index of the active promotions, compiled into {@link PromotionRule}s and keyed by coupon code, so that a
+ * coupon is verified without a query nor a call to the product service.
+ *
+ * <p>Only the promotions written by this instance are recompiled, once their transaction commits, and the whole
+ * index is rebuilt periodically to pick up the writes of other instances, such as usage counts. Until then, a LIMITED
+ * promotion may be verified against a usage count up to one rebuild interval stale, one minute by default.</p>
+ */
+@Slf4j
+@Component
+public class PromotionRuleIndex extends RefreshableIndex<Long, Map<String, PromotionRule>> {
+
+    private final PromotionRepository promotionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PromotionRuleIndex(PromotionRepository promotionRepository, PlatformTransactionManager transactionManager) {
+        this.promotionRepository = promotionRepository;
+        this.transactionTemplate = readOnlyTransactionTemplate(transactionManager);
+    }
+
+    public Optional<PromotionRule> findByCouponCode(String couponCode) {
+        if (couponCode == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot().get(couponCode));
+    }
+
+    /**
+     * Recompiles a promotion once the current transaction commits, or right away outside a transaction.
+     * The promotions written by one transaction are recompiled together.
+     */
+    public void refreshAfterCommit(Long promotionId) {
+        updateAfterCommit(Set.of(promotionId));
+    }
+
+    @Override
+    @Scheduled(
+        initialDelayString = "${yas.promotion.rule-index.rebuild-interval:PT1M}",
+        fixedDelayString = "${yas.promotion.rule-index.rebuild-interval:PT1M}"
+    )
+    public void rebuild() {
+        super.rebuild();
+    }
+
+    @Override
+    protected Map<String, PromotionRule> load() {
+        List<PromotionRule> rules = transactionTemplate.execute(status ->
+            compile(promotionRepository.findAllByIsActiveTrueOrderByIdAsc()));
+        Map<String, PromotionRule> loaded = new HashMap<>();
+        rules.forEach(rule -> loaded.putIfAbsent(rule.couponCode(), rule));
+        log.debug("Compiled {} active promotions into the rule index", loaded.size());
+        return Map.copyOf(loaded);
+    }
+
+    @Override
+    protected Map<String, PromotionRule> apply(Map<String, PromotionRule> current, Collection<Long> promotionIds) {
+        List<PromotionRule> rules = transactionTemplate.execute(status ->
+            compile(promotionRepository.findAllByIdIn(promotionIds).stream()
+                .filter(promotion -> Boolean.TRUE.equals(promotion.getIsActive()))
+                .toList()));
+        Map<String, PromotionRule> refreshed = new HashMap<>(current);
+        refreshed.values().removeIf(rule -> promotionIds.contains(rule.id()));
+        rules.forEach(rule -> refreshed.put(rule.couponCode(), rule));
+        log.debug("Recompiled promotions {} in the rule index", promotionIds);
+        return Map.copyOf(refreshed);
+    }
+
+    private static List<PromotionRule> compile(List<Promotion> promotions) {
+        return promotions.stream()
+            .filter(promotion -> promotion.getCouponCode() != null)
+            .map(PromotionRule::compile)
+            .toList();
+    }
+}
@@ -3,11 +3,10 @@ package com.yas.promotion.service;
 import com.yas.commonlibrary.exception.BadRequestException;
 import com.yas.commonlibrary.exception.DuplicatedException;
 import com.yas.commonlibrary.exception.NotFoundException;
+import com.yas.commonlibrary.utils.LongHashSet;
 import com.yas.promotion.model.Promotion;
 import com.yas.promotion.model.PromotionApply;
 import com.yas.promotion.model.PromotionUsage;
-import com.yas.promotion.model.enumeration.DiscountType;
-import com.yas.promotion.model.enumeration.UsageType;
 import com.yas.promotion.repository.PromotionRepository;
 import com.yas.promotion.repository.PromotionUsageRepository;
 import com.yas.promotion.utils.AuthenticationUtils;
@@ -15,6 +14,8 @@ import com.yas.promotion.utils.Constants;
 import com.yas.promotion.viewmodel.BrandVm;
 import com.yas.promotion.viewmodel.CategoryGetVm;
 import com.yas.promotion.viewmodel.ProductVm;
+import com.yas.promotion.viewmodel.PromotionCartItemVm;
+import com.yas.promotion.viewmodel.PromotionCartVerifyVm;
 import com.yas.promotion.viewmodel.PromotionDetailVm;
 import com.yas.promotion.viewmodel.PromotionListVm;
 import com.yas.promotion.viewmodel.PromotionPostVm;
@@ -31,7 +32,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -44,6 +45,7 @@ public class PromotionService {
     private final PromotionRepository promotionRepository;
     private final PromotionUsageRepository promotionUsageRepository;
     private final ProductService productService;
+    private final PromotionRuleIndex promotionRuleIndex;
 
     public PromotionDetailVm createPromotion(PromotionPostVm promotionPostVm) {
         validateNewPromotion(promotionPostVm);
@@ -198,75 +200,87 @@ public class PromotionService {
     }
 
     public PromotionVerifyResultDto verifyPromotion(PromotionVerifyVm promotionVerifyData) {
-        Optional<Promotion> promotionOp =
-                promotionRepository.findByCouponCodeAndIsActiveTrue(promotionVerifyData.couponCode());
-        if (promotionOp.isEmpty()) {
-            throw new NotFoundException(Constants.ErrorCode.PROMOTION_NOT_FOUND_ERROR_MESSAGE,
-                    promotionVerifyData.couponCode());
-        }
-
-        Promotion promotion = promotionOp.get();
-
-        if (isExhaustedUsageQuantity(promotion)) {
-            throw new BadRequestException(Constants.ErrorCode.EXHAUSTED_USAGE_QUANTITY);
-        }
+        PromotionRule rule = getVerifiedRule(promotionVerifyData.couponCode(), promotionVerifyData.orderPrice());
 
-        if (isInvalidOrderPrice(promotionVerifyData, promotion)) {
-            throw new BadRequestException(Constants.ErrorCode.INVALID_MINIMUM_ORDER_PURCHASE_AMOUNT);
-        }
-
-        List<ProductVm> products = getProductsCanApplyPromotion(promotion);
+        List<ProductVm> products = getProductsCanApplyPromotion(rule, promotionVerifyData.productIds());
         if (CollectionUtils.isEmpty(products)) {
             throw new NotFoundException(Constants.ErrorCode.PRODUCT_NOT_FOUND_TO_APPLY_PROMOTION);
         }
 
-        List<Long> productInPromotionIds = products.stream().map(ProductVm::id).toList();
-        List<Long> commonProductIds = new ArrayList<>(promotionVerifyData.productIds());
-        commonProductIds.retainAll(productInPromotionIds);
-        if (CollectionUtils.isEmpty(commonProductIds)) {
+        LongHashSet orderProductIds = LongHashSet.of(promotionVerifyData.productIds());
+        List<ProductVm> productsCanApply = products.stream()
+                .filter(product -> product.id() != null && orderProductIds.contains(product.id()))
+                .sorted(Comparator.comparing(ProductVm::price)).toList();
+        if (CollectionUtils.isEmpty(productsCanApply)) {
             throw new NotFoundException(Constants.ErrorCode.PRODUCT_NOT_FOUND_TO_APPLY_PROMOTION);
         }
 
-        List<ProductVm> productsCanApply = products.stream()
-                .filter(product -> commonProductIds.contains(product.id()))
-                .sorted(Comparator.comparing(ProductVm::price)).toList();
+        return toVerifyResult(rule, productsCanApply.getFirst().id());
+    }
 
-        return new PromotionVerifyResultDto(true, productsCanApply.getFirst().id(),
-                promotion.getCouponCode(),
-                promotion.getDiscountType(),
-                DiscountType.FIXED.equals(promotion.getDiscountType())
-                        ? promotion.getDiscountAmount() : promotion.getDiscountPercentage());
+    /**
+     * Verifies a coupon against the items of a cart, which carry the brand, categories and price of their product.
+     * The promotion is checked from the {@link PromotionRuleIndex} only, without any query nor remote call.
+     * The item details are trusted, so this is only exposed to backoffice callers, which resolved them from the
+     * product service.
+     *
+     * <p>The usage count of a LIMITED promotion is the one compiled into the index, which may miss the usages
+     * recorded by other instances during the last rebuild interval, one minute by default.</p>
+     *
+     * @param promotionCartVerifyVm the coupon code, the order price and the cart items
+     * @return the verification result, for the cheapest item the promotion applies to
+     */
+    public PromotionVerifyResultDto verifyPromotionForCart(PromotionCartVerifyVm promotionCartVerifyVm) {
+        PromotionRule rule = getVerifiedRule(promotionCartVerifyVm.couponCode(), promotionCartVerifyVm.orderPrice());
+
+        List<PromotionCartItemVm> items = Optional.ofNullable(promotionCartVerifyVm.items()).orElse(List.of());
+        PromotionCartItemVm cheapestItem = items.stream()
+                .filter(item -> item.productId() != null
+                        && rule.appliesTo(item.productId(), item.brandId(), item.categoryIds()))
+                .min(Comparator.comparing(PromotionCartItemVm::price,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .orElseThrow(() -> new NotFoundException(Constants.ErrorCode.PRODUCT_NOT_FOUND_TO_APPLY_PROMOTION));
+
+        return toVerifyResult(rule, cheapestItem.productId());
     }
 
-    private boolean isInvalidOrderPrice(PromotionVerifyVm promotionVerifyData, Promotion promotion) {
-        return promotionVerifyData.orderPrice() <= 0
-                || promotionVerifyData.orderPrice() < promotion.getMinimumOrderPurchaseAmount();
+    private PromotionRule getVerifiedRule(String couponCode, Long orderPrice) {
+        PromotionRule rule = promotionRuleIndex.findByCouponCode(couponCode)
+                .orElseThrow(() -> new NotFoundException(Constants.ErrorCode.PROMOTION_NOT_FOUND_ERROR_MESSAGE,
+                        couponCode));
+
+        if (rule.isExhaustedUsageQuantity()) {
+            throw new BadRequestException(Constants.ErrorCode.EXHAUSTED_USAGE_QUANTITY);
+        }
+
+        if (rule.isInvalidOrderPrice(orderPrice)) {
+            throw new BadRequestException(Constants.ErrorCode.INVALID_MINIMUM_ORDER_PURCHASE_AMOUNT);
+        }
+        return rule;
     }
 
-    private boolean isExhaustedUsageQuantity(Promotion promotion) {
-        return UsageType.LIMITED.equals(promotion.getUsageType())
-                && promotion.getUsageLimit() <= promotion.getUsageCount();
+    private static PromotionVerifyResultDto toVerifyResult(PromotionRule rule, Long productId) {
+        return new PromotionVerifyResultDto(true, productId,
+                rule.couponCode(),
+                rule.discountType(),
+                rule.discountValue());
     }
 
-    private List<ProductVm> getProductsCanApplyPromotion(Promotion promotion) {
-        switch (promotion.getApplyTo()) {
+    private List<ProductVm> getProductsCanApplyPromotion(PromotionRule rule, List<Long> orderProductIds) {
+        switch (rule.applyTo()) {
             case CATEGORY -> {
-                List<Long> categoryIds = promotion.getPromotionApplies().stream()
-                        .map(PromotionApply::getCategoryId)
-                        .toList();
-                return productService.getProductByCategoryIds(categoryIds);
+                return productService.getProductByCategoryIds(toList(rule.applicableIds()));
             }
             case BRAND -> {
-                List<Long> brandIds = promotion.getPromotionApplies().stream()
-                        .map(PromotionApply::getBrandId)
-                        .toList();
-                return productService.getProductByBrandIds(brandIds);
+                return productService.getProductByBrandIds(toList(rule.applicableIds()));
             }
             case PRODUCT -> {
-                List<Long> productIds = promotion.getPromotionApplies().stream()
-                        .map(PromotionApply::getProductId)
+                // only the ordered products can apply, their details are enough to pick the cheapest one
+                List<Long> productIds = orderProductIds.stream()
+                        .filter(productId -> productId != null && rule.applicableIds().contains(productId))
+                        .distinct()
                         .toList();
-                return productService.getProductByIds(productIds);
+                return productIds.isEmpty() ? Collections.emptyList() : productService.getProductByIds(productIds);
             }
             default -> {
                 return Collections.emptyList();
@@ -274,7 +288,19 @@ public class PromotionService {
         }
     }
 
+    private static List<Long> toList(LongHashSet ids) {
+        return Arrays.stream(ids.toArray()).boxed().toList();
+    }
+
     public void updateUsagePromotion(List<PromotionUsageVm> promotionUsageVms) {
+        updateUsagePromotion(AuthenticationUtils.extractUserId(), promotionUsageVms);
+    }
+
+    /**
+     * Same as {@link #updateUsagePromotion(List)} on behalf of the given user, used when the usage does not come
+     * from a request of the user.
+     */
+    public void updateUsagePromotion(String userId, List<PromotionUsageVm> promotionUsageVms) {
         for (PromotionUsageVm promotionUsageVm : promotionUsageVms) {
             Optional<Promotion> promotion =
                     promotionRepository.findByCouponCodeAndIsActiveTrue(promotionUsageVm.promotionCode());
@@ -286,7 +312,7 @@ public class PromotionService {
 
             PromotionUsage promotionUsage = PromotionUsage.builder()
                     .promotion(promotion.get())
-                    .userId(AuthenticationUtils.extractUserId())
+                    .userId(userId)
                     .productId(promotionUsageVm.productId())
                     .orderId(promotionUsageVm.orderId())
                     .build();
@@ -0,0 +1,13 @@
+package com.yas.promotion.viewmodel;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record PromotionCartItemVm(
+    @NotNull Long productId,
+    Long brandId,
+    @Size(max = 100) List<Long> categoryIds,
+    Double price
+) {
+}
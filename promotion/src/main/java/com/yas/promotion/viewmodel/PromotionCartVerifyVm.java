@@ -0,0 +1,15 @@
+package com.yas.promotion.viewmodel;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record PromotionCartVerifyVm(
+    @NotBlank String couponCode,
+    @NotNull Long orderPrice,
+    @NotEmpty @Size(max = 100) List<@Valid PromotionCartItemVm> items
+) {
+}
@@ -0,0 +1,7 @@
+--liquibase formatted sql
+--changeset yas:processed-event
+CREATE TABLE IF NOT EXISTS processed_event (
+    id VARCHAR(255) NOT NULL PRIMARY KEY,
+    event_type VARCHAR(255) NOT NULL,
+    processed_on TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
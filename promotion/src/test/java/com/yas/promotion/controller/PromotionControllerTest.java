@@ -6,6 +6,8 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.yas.promotion.viewmodel.PromotionCartItemVm;
+import com.yas.promotion.viewmodel.PromotionCartVerifyVm;
 import com.yas.promotion.viewmodel.PromotionVerifyResultDto;
 import com.yas.promotion.viewmodel.PromotionVerifyVm;
 import java.time.Instant;
@@ -359,6 +361,29 @@ class PromotionControllerTest {
         assertEquals(expectedResult, response.getBody());
     }
 
+    @Test
+    void verify_promotion_for_cart_returns_expected_result() {
+        PromotionCartVerifyVm promotionCartVerifyVm = new PromotionCartVerifyVm(
+            "coupon-code-1",
+            100000L,
+            List.of(new PromotionCartItemVm(1L, 2L, List.of(3L), 100.0))
+        );
+        PromotionVerifyResultDto expectedResult = new PromotionVerifyResultDto(
+            true,
+            1L,
+            "coupon-code-1",
+            DiscountType.FIXED,
+            10000L
+        );
+        when(promotionService.verifyPromotionForCart(promotionCartVerifyVm)).thenReturn(expectedResult);
+
+        PromotionController promotionController = new PromotionController(promotionService);
+        ResponseEntity<PromotionVerifyResultDto> response =
+            promotionController.verifyPromotionForCart(promotionCartVerifyVm);
+
+        assertEquals(expectedResult, response.getBody());
+    }
+
     private static @NotNull PromotionPutVm getPromotionPutVm() {
         PromotionPutVm promotionPutVm = new PromotionPutVm();
         promotionPutVm.setId(1L);
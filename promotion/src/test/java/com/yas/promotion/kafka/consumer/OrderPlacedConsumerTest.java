@@ -0,0 +1,93 @@
+package com.yas.promotion.kafka.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.commonlibrary.kafka.cdc.message.Operation;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxEvent;
+import com.yas.commonlibrary.kafka.cdc.message.OrderOutboxMsgKey;
+import com.yas.commonlibrary.repository.ProcessedEventRepository;
+import com.yas.promotion.service.OrderEventService;
+import com.yas.promotion.service.PromotionService;
+import com.yas.promotion.viewmodel.PromotionUsageVm;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class OrderPlacedConsumerTest {
+
+    private static final String EVENT_ID = "5f0c6f8e-1c1f-4b4e-9a57-8d7b0f7f2a11";
+    private static final String PAYLOAD_WITH_COUPON = """
+        {"orderId":10,"customerId":"user-1","couponCode":"SALE10",
+        "items":[{"productId":1,"quantity":2},{"productId":2,"quantity":1}]}
+        """;
+    private static final String PAYLOAD_WITHOUT_COUPON = """
+        {"orderId":10,"customerId":"user-1","couponCode":null,"items":[{"productId":1,"quantity":2}]}
+        """;
+
+    private ProcessedEventRepository processedEventRepository;
+    private PromotionService promotionService;
+    private OrderPlacedConsumer orderPlacedConsumer;
+
+    @BeforeEach
+    void setUp() {
+        processedEventRepository = mock(ProcessedEventRepository.class);
+        promotionService = mock(PromotionService.class);
+        orderPlacedConsumer = new OrderPlacedConsumer(
+            new OrderEventService(processedEventRepository, promotionService), new ObjectMapper());
+    }
+
+    @Test
+    void apply_whenOrderPlacedWithCoupon_recordsUsageOnBehalfOfCustomer() {
+        when(processedEventRepository.insertIfAbsent(EVENT_ID, OrderOutboxEvent.ORDER_PLACED)).thenReturn(1);
+
+        orderPlacedConsumer.apply(key(), message(Operation.CREATE, PAYLOAD_WITH_COUPON));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PromotionUsageVm>> captor = ArgumentCaptor.forClass(List.class);
+        verify(promotionService).updateUsagePromotion(eq("user-1"), captor.capture());
+        assertThat(captor.getValue()).containsExactly(
+            new PromotionUsageVm("SALE10", 1L, "user-1", 10L),
+            new PromotionUsageVm("SALE10", 2L, "user-1", 10L));
+    }
+
+    @Test
+    void apply_whenEventIsRedelivered_doesNotCountUsageAgain() {
+        when(processedEventRepository.insertIfAbsent(EVENT_ID, OrderOutboxEvent.ORDER_PLACED)).thenReturn(0);
+
+        orderPlacedConsumer.apply(key(), message(Operation.CREATE, PAYLOAD_WITH_COUPON));
+
+        verify(promotionService, never()).updateUsagePromotion(anyString(), any());
+    }
+
+    @Test
+    void apply_whenOrderHasNoCoupon_ignoresEvent() {
+        orderPlacedConsumer.apply(key(), message(Operation.CREATE, PAYLOAD_WITHOUT_COUPON));
+
+        verify(processedEventRepository, never()).insertIfAbsent(anyString(), anyString());
+        verify(promotionService, never()).updateUsagePromotion(anyString(), any());
+    }
+
+    private static OrderOutboxMsgKey key() {
+        return new OrderOutboxMsgKey(EVENT_ID);
+    }
+
+    private static OrderOutboxCdcMessage message(Operation operation, String payload) {
+        OrderOutboxEvent event = OrderOutboxEvent.builder()
+            .id(EVENT_ID)
+            .aggregateId(10L)
+            .eventType(OrderOutboxEvent.ORDER_PLACED)
+            .payload(payload)
+            .build();
+        return OrderOutboxCdcMessage.builder().after(event).op(operation).build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.yas.promotion.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.yas.promotion.model.Promotion;
+import com.yas.promotion.model.PromotionApply;
+import com.yas.promotion.model.enumeration.ApplyTo;
+import com.yas.promotion.model.enumeration.DiscountType;
+import com.yas.promotion.model.enumeration.UsageType;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PromotionRuleTest {
+
+    @Test
+    void compile_applyToCategory_ThenMatchesAnyCategoryOfProduct() {
+        Promotion promotion = promotion(ApplyTo.CATEGORY, DiscountType.PERCENTAGE);
+        promotion.setPromotionApplies(List.of(
+            PromotionApply.builder().promotion(promotion).categoryId(5L).build(),
+            PromotionApply.builder().promotion(promotion).categoryId(6L).build()));
+
+        PromotionRule rule = PromotionRule.compile(promotion);
+
+        assertTrue(rule.appliesTo(1L, null, List.of(4L, 6L)));
+        assertFalse(rule.appliesTo(1L, 5L, List.of(4L)));
+        assertFalse(rule.appliesTo(5L, null, null));
+        assertEquals(20L, rule.discountValue());
+    }
+
+    @Test
+    void compile_applyToProduct_ThenMatchesProductIdOnly() {
+        Promotion promotion = promotion(ApplyTo.PRODUCT, DiscountType.FIXED);
+        promotion.setPromotionApplies(List.of(PromotionApply.builder().promotion(promotion).productId(9L).build()));
+
+        PromotionRule rule = PromotionRule.compile(promotion);
+
+        assertTrue(rule.appliesTo(9L, null, List.of()));
+        assertFalse(rule.appliesTo(8L, 9L, List.of(9L)));
+        assertEquals(300L, rule.discountValue());
+    }
+
+    @Test
+    void compile_ThenKeepsUsageAndOrderPriceConditions() {
+        Promotion promotion = promotion(ApplyTo.BRAND, DiscountType.FIXED);
+        promotion.setUsageType(UsageType.LIMITED);
+        promotion.setUsageLimit(3);
+        promotion.setUsageCount(3);
+
+        PromotionRule rule = PromotionRule.compile(promotion);
+
+        assertTrue(rule.isExhaustedUsageQuantity());
+        assertTrue(rule.isInvalidOrderPrice(99L));
+        assertTrue(rule.isInvalidOrderPrice(0L));
+        assertFalse(rule.isInvalidOrderPrice(100L));
+        assertFalse(rule.appliesTo(1L, 1L, List.of()));
+    }
+
+    private static Promotion promotion(ApplyTo applyTo, DiscountType discountType) {
+        return Promotion.builder()
+            .id(1L)
+            .couponCode("code")
+            .applyTo(applyTo)
+            .discountType(discountType)
+            .discountAmount(300L)
+            .discountPercentage(20L)
+            .usageType(UsageType.UNLIMITED)
+            .minimumOrderPurchaseAmount(100L)
+            .isActive(true)
+            .build();
+    }
+}
@@ -15,6 +15,8 @@ import com.yas.promotion.model.enumeration.UsageType;
 import com.yas.promotion.repository.PromotionRepository;
 import com.yas.promotion.utils.Constants;
 import com.yas.promotion.viewmodel.ProductVm;
+import com.yas.promotion.viewmodel.PromotionCartItemVm;
+import com.yas.promotion.viewmodel.PromotionCartVerifyVm;
 import com.yas.promotion.viewmodel.PromotionDetailVm;
 import com.yas.promotion.viewmodel.PromotionListVm;
 import com.yas.promotion.viewmodel.PromotionPostVm;
@@ -333,6 +335,51 @@ class PromotionServiceTest {
         assertEquals(200L, result.discountValue().longValue());
     }
 
+    @Test
+    void verifyPromotionForCart_applyToBrand_ThenCheapestItemOfBrand() {
+        PromotionCartVerifyVm promotionCartVerifyVm = new PromotionCartVerifyVm("code1", 1000L, List.of(
+            new PromotionCartItemVm(1L, 2L, List.of(), 10.0),
+            new PromotionCartItemVm(2L, 1L, List.of(), 50.0),
+            new PromotionCartItemVm(3L, 1L, List.of(), 20.0)
+        ));
+
+        var result = promotionService.verifyPromotionForCart(promotionCartVerifyVm);
+
+        assertEquals(true, result.isValid());
+        assertEquals(3L, result.productId());
+        assertEquals(DiscountType.PERCENTAGE, result.discountType());
+        assertEquals(10L, result.discountValue().longValue());
+        Mockito.verifyNoInteractions(productService);
+    }
+
+    @Test
+    void verifyPromotionForCart_WhenNoItemApplies_ThenNotFoundExceptionThrown() {
+        PromotionCartVerifyVm promotionCartVerifyVm = new PromotionCartVerifyVm("code2", 1000L, List.of(
+            new PromotionCartItemVm(2L, 1L, List.of(1L), 10.0)
+        ));
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+            () -> promotionService.verifyPromotionForCart(promotionCartVerifyVm));
+
+        assertEquals("Not found product to apply promotion", exception.getMessage());
+    }
+
+    @Test
+    void verifyPromotionForCart_WhenPromotionChanged_ThenUsesChangedRule() {
+        PromotionCartVerifyVm promotionCartVerifyVm = new PromotionCartVerifyVm("code1", 1000L, List.of(
+            new PromotionCartItemVm(1L, 1L, List.of(), 10.0)
+        ));
+        assertEquals(10L, promotionService.verifyPromotionForCart(promotionCartVerifyVm).discountValue());
+
+        promotion1.setDiscountPercentage(15L);
+        promotionRepository.save(promotion1);
+        assertEquals(15L, promotionService.verifyPromotionForCart(promotionCartVerifyVm).discountValue());
+
+        promotion1.setIsActive(false);
+        promotionRepository.save(promotion1);
+        assertThrows(NotFoundException.class, () -> promotionService.verifyPromotionForCart(promotionCartVerifyVm));
+    }
+
     private List<ProductVm> createProductVms() {
         return List.of(
             new ProductVm(
@@ -1,11 +1,14 @@
 package com.yas.rating.controller;
 
+import com.yas.commonlibrary.constants.PageableConstant;
 import com.yas.rating.service.RatingService;
 import com.yas.rating.viewmodel.RatingListVm;
 import com.yas.rating.viewmodel.RatingPostVm;
 import com.yas.rating.viewmodel.RatingVm;
 import com.yas.rating.viewmodel.ResponeStatusVm;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.time.ZonedDateTime;
 import java.util.List;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -41,7 +44,14 @@ public class RatingController {
             )
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) ZonedDateTime createdTo,
             @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
-            @RequestParam(value = "pageSize", defaultValue = "5", required = false) int pageSize) {
+            @RequestParam(value = "pageSize", defaultValue = "5", required = false)
+            @Min(1) @Max(PageableConstant.MAX_PAGE_SIZE) int pageSize,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.ok(ratingService.getRatingListWithFilterByCursor(productName, cusName,
+                    message, createdFrom, createdTo,
+                    cursor, pageSize));
+        }
         return ResponseEntity.ok(ratingService.getRatingListWithFilter(productName, cusName,
                 message, createdFrom, createdTo,
                 pageNo, pageSize));
@@ -27,6 +27,23 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
             @Param("createdTo") ZonedDateTime createdTo,
             Pageable pageable);
 
+    @Query(value = "SELECT r FROM Rating r "
+            + "Where (LOWER(r.productName) LIKE %:productName%) "
+            + "AND CONCAT(LOWER(r.firstName), ' ', LOWER(r.lastName)) LIKE %:customerName% "
+            + "AND LOWER(r.content) LIKE %:message% "
+            + "AND r.createdOn BETWEEN :createdFrom AND :createdTo "
+            + "AND (r.createdOn < :lastCreatedOn OR (r.createdOn = :lastCreatedOn AND r.id < :lastId)) "
+            + "ORDER BY r.createdOn DESC, r.id DESC")
+    List<Rating> getRatingListWithFilterBefore(
+            @Param("productName") String productName,
+            @Param("customerName") String customerName,
+            @Param("message") String message,
+            @Param("createdFrom") ZonedDateTime createdFrom,
+            @Param("createdTo") ZonedDateTime createdTo,
+            @Param("lastCreatedOn") ZonedDateTime lastCreatedOn,
+            @Param("lastId") long lastId,
+            Pageable pageable);
+
     @Query(value = "SELECT SUM(r.ratingStar), COUNT(r) FROM Rating r Where r.productId = :productId")
     List<Object[]> getTotalStarsAndTotalRatings(@Param("productId") long productId);
 
@@ -1,8 +1,11 @@
 package com.yas.rating.service;
 
+import com.yas.commonlibrary.constants.MessageCode;
 import com.yas.commonlibrary.exception.AccessDeniedException;
+import com.yas.commonlibrary.exception.BadRequestException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.commonlibrary.exception.ResourceExistedException;
+import com.yas.commonlibrary.utils.KeysetCursor;
 import com.yas.rating.model.Rating;
 import com.yas.rating.repository.RatingRepository;
 import com.yas.rating.utils.AuthenticationUtils;
@@ -25,6 +28,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
 
 @Slf4j
 @Service
@@ -73,6 +77,44 @@ public class RatingService {
         return new RatingListVm(ratingVmList, ratings.getTotalElements(), ratings.getTotalPages());
     }
 
+    /**
+     * Reads the page of ratings following {@code cursor}, seeking on {@code (createdOn, id)} instead of
+     * skipping an offset, so deep pages cost the same as the first one and no count query is issued.
+     *
+     * @param cursor   the continuation token of the previous page, empty for the first page
+     * @param pageSize the number of ratings to return
+     * @return the ratings with a {@code nextCursor} to continue from, {@code null} on the last page
+     */
+    public RatingListVm getRatingListWithFilterByCursor(String proName, String cusName,
+            String message, ZonedDateTime createdFrom,
+            ZonedDateTime createdTo, String cursor, int pageSize) {
+        ZonedDateTime lastCreatedOn = createdTo;
+        long lastId = Long.MAX_VALUE;
+        if (StringUtils.hasText(cursor)) {
+            KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+            if (keysetCursor.sortKey() == null) {
+                throw new BadRequestException(MessageCode.INVALID_PAGINATION_CURSOR, cursor);
+            }
+            lastCreatedOn = keysetCursor.sortKeyAsZonedDateTime();
+            lastId = keysetCursor.id();
+        }
+
+        List<Rating> ratings = ratingRepository.getRatingListWithFilterBefore(
+                proName.toLowerCase(),
+                cusName.toLowerCase(), message.toLowerCase(),
+                createdFrom, createdTo, lastCreatedOn, lastId, PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = ratings.size() > pageSize;
+        List<Rating> pageContent = hasNext ? ratings.subList(0, pageSize) : ratings;
+        String nextCursor = null;
+        if (hasNext && !pageContent.isEmpty()) {
+            Rating last = pageContent.get(pageContent.size() - 1);
+            nextCursor = KeysetCursor.of(last.getCreatedOn(), last.getId()).encode();
+        }
+
+        return new RatingListVm(pageContent.stream().map(RatingVm::fromModel).toList(), -1, -1, nextCursor);
+    }
+
     public List<RatingVm> getLatestRatings(int count) {
 
         if (count <= 0) {
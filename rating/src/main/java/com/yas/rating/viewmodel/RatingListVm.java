@@ -2,10 +2,19 @@ package com.yas.rating.viewmodel;
 
 import java.util.List;
 
+/**
+ * A page of ratings.
+ * When the page was read with a keyset cursor, {@code totalElements} and {@code totalPages} are {@code -1}
+ * because no count query is issued, and {@code nextCursor} is {@code null} on the last page.
+ */
 public record RatingListVm(
         List<RatingVm> ratingList,
         long totalElements,
-        int totalPages
+        int totalPages,
+        String nextCursor
 ) {
 
+    public RatingListVm(List<RatingVm> ratingList, long totalElements, int totalPages) {
+        this(ratingList, totalElements, totalPages, null);
+    }
 }
@@ -64,6 +64,17 @@ class RatingControllerTest {
         ratingVm = new RatingVm(1L, "rating1", 5, 1L, "product1", "nhat1", "Nhat", "Tran", ZonedDateTime.now());
     }
 
+    @Test
+    void getRatingListWithFilter_whenCursorPageSizeIsOutOfBounds_thenBadRequest() throws Exception {
+        this.mockMvc.perform(get("/backoffice/ratings").param("cursor", "").param("pageSize", "0"))
+                .andExpect(status().isBadRequest());
+        this.mockMvc.perform(get("/backoffice/ratings").param("cursor", "").param("pageSize", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(ratingService, times(0)).getRatingListWithFilterByCursor(anyString(), anyString(), anyString(),
+                any(), any(), any(), anyInt());
+    }
+
     @Test
     void testGetRatingListWithFilter() throws Exception {
         String productName = "product1";
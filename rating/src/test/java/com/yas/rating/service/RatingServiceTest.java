@@ -2,12 +2,15 @@ package com.yas.rating.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.yas.commonlibrary.exception.AccessDeniedException;
+import com.yas.commonlibrary.exception.BadRequestException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.commonlibrary.exception.ResourceExistedException;
 import com.yas.rating.RatingApplication;
@@ -21,6 +24,7 @@ import com.yas.rating.viewmodel.RatingVm;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -125,6 +129,36 @@ class RatingServiceTest {
         assertEquals(lastName, actualResponse.ratingList().getFirst().lastName());
     }
 
+    @Test
+    void getRatingListWithFilterByCursor_WalkAllPages_ShouldReturnEveryRatingOnce() {
+        ZonedDateTime createdFrom = ZonedDateTime.now().minusDays(30);
+        ZonedDateTime createdTo = ZonedDateTime.now().plusDays(30);
+
+        RatingListVm firstPage = ratingService.getRatingListWithFilterByCursor("", "", "",
+            createdFrom, createdTo, "", 2);
+        assertEquals(2, firstPage.ratingList().size());
+        assertEquals(-1, firstPage.totalElements());
+        assertNotNull(firstPage.nextCursor());
+
+        RatingListVm secondPage = ratingService.getRatingListWithFilterByCursor("", "", "",
+            createdFrom, createdTo, firstPage.nextCursor(), 2);
+        assertEquals(1, secondPage.ratingList().size());
+        assertNull(secondPage.nextCursor());
+
+        List<Long> ids = Stream.concat(firstPage.ratingList().stream(), secondPage.ratingList().stream())
+            .map(RatingVm::id).distinct().toList();
+        assertEquals(3, ids.size());
+    }
+
+    @Test
+    void getRatingListWithFilterByCursor_InvalidCursor_ShouldThrowBadRequestException() {
+        ZonedDateTime createdFrom = ZonedDateTime.now().minusDays(30);
+        ZonedDateTime createdTo = ZonedDateTime.now().plusDays(30);
+
+        assertThrows(BadRequestException.class, () -> ratingService.getRatingListWithFilterByCursor("", "", "",
+            createdFrom, createdTo, "not-a-cursor", 2));
+    }
+
     @Test
     void createRating_ValidRatingData_ShouldSuccess() {
         Jwt jwt = mock(Jwt.class);
@@ -0,0 +1,296 @@
+package com.yas.recommendation.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yas.recommendation.vector.common.embedding.LocalEmbeddingModel;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Ingests synthetic products embedded by {@link LocalEmbeddingModel} and measures the latency of the related
+ * product query for each vector index setting: no index, HNSW and IVFFlat. Recall is measured against the
+ * exact result so that faster settings can be weighed against the neighbours they miss.
+ *
+ * <p>Not part of the regular build, run it with
+ * {@code mvn -pl recommendation verify -Dit.test=SimilaritySearchBenchmark}.
+ */
+@Slf4j
+class SimilaritySearchBenchmark {
+
+    private static final String PGVECTOR_IMAGE = "pgvector/pgvector:pg16";
+    private static final int DIMENSIONS = 384;
+    private static final int[] CATALOG_SIZES = {10_000, 50_000};
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final int TOP_K = 10;
+    private static final int QUERIED_PRODUCTS = 50;
+    private static final int WARMUP_RUNS = 2;
+
+    /** Same statement as {@code JdbcVectorService#getFormattedQuery}, the searched vector comes from a join. */
+    private static final String RELATED_PRODUCT_QUERY = """
+        WITH entity AS (SELECT id, content, metadata, embedding FROM vector_store WHERE id = ?)
+        SELECT vs.id, vs.content, vs.metadata, (vs.embedding <=> entity.embedding) AS similarity
+        FROM vector_store vs JOIN entity ON true
+        WHERE vs.id <> ? AND (vs.embedding <=> entity.embedding) > ?
+        ORDER BY similarity LIMIT ?
+        """;
+
+    /** Same neighbours with the searched vector bound as a parameter, the shape vector indexes can serve. */
+    private static final String BOUND_VECTOR_QUERY = """
+        SELECT id FROM vector_store WHERE id <> ? ORDER BY embedding <=> ?::vector LIMIT ?
+        """;
+
+    private static final List<IndexSetting> INDEX_SETTINGS = List.of(
+        new IndexSetting("none", null, null),
+        new IndexSetting("hnsw m=16 ef_construction=64 ef_search=40",
+            "CREATE INDEX ON vector_store USING hnsw (embedding vector_cosine_ops) WITH (m = 16, ef_construction = 64)",
+            "SET hnsw.ef_search = 40"),
+        new IndexSetting("hnsw m=16 ef_construction=64 ef_search=100",
+            "CREATE INDEX ON vector_store USING hnsw (embedding vector_cosine_ops) WITH (m = 16, ef_construction = 64)",
+            "SET hnsw.ef_search = 100"),
+        new IndexSetting("ivfflat lists=100 probes=1",
+            "CREATE INDEX ON vector_store USING ivfflat (embedding vector_cosine_ops) WITH (lists = 100)",
+            "SET ivfflat.probes = 1"),
+        new IndexSetting("ivfflat lists=100 probes=10",
+            "CREATE INDEX ON vector_store USING ivfflat (embedding vector_cosine_ops) WITH (lists = 100)",
+            "SET ivfflat.probes = 10")
+    );
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Dell", "Sony", "Nike", "Ikea", "Lego", "Canon"};
+    private static final String[] CATEGORIES = {"Smartphone", "Laptop", "Headphones", "Running shoes", "Sofa",
+        "Toy", "Camera", "Tablet", "Monitor", "Watch"};
+    private static final String[] FEATURES = {"wireless", "waterproof", "leather", "lightweight", "4K", "OLED",
+        "noise cancelling", "ergonomic", "compact", "professional", "kids", "premium", "recycled", "fast charging"};
+
+    private static PostgreSQLContainer<?> postgres;
+
+    private final LocalEmbeddingModel embeddingModel = new LocalEmbeddingModel(DIMENSIONS);
+
+    @BeforeAll
+    static void startPostgres() {
+        var image = DockerImageName.parse(PGVECTOR_IMAGE).asCompatibleSubstituteFor("postgres");
+        postgres = new PostgreSQLContainer<>(image);
+        postgres.start();
+    }
+
+    @AfterAll
+    static void stopPostgres() {
+        postgres.stop();
+    }
+
+    @Test
+    void relatedProductQuery_latencyPerIndexSetting() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            createSchema(connection);
+
+            List<UUID> ids = new ArrayList<>();
+            for (int catalogSize : CATALOG_SIZES) {
+                long start = System.nanoTime();
+                ingestProducts(connection, ids, catalogSize);
+                log.info("products={} ingested in {} ms", catalogSize, (System.nanoTime() - start) / 1_000_000);
+                execute(connection, "ANALYZE vector_store");
+
+                List<UUID> queried = sample(ids);
+                List<List<UUID>> exactNeighbours = new ArrayList<>();
+                for (UUID id : queried) {
+                    exactNeighbours.add(boundVectorNeighbours(connection, id));
+                }
+
+                for (IndexSetting setting : INDEX_SETTINGS) {
+                    measure(connection, catalogSize, setting, queried, exactNeighbours);
+                }
+            }
+        }
+    }
+
+    private void measure(Connection connection, int catalogSize, IndexSetting setting, List<UUID> queried,
+                         List<List<UUID>> exactNeighbours) throws SQLException {
+        if (setting.createIndex() != null) {
+            long start = System.nanoTime();
+            execute(connection, setting.createIndex());
+            log.info("products={} index '{}' built in {} ms", catalogSize, setting.name(),
+                (System.nanoTime() - start) / 1_000_000);
+            execute(connection, setting.sessionSetting());
+        }
+        try {
+            long[] relatedTimings = timings(queried, id -> relatedProducts(connection, id));
+            long[] boundTimings = timings(queried, id -> boundVectorNeighbours(connection, id));
+
+            double recall = 0;
+            for (int i = 0; i < queried.size(); i++) {
+                List<UUID> found = boundVectorNeighbours(connection, queried.get(i));
+                recall += found.stream().filter(exactNeighbours.get(i)::contains).count() / (double) TOP_K;
+            }
+            log.info("products={} index='{}' related query p50={} ms p95={} ms | bound vector p50={} ms p95={} ms "
+                    + "recall@{}={} | plan uses index: {}",
+                catalogSize, setting.name(), percentileMs(relatedTimings, 50), percentileMs(relatedTimings, 95),
+                percentileMs(boundTimings, 50), percentileMs(boundTimings, 95), TOP_K,
+                String.format("%.3f", recall / queried.size()), usesIndex(connection, queried.getFirst()));
+
+            if (setting.createIndex() == null) {
+                assertThat(recall / queried.size()).isEqualTo(1.0);
+            }
+        } finally {
+            execute(connection, "RESET ALL");
+            execute(connection, "DROP INDEX IF EXISTS vector_store_embedding_idx");
+        }
+    }
+
+    private long[] timings(List<UUID> queried, SqlFunction query) throws SQLException {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            for (UUID id : queried) {
+                query.apply(id);
+            }
+        }
+        long[] timings = new long[queried.size()];
+        for (int i = 0; i < queried.size(); i++) {
+            long start = System.nanoTime();
+            query.apply(queried.get(i));
+            timings[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        return timings;
+    }
+
+    private static void createSchema(Connection connection) throws SQLException {
+        execute(connection, "CREATE EXTENSION IF NOT EXISTS vector");
+        execute(connection, "CREATE TABLE vector_store (id uuid PRIMARY KEY, content text, metadata json, "
+            + "embedding vector(" + DIMENSIONS + "))");
+    }
+
+    private void ingestProducts(Connection connection, List<UUID> ids, int catalogSize) throws SQLException {
+        Random random = new Random(catalogSize);
+        for (int from = ids.size(); from < catalogSize; from += INSERT_BATCH_SIZE) {
+            int rows = Math.min(INSERT_BATCH_SIZE, catalogSize - from);
+            List<String> contents = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                contents.add(syntheticContent(random, from + i));
+            }
+            List<float[]> embeddings = embeddingModel.embed(contents);
+
+            String sql = "INSERT INTO vector_store (id, content, metadata, embedding) VALUES "
+                + String.join(", ", Collections.nCopies(rows, "(?, ?, '{}'::json, ?::vector)"));
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < rows; i++) {
+                    UUID id = UUID.nameUUIDFromBytes("PRODUCT-%s".formatted(from + i).getBytes());
+                    ids.add(id);
+                    statement.setObject(3 * i + 1, id);
+                    statement.setString(3 * i + 2, contents.get(i));
+                    statement.setString(3 * i + 3, Arrays.toString(embeddings.get(i)));
+                }
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    /** Formatted like {@code ProductDocument#CONTENT_FORMAT}. */
+    private static String syntheticContent(Random random, int productId) {
+        String brand = BRANDS[random.nextInt(BRANDS.length)];
+        String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        String feature = FEATURES[random.nextInt(FEATURES.length)];
+        String otherFeature = FEATURES[random.nextInt(FEATURES.length)];
+        return "%s %s %s %d| %s %s| Price: %d| %s| [%s]| %s %s| %s| %s| [Colour: %s]".formatted(
+            brand, feature, category, productId, otherFeature, category, random.nextInt(2000), brand, category,
+            brand, category, feature, otherFeature, random.nextBoolean() ? "black" : "white");
+    }
+
+    private static List<UUID> sample(List<UUID> ids) {
+        Random random = new Random(42);
+        List<UUID> sample = new ArrayList<>(QUERIED_PRODUCTS);
+        for (int i = 0; i < QUERIED_PRODUCTS; i++) {
+            sample.add(ids.get(random.nextInt(ids.size())));
+        }
+        return sample;
+    }
+
+    private static int relatedProducts(Connection connection, UUID id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(RELATED_PRODUCT_QUERY)) {
+            statement.setObject(1, id);
+            statement.setObject(2, id);
+            statement.setDouble(3, -1);
+            statement.setInt(4, TOP_K);
+            int rows = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static List<UUID> boundVectorNeighbours(Connection connection, UUID id) throws SQLException {
+        String embedding;
+        try (PreparedStatement statement = connection.prepareStatement(
+            "SELECT embedding::text FROM vector_store WHERE id = ?")) {
+            statement.setObject(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                embedding = resultSet.getString(1);
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(BOUND_VECTOR_QUERY)) {
+            statement.setObject(1, id);
+            statement.setString(2, embedding);
+            statement.setInt(3, TOP_K);
+            List<UUID> neighbours = new ArrayList<>(TOP_K);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    neighbours.add(resultSet.getObject(1, UUID.class));
+                }
+            }
+            return neighbours;
+        }
+    }
+
+    private static boolean usesIndex(Connection connection, UUID id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + RELATED_PRODUCT_QUERY)) {
+            statement.setObject(1, id);
+            statement.setObject(2, id);
+            statement.setDouble(3, -1);
+            statement.setInt(4, TOP_K);
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString().contains("vector_store_embedding_idx");
+        }
+    }
+
+    private static String percentileMs(long[] sortedTimings, int percentile) {
+        int index = Math.min(sortedTimings.length - 1, sortedTimings.length * percentile / 100);
+        return String.format("%.2f", sortedTimings[index] / 1_000_000.0);
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlFunction {
+        Object apply(UUID id) throws SQLException;
+    }
+
+    private record IndexSetting(String name, String createIndex, String sessionSetting) {
+    }
+}
@@ -2,9 +2,12 @@ package com.yas.recommendation.controller;
 
 import com.yas.recommendation.vector.common.query.VectorQuery;
 import com.yas.recommendation.vector.product.document.ProductDocument;
+import com.yas.recommendation.vector.product.query.RelatedProductCache;
+import com.yas.recommendation.vector.product.service.ProductNeighbourService;
 import com.yas.recommendation.viewmodel.RelatedProductVm;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,12 +18,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(EmbeddingQueryController.class)
+@Import(RelatedProductCache.class)
 @AutoConfigureMockMvc(addFilters = false)
 class EmbeddingQueryControllerTest {
 
@@ -31,6 +36,9 @@ class EmbeddingQueryControllerTest {
     @MockBean
     private VectorQuery<ProductDocument, RelatedProductVm> relatedProductSearch;
 
+    @MockBean
+    private ProductNeighbourService productNeighbourService;
+
     @BeforeEach
     void setUp() {
         // Prepare some mock data to be returned by the relatedProductSearch
@@ -66,4 +74,37 @@ class EmbeddingQueryControllerTest {
                 .andExpect(status().isOk())  // Expect HTTP 200 OK status
                 .andExpect(jsonPath("$", hasSize(0)));  // Expect empty JSON array
     }
+
+    @Test
+    void shouldQueryOnce_whenSameProductIsRequestedTwice() throws Exception {
+        mockMvc.perform(get("/embedding/product/3/similarity")).andExpect(status().isOk());
+        mockMvc.perform(get("/embedding/product/3/similarity")).andExpect(status().isOk());
+
+        Mockito.verify(relatedProductSearch, Mockito.times(1)).similaritySearch(3L);
+    }
+
+    @Test
+    void shouldReturnMaterializedNeighbours_whenTheyWereComputed() throws Exception {
+        RelatedProductVm neighbour = new RelatedProductVm();
+        neighbour.setName("Neighbour Product");
+        Mockito.when(productNeighbourService.getRelatedProducts(4L)).thenReturn(Optional.of(List.of(neighbour)));
+
+        mockMvc.perform(get("/embedding/product/4/related"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Neighbour Product")));
+
+        Mockito.verify(relatedProductSearch, Mockito.never()).similaritySearch(4L);
+    }
+
+    @Test
+    void shouldFallBackToSimilaritySearch_whenNeighboursWereNotComputed() throws Exception {
+        Mockito.when(productNeighbourService.getRelatedProducts(5L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/embedding/product/5/related"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        Mockito.verify(relatedProductSearch, Mockito.times(1)).similaritySearch(5L);
+    }
 }
@@ -7,8 +7,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import org.jetbrains.annotations.NotNull;
@@ -37,7 +38,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -56,6 +56,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, ProductCdcMessage> {
     public static final String STOREFRONT_PRODUCTS_PATH = "/storefront/products/detail/{id}";
+    public static final String STOREFRONT_PRODUCT_DETAILS_PATH = "/storefront/products/details";
     private static final String PRODUCT_NAME_UPDATE = "IPhone 14 Pro New";
     @Autowired
     private JdbcTemplate jdbcClient;
@@ -97,7 +98,7 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
 
         // Verify consumer
         waitForConsumer(2, 1, 0, 0);
-        verify(productVectorSyncService, times(1)).createProductVector(any(Product.class));
+        verify(productVectorSyncService, times(1)).syncProductVectors(anyList(), anySet());
 
         //Verify data
         List<Map<String, Object>> results = findAll();
@@ -113,14 +114,15 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
         long productId = 1L;
 
         // When
-        when(embeddingModel.embed(any(Document.class))).thenReturn(randomEmbed());
+        when(embeddingModel.embed(anyList())).thenReturn(List.of(randomEmbed()));
 
-        // Simulate Product Detail API response
+        // Simulate Product Details API response
         final URI url = UriComponentsBuilder.fromHttpUrl(recommendationConfig.getApiUrl())
-                .path(STOREFRONT_PRODUCTS_PATH)
-                .buildAndExpand(productId)
+                .path(STOREFRONT_PRODUCT_DETAILS_PATH)
+                .queryParam("ids", List.of(productId))
+                .buildAndExpand()
                 .toUri();
-        simulateHttpRequestWithError(url, new RuntimeException("Missing ResponseSpec.toEntity"), ProductDetailVm.class);
+        simulateHttpRequestWithErrorToEntity(url, new RuntimeException("Missing ResponseSpec.toEntity"));
 
         // Sending CDC Event
         sendMsg(
@@ -133,7 +135,7 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
 
         // Then
         waitForConsumer(2, 1, 4, 6);
-        verify(productVectorSyncService, times(4)).createProductVector(any(Product.class));
+        verify(productVectorSyncService, times(4)).syncProductVectors(anyList(), anySet());
     }
 
     @DisplayName("When having product create event, data must sync as create and can search similar product.")
@@ -147,14 +149,10 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
         // When
         when(embeddingSearchConfiguration.topK()).thenReturn(10);
         when(embeddingSearchConfiguration.similarityThreshold()).thenReturn(-1D); // force to query all data, not depend on vector compare operation
-        when(embeddingModel.embed(any(Document.class))).thenReturn(randomEmbed());
+        when(embeddingModel.embed(anyList())).thenReturn(List.of(randomEmbed()));
 
-        // Simulate Product Detail API response
-        final URI url = UriComponentsBuilder.fromHttpUrl(recommendationConfig.getApiUrl())
-                .path(STOREFRONT_PRODUCTS_PATH)
-                .buildAndExpand(productId)
-                .toUri();
-        simulateHttpRequestWithResponseToEntity(url, response, ProductDetailVm.class);
+        // Simulate Product Details API response
+        simulateProductDetailsRequest(response);
 
         // Sending CDC Event
         sendMsg(ProductMsgKey.builder().id(productId).build(),
@@ -165,18 +163,14 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
 
         // Then
         waitForConsumer(2, 1, 0, 0);
-        verify(productVectorSyncService, times(1)).createProductVector(any(Product.class));
+        verify(productVectorSyncService, times(1)).syncProductVectors(anyList(), anySet());
 
         // Given
         long productId2 = 2L;
         ProductDetailVm response2 = getProductDetailVm(productId2);
 
-        // Simulate Product Detail API response
-        final URI url2 = UriComponentsBuilder.fromHttpUrl(recommendationConfig.getApiUrl())
-                .path(STOREFRONT_PRODUCTS_PATH)
-                .buildAndExpand(productId2)
-                .toUri();
-        simulateHttpRequestWithResponseToEntity(url2, response2, ProductDetailVm.class);
+        // Simulate Product Details API response
+        simulateProductDetailsRequest(response2);
 
         // Sending CDC Event
         sendMsg(ProductMsgKey.builder().id(productId2).build(),
@@ -187,7 +181,7 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
 
         // Verify consumer
         waitForConsumer(2, 1, 0, 0);
-        verify(productVectorSyncService, times(2)).createProductVector(any(Product.class));
+        verify(productVectorSyncService, times(2)).syncProductVectors(anyList(), anySet());
 
         //Verify data
         List<Map<String, Object>> results = findAll();
@@ -195,6 +189,11 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
         assertEquals(2, results.size());
 
         // Verify similarSearch
+        final URI url2 = UriComponentsBuilder.fromHttpUrl(recommendationConfig.getApiUrl())
+                .path(STOREFRONT_PRODUCTS_PATH)
+                .buildAndExpand(productId2)
+                .toUri();
+        simulateHttpRequestWithResponseToEntity(url2, response2, ProductDetailVm.class);
         List<RelatedProductVm> relatedProductVms = relatedProductQuery.similaritySearch(productId2);
         assertFalse(relatedProductVms.isEmpty());
     }
@@ -209,7 +208,7 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
 
         // Verify consumer
         waitForConsumer(2, 1, 0, 0);
-        verify(productVectorSyncService, times(1)).createProductVector(any(Product.class));
+        verify(productVectorSyncService, times(1)).syncProductVectors(anyList(), anySet());
 
         //Verify data
         List<Map<String, Object>> results = findAll();
@@ -219,14 +218,10 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
         ProductDetailVm response = getProductDetailVmUpdate(productId);
 
         // When
-        when(embeddingModel.embed(any(Document.class))).thenReturn(randomEmbed());
+        when(embeddingModel.embed(anyList())).thenReturn(List.of(randomEmbed()));
 
-        // Simulate Product Detail API response
-        final URI url = UriComponentsBuilder.fromHttpUrl(recommendationConfig.getApiUrl())
-                .path(STOREFRONT_PRODUCTS_PATH)
-                .buildAndExpand(productId)
-                .toUri();
-        simulateHttpRequestWithResponseToEntity(url, response, ProductDetailVm.class);
+        // Simulate Product Details API response
+        simulateProductDetailsRequest(response);
 
         // Sending CDC Event
         sendMsg(
@@ -238,7 +233,8 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
 
         // Verify consumer
         waitForConsumer(2, 2, 0, 0);
-        verify(productVectorSyncService, times(1)).updateProductVector(any(Product.class));
+        verify(productVectorSyncService, times(2)).syncProductVectors(anyList(), anySet());
+        verify(embeddingModel, times(2)).embed(anyList());
 
         //Verify data
         results = findAll();
@@ -247,6 +243,35 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
         assertTrue(firstRow.get("content").toString().contains(PRODUCT_NAME_UPDATE), "Content is not correct.");
     }
 
+    @DisplayName("When having product update event without content change, embedding must be kept")
+    @Test
+    public void test_whenHavingUpdateEventWithSameContent_shouldNotReEmbed()
+            throws ExecutionException, InterruptedException, TimeoutException {
+
+        long productId = 1L;
+        sendEventCreateProduct(productId);
+        waitForConsumer(2, 1, 0, 0);
+        String embedding = findAll().getFirst().get("embedding").toString();
+
+        // Sending CDC Event, product detail API still answers the same product
+        sendMsg(
+            ProductMsgKey.builder().id(productId).build(),
+            ProductCdcMessage.builder()
+                .op(UPDATE)
+                .after(Product.builder().id(productId).isPublished(true).build())
+                .build());
+
+        // Verify consumer
+        waitForConsumer(2, 1, 0, 0);
+        verify(productVectorSyncService, times(2)).syncProductVectors(anyList(), anySet());
+        verify(embeddingModel, times(1)).embed(anyList());
+
+        //Verify data
+        List<Map<String, Object>> results = findAll();
+        assertEquals(1, results.size());
+        assertEquals(embedding, results.getFirst().get("embedding").toString());
+    }
+
     @DisplayName("When having product delete event, data must sync as delete")
     @Test
     public void test_whenHavingDeleteEvent_shouldSyncAsDelete()
@@ -257,7 +282,7 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
 
         // Verify consumer
         waitForConsumer(2, 1, 0, 0);
-        verify(productVectorSyncService, times(1)).createProductVector(any(Product.class));
+        verify(productVectorSyncService, times(1)).syncProductVectors(anyList(), anySet());
 
         //Verify data
         List<Map<String, Object>> results = findAll();
@@ -274,7 +299,7 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
 
         // Verify consumer
         waitForConsumer(2, 2, 0, 0);
-        verify(productVectorSyncService, times(1)).deleteProductVector((anyLong()));
+        verify(productVectorSyncService, times(1)).syncProductVectors(List.of(), Set.of(productId));
 
         //Verify data
         results = findAll();
@@ -287,14 +312,10 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
         ProductDetailVm response = getProductDetailVm(productId);
 
         // When
-        when(embeddingModel.embed(any(Document.class))).thenReturn(randomEmbed());
+        when(embeddingModel.embed(anyList())).thenReturn(List.of(randomEmbed()));
 
-        // Simulate Product Detail API response
-        final URI url = UriComponentsBuilder.fromHttpUrl(recommendationConfig.getApiUrl())
-                .path(STOREFRONT_PRODUCTS_PATH)
-                .buildAndExpand(productId)
-                .toUri();
-        simulateHttpRequestWithResponseToEntity(url, response, ProductDetailVm.class);
+        // Simulate Product Details API response
+        simulateProductDetailsRequest(response);
 
         // Sending CDC Event
         sendMsg(
@@ -306,6 +327,15 @@ public class ProductCdcConsumerTest extends CdcConsumerTest<ProductMsgKey, Produ
         );
     }
 
+    private void simulateProductDetailsRequest(ProductDetailVm response) {
+        final URI url = UriComponentsBuilder.fromHttpUrl(recommendationConfig.getApiUrl())
+                .path(STOREFRONT_PRODUCT_DETAILS_PATH)
+                .queryParam("ids", List.of(response.id()))
+                .buildAndExpand()
+                .toUri();
+        simulateHttpRequestWithResponseToEntity(url, List.of(response), List.class);
+    }
+
     private List<Map<String, Object>> findAll() {
         String sql = "SELECT * FROM vector_store;";
         return jdbcClient.queryForList(sql);
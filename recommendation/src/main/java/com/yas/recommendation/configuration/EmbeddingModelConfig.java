@@ -0,0 +1,28 @@
+package com.yas.recommendation.configuration;
+
+import com.yas.recommendation.vector.common.embedding.LocalEmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Selects the embedding model with {@code yas.recommendation.embedding.provider}: {@code azure-openai} (default)
+ * uses the auto-configured Azure OpenAI model, {@code local} takes precedence over it with a
+ * {@link LocalEmbeddingModel} so that the service runs without the external API.
+ */
+@Configuration
+public class EmbeddingModelConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "yas.recommendation.embedding.provider", havingValue = "local")
+    public EmbeddingModel localEmbeddingModel(
+        @Value("${yas.recommendation.embedding.local.dimensions:${spring.ai.vectorstore.pgvector.dimensions:1536}}")
+        int dimensions
+    ) {
+        return new LocalEmbeddingModel(dimensions);
+    }
+}
@@ -2,6 +2,8 @@ package com.yas.recommendation.controller;
 
 import com.yas.recommendation.vector.common.query.VectorQuery;
 import com.yas.recommendation.vector.product.document.ProductDocument;
+import com.yas.recommendation.vector.product.query.RelatedProductCache;
+import com.yas.recommendation.vector.product.service.ProductNeighbourService;
 import com.yas.recommendation.viewmodel.RelatedProductVm;
 import java.util.List;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,13 +19,29 @@ import org.springframework.web.bind.annotation.RestController;
 public class EmbeddingQueryController {
 
     private final VectorQuery<ProductDocument, RelatedProductVm> relatedProductSearch;
+    private final RelatedProductCache relatedProductCache;
+    private final ProductNeighbourService productNeighbourService;
 
-    public EmbeddingQueryController(VectorQuery<ProductDocument, RelatedProductVm> relatedProductSearch) {
+    public EmbeddingQueryController(VectorQuery<ProductDocument, RelatedProductVm> relatedProductSearch,
+                                    RelatedProductCache relatedProductCache,
+                                    ProductNeighbourService productNeighbourService) {
         this.relatedProductSearch = relatedProductSearch;
+        this.relatedProductCache = relatedProductCache;
+        this.productNeighbourService = productNeighbourService;
     }
 
     @GetMapping("/product/{id}/similarity")
     public List<RelatedProductVm> searchProduct(@PathVariable("id") Long productId) {
-        return relatedProductSearch.similaritySearch(productId);
+        return relatedProductCache.get(productId, relatedProductSearch::similaritySearch);
+    }
+
+    /**
+     * Serves the materialized neighbours of a product with primary key lookups, products not materialized yet
+     * fall back to the similarity query.
+     */
+    @GetMapping("/product/{id}/related")
+    public List<RelatedProductVm> getRelatedProducts(@PathVariable("id") Long productId) {
+        return productNeighbourService.getRelatedProducts(productId)
+            .orElseGet(() -> relatedProductCache.get(productId, relatedProductSearch::similaritySearch));
     }
 }
@@ -17,6 +17,7 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 public class ProductCdcKafkaListenerConfig extends BaseKafkaListenerConfig<ProductMsgKey, ProductCdcMessage> {
 
     public static final String PRODUCT_CDC_LISTENER_CONTAINER_FACTORY = "productCdcListenerContainerFactory";
+    public static final String PRODUCT_CDC_BATCH_LISTENER_CONTAINER_FACTORY = "productCdcBatchListenerContainerFactory";
 
     public ProductCdcKafkaListenerConfig(KafkaProperties kafkaProperties) {
         super(ProductMsgKey.class, ProductCdcMessage.class, kafkaProperties);
@@ -28,4 +29,9 @@ public class ProductCdcKafkaListenerConfig extends BaseKafkaListenerConfig<Produ
         return super.kafkaListenerContainerFactory();
     }
 
+    @Bean(name = PRODUCT_CDC_BATCH_LISTENER_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<ProductMsgKey, ProductCdcMessage> batchListenerContainerFactory() {
+        return super.batchKafkaListenerContainerFactory();
+    }
+
 }
\ No newline at end of file
@@ -1,22 +1,19 @@
 package com.yas.recommendation.kafka.consumer;
 
-import static com.yas.recommendation.kafka.config.consumer.ProductCdcKafkaListenerConfig.PRODUCT_CDC_LISTENER_CONTAINER_FACTORY;
+import static com.yas.recommendation.kafka.config.consumer.ProductCdcKafkaListenerConfig.PRODUCT_CDC_BATCH_LISTENER_CONTAINER_FACTORY;
 
 import com.yas.commonlibrary.kafka.cdc.BaseCdcConsumer;
-import com.yas.commonlibrary.kafka.cdc.RetrySupportDql;
 import com.yas.commonlibrary.kafka.cdc.message.ProductCdcMessage;
 import com.yas.commonlibrary.kafka.cdc.message.ProductMsgKey;
-import jakarta.validation.Valid;
+import java.util.List;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.MessageHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Headers;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 /**
  * Product synchronize data consumer for pgvector.
+ * Records are consumed in micro-batches and only the latest event of each product is applied, so that
+ * a catalogue refresh costs one embedding call per batch instead of one per record.
  */
 @Component
 public class ProductSyncDataConsumer extends BaseCdcConsumer<ProductMsgKey, ProductCdcMessage> {
@@ -31,14 +28,9 @@ public class ProductSyncDataConsumer extends BaseCdcConsumer<ProductMsgKey, Prod
         id = "product-sync-recommendation",
         groupId = "product-sync",
         topics = "${product.topic.name}",
-        containerFactory = PRODUCT_CDC_LISTENER_CONTAINER_FACTORY
+        containerFactory = PRODUCT_CDC_BATCH_LISTENER_CONTAINER_FACTORY
     )
-    @RetrySupportDql(listenerContainerFactory = PRODUCT_CDC_LISTENER_CONTAINER_FACTORY)
-    public void processMessage(
-        @Header(KafkaHeaders.RECEIVED_KEY) ProductMsgKey key,
-        @Payload(required = false) @Valid ProductCdcMessage productCdcMessage,
-        @Headers MessageHeaders headers
-    ) {
-        processMessage(key, productCdcMessage, headers, productSyncService::sync);
+    public void processMessages(List<ConsumerRecord<ProductMsgKey, ProductCdcMessage>> records) {
+        processMessages(records, batch -> productSyncService.sync(latestPerEntity(batch, ProductMsgKey::getId)));
     }
 }
@@ -2,10 +2,18 @@ package com.yas.recommendation.kafka.consumer;
 
 import static com.yas.commonlibrary.kafka.cdc.message.Operation.DELETE;
 
+import com.yas.commonlibrary.kafka.cdc.message.Product;
 import com.yas.commonlibrary.kafka.cdc.message.ProductCdcMessage;
 import com.yas.commonlibrary.kafka.cdc.message.ProductMsgKey;
+import com.yas.recommendation.vector.product.query.RelatedProductCache;
 import com.yas.recommendation.vector.product.service.ProductVectorSyncService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.stereotype.Service;
 
 /**
@@ -16,30 +24,44 @@ import org.springframework.stereotype.Service;
 public class ProductSyncService {
 
     private final ProductVectorSyncService productVectorSyncService;
+    private final RelatedProductCache relatedProductCache;
 
-    public ProductSyncService(ProductVectorSyncService productVectorSyncService) {
+    public ProductSyncService(ProductVectorSyncService productVectorSyncService,
+                              RelatedProductCache relatedProductCache) {
         this.productVectorSyncService = productVectorSyncService;
+        this.relatedProductCache = relatedProductCache;
     }
 
     /**
-     * Synchronize Product Data to VectorDb based on Product CDC message.
+     * Synchronize Product Data to VectorDb based on a batch of Product CDC messages, then evict the cached
+     * related products of the changed products.
      *
-     * @param productCdcMessage {@link ProductCdcMessage} CDC message.
+     * @param records the latest {@link ProductCdcMessage} CDC message of each product of a batch.
      */
-    public void sync(ProductMsgKey key, ProductCdcMessage productCdcMessage) {
-        boolean isHardDeleteEvent = productCdcMessage == null || DELETE.equals(productCdcMessage.getOp());
-        if (isHardDeleteEvent) {
-            log.warn("Having hard delete event for product: '{}'", key.getId());
-            productVectorSyncService.deleteProductVector(key.getId());
-        } else if (productCdcMessage.getAfter() != null) {
-            var operation = productCdcMessage.getOp();
-            var product = productCdcMessage.getAfter();
-            switch (operation) {
-                case CREATE, READ -> productVectorSyncService.createProductVector(product);
-                case UPDATE -> productVectorSyncService.updateProductVector(product);
-                default -> log.warn("Unsupported operation '{}' for product: '{}'", operation, product.getId());
+    public void sync(Collection<ConsumerRecord<ProductMsgKey, ProductCdcMessage>> records) {
+        List<Product> products = new ArrayList<>();
+        Set<Long> deletedIds = new LinkedHashSet<>();
+        for (ConsumerRecord<ProductMsgKey, ProductCdcMessage> consumerRecord : records) {
+            var productId = consumerRecord.key().getId();
+            ProductCdcMessage productCdcMessage = consumerRecord.value();
+            // a null value is a tombstone, records that failed to deserialize are sent to the DLT beforehand
+            boolean isHardDeleteEvent = productCdcMessage == null || DELETE.equals(productCdcMessage.getOp());
+            if (isHardDeleteEvent) {
+                log.warn("Having hard delete event for product: '{}'", productId);
+                deletedIds.add(productId);
+            } else if (productCdcMessage.getAfter() != null) {
+                var operation = productCdcMessage.getOp();
+                switch (operation) {
+                    case CREATE, READ, UPDATE -> products.add(productCdcMessage.getAfter());
+                    default -> log.warn("Unsupported operation '{}' for product: '{}'", operation, productId);
+                }
             }
         }
+        productVectorSyncService.syncProductVectors(products, deletedIds);
+
+        Set<Long> changedIds = new LinkedHashSet<>(deletedIds);
+        products.forEach(product -> changedIds.add(product.getId()));
+        relatedProductCache.evict(changedIds);
     }
 
 }
@@ -3,6 +3,8 @@ package com.yas.recommendation.service;
 import com.yas.recommendation.configuration.RecommendationConfig;
 import com.yas.recommendation.viewmodel.ProductDetailVm;
 import java.net.URI;
+import java.util.Collection;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
@@ -38,4 +40,26 @@ public class ProductService {
                 })
                 .getBody();
     }
+
+    /**
+     * Retrieves detailed information about many products with a single call to the external API.
+     *
+     * @param productIds the unique identifiers of the products to fetch details for
+     * @return the {@link ProductDetailVm} of the published products among {@code productIds}
+     */
+    public List<ProductDetailVm> getProductDetails(Collection<Long> productIds) {
+        final URI url = UriComponentsBuilder
+                .fromHttpUrl(config.getApiUrl())
+                .path("/storefront/products/details")
+                .queryParam("ids", productIds)
+                .buildAndExpand()
+                .toUri();
+
+        return restClient.get()
+                .uri(url)
+                .retrieve()
+                .toEntity(new ParameterizedTypeReference<List<ProductDetailVm>>() {
+                })
+                .getBody();
+    }
 }
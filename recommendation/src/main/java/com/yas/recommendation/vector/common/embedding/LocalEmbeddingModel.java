@@ -0,0 +1,111 @@
+package com.yas.recommendation.vector.common.embedding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.util.Assert;
+
+/**
+ * Deterministic embedding model computed in process, for load tests and benchmarks without an external service.
+ *
+ * <p>A text is split into lower case words, each word and each character trigram of the word is hashed
+ * (64-bit FNV-1a) into one of the {@code dimensions} buckets with a sign taken from the hash, and the resulting
+ * vector is L2 normalized. Texts sharing words or word fragments end up close in cosine distance, the same
+ * text always gives the same vector.</p>
+ */
+public class LocalEmbeddingModel implements EmbeddingModel {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final float WORD_WEIGHT = 1.0f;
+    private static final float TRIGRAM_WEIGHT = 0.5f;
+
+    private final int dimensions;
+
+    public LocalEmbeddingModel(int dimensions) {
+        Assert.isTrue(dimensions > 0, "Embedding dimensions must be positive");
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> texts = request.getInstructions();
+        List<Embedding> embeddings = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            embeddings.add(new Embedding(embed(texts.get(i)), i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(document.getFormattedContent(MetadataMode.EMBED));
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        if (text != null) {
+            for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+                if (!word.isEmpty()) {
+                    addFeature(vector, word, WORD_WEIGHT);
+                    addTrigrams(vector, word);
+                }
+            }
+        }
+        return normalize(vector);
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    private void addTrigrams(float[] vector, String word) {
+        String padded = "#" + word + "#";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            addFeature(vector, padded.substring(i, i + 3), TRIGRAM_WEIGHT);
+        }
+    }
+
+    private void addFeature(float[] vector, String feature, float weight) {
+        long hash = hash(feature);
+        int bucket = (int) Long.remainderUnsigned(hash >>> 1, dimensions);
+        vector[bucket] += (hash & 1L) == 0 ? weight : -weight;
+    }
+
+    private static long hash(String feature) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : feature.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            // cosine distance is undefined on a zero vector, map texts without words to a fixed unit vector
+            vector[0] = 1f;
+            return vector;
+        }
+        float inverse = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inverse;
+        }
+        return vector;
+    }
+}
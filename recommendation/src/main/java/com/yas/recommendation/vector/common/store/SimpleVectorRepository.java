@@ -6,6 +6,9 @@ import com.yas.recommendation.vector.common.document.BaseDocument;
 import com.yas.recommendation.vector.common.document.DefaultIdGenerator;
 import com.yas.recommendation.vector.common.document.DocumentMetadata;
 import com.yas.recommendation.vector.common.formatter.DocumentFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import lombok.SneakyThrows;
@@ -33,6 +36,7 @@ public abstract class SimpleVectorRepository<D extends BaseDocument, E> implemen
 
     private ObjectMapper objectMapper;
     private EmbeddingSearchConfiguration embeddingSearchConfiguration;
+    private VectorStoreBatchWriter vectorStoreBatchWriter;
 
     private final Class<D> docType;
     private final VectorStore vectorStore;
@@ -63,9 +67,52 @@ public abstract class SimpleVectorRepository<D extends BaseDocument, E> implemen
      *
      * @param entityId the ID of the entity to fetch and add to the vector database
      */
-    @lombok.SneakyThrows
     public void add(Long entityId) {
-        final var entity = getEntity(entityId);
+        vectorStore.add(List.of(toDocument(entityId)));
+    }
+
+    /**
+     * Adds or updates the records of many entities at once. Entities are fetched with one
+     * {@link #getEntities(Collection)} call, then documents go through {@link VectorStoreBatchWriter} which embeds
+     * only the documents whose content changed with one embedding call per batch. Entities the source no longer
+     * returns are skipped.
+     *
+     * @param entityIds the IDs of the entities to fetch and upsert in the vector database
+     * @return the IDs of the entities whose embedding was (re)computed
+     */
+    public List<Long> addAll(Collection<Long> entityIds) {
+        if (entityIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Long> entityIdByDocId = new HashMap<>();
+        List<Document> documents = getEntities(new LinkedHashSet<>(entityIds)).entrySet().stream().map(entry -> {
+            Document document = toDocument(entry.getKey(), entry.getValue());
+            entityIdByDocId.put(document.getId(), entry.getKey());
+            return document;
+        }).toList();
+        return vectorStoreBatchWriter.upsert(documents).stream().map(entityIdByDocId::get).toList();
+    }
+
+    /**
+     * Fetches an entity and formats it as a vector document, see
+     * {@link com.yas.recommendation.vector.common.store.SimpleVectorRepository#getEntity(Long)}.
+     *
+     * @param entityId the ID of the entity to fetch
+     * @return the document, identified by {@link #getIdGenerator(Long)}
+     */
+    protected Document toDocument(Long entityId) {
+        return toDocument(entityId, getEntity(entityId));
+    }
+
+    /**
+     * Formats a fetched entity as a vector document.
+     *
+     * @param entityId the ID of the entity
+     * @param entity   the entity
+     * @return the document, identified by {@link #getIdGenerator(Long)}
+     */
+    @SneakyThrows
+    protected Document toDocument(Long entityId, E entity) {
         final var entityContentMap = objectMapper.convertValue(entity, Map.class);
 
         D document = docType.getDeclaredConstructor().newInstance();
@@ -74,8 +121,7 @@ public abstract class SimpleVectorRepository<D extends BaseDocument, E> implemen
         entityContentMap.put(TYPE_METADATA, documentMetadata.docIdPrefix());
         document.setMetadata(entityContentMap);
 
-        final IdGenerator idGenerator = getIdGenerator(entityId);
-        vectorStore.add(List.of(document.toDocument(idGenerator)));
+        return document.toDocument(getIdGenerator(entityId));
     }
 
     /**
@@ -90,15 +136,25 @@ public abstract class SimpleVectorRepository<D extends BaseDocument, E> implemen
     }
 
     /**
-     * Updates a record in the vector store for the given entity ID.
-     * The method first deletes the existing record by invoking {@link #delete(Long)}
-     * and then adds a new record using {@link #add(Long)}.
+     * Deletes the records of many entities with a single vector store call.
+     *
+     * @param entityIds the IDs of the entities to be deleted from the vector store
+     */
+    public void deleteAll(Collection<Long> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        vectorStore.delete(entityIds.stream().map(entityId -> getIdGenerator(entityId).generateId()).toList());
+    }
+
+    /**
+     * Updates a record in the vector store for the given entity ID through {@link #addAll(Collection)},
+     * the record is re-embedded only when its content changed.
      *
      * @param entityId the ID of the entity to be updated in the vector store
      */
     public void update(Long entityId) {
-        delete(entityId);
-        add(entityId);
+        addAll(List.of(entityId));
     }
 
     /**
@@ -146,6 +202,11 @@ public abstract class SimpleVectorRepository<D extends BaseDocument, E> implemen
         this.objectMapper = objectMapper;
     }
 
+    @Autowired
+    private void setVectorStoreBatchWriter(VectorStoreBatchWriter vectorStoreBatchWriter) {
+        this.vectorStoreBatchWriter = vectorStoreBatchWriter;
+    }
+
     @Autowired
     private void setEmbeddingSearchConfiguration(EmbeddingSearchConfiguration embeddingSearchConfiguration) {
         this.embeddingSearchConfiguration = embeddingSearchConfiguration;
@@ -1,7 +1,9 @@
 package com.yas.recommendation.vector.common.store;
 
 import com.yas.recommendation.vector.common.document.BaseDocument;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface VectorRepository<D extends BaseDocument, E> {
 
@@ -9,10 +11,16 @@ public interface VectorRepository<D extends BaseDocument, E> {
 
     E getEntity(Long entityId);
 
+    Map<Long, E> getEntities(Collection<Long> entityIds);
+
     void add(Long entityId);
 
+    List<Long> addAll(Collection<Long> entityIds);
+
     void delete(Long entityId);
 
+    void deleteAll(Collection<Long> entityIds);
+
     void update(Long entityId);
 
 }
@@ -0,0 +1,148 @@
+package com.yas.recommendation.vector.common.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Writes documents to the pgvector table by batches: one embedding call for the documents of a batch whose
+ * content changed, then one multi-row upsert for the whole batch.
+ * A document whose content hashes the same as the stored one keeps its embedding, only its metadata is updated.
+ */
+@Slf4j
+@Component
+public class VectorStoreBatchWriter {
+
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?::jsonb, ?::vector)";
+
+    /* Using JdbcTemplate to keep consistency with Spring AI implementation, instead of using JPA, JdbcClient */
+    private final JdbcTemplate jdbcTemplate;
+    private final EmbeddingModel embeddingModel;
+    private final ObjectMapper objectMapper;
+    private final String vectorTableName;
+    private final int batchSize;
+
+    public VectorStoreBatchWriter(
+            JdbcTemplate jdbcTemplate,
+            EmbeddingModel embeddingModel,
+            ObjectMapper objectMapper,
+            @Value("${spring.ai.vectorstore.pgvector.table-name:vector_store}") String vectorTableName,
+            @Value("${yas.recommendation.embedding.batch-size:64}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.embeddingModel = embeddingModel;
+        this.objectMapper = objectMapper;
+        this.vectorTableName = vectorTableName;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Inserts or updates the given documents, embedding only those whose content is new or changed.
+     *
+     * @param documents the documents, with the id generated by their {@link DefaultIdGenerator}
+     * @return the ids of the documents that were embedded
+     */
+    public List<String> upsert(List<Document> documents) {
+        List<String> embeddedIds = new ArrayList<>();
+        for (int from = 0; from < documents.size(); from += batchSize) {
+            embeddedIds.addAll(upsertBatch(documents.subList(from, Math.min(from + batchSize, documents.size()))));
+        }
+        return embeddedIds;
+    }
+
+    private List<String> upsertBatch(List<Document> documents) {
+        Map<String, String> storedHashes = findContentHashes(documents);
+
+        List<Document> changed = new ArrayList<>();
+        for (Document document : documents) {
+            if (!contentHash(document.getContent()).equals(storedHashes.get(document.getId()))) {
+                changed.add(document);
+            }
+        }
+
+        Map<String, float[]> embeddings = new HashMap<>();
+        if (!changed.isEmpty()) {
+            List<String> texts = changed.stream()
+                .map(document -> document.getFormattedContent(MetadataMode.EMBED))
+                .toList();
+            List<float[]> vectors = embeddingModel.embed(texts);
+            for (int i = 0; i < changed.size(); i++) {
+                embeddings.put(changed.get(i).getId(), vectors.get(i));
+            }
+        }
+        log.debug("Upserting {} documents, {} re-embedded", documents.size(), changed.size());
+
+        List<Object> args = new ArrayList<>(documents.size() * 4);
+        for (Document document : documents) {
+            args.add(UUID.fromString(document.getId()));
+            args.add(document.getContent());
+            args.add(toJson(document.getMetadata()));
+            args.add(toVectorLiteral(embeddings.get(document.getId())));
+        }
+        jdbcTemplate.update(upsertQuery(documents.size()), args.toArray());
+        return changed.stream().map(Document::getId).toList();
+    }
+
+    private Map<String, String> findContentHashes(List<Document> documents) {
+        String placeholders = String.join(", ", Collections.nCopies(documents.size(), "?"));
+        Object[] ids = documents.stream().map(document -> UUID.fromString(document.getId())).toArray();
+        Map<String, String> hashes = new HashMap<>();
+        String query = "SELECT id, md5(content) AS content_hash FROM %s WHERE id IN (%s)"
+            .formatted(vectorTableName, placeholders);
+        jdbcTemplate.query(query, rs -> {
+            hashes.put(rs.getString("id"), rs.getString("content_hash"));
+        }, ids);
+        return hashes;
+    }
+
+    private String upsertQuery(int rows) {
+        return """
+                INSERT INTO %1$s (id, content, metadata, embedding)
+                VALUES %2$s
+                ON CONFLICT (id) DO UPDATE SET
+                    content = EXCLUDED.content,
+                    metadata = EXCLUDED.metadata,
+                    embedding = COALESCE(EXCLUDED.embedding, %1$s.embedding)
+                """.formatted(vectorTableName, String.join(", ", Collections.nCopies(rows, ROW_PLACEHOLDERS)));
+    }
+
+    /**
+     * Hashes a content the same way as PostgreSQL {@code md5(text)} does on an UTF-8 database.
+     */
+    private static String contentHash(String content) {
+        return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toVectorLiteral(float[] embedding) {
+        if (embedding == null) {
+            return null;
+        }
+        StringBuilder literal = new StringBuilder("[");
+        for (int i = 0; i < embedding.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append(embedding[i]);
+        }
+        return literal.append(']').toString();
+    }
+
+    @SneakyThrows
+    private String toJson(Map<String, Object> metadata) {
+        return objectMapper.writeValueAsString(metadata);
+    }
+}
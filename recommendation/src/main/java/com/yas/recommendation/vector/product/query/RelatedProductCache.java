@@ -0,0 +1,83 @@
+package com.yas.recommendation.vector.product.query;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yas.recommendation.viewmodel.RelatedProductVm;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of related products keyed by product id. Entries expire after a short TTL and are evicted
+ * on product change events.
+ *
+ * <p>Concurrent misses for a same product share one in-flight lookup: the first caller registers the lookup,
+ * the others wait for its result. A failed lookup is not cached. Lookups run on virtual threads, the similarity
+ * search blocking on the vector store.</p>
+ */
+@Component
+public class RelatedProductCache {
+
+    private final ExecutorService lookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AsyncCache<Long, List<RelatedProductVm>> relatedById;
+
+    public RelatedProductCache(
+        @Value("${yas.recommendation.related-cache.maximum-size:10000}") long maximumSize,
+        @Value("${yas.recommendation.related-cache.expire-after-write:PT5M}") Duration expireAfterWrite
+    ) {
+        this.relatedById = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .executor(lookupExecutor)
+            .buildAsync();
+    }
+
+    public List<RelatedProductVm> get(long productId, Function<Long, List<RelatedProductVm>> loader) {
+        CompletableFuture<List<RelatedProductVm>> relatedProducts = relatedById.get(productId, loader);
+        try {
+            return relatedProducts.join();
+        } catch (CompletionException e) {
+            // dropped right away, the cache would only drop it once notified of the failure
+            relatedById.asMap().remove(productId, relatedProducts);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Evicts the related products of the given products, and every cached list where they appear. The lookups still
+     * in flight are evicted too, as they may have read the products before they changed: their callers get their
+     * result, but it is not cached.
+     *
+     * @param productIds the ids of the changed products
+     */
+    public void evict(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        relatedById.synchronous().invalidateAll(productIds);
+        relatedById.asMap().values().removeIf(relatedProducts -> !relatedProducts.isDone()
+            || relatedProducts.isCompletedExceptionally()
+            || relatedProducts.join().stream()
+                .anyMatch(relatedProduct -> productIds.contains(relatedProduct.getProductId())));
+    }
+
+    public void evictAll() {
+        relatedById.synchronous().invalidateAll();
+    }
+
+    @PreDestroy
+    public void close() {
+        lookupExecutor.close();
+    }
+}
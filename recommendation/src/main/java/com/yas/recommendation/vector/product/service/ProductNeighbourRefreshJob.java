@@ -0,0 +1,46 @@
+package com.yas.recommendation.vector.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background job materializing product neighbours, see {@link ProductNeighbourService}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "yas.recommendation.neighbour.refresh.enabled", havingValue = "true")
+public class ProductNeighbourRefreshJob {
+
+    private final ProductNeighbourService productNeighbourService;
+    private final int batchSize;
+
+    public ProductNeighbourRefreshJob(ProductNeighbourService productNeighbourService,
+                                      @Value("${yas.recommendation.neighbour.refresh.batch-size:200}") int batchSize) {
+        this.productNeighbourService = productNeighbourService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Backfills the products indexed before the neighbours table existed, or while the job was disabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void requestMissingNeighbours() {
+        int queued = productNeighbourService.requestMissingNeighbours();
+        if (queued > 0) {
+            log.info("Queued neighbours refresh of {} products", queued);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${yas.recommendation.neighbour.refresh.fixed-delay:PT10S}")
+    public void refreshNeighbours() {
+        int refreshed;
+        do {
+            refreshed = productNeighbourService.refreshNeighbours(batchSize);
+        } while (refreshed == batchSize);
+    }
+}
@@ -0,0 +1,137 @@
+package com.yas.recommendation.vector.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.recommendation.configuration.EmbeddingSearchConfiguration;
+import com.yas.recommendation.vector.product.store.ProductNeighbourRepository;
+import com.yas.recommendation.vector.product.store.ProductNeighbourRepository.Neighbour;
+import com.yas.recommendation.vector.product.store.ProductNeighbourRepository.RefreshRequest;
+import com.yas.recommendation.vector.product.store.ProductVectorRepository;
+import com.yas.recommendation.viewmodel.RelatedProductVm;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the materialized top-K neighbours of each product. Vector changes queue refresh requests,
+ * {@link ProductNeighbourRefreshJob} drains them, and related products are then served by primary key lookups.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductNeighbourService {
+
+    private final ProductNeighbourRepository productNeighbourRepository;
+    private final ProductVectorRepository productVectorRepository;
+    private final EmbeddingSearchConfiguration embeddingSearchConfiguration;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Queues the products whose vector changed, with propagation to their new neighbours, and the products
+     * currently listing them.
+     *
+     * @param productIds the ids of the re-embedded products.
+     */
+    public void onVectorsChanged(Collection<Long> productIds) {
+        productNeighbourRepository.requestRefresh(productIds, true);
+        productNeighbourRepository.requestRefreshOfNeighboursListing(toDocumentIds(productIds));
+    }
+
+    /**
+     * Drops the neighbours of removed products and queues the products listing them.
+     *
+     * @param productIds the ids of the deleted or unpublished products.
+     */
+    public void onProductsRemoved(Collection<Long> productIds) {
+        productNeighbourRepository.deleteNeighbours(productIds);
+        productNeighbourRepository.requestRefreshOfNeighboursListing(toDocumentIds(productIds));
+    }
+
+    /**
+     * Queues every product of the vector store which has no materialized neighbours yet.
+     *
+     * @return the number of queued products.
+     */
+    public int requestMissingNeighbours() {
+        return productNeighbourRepository.requestRefreshOfMissingNeighbours();
+    }
+
+    /**
+     * Recomputes the neighbours of the oldest queued products. The queue rows stay locked until commit,
+     * so that concurrent instances work on distinct products.
+     *
+     * @param batchSize the maximum number of products to refresh.
+     * @return the number of refreshed products.
+     */
+    @Transactional
+    public int refreshNeighbours(int batchSize) {
+        List<RefreshRequest> requests = productNeighbourRepository.claimRefreshRequests(batchSize);
+        Map<Long, List<UUID>> neighbourIdsByProductId = new LinkedHashMap<>();
+        List<Long> withoutNeighbours = new ArrayList<>();
+        Set<Long> propagatedIds = new LinkedHashSet<>();
+
+        for (RefreshRequest request : requests) {
+            List<Neighbour> neighbours = productNeighbourRepository.findNearest(
+                toDocumentId(request.productId()),
+                embeddingSearchConfiguration.topK(),
+                embeddingSearchConfiguration.similarityThreshold()
+            );
+            if (neighbours.isEmpty()) {
+                withoutNeighbours.add(request.productId());
+                continue;
+            }
+            neighbourIdsByProductId.put(request.productId(), neighbours.stream().map(Neighbour::id).toList());
+            if (request.propagate()) {
+                neighbours.forEach(neighbour -> propagatedIds.add(neighbour.productId()));
+            }
+        }
+
+        productNeighbourRepository.saveNeighbours(neighbourIdsByProductId);
+        productNeighbourRepository.deleteNeighbours(withoutNeighbours);
+        requests.forEach(request -> propagatedIds.remove(request.productId()));
+        productNeighbourRepository.requestRefresh(propagatedIds, false);
+        log.debug("Refreshed neighbours of {} products, {} neighbours queued", requests.size(), propagatedIds.size());
+        return requests.size();
+    }
+
+    /**
+     * Gets the materialized related products of a product.
+     *
+     * @param productId the product id.
+     * @return the related products, nearest first, empty when they were not computed yet.
+     */
+    public Optional<List<RelatedProductVm>> getRelatedProducts(long productId) {
+        return productNeighbourRepository.findNeighbourIds(productId).map(neighbourIds -> {
+            Map<UUID, String> metadata = productNeighbourRepository.findMetadata(neighbourIds);
+            return neighbourIds.stream()
+                .map(metadata::get)
+                .filter(Objects::nonNull)
+                .map(this::toRelatedProduct)
+                .toList();
+        });
+    }
+
+    @SneakyThrows
+    private RelatedProductVm toRelatedProduct(String metadata) {
+        return objectMapper.readValue(metadata, RelatedProductVm.class);
+    }
+
+    private UUID toDocumentId(long productId) {
+        return UUID.fromString(productVectorRepository.getIdGenerator(productId).generateId());
+    }
+
+    private List<UUID> toDocumentIds(Collection<Long> productIds) {
+        return productIds.stream().map(this::toDocumentId).toList();
+    }
+}
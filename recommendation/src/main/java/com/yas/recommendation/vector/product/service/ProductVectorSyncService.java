@@ -2,6 +2,11 @@ package com.yas.recommendation.vector.product.service;
 
 import com.yas.commonlibrary.kafka.cdc.message.Product;
 import com.yas.recommendation.vector.product.store.ProductVectorRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -14,38 +19,30 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ProductVectorSyncService {
     private final ProductVectorRepository productVectorRepository;
+    private final ProductNeighbourService productNeighbourService;
 
     /**
-     * Creates a product vector if the product is published.
+     * Synchronizes the vectors of a batch of products: published products are upserted, with one embedding
+     * call for those whose content changed, unpublished and deleted products are removed. Materialized
+     * neighbours affected by these changes are queued for a refresh.
      *
-     * @param product {@link Product} the product to be synchronized.
+     * @param products          {@link Product} the created or updated products.
+     * @param deletedProductIds the ids of the hard deleted products.
      */
-    public void createProductVector(Product product) {
-        if (product.isPublished()) {
-            productVectorRepository.add(product.getId());
+    public void syncProductVectors(Collection<Product> products, Collection<Long> deletedProductIds) {
+        List<Long> publishedIds = new ArrayList<>();
+        Set<Long> deletedIds = new LinkedHashSet<>(deletedProductIds);
+        for (Product product : products) {
+            if (product.isPublished()) {
+                publishedIds.add(product.getId());
+            } else {
+                deletedIds.add(product.getId());
+            }
         }
-    }
-
-    /**
-     * Updates a product vector if the product is published; deletes it otherwise.
-     *
-     * @param product {@link Product} the product to be synchronized.
-     */
-    public void updateProductVector(Product product) {
-        if (product.isPublished()) {
-            productVectorRepository.update(product.getId());
-        } else {
-            productVectorRepository.delete(product.getId());
-        }
-    }
-
-    /**
-     * Deletes the product vector for the specified product.
-     *
-     * @param productId The unique identifier of the product whose vector is to be deleted.
-     */
-    public void deleteProductVector(Long productId) {
-        productVectorRepository.delete(productId);
+        productVectorRepository.deleteAll(deletedIds);
+        productNeighbourService.onProductsRemoved(deletedIds);
+        List<Long> reembeddedIds = productVectorRepository.addAll(publishedIds);
+        productNeighbourService.onVectorsChanged(reembeddedIds);
     }
 
 }
@@ -0,0 +1,190 @@
+package com.yas.recommendation.vector.product.store;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Jdbc access to the materialized product neighbours ({@code product_neighbour}) and to the queue of products
+ * whose neighbours must be recomputed ({@code product_neighbour_refresh}).
+ */
+@Repository
+public class ProductNeighbourRepository {
+
+    /* Using JdbcTemplate to keep consistency with Spring AI implementation, instead of using JPA, JdbcClient */
+    private final JdbcTemplate jdbcTemplate;
+    private final String vectorTableName;
+
+    public ProductNeighbourRepository(
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.ai.vectorstore.pgvector.table-name:vector_store}") String vectorTableName
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.vectorTableName = vectorTableName;
+    }
+
+    public record Neighbour(UUID id, long productId) {
+    }
+
+    public record RefreshRequest(long productId, boolean propagate) {
+    }
+
+    /**
+     * Queues products for a neighbours refresh, a pending request keeps propagating if either request does.
+     */
+    public void requestRefresh(Collection<Long> productIds, boolean propagate) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("""
+                INSERT INTO product_neighbour_refresh (product_id, propagate)
+                SELECT product_id, ? FROM unnest(?::bigint[]) AS product_id
+                ON CONFLICT (product_id) DO UPDATE SET
+                    propagate = product_neighbour_refresh.propagate OR EXCLUDED.propagate
+                """,
+            ps -> {
+                ps.setBoolean(1, propagate);
+                ps.setArray(2, ps.getConnection().createArrayOf("bigint", productIds.toArray()));
+            });
+    }
+
+    /**
+     * Queues, without propagation, every product whose materialized neighbours contain one of the given documents.
+     */
+    public void requestRefreshOfNeighboursListing(Collection<UUID> documentIds) {
+        if (documentIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("""
+                INSERT INTO product_neighbour_refresh (product_id)
+                SELECT product_id FROM product_neighbour WHERE neighbour_ids && ?::uuid[]
+                ON CONFLICT (product_id) DO NOTHING
+                """,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", documentIds.toArray())));
+    }
+
+    /**
+     * Queues, with propagation, every product of the vector store that has no materialized neighbours yet.
+     */
+    public int requestRefreshOfMissingNeighbours() {
+        return jdbcTemplate.update("""
+                INSERT INTO product_neighbour_refresh (product_id, propagate)
+                SELECT (vs.metadata->>'id')::bigint, true FROM %s vs
+                WHERE NOT EXISTS (
+                    SELECT 1 FROM product_neighbour pn WHERE pn.product_id = (vs.metadata->>'id')::bigint
+                )
+                ON CONFLICT (product_id) DO NOTHING
+                """.formatted(vectorTableName));
+    }
+
+    /**
+     * Takes the oldest refresh requests off the queue. Rows are locked until the end of the current transaction
+     * and skipped by concurrent callers, a rollback puts them back.
+     */
+    public List<RefreshRequest> claimRefreshRequests(int limit) {
+        return jdbcTemplate.query("""
+                DELETE FROM product_neighbour_refresh WHERE product_id IN (
+                    SELECT product_id FROM product_neighbour_refresh
+                    ORDER BY requested_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING product_id, propagate
+                """,
+            (rs, rowNum) -> new RefreshRequest(rs.getLong("product_id"), rs.getBoolean("propagate")),
+            limit);
+    }
+
+    /**
+     * Finds the nearest documents of a document, with the same distance filter as the on-request similarity query.
+     * The searched vector comes from a scalar subquery so that a vector index can serve the ordering.
+     *
+     * @return the neighbours, nearest first, empty when the document does not exist
+     */
+    public List<Neighbour> findNearest(UUID documentId, int topK, double distanceThreshold) {
+        return jdbcTemplate.query("""
+                SELECT id, (metadata->>'id')::bigint AS product_id
+                FROM %1$s
+                WHERE id <> ?
+                    AND (embedding <=> (SELECT embedding FROM %1$s WHERE id = ?)) > ?
+                ORDER BY embedding <=> (SELECT embedding FROM %1$s WHERE id = ?)
+                LIMIT ?
+                """.formatted(vectorTableName),
+            (rs, rowNum) -> new Neighbour(rs.getObject("id", UUID.class), rs.getLong("product_id")),
+            documentId, documentId, distanceThreshold, documentId, topK);
+    }
+
+    public void saveNeighbours(Map<Long, List<UUID>> neighbourIdsByProductId) {
+        if (neighbourIdsByProductId.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, List<UUID>>> entries = new ArrayList<>(neighbourIdsByProductId.entrySet());
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO product_neighbour (product_id, neighbour_ids, computed_at)
+                VALUES (?, ?, now())
+                ON CONFLICT (product_id) DO UPDATE SET
+                    neighbour_ids = EXCLUDED.neighbour_ids,
+                    computed_at = EXCLUDED.computed_at
+                """,
+            entries,
+            entries.size(),
+            (ps, entry) -> {
+                ps.setLong(1, entry.getKey());
+                ps.setArray(2, ps.getConnection().createArrayOf("uuid", entry.getValue().toArray()));
+            });
+    }
+
+    public void deleteNeighbours(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM product_neighbour WHERE product_id = ANY(?::bigint[])",
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", productIds.toArray())));
+    }
+
+    /**
+     * Reads the materialized neighbours of a product by primary key.
+     *
+     * @return the neighbour document ids, nearest first, empty when they were not computed yet
+     */
+    public Optional<List<UUID>> findNeighbourIds(long productId) {
+        return jdbcTemplate.query(
+            "SELECT neighbour_ids FROM product_neighbour WHERE product_id = ?",
+            (rs, rowNum) -> toUuids(rs.getArray("neighbour_ids")),
+            productId
+        ).stream().findFirst();
+    }
+
+    /**
+     * Reads the metadata of documents by primary key.
+     *
+     * @return the metadata as JSON, keyed by document id
+     */
+    public Map<UUID, String> findMetadata(List<UUID> documentIds) {
+        if (documentIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, String> metadata = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT id, metadata FROM %s WHERE id = ANY(?::uuid[])".formatted(vectorTableName),
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", documentIds.toArray())),
+            rs -> {
+                metadata.put(rs.getObject("id", UUID.class), rs.getString("metadata"));
+            });
+        return metadata;
+    }
+
+    private static List<UUID> toUuids(Array array) throws SQLException {
+        return Arrays.stream((Object[]) array.getArray()).map(UUID.class::cast).toList();
+    }
+}
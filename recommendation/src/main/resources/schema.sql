@@ -0,0 +1,15 @@
+-- Top-K neighbours of each product, materialized from vector_store by ProductNeighbourRefreshJob
+CREATE TABLE IF NOT EXISTS product_neighbour (
+    product_id bigint PRIMARY KEY,
+    neighbour_ids uuid[] NOT NULL,
+    computed_at timestamptz NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_neighbour_neighbour_ids ON product_neighbour USING gin (neighbour_ids);
+
+-- Products whose neighbours must be recomputed, propagate also refreshes their new neighbours
+CREATE TABLE IF NOT EXISTS product_neighbour_refresh (
+    product_id bigint PRIMARY KEY,
+    propagate boolean NOT NULL DEFAULT false,
+    requested_at timestamptz NOT NULL DEFAULT now()
+);
@@ -0,0 +1,68 @@
+package com.yas.recommendation.embedding;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.yas.recommendation.vector.common.embedding.LocalEmbeddingModel;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+class LocalEmbeddingModelTest {
+
+    private final LocalEmbeddingModel embeddingModel = new LocalEmbeddingModel(256);
+
+    @DisplayName("Same text must always give the same unit vector of the configured dimensions")
+    @Test
+    void testEmbedIsDeterministic() {
+        float[] first = embeddingModel.embed("IPhone 14 Pro | Apple | [Smartphone]");
+        float[] second = new LocalEmbeddingModel(256).embed("IPhone 14 Pro | Apple | [Smartphone]");
+
+        assertEquals(256, first.length);
+        assertArrayEquals(first, second);
+        assertEquals(1.0, norm(first), 1e-5);
+    }
+
+    @DisplayName("Texts sharing words must be closer than unrelated texts")
+    @Test
+    void testEmbedKeepsSimilarTextsClose() {
+        float[] phone = embeddingModel.embed("Apple IPhone 14 Pro smartphone");
+        float[] similarPhone = embeddingModel.embed("Apple IPhone 15 Pro smartphone");
+        float[] sofa = embeddingModel.embed("Leather corner sofa for living room");
+
+        assertTrue(cosine(phone, similarPhone) > cosine(phone, sofa));
+    }
+
+    @DisplayName("Text without words must still give a unit vector")
+    @Test
+    void testEmbedBlankText() {
+        assertEquals(1.0, norm(embeddingModel.embed(" | ")), 1e-5);
+    }
+
+    @DisplayName("Batch embedding must keep the order of the texts")
+    @Test
+    void testEmbedForResponse() {
+        EmbeddingResponse response = embeddingModel.embedForResponse(List.of("first", "second"));
+
+        assertEquals(2, response.getResults().size());
+        assertArrayEquals(embeddingModel.embed("second"), response.getResults().get(1).getOutput());
+    }
+
+    private static double norm(float[] vector) {
+        return Math.sqrt(dot(vector, vector));
+    }
+
+    private static double cosine(float[] left, float[] right) {
+        return dot(left, right) / (norm(left) * norm(right));
+    }
+
+    private static double dot(float[] left, float[] right) {
+        double sum = 0;
+        for (int i = 0; i < left.length; i++) {
+            sum += left[i] * right[i];
+        }
+        return sum;
+    }
+}
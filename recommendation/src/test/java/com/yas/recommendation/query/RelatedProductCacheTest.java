@@ -0,0 +1,116 @@
+package com.yas.recommendation.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.yas.recommendation.vector.product.query.RelatedProductCache;
+import com.yas.recommendation.viewmodel.RelatedProductVm;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RelatedProductCacheTest {
+
+    private final RelatedProductCache relatedProductCache = new RelatedProductCache(100, Duration.ofMinutes(1));
+
+    @DisplayName("Concurrent misses for a same product must share a single lookup")
+    @Test
+    void testGetCoalescesConcurrentMisses() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<RelatedProductVm> related = List.of(relatedProduct(2L));
+
+        List<Future<List<RelatedProductVm>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> relatedProductCache.get(1L, id -> {
+                    lookups.incrementAndGet();
+                    await(release);
+                    return related;
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<List<RelatedProductVm>> result : results) {
+                assertSame(related, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, lookups.get());
+    }
+
+    @DisplayName("Evicting a product must drop its entry and every entry listing it")
+    @Test
+    void testEvictDropsEntriesListingProduct() {
+        AtomicInteger lookups = new AtomicInteger();
+        relatedProductCache.get(1L, id -> List.of(relatedProduct(2L)));
+        relatedProductCache.get(3L, id -> List.of(relatedProduct(4L)));
+
+        relatedProductCache.evict(List.of(2L));
+
+        relatedProductCache.get(1L, id -> {
+            lookups.incrementAndGet();
+            return List.of();
+        });
+        relatedProductCache.get(3L, id -> {
+            lookups.incrementAndGet();
+            return List.of();
+        });
+        assertEquals(1, lookups.get());
+    }
+
+    @DisplayName("Evicting a product must drop the lookups in flight, which may have read it before it changed")
+    @Test
+    void testEvictDropsLookupsInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<RelatedProductVm> stale = List.of(relatedProduct(4L));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<RelatedProductVm>> inFlight = executor.submit(() -> relatedProductCache.get(1L, id -> {
+                started.countDown();
+                await(release);
+                return stale;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            relatedProductCache.evict(List.of(2L));
+            release.countDown();
+            assertSame(stale, inFlight.get(5, TimeUnit.SECONDS));
+        }
+
+        assertTrue(relatedProductCache.get(1L, id -> List.of()).isEmpty());
+    }
+
+    @DisplayName("A failed lookup must not be cached")
+    @Test
+    void testGetDoesNotCacheFailures() {
+        assertThrows(IllegalStateException.class, () -> relatedProductCache.get(1L, id -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        assertTrue(relatedProductCache.get(1L, id -> List.of()).isEmpty());
+    }
+
+    private static RelatedProductVm relatedProduct(long productId) {
+        RelatedProductVm relatedProduct = new RelatedProductVm();
+        relatedProduct.setProductId(productId);
+        return relatedProduct;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
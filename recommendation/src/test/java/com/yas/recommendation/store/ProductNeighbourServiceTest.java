@@ -0,0 +1,174 @@
+package com.yas.recommendation.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import com.yas.recommendation.config.KafkaIntegrationTestConfiguration;
+import com.yas.recommendation.service.ProductService;
+import com.yas.recommendation.vector.product.service.ProductNeighbourService;
+import com.yas.recommendation.vector.product.store.ProductVectorRepository;
+import com.yas.recommendation.viewmodel.ProductDetailVm;
+import com.yas.recommendation.viewmodel.RelatedProductVm;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+@SpringBootTest
+@Import(KafkaIntegrationTestConfiguration.class)
+@TestPropertySource("classpath:application-test.properties")
+public class ProductNeighbourServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcClient;
+
+    @Autowired
+    private ProductVectorRepository productVectorRepository;
+
+    @Autowired
+    private ProductNeighbourService productNeighbourService;
+
+    @MockBean
+    private EmbeddingModel embeddingModel;
+
+    @MockBean
+    private ProductService productService;
+
+    @BeforeEach
+    public void setUp() {
+        when(productService.getProductDetail(anyLong()))
+            .thenAnswer(invocation -> getProductDetailVm(invocation.getArgument(0)));
+        when(productService.getProductDetails(anyCollection()))
+            .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).stream()
+                .map(ProductNeighbourServiceTest::getProductDetailVm)
+                .toList());
+        when(embeddingModel.embed(anyList()))
+            .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).stream()
+                .map(text -> randomEmbed())
+                .toList());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcClient.execute("DELETE FROM vector_store;");
+        jdbcClient.execute("DELETE FROM product_neighbour;");
+        jdbcClient.execute("DELETE FROM product_neighbour_refresh;");
+    }
+
+    @DisplayName("When vectors changed, refreshed neighbours must be served by product id")
+    @Test
+    public void testRefreshNeighboursOfChangedVectors() {
+        // Given
+        List<Long> embeddedIds = productVectorRepository.addAll(List.of(1L, 2L, 3L));
+        productNeighbourService.onVectorsChanged(embeddedIds);
+
+        // When
+        int refreshed = productNeighbourService.refreshNeighbours(100);
+
+        // Then
+        assertEquals(3, refreshed);
+        assertEquals(Set.of(2L, 3L), getRelatedProductIds(1L));
+        assertEquals(Set.of(1L, 3L), getRelatedProductIds(2L));
+        assertEquals(0, productNeighbourService.refreshNeighbours(100));
+    }
+
+    @DisplayName("When a product is removed, products listing it must be refreshed without it")
+    @Test
+    public void testRefreshNeighboursOfRemovedProduct() {
+        // Given
+        productNeighbourService.onVectorsChanged(productVectorRepository.addAll(List.of(1L, 2L, 3L)));
+        productNeighbourService.refreshNeighbours(100);
+
+        // When
+        productVectorRepository.deleteAll(List.of(3L));
+        productNeighbourService.onProductsRemoved(List.of(3L));
+        int refreshed = productNeighbourService.refreshNeighbours(100);
+
+        // Then
+        assertEquals(2, refreshed);
+        assertEquals(Set.of(2L), getRelatedProductIds(1L));
+        assertTrue(productNeighbourService.getRelatedProducts(3L).isEmpty());
+    }
+
+    @DisplayName("When neighbours were not computed yet, they must be backfilled from the vector store")
+    @Test
+    public void testRequestMissingNeighbours() {
+        // Given
+        productVectorRepository.addAll(List.of(1L, 2L));
+        assertTrue(productNeighbourService.getRelatedProducts(1L).isEmpty());
+
+        // When
+        int queued = productNeighbourService.requestMissingNeighbours();
+        productNeighbourService.refreshNeighbours(100);
+
+        // Then
+        assertEquals(2, queued);
+        assertEquals(Set.of(2L), getRelatedProductIds(1L));
+    }
+
+    private Set<Long> getRelatedProductIds(long productId) {
+        return productNeighbourService.getRelatedProducts(productId).orElseThrow().stream()
+            .map(RelatedProductVm::getProductId)
+            .collect(Collectors.toSet());
+    }
+
+    private static float @NotNull [] randomEmbed() {
+        int size = 1536;
+        float[] floatArray = new float[size];
+        Random random = new Random();
+        for (int i = 0; i < size; i++) {
+            floatArray[i] = random.nextFloat();
+        }
+        return floatArray;
+    }
+
+    private static @NotNull ProductDetailVm getProductDetailVm(long productId) {
+        return new ProductDetailVm(
+            productId,
+            "IPhone " + productId,
+            "Latest iPhone model",
+            "The iPhone comes with the latest technology...",
+            "6.1-inch display, A16 Bionic chip, 128GB Storage",
+            "IPH" + productId,
+            "0123456789012",
+            "iphone-" + productId,
+            true,
+            true,
+            true,
+            true,
+            true,
+            999.99,
+            101L,
+            Collections.emptyList(),
+            "iPhone " + productId,
+            "iPhone, Apple, Smartphone",
+            "Buy the latest iPhone...",
+            1L,
+            "Apple",
+            Collections.emptyList(),
+            null,
+            null,
+            null
+        );
+    }
+}
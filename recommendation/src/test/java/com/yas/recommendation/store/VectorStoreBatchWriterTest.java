@@ -0,0 +1,168 @@
+package com.yas.recommendation.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.recommendation.config.KafkaIntegrationTestConfiguration;
+import com.yas.recommendation.service.ProductService;
+import com.yas.recommendation.vector.product.store.ProductVectorRepository;
+import com.yas.recommendation.viewmodel.ProductDetailVm;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+@SpringBootTest
+@Import(KafkaIntegrationTestConfiguration.class)
+@TestPropertySource("classpath:application-test.properties")
+public class VectorStoreBatchWriterTest {
+
+    @Autowired
+    private JdbcTemplate jdbcClient;
+
+    @Autowired
+    private ProductVectorRepository productVectorRepository;
+
+    @MockBean
+    private EmbeddingModel embeddingModel;
+
+    @MockBean
+    private ProductService productService;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcClient.execute("DELETE FROM vector_store;");
+    }
+
+    @DisplayName("When adding many documents, they must be embedded with a single call")
+    @Test
+    public void testAddAllDocuments() {
+        // Given
+        when(productService.getProductDetails(Set.of(1L, 2L))).thenReturn(
+            List.of(getProductDetailVm(1L, "IPhone 14 Pro"), getProductDetailVm(2L, "IPhone 15 Pro")));
+        when(embeddingModel.embed(anyList())).thenReturn(List.of(randomEmbed(), randomEmbed()));
+
+        // When
+        productVectorRepository.addAll(List.of(1L, 2L));
+
+        // Then
+        verify(productService, times(1)).getProductDetails(Set.of(1L, 2L));
+        ArgumentCaptor<List<String>> textsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(embeddingModel, times(1)).embed(textsCaptor.capture());
+        assertEquals(2, textsCaptor.getValue().size());
+        assertEquals(2, findAll().size());
+    }
+
+    @DisplayName("When content of a document did not change, its embedding must be kept")
+    @Test
+    public void testAddAllDocumentsWithSameContent() {
+        // Given
+        when(productService.getProductDetails(Set.of(1L))).thenReturn(List.of(getProductDetailVm(1L, "IPhone 14 Pro")));
+        when(embeddingModel.embed(anyList())).thenReturn(List.of(randomEmbed()));
+        productVectorRepository.addAll(List.of(1L));
+        String embedding = findAll().getFirst().get("embedding").toString();
+
+        // When
+        productVectorRepository.addAll(List.of(1L));
+
+        // Then
+        verify(embeddingModel, times(1)).embed(anyList());
+        assertEquals(embedding, findAll().getFirst().get("embedding").toString());
+    }
+
+    @DisplayName("When content of a document changed, it must be embedded again")
+    @Test
+    public void testAddAllDocumentsWithChangedContent() {
+        // Given
+        when(productService.getProductDetails(Set.of(1L))).thenReturn(List.of(getProductDetailVm(1L, "IPhone 14 Pro")));
+        when(embeddingModel.embed(anyList())).thenReturn(List.of(randomEmbed()));
+        productVectorRepository.addAll(List.of(1L));
+        String embedding = findAll().getFirst().get("embedding").toString();
+
+        // When
+        when(productService.getProductDetails(Set.of(1L)))
+            .thenReturn(List.of(getProductDetailVm(1L, "IPhone 14 Pro Max")));
+        when(embeddingModel.embed(anyList())).thenReturn(List.of(randomEmbed()));
+        productVectorRepository.addAll(List.of(1L));
+
+        // Then
+        verify(embeddingModel, times(2)).embed(anyList());
+        List<Map<String, Object>> results = findAll();
+        assertEquals(1, results.size());
+        assertNotEquals(embedding, results.getFirst().get("embedding").toString());
+    }
+
+    @DisplayName("When there is nothing to add, embedding model must not be called")
+    @Test
+    public void testAddAllWithoutDocuments() {
+        productVectorRepository.addAll(List.of());
+
+        verify(productService, never()).getProductDetails(anyCollection());
+        verify(embeddingModel, never()).embed(anyList());
+    }
+
+    private List<Map<String, Object>> findAll() {
+        return jdbcClient.queryForList("SELECT id, content, embedding::text AS embedding FROM vector_store;");
+    }
+
+    private static float @NotNull [] randomEmbed() {
+        int size = 1536;
+        float[] floatArray = new float[size];
+        Random random = new Random();
+        for (int i = 0; i < size; i++) {
+            floatArray[i] = random.nextFloat();
+        }
+        return floatArray;
+    }
+
+    private static @NotNull ProductDetailVm getProductDetailVm(long productId, String name) {
+        return new ProductDetailVm(
+            productId,
+            name,
+            "Latest iPhone model",
+            "The iPhone 14 Pro comes with the latest technology...",
+            "6.1-inch display, A16 Bionic chip, 128GB Storage",
+            "IPH14PRO",
+            "0123456789012",
+            "iphone-14-pro",
+            true,
+            true,
+            true,
+            true,
+            true,
+            999.99,
+            101L,
+            Collections.emptyList(),
+            "iPhone 14 Pro",
+            "iPhone, Apple, Smartphone",
+            "Buy the latest iPhone 14 Pro...",
+            1L,
+            "Apple",
+            Collections.emptyList(),
+            null,
+            null,
+            null
+        );
+    }
+}
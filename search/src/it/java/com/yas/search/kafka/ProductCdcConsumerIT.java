@@ -21,6 +21,7 @@ import common.kafka.CdcConsumerTest;
 import java.net.URI;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import org.jetbrains.annotations.NotNull;
@@ -39,7 +40,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, ProductCdcMessage> {
 
-    public static final String STOREFRONT_PRODUCTS_ES_PATH = "/storefront/products-es/{id}";
+    public static final String STOREFRONT_PRODUCTS_ES_PATH = "/storefront/products-es";
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -68,15 +69,12 @@ public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, Product
             throws ExecutionException, InterruptedException, TimeoutException {
         // Given
         long productId = 1L;
-        ProductEsDetailVm response = getSampleProduct();
+        ProductEsDetailVm response = getSampleProduct(productId);
 
         // When
         // Simulate Product Detail API response
-        final URI url = UriComponentsBuilder.fromHttpUrl(serviceUrlConfig.product())
-                .path(STOREFRONT_PRODUCTS_ES_PATH)
-                .buildAndExpand(productId)
-                .toUri();
-        simulateHttpRequestWithResponse(url, response, ProductEsDetailVm.class);
+        final URI url = productsEsUrl(productId);
+        simulateHttpRequestWithResponseToEntity(url, List.of(response), List.class);
 
         // Sending CDC Event
         sendMsg(
@@ -89,7 +87,7 @@ public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, Product
         // Then
         // Verify consumer
         waitForConsumer(2, 1, 0, 0);
-        verify(productSyncDataService, times(1)).createProduct(productId);
+        verify(productSyncDataService, times(1)).syncProducts(Set.of(productId), Set.of(), Set.of());
 
         // Verify ES Sync data
         Optional<com.yas.search.model.Product> product = productRepository.findById(productId);
@@ -105,11 +103,8 @@ public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, Product
 
         // When
         // Simulate Product Detail API throw errors
-        final URI url = UriComponentsBuilder.fromHttpUrl(serviceUrlConfig.product())
-                .path(STOREFRONT_PRODUCTS_ES_PATH)
-                .buildAndExpand(productId)
-                .toUri();
-        simulateHttpRequestWithError(url, new RuntimeException("Invalid Request"), ProductEsDetailVm.class);
+        final URI url = productsEsUrl(productId);
+        simulateHttpRequestWithErrorToEntity(url, new RuntimeException("Invalid Request"));
 
         // Sending CDC Event
         sendMsg(
@@ -121,7 +116,7 @@ public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, Product
 
         // Then
         waitForConsumer(2, 1, 4, 6);
-        verify(productSyncDataService, times(4)).createProduct(productId);
+        verify(productSyncDataService, times(4)).syncProducts(Set.of(productId), Set.of(), Set.of());
     }
 
     @DisplayName("When having product update event, data must sync as update")
@@ -130,7 +125,7 @@ public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, Product
             throws ExecutionException, InterruptedException, TimeoutException {
         // Given
         long productId = 1L;
-        ProductEsDetailVm response = getSampleProduct();
+        ProductEsDetailVm response = getSampleProduct(productId);
 
         // Create existing product
         com.yas.search.model.Product product = getSampleEsProduct(productId);
@@ -138,11 +133,8 @@ public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, Product
 
         // When
         // Simulate Product Detail API response
-        final URI url = UriComponentsBuilder.fromHttpUrl(serviceUrlConfig.product())
-                .path(STOREFRONT_PRODUCTS_ES_PATH)
-                .buildAndExpand(productId)
-                .toUri();
-        simulateHttpRequestWithResponse(url, response, ProductEsDetailVm.class);
+        final URI url = productsEsUrl(productId);
+        simulateHttpRequestWithResponseToEntity(url, List.of(response), List.class);
 
         // Sending CDC Event
         sendMsg(
@@ -155,7 +147,7 @@ public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, Product
         // Then
         // Verify Consumer
         waitForConsumer(2, 1, 0, 0);
-        verify(productSyncDataService, times(1)).updateProduct(productId);
+        verify(productSyncDataService, times(1)).syncProducts(Set.of(), Set.of(productId), Set.of());
         Optional<com.yas.search.model.Product> updated = productRepository.findById(productId);
 
         // Verify ES sync data
@@ -169,7 +161,7 @@ public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, Product
             throws ExecutionException, InterruptedException, TimeoutException {
         // Given
         long productId = 1L;
-        ProductEsDetailVm response = getSampleProduct();
+        ProductEsDetailVm response = getSampleProduct(productId);
 
         // Create existing product
         com.yas.search.model.Product product = getSampleEsProduct(productId);
@@ -177,11 +169,8 @@ public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, Product
 
         // When
         // Simulate Product Detail API response
-        final URI url = UriComponentsBuilder.fromHttpUrl(serviceUrlConfig.product())
-                .path(STOREFRONT_PRODUCTS_ES_PATH)
-                .buildAndExpand(productId)
-                .toUri();
-        simulateHttpRequestWithResponse(url, response, ProductEsDetailVm.class);
+        final URI url = productsEsUrl(productId);
+        simulateHttpRequestWithResponseToEntity(url, List.of(response), List.class);
 
         // Sending CDC Event
         sendMsg(
@@ -194,7 +183,7 @@ public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, Product
         // Then
         // Verify Consumer
         waitForConsumer(2, 1, 0, 0);
-        verify(productSyncDataService, times(1)).deleteProduct(productId);
+        verify(productSyncDataService, times(1)).syncProducts(Set.of(), Set.of(), Set.of(productId));
         Optional<com.yas.search.model.Product> updated = productRepository.findById(productId);
 
         // Verify ES sync data
@@ -208,9 +197,17 @@ public class ProductCdcConsumerIT extends CdcConsumerTest<ProductMsgKey, Product
         return product;
     }
 
-    private static @NotNull ProductEsDetailVm getSampleProduct() {
+    private URI productsEsUrl(long productId) {
+        return UriComponentsBuilder.fromHttpUrl(serviceUrlConfig.product())
+                .path(STOREFRONT_PRODUCTS_ES_PATH)
+                .queryParam("ids", String.valueOf(productId))
+                .build()
+                .toUri();
+    }
+
+    private static @NotNull ProductEsDetailVm getSampleProduct(long productId) {
         return new ProductEsDetailVm(
-                1001L,
+                productId,
                 "Wireless Bluetooth Speaker",
                 "wireless-bluetooth-speaker",
                 79.99,
@@ -7,6 +7,7 @@ public class ProductField {
     public static final String IS_PUBLISHED = "isPublished";
     public static final String CATEGORIES = "categories";
     public static final String ATTRIBUTES = "attributes";
+    public static final String IS_FEATURED = "isFeatured";
     public static final String CREATE_ON = "createdOn";
 
     private ProductField() {
@@ -1,25 +1,24 @@
 package com.yas.search.kafka.consumer;
 
 import static com.yas.commonlibrary.kafka.cdc.message.Operation.DELETE;
-import static com.yas.search.kafka.config.consumer.ProductCdcKafkaListenerConfig.PRODUCT_CDC_LISTENER_CONTAINER_FACTORY;
+import static com.yas.search.kafka.config.consumer.ProductCdcKafkaListenerConfig.PRODUCT_CDC_BATCH_LISTENER_CONTAINER_FACTORY;
 
 import com.yas.commonlibrary.kafka.cdc.BaseCdcConsumer;
-import com.yas.commonlibrary.kafka.cdc.RetrySupportDql;
 import com.yas.commonlibrary.kafka.cdc.message.ProductCdcMessage;
 import com.yas.commonlibrary.kafka.cdc.message.ProductMsgKey;
 import com.yas.search.service.ProductSyncDataService;
-import jakarta.validation.Valid;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.MessageHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Headers;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
 /**
  * Product synchronize data consumer for elasticsearch.
+ * Records are consumed in batches and only the latest event of each product is applied, so a reimport
+ * costs one product call and one bulk write per batch instead of per record.
  */
 @Slf4j
 @Service
@@ -35,30 +34,34 @@ public class ProductSyncDataConsumer extends BaseCdcConsumer<ProductMsgKey, Prod
         id = "product-sync-es",
         groupId = "product-sync-search",
         topics = "${product.topic.name}",
-        containerFactory = PRODUCT_CDC_LISTENER_CONTAINER_FACTORY
+        containerFactory = PRODUCT_CDC_BATCH_LISTENER_CONTAINER_FACTORY
     )
-    @RetrySupportDql(listenerContainerFactory = PRODUCT_CDC_LISTENER_CONTAINER_FACTORY)
-    public void processMessage(
-        @Header(KafkaHeaders.RECEIVED_KEY) ProductMsgKey key,
-        @Payload(required = false) @Valid ProductCdcMessage productCdcMessage,
-        @Headers MessageHeaders headers
-    ) {
-        processMessage(key, productCdcMessage, headers, this::sync);
+    public void processMessages(List<ConsumerRecord<ProductMsgKey, ProductCdcMessage>> records) {
+        processMessages(records, this::sync);
     }
 
-    public void sync(ProductMsgKey key, ProductCdcMessage productCdcMessage) {
-        boolean isHardDeleteEvent = productCdcMessage == null || DELETE.equals(productCdcMessage.getOp());
-        if (isHardDeleteEvent) {
-            log.warn("Having hard delete event for product: '{}'", key.getId());
-            productSyncDataService.deleteProduct(key.getId());
-        } else {
+    public void sync(List<ConsumerRecord<ProductMsgKey, ProductCdcMessage>> records) {
+        Set<Long> createdIds = new LinkedHashSet<>();
+        Set<Long> updatedIds = new LinkedHashSet<>();
+        Set<Long> deletedIds = new LinkedHashSet<>();
+
+        for (ConsumerRecord<ProductMsgKey, ProductCdcMessage> latest : latestPerEntity(records, ProductMsgKey::getId)) {
+            var productId = latest.key().getId();
+            ProductCdcMessage productCdcMessage = latest.value();
+            // a null value is a tombstone, records that failed to deserialize are sent to the DLT beforehand
+            boolean isHardDeleteEvent = productCdcMessage == null || DELETE.equals(productCdcMessage.getOp());
+            if (isHardDeleteEvent) {
+                log.warn("Having hard delete event for product: '{}'", productId);
+                deletedIds.add(productId);
+                continue;
+            }
             var operation = productCdcMessage.getOp();
-            var productId = key.getId();
             switch (operation) {
-                case CREATE, READ -> productSyncDataService.createProduct(productId);
-                case UPDATE -> productSyncDataService.updateProduct(productId);
+                case CREATE, READ -> createdIds.add(productId);
+                case UPDATE -> updatedIds.add(productId);
                 default -> log.warn("Unsupported operation '{}' for product: '{}'", operation, productId);
             }
         }
+        productSyncDataService.syncProducts(createdIds, updatedIds, deletedIds);
     }
 }
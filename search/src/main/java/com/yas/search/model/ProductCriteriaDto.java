@@ -1,6 +1,10 @@
 package com.yas.search.model;
 
 import com.yas.search.constant.enums.SortType;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
 
 public record ProductCriteriaDto(String keyword,
                                  Integer page,
@@ -11,4 +15,38 @@ public record ProductCriteriaDto(String keyword,
                                  Double minPrice,
                                  Double maxPrice,
                                  SortType sortType) {
+
+    /**
+     * Returns the same criteria in a canonical form, so that equivalent searches are equal: the keyword is
+     * trimmed with its inner whitespace collapsed, and the comma separated filter values are trimmed, lower-cased,
+     * deduplicated and sorted, since they are matched case-insensitively in any order. Blank filters become
+     * {@code null}.
+     */
+    public ProductCriteriaDto normalized() {
+        return new ProductCriteriaDto(
+            StringUtils.normalizeSpace(keyword),
+            page,
+            size,
+            normalizeValues(brand),
+            normalizeValues(category),
+            normalizeValues(attribute),
+            minPrice,
+            maxPrice,
+            sortType
+        );
+    }
+
+    private static String normalizeValues(String values) {
+        if (StringUtils.isBlank(values)) {
+            return null;
+        }
+        String normalized = Arrays.stream(values.split(","))
+            .map(String::strip)
+            .filter(value -> !value.isEmpty())
+            .map(value -> value.toLowerCase(Locale.ROOT))
+            .distinct()
+            .sorted()
+            .collect(Collectors.joining(","));
+        return normalized.isEmpty() ? null : normalized;
+    }
 }
@@ -0,0 +1,52 @@
+package com.yas.search.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yas.search.model.ProductCriteriaDto;
+import com.yas.search.viewmodel.ProductListGetVm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of catalog search results, facets included, keyed by normalized criteria.
+ * Entries expire after a short TTL and are evicted whenever this instance writes to the product index.
+ *
+ * <p>Hits, misses and evictions are published as the {@code cache.*} meters tagged
+ * {@code cache=product-search}.</p>
+ */
+@Component
+public class ProductSearchCache {
+    static final String CACHE_NAME = "product-search";
+
+    private final Cache<ProductCriteriaDto, ProductListGetVm> resultByCriteria;
+
+    public ProductSearchCache(@Value("${yas.search.result-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${yas.search.result-cache.expire-after-write:PT30S}")
+                              Duration expireAfterWrite,
+                              MeterRegistry meterRegistry) {
+        this.resultByCriteria = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, resultByCriteria, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached result of the given criteria, or searches and caches it on a miss.
+     *
+     * @param criteria the normalized criteria, see {@link ProductCriteriaDto#normalized()}
+     * @param loader   runs the search
+     */
+    public ProductListGetVm get(ProductCriteriaDto criteria, Function<ProductCriteriaDto, ProductListGetVm> loader) {
+        return resultByCriteria.get(criteria, loader);
+    }
+
+    public void evictAll() {
+        resultByCriteria.invalidateAll();
+    }
+}
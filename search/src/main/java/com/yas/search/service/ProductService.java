@@ -25,22 +25,38 @@ import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregatio
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHitSupport;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.SearchPage;
-import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ProductService {
+    private static final int SUGGESTION_SIZE = 10;
+
     private final ElasticsearchOperations elasticsearchOperations;
+    private final ProductSearchCache productSearchCache;
+    private final ProductSuggestionIndex productSuggestionIndex;
 
-    public ProductService(ElasticsearchOperations elasticsearchOperations) {
+    public ProductService(ElasticsearchOperations elasticsearchOperations, ProductSearchCache productSearchCache,
+                          ProductSuggestionIndex productSuggestionIndex) {
         this.elasticsearchOperations = elasticsearchOperations;
+        this.productSearchCache = productSearchCache;
+        this.productSuggestionIndex = productSuggestionIndex;
     }
 
+    /**
+     * Searches the published products matching the criteria, with the category, attribute and brand facets.
+     * The criteria are normalized first and equal searches are answered from {@link ProductSearchCache}.
+     * The listed products gain popularity in {@link ProductSuggestionIndex}.
+     */
     public ProductListGetVm findProductAdvance(ProductCriteriaDto productCriteria) {
+        ProductListGetVm productList = productSearchCache.get(productCriteria.normalized(), this::searchProductAdvance);
+        productSuggestionIndex.recordListings(productList.products().stream().map(ProductGetVm::id).toList());
+        return productList;
+    }
+
+    private ProductListGetVm searchProductAdvance(ProductCriteriaDto productCriteria) {
         NativeQueryBuilder nativeQuery = NativeQuery.builder()
                 .withAggregation("categories", Aggregation.of(a -> a
                         .terms(ta -> ta.field(ProductField.CATEGORIES))))
@@ -149,21 +165,13 @@ public class ProductService {
         return aggregationsMap;
     }
 
+    /**
+     * Suggests the names of the top {@value #SUGGESTION_SIZE} products whose name has words starting with the
+     * keyword words, from {@link ProductSuggestionIndex}.
+     */
     public ProductNameListVm autoCompleteProductName(final String keyword) {
-        NativeQuery matchQuery = NativeQuery.builder()
-                .withQuery(
-                        q -> q.matchPhrasePrefix(
-                                matchPhrasePrefix -> matchPhrasePrefix.field("name").query(keyword)
-                        )
-                )
-                .withSourceFilter(new FetchSourceFilter(
-                        new String[]{"name"},
-                        null)
-                )
-                .build();
-        SearchHits<Product> result = elasticsearchOperations.search(matchQuery, Product.class);
-        List<Product> products = result.stream().map(SearchHit::getContent).toList();
-
-        return new ProductNameListVm(products.stream().map(ProductNameGetVm::fromModel).toList());
+        return new ProductNameListVm(productSuggestionIndex.suggest(keyword, SUGGESTION_SIZE).stream()
+                .map(ProductNameGetVm::new)
+                .toList());
     }
 }
@@ -0,0 +1,379 @@
+package com.yas.search.service;
+
+import com.yas.commonlibrary.index.RefreshableIndex;
+import com.yas.search.constant.ProductField;
+import com.yas.search.model.Product;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory prefix index of the indexed product names, so that autocomplete is answered without a query.
+ *
+ * <p>A name is indexed once per word, under the words from that one to the end, in a sorted map. Like the
+ * {@code match_phrase_prefix} query it replaces, a keyword matches a name when its words are, in order, prefixes of
+ * consecutive words of the name: the first keyword word selects a contiguous range of the map, the other words
+ * filter it. A scan stops after {@value #MAX_SCANNED_KEYS} keys, so a keyword whose first word is very short and is
+ * followed by other words is answered from the first matching names in alphabetical order only.</p>
+ *
+ * <p>Keywords of a single word of at most {@value #SHORT_PREFIX_LENGTH} characters would scan a large part of the
+ * map, so the best {@value #TOP_NAMES_PER_SHORT_PREFIX} names of every such prefix are computed ahead. A change
+ * re-ranks only the short prefixes of the words of the names it removes and adds. The whole ranking is computed again
+ * every {@code ranking-refresh-interval}, to follow popularity and to refill the prefixes whose names were removed.</p>
+ *
+ * <p>Suggestions are ranked by popularity, the number of times the product was listed by a catalog search on this
+ * instance, then featured products first, then shorter names first. Popularity is kept in memory only: each instance
+ * ranks by its own searches, and counts start from zero when the instance restarts.</p>
+ *
+ * <p>The products written by this instance are applied right away, and the whole index is rebuilt from Elasticsearch
+ * periodically to pick up the writes of other instances.</p>
+ */
+@Slf4j
+@Component
+public class ProductSuggestionIndex extends RefreshableIndex<ProductSuggestionIndex.ProductChange,
+    ProductSuggestionIndex.Suggestions> {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int SHORT_PREFIX_LENGTH = 2;
+    private static final int TOP_NAMES_PER_SHORT_PREFIX = 20;
+    private static final int MAX_SCANNED_KEYS = 10_000;
+    private static final Comparator<RankedSuggestion> RANKING = Comparator
+        .comparingLong(RankedSuggestion::popularity).reversed()
+        .thenComparing(ranked -> ranked.suggestion().featured(), Comparator.reverseOrder())
+        .thenComparingInt(ranked -> ranked.suggestion().name().length())
+        .thenComparing(ranked -> ranked.suggestion().name());
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final Map<Long, LongAdder> popularityById = new ConcurrentHashMap<>();
+
+    public ProductSuggestionIndex(ElasticsearchOperations elasticsearchOperations) {
+        this.elasticsearchOperations = elasticsearchOperations;
+    }
+
+    /**
+     * A written product, or a deleted one when {@code product} is null.
+     */
+    record ProductChange(Long productId, Product product) {
+    }
+
+    /**
+     * Returns the names of the best ranked products matching a keyword, without duplicates.
+     *
+     * @param keyword the words typed so far, the last one possibly incomplete
+     * @param limit   the maximum number of names
+     */
+    public List<String> suggest(String keyword, int limit) {
+        String[] keywordWords = words(keyword);
+        if (keywordWords.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        Suggestions current = snapshot();
+        if (keywordWords.length == 1 && keywordWords[0].length() <= SHORT_PREFIX_LENGTH
+            && limit <= TOP_NAMES_PER_SHORT_PREFIX) {
+            return current.topByShortPrefix().getOrDefault(keywordWords[0], List.of()).stream()
+                .limit(limit)
+                .map(ranked -> ranked.suggestion().name())
+                .toList();
+        }
+        TopSuggestions top = new TopSuggestions(limit);
+        int scannedKeys = 0;
+        for (Map.Entry<String, WordPosition> entry : current.byKey().tailMap(keywordWords[0]).entrySet()) {
+            if (!entry.getKey().startsWith(keywordWords[0]) || ++scannedKeys > MAX_SCANNED_KEYS) {
+                break;
+            }
+            WordPosition position = entry.getValue();
+            if (position.startsWith(keywordWords)) {
+                // popularity is read once per candidate, so that the ranking stays consistent while sorting
+                Suggestion suggestion = position.suggestion();
+                top.offer(new RankedSuggestion(suggestion, popularity(suggestion)));
+            }
+        }
+        return top.names();
+    }
+
+    /**
+     * Counts one listing of each of the given products in catalog search results.
+     */
+    public void recordListings(Collection<Long> productIds) {
+        productIds.stream()
+            .filter(Objects::nonNull)
+            .forEach(id -> popularityById.computeIfAbsent(id, key -> new LongAdder()).increment());
+    }
+
+    /**
+     * Indexes the current names of products just written to Elasticsearch, replacing their previous names.
+     */
+    public void put(Collection<Product> products) {
+        update(products.stream().map(product -> new ProductChange(product.getId(), product)).toList());
+    }
+
+    /**
+     * Removes products just deleted from Elasticsearch.
+     */
+    public void remove(Collection<Long> productIds) {
+        productIds.forEach(popularityById::remove);
+        update(productIds.stream().map(productId -> new ProductChange(productId, null)).toList());
+    }
+
+    @Override
+    @Scheduled(
+        initialDelayString = "${yas.search.suggestion-index.rebuild-interval:PT5M}",
+        fixedDelayString = "${yas.search.suggestion-index.rebuild-interval:PT5M}"
+    )
+    public void rebuild() {
+        super.rebuild();
+    }
+
+    /**
+     * Ranks the names of the short prefixes again with the current popularity.
+     */
+    @Scheduled(
+        initialDelayString = "${yas.search.suggestion-index.ranking-refresh-interval:PT1M}",
+        fixedDelayString = "${yas.search.suggestion-index.ranking-refresh-interval:PT1M}"
+    )
+    public synchronized void refreshRanking() {
+        Suggestions current = loadedSnapshot();
+        if (current != null) {
+            Map<String, List<RankedSuggestion>> ranking = rankShortPrefixes(current);
+            current.topByShortPrefix().putAll(ranking);
+            current.topByShortPrefix().keySet().retainAll(ranking.keySet());
+        }
+    }
+
+    @Override
+    protected Suggestions load() {
+        NativeQuery query = NativeQuery.builder()
+            .withQuery(q -> q.matchAll(matchAll -> matchAll))
+            .withSourceFilter(new FetchSourceFilter(new String[]{ProductField.NAME, ProductField.IS_FEATURED}, null))
+            .withPageable(PageRequest.of(0, REBUILD_BATCH_SIZE))
+            .build();
+        Suggestions loaded = new Suggestions(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>(),
+            new ConcurrentHashMap<>());
+        try (SearchHitsIterator<Product> hits = elasticsearchOperations.searchForStream(query, Product.class)) {
+            while (hits.hasNext()) {
+                loaded.add(hits.next().getContent());
+            }
+        }
+        loaded.topByShortPrefix().putAll(rankShortPrefixes(loaded));
+        log.debug("Indexed the names of {} products for suggestions", loaded.byProductId().size());
+        return loaded;
+    }
+
+    @Override
+    protected Suggestions apply(Suggestions current, Collection<ProductChange> changes) {
+        Set<Long> changedIds = new HashSet<>();
+        Set<String> removedPrefixes = new HashSet<>();
+        Map<Long, Suggestion> addedById = new HashMap<>();
+        for (ProductChange change : changes) {
+            changedIds.add(change.productId());
+            addedById.remove(change.productId());
+            Suggestion removed = current.remove(change.productId());
+            if (removed != null) {
+                removedPrefixes.addAll(shortPrefixes(removed));
+            }
+            Suggestion added = change.product() == null ? null : current.add(change.product());
+            if (added != null) {
+                addedById.put(added.productId(), added);
+            }
+        }
+
+        // the names kept of a touched prefix are ranked again with the added ones only
+        Map<String, TopSuggestions> topByTouchedPrefix = new HashMap<>();
+        Function<String, TopSuggestions> rankedSoFar = prefix -> {
+            TopSuggestions top = new TopSuggestions(TOP_NAMES_PER_SHORT_PREFIX);
+            current.topByShortPrefix().getOrDefault(prefix, List.of()).stream()
+                .filter(ranked -> !changedIds.contains(ranked.suggestion().productId()))
+                .forEach(top::offer);
+            return top;
+        };
+        removedPrefixes.forEach(prefix -> topByTouchedPrefix.computeIfAbsent(prefix, rankedSoFar));
+        addedById.values().forEach(suggestion -> {
+            RankedSuggestion ranked = new RankedSuggestion(suggestion, popularity(suggestion));
+            shortPrefixes(suggestion).forEach(prefix ->
+                topByTouchedPrefix.computeIfAbsent(prefix, rankedSoFar).offer(ranked));
+        });
+        topByTouchedPrefix.forEach((prefix, top) -> {
+            List<RankedSuggestion> ranked = top.ranked();
+            if (ranked.isEmpty()) {
+                current.topByShortPrefix().remove(prefix);
+            } else {
+                current.topByShortPrefix().put(prefix, ranked);
+            }
+        });
+        return current;
+    }
+
+    private Map<String, List<RankedSuggestion>> rankShortPrefixes(Suggestions current) {
+        Map<Long, Long> popularityByProductId = new HashMap<>();
+        Map<String, TopSuggestions> topByPrefix = new HashMap<>();
+        for (WordPosition position : current.byKey().values()) {
+            Suggestion suggestion = position.suggestion();
+            RankedSuggestion ranked = new RankedSuggestion(suggestion,
+                popularityByProductId.computeIfAbsent(suggestion.productId(), id -> popularity(suggestion)));
+            String word = suggestion.words()[position.start()];
+            for (int length = 1; length <= Math.min(SHORT_PREFIX_LENGTH, word.length()); length++) {
+                topByPrefix.computeIfAbsent(word.substring(0, length),
+                    prefix -> new TopSuggestions(TOP_NAMES_PER_SHORT_PREFIX)).offer(ranked);
+            }
+        }
+        Map<String, List<RankedSuggestion>> ranking = new HashMap<>(topByPrefix.size());
+        topByPrefix.forEach((prefix, top) -> ranking.put(prefix, top.ranked()));
+        return ranking;
+    }
+
+    private static Set<String> shortPrefixes(Suggestion suggestion) {
+        Set<String> prefixes = new HashSet<>();
+        for (String word : suggestion.words()) {
+            for (int length = 1; length <= Math.min(SHORT_PREFIX_LENGTH, word.length()); length++) {
+                prefixes.add(word.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+
+    private long popularity(Suggestion suggestion) {
+        LongAdder popularity = popularityById.get(suggestion.productId());
+        return popularity == null ? 0 : popularity.sum();
+    }
+
+    static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return Arrays.stream(WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+            .filter(word -> !word.isEmpty())
+            .toArray(String[]::new);
+    }
+
+    private record Suggestion(long productId, String name, boolean featured, String[] words) {
+    }
+
+    private record RankedSuggestion(Suggestion suggestion, long popularity) {
+    }
+
+    /**
+     * Best ranked suggestions offered so far, at most one per name and at most a given number.
+     */
+    private static final class TopSuggestions {
+        private final int size;
+        private final Map<String, RankedSuggestion> bestByName = new HashMap<>();
+        private final PriorityQueue<RankedSuggestion> worstFirst = new PriorityQueue<>(RANKING.reversed());
+
+        TopSuggestions(int size) {
+            this.size = size;
+        }
+
+        void offer(RankedSuggestion candidate) {
+            String name = candidate.suggestion().name();
+            RankedSuggestion current = bestByName.get(name);
+            if (current != null) {
+                if (RANKING.compare(candidate, current) < 0) {
+                    worstFirst.remove(current);
+                    keep(candidate);
+                }
+                return;
+            }
+            if (worstFirst.size() == size) {
+                if (RANKING.compare(candidate, worstFirst.peek()) >= 0) {
+                    return;
+                }
+                bestByName.remove(worstFirst.poll().suggestion().name());
+            }
+            keep(candidate);
+        }
+
+        List<String> names() {
+            return ranked().stream()
+                .map(ranked -> ranked.suggestion().name())
+                .toList();
+        }
+
+        List<RankedSuggestion> ranked() {
+            return worstFirst.stream()
+                .sorted(RANKING)
+                .toList();
+        }
+
+        private void keep(RankedSuggestion ranked) {
+            bestByName.put(ranked.suggestion().name(), ranked);
+            worstFirst.add(ranked);
+        }
+    }
+
+    private record WordPosition(Suggestion suggestion, int start) {
+
+        boolean startsWith(String[] keywordWords) {
+            String[] words = suggestion.words();
+            if (words.length - start < keywordWords.length) {
+                return false;
+            }
+            for (int i = 0; i < keywordWords.length; i++) {
+                if (!words[start + i].startsWith(keywordWords[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The names by key and by product, and the best ranked names of every short prefix, all changed in place.
+     */
+    record Suggestions(NavigableMap<String, WordPosition> byKey, Map<Long, Suggestion> byProductId,
+                       Map<String, List<RankedSuggestion>> topByShortPrefix) {
+
+        Suggestion add(Product product) {
+            String[] words = words(product.getName());
+            if (product.getId() == null || words.length == 0) {
+                return null;
+            }
+            Suggestion suggestion = new Suggestion(product.getId(), product.getName(),
+                Boolean.TRUE.equals(product.getIsFeatured()), words);
+            byProductId.put(suggestion.productId(), suggestion);
+            for (int start = 0; start < words.length; start++) {
+                byKey.put(key(suggestion, start), new WordPosition(suggestion, start));
+            }
+            return suggestion;
+        }
+
+        Suggestion remove(Long productId) {
+            Suggestion suggestion = byProductId.remove(productId);
+            if (suggestion == null) {
+                return null;
+            }
+            for (int start = 0; start < suggestion.words().length; start++) {
+                byKey.remove(key(suggestion, start));
+            }
+            return suggestion;
+        }
+
+        private static String key(Suggestion suggestion, int start) {
+            String[] words = suggestion.words();
+            return String.join(" ", Arrays.asList(words).subList(start, words.length))
+                + KEY_SEPARATOR + suggestion.productId();
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.yas.search.service;
 
-import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.search.config.ServiceUrlConfig;
-import com.yas.search.constant.MessageCode;
 import com.yas.search.model.Product;
 import com.yas.search.repository.ProductRepository;
 import com.yas.search.viewmodel.ProductEsDetailVm;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -18,49 +24,92 @@ import org.springframework.web.util.UriComponentsBuilder;
 @RequiredArgsConstructor
 public class ProductSyncDataService {
 
+    /** Keeps the id list of a bulk product call within what the product service accepts at once. */
+    private static final int PRODUCT_FETCH_CHUNK_SIZE = 500;
+
     private final Logger log = LoggerFactory.getLogger(ProductSyncDataService.class);
 
     private final RestClient restClient;
     private final ServiceUrlConfig serviceUrlConfig;
     private final ProductRepository productRepository;
+    private final ProductSearchCache productSearchCache;
+    private final ProductSuggestionIndex productSuggestionIndex;
 
-    public ProductEsDetailVm getProductEsDetailById(Long id) {
-        final URI url = UriComponentsBuilder.fromHttpUrl(
-                serviceUrlConfig.product()).path("/storefront/products-es/{id}").buildAndExpand(id).toUri();
-        return restClient.get()
-                .uri(url)
-                .retrieve()
-                .body(ProductEsDetailVm.class);
+    /**
+     * Fetches the details of several products with one call per {@value #PRODUCT_FETCH_CHUNK_SIZE} ids.
+     *
+     * @param ids the product ids
+     * @return the details of the products that still exist and are published
+     */
+    public List<ProductEsDetailVm> getProductEsDetailsByIds(Collection<Long> ids) {
+        List<Long> idList = List.copyOf(ids);
+        List<ProductEsDetailVm> details = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += PRODUCT_FETCH_CHUNK_SIZE) {
+            List<Long> chunk = idList.subList(from, Math.min(from + PRODUCT_FETCH_CHUNK_SIZE, idList.size()));
+            final URI url = UriComponentsBuilder.fromHttpUrl(serviceUrlConfig.product())
+                    .path("/storefront/products-es")
+                    .queryParam("ids", chunk.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                    .build()
+                    .toUri();
+            List<ProductEsDetailVm> body = restClient.get()
+                    .uri(url)
+                    .retrieve()
+                    .toEntity(new ParameterizedTypeReference<List<ProductEsDetailVm>>() {
+                    })
+                    .getBody();
+            if (body != null) {
+                details.addAll(body);
+            }
+        }
+        return details;
     }
 
-    public void updateProduct(Long id) {
-        ProductEsDetailVm productEsDetailVm = getProductEsDetailById(id);
-        Product product = productRepository.findById(id).orElseThrow(()
-                -> new NotFoundException(MessageCode.PRODUCT_NOT_FOUND, id));
+    /**
+     * Applies the latest change of many products at once: one bulk product call for the created and updated
+     * products, then one Elasticsearch {@code _bulk} index request and one delete request. Created and updated
+     * products are indexed whether or not they are already in the index, products unknown to the product service
+     * or unpublished are removed from it. Cached search results are evicted and name suggestions are updated once
+     * the index is written.
+     *
+     * @param createdIds products created since the last sync
+     * @param updatedIds products updated since the last sync
+     * @param deletedIds products deleted since the last sync
+     */
+    public void syncProducts(Set<Long> createdIds, Set<Long> updatedIds, Set<Long> deletedIds) {
+        Set<Long> idsToFetch = new TreeSet<>(createdIds);
+        idsToFetch.addAll(updatedIds);
+        Set<Long> idsToDelete = new HashSet<>(deletedIds);
+        List<Product> productsToSave = new ArrayList<>();
 
-        if (!productEsDetailVm.isPublished()) {
-            productRepository.deleteById(id);
-            return;
+        if (!idsToFetch.isEmpty()) {
+            List<ProductEsDetailVm> details = getProductEsDetailsByIds(idsToFetch);
+            Set<Long> foundIds = details.stream().map(ProductEsDetailVm::id).collect(Collectors.toSet());
+            for (ProductEsDetailVm detail : details) {
+                productsToSave.add(toProduct(detail.id(), detail));
+            }
+            idsToFetch.stream()
+                    .filter(id -> !foundIds.contains(id))
+                    .forEach(id -> {
+                        log.debug("Product {} is unknown or unpublished, removing it from Elasticsearch.", id);
+                        idsToDelete.add(id);
+                    });
         }
 
-        product.setName(productEsDetailVm.name());
-        product.setSlug(productEsDetailVm.slug());
-        product.setPrice(productEsDetailVm.price());
-        product.setIsPublished(true);
-        product.setIsVisibleIndividually(productEsDetailVm.isVisibleIndividually());
-        product.setIsAllowedToOrder(productEsDetailVm.isAllowedToOrder());
-        product.setIsFeatured(productEsDetailVm.isFeatured());
-        product.setThumbnailMediaId(productEsDetailVm.thumbnailMediaId());
-        product.setBrand(productEsDetailVm.brand());
-        product.setCategories(productEsDetailVm.categories());
-        product.setAttributes(productEsDetailVm.attributes());
-        productRepository.save(product);
+        if (!productsToSave.isEmpty()) {
+            productRepository.saveAll(productsToSave);
+            productSuggestionIndex.put(productsToSave);
+        }
+        if (!idsToDelete.isEmpty()) {
+            productRepository.deleteAllById(idsToDelete);
+            productSuggestionIndex.remove(idsToDelete);
+        }
+        if (!productsToSave.isEmpty() || !idsToDelete.isEmpty()) {
+            productSearchCache.evictAll();
+        }
     }
 
-    public void createProduct(Long id) {
-        ProductEsDetailVm productEsDetailVm = getProductEsDetailById(id);
-
-        Product product = Product.builder()
+    private static Product toProduct(Long id, ProductEsDetailVm productEsDetailVm) {
+        return Product.builder()
                 .id(id)
                 .name(productEsDetailVm.name())
                 .slug(productEsDetailVm.slug())
@@ -74,16 +123,5 @@ public class ProductSyncDataService {
                 .categories(productEsDetailVm.categories())
                 .attributes(productEsDetailVm.attributes())
                 .build();
-
-        productRepository.save(product);
-    }
-
-    public void deleteProduct(Long id) {
-        final boolean isProductExisted = productRepository.existsById(id);
-        if (isProductExisted) {
-            productRepository.deleteById(id);
-        } else {
-            log.warn("Product {} doesn't exist in Elasticsearch.", id);
-        }
     }
 }
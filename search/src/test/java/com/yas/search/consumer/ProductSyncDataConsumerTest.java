@@ -4,15 +4,18 @@ import static com.yas.commonlibrary.kafka.cdc.message.Operation.CREATE;
 import static com.yas.commonlibrary.kafka.cdc.message.Operation.DELETE;
 import static com.yas.commonlibrary.kafka.cdc.message.Operation.READ;
 import static com.yas.commonlibrary.kafka.cdc.message.Operation.UPDATE;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.yas.commonlibrary.kafka.cdc.message.Operation;
+import com.yas.commonlibrary.kafka.cdc.message.Product;
 import com.yas.commonlibrary.kafka.cdc.message.ProductCdcMessage;
 import com.yas.commonlibrary.kafka.cdc.message.ProductMsgKey;
 import com.yas.search.kafka.consumer.ProductSyncDataConsumer;
-import com.yas.commonlibrary.kafka.cdc.message.Product;
 import com.yas.search.service.ProductSyncDataService;
+import java.util.List;
+import java.util.Set;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -21,88 +24,94 @@ import org.mockito.MockitoAnnotations;
 
 class ProductSyncDataConsumerTest {
 
+    private static final String TOPIC = "dbproduct.public.product";
+
     @InjectMocks
     private ProductSyncDataConsumer productSyncDataConsumer;
 
     @Mock
     private ProductSyncDataService productSyncDataService;
 
+    private long offset;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        offset = 0;
     }
 
     @Test
     void testSync_whenCreateAction_createProduct() {
         // When
         long productId = 1L;
-        productSyncDataConsumer.sync(
-                ProductMsgKey.builder().id(productId).build(),
-                ProductCdcMessage.builder()
-                        .after(Product.builder().id(productId).build())
-                        .op(CREATE)
-                        .build());
+        productSyncDataConsumer.sync(List.of(record(productId, CREATE)));
 
         // Then
-        verify(productSyncDataService, times(1)).createProduct(productId);
+        verify(productSyncDataService, times(1)).syncProducts(Set.of(productId), Set.of(), Set.of());
     }
 
     @Test
     void testSync_whenReadAction_createProduct() {
         // When
         long productId = 5L;
-        productSyncDataConsumer.sync(
-                ProductMsgKey.builder().id(productId).build(),
-                ProductCdcMessage.builder()
-                        .after(Product.builder().id(productId).build())
-                        .op(READ)
-                        .build());
+        productSyncDataConsumer.sync(List.of(record(productId, READ)));
 
         // Then
-        verify(productSyncDataService, times(1)).createProduct(productId);
+        verify(productSyncDataService, times(1)).syncProducts(Set.of(productId), Set.of(), Set.of());
     }
 
     @Test
     void testSync_whenUpdateAction_updateProduct() {
         // When
         long productId = 2L;
-        productSyncDataConsumer.sync(
-                ProductMsgKey.builder().id(productId).build(),
-                ProductCdcMessage.builder()
-                        .after(Product.builder().id(productId).build())
-                        .op(UPDATE)
-                        .build());
+        productSyncDataConsumer.sync(List.of(record(productId, UPDATE)));
 
         // Then
-        verify(productSyncDataService, times(1)).updateProduct(productId);
+        verify(productSyncDataService, times(1)).syncProducts(Set.of(), Set.of(productId), Set.of());
     }
 
     @Test
     void testSync_whenDeleteAction_deleteProduct() {
         // When
         final long productId = 3L;
-        productSyncDataConsumer.sync(
-                ProductMsgKey.builder().id(productId).build(),
-                ProductCdcMessage.builder()
-                        .after(Product.builder().id(productId).build())
-                        .op(DELETE)
-                        .build());
+        productSyncDataConsumer.sync(List.of(record(productId, DELETE)));
 
         // Then
-        verify(productSyncDataService, times(1)).deleteProduct(productId);
+        verify(productSyncDataService, times(1)).syncProducts(Set.of(), Set.of(), Set.of(productId));
     }
 
     @Test
     void testSync_whenHardDeleteEvent_deleteProduct() {
         // When
         final long productId = 4L;
-        productSyncDataConsumer.sync(
-                ProductMsgKey.builder().id(productId).build(),
-                null);
+        productSyncDataConsumer.sync(List.of(
+            new ConsumerRecord<>(TOPIC, 0, offset++, ProductMsgKey.builder().id(productId).build(), null)));
+
+        // Then
+        verify(productSyncDataService, times(1)).syncProducts(Set.of(), Set.of(), Set.of(productId));
+    }
+
+    @Test
+    void testSync_whenSeveralEventsForSameProduct_applyOnlyTheLatest() {
+        // When
+        productSyncDataConsumer.sync(List.of(
+            record(1L, CREATE),
+            record(2L, UPDATE),
+            record(1L, UPDATE),
+            record(3L, CREATE),
+            record(2L, DELETE),
+            record(1L, UPDATE)));
 
         // Then
-        verify(productSyncDataService, times(1)).deleteProduct(productId);
-        verify(productSyncDataService, never()).createProduct(productId);
-        verify(productSyncDataService, never()).updateProduct(productId);
+        verify(productSyncDataService, times(1)).syncProducts(Set.of(3L), Set.of(1L), Set.of(2L));
+    }
+
+    private ConsumerRecord<ProductMsgKey, ProductCdcMessage> record(long productId, Operation operation) {
+        return new ConsumerRecord<>(TOPIC, 0, offset++,
+            ProductMsgKey.builder().id(productId).build(),
+            ProductCdcMessage.builder()
+                .after(Product.builder().id(productId).build())
+                .op(operation)
+                .build());
     }
 }
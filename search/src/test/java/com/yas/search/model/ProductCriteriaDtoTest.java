@@ -142,4 +142,21 @@ class ProductCriteriaDtoTest {
         assertEquals(1000, dto.page());
         assertEquals(100, dto.size());
     }
+
+    @Test
+    void testNormalized_whenEquivalentCriteria_thenEqual() {
+        // Given
+        ProductCriteriaDto dto = new ProductCriteriaDto(
+                "  wireless   headphones ", 0, 10, "Sony, audiotech,SONY", " ", ",",
+                10.0, null, SortType.PRICE_ASC);
+
+        // When
+        ProductCriteriaDto normalized = dto.normalized();
+
+        // Then
+        assertEquals(new ProductCriteriaDto(
+                "wireless headphones", 0, 10, "audiotech,sony", null, null,
+                10.0, null, SortType.PRICE_ASC), normalized);
+        assertEquals(normalized, normalized.normalized());
+    }
 }
@@ -0,0 +1,68 @@
+package com.yas.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yas.search.constant.enums.SortType;
+import com.yas.search.model.ProductCriteriaDto;
+import com.yas.search.viewmodel.ProductListGetVm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductSearchCacheTest {
+
+    private static final ProductCriteriaDto CRITERIA = new ProductCriteriaDto(
+        "phone", 0, 12, null, null, null, null, null, SortType.DEFAULT);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProductSearchCache productSearchCache;
+
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productSearchCache = new ProductSearchCache(100, Duration.ofMinutes(1), meterRegistry);
+        searches = new AtomicInteger();
+    }
+
+    @Test
+    void get_whenCriteriaSearchedTwice_thenSearchOnceAndCountHitAndMiss() {
+        ProductListGetVm first = productSearchCache.get(CRITERIA, this::search);
+        ProductListGetVm second = productSearchCache.get(CRITERIA, this::search);
+
+        assertThat(second).isSameAs(first);
+        assertThat(searches).hasValue(1);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void evictAll_thenSearchAgain() {
+        productSearchCache.get(CRITERIA, this::search);
+
+        productSearchCache.evictAll();
+        productSearchCache.get(CRITERIA, this::search);
+
+        assertThat(searches).hasValue(2);
+        assertThat(gets("miss")).isEqualTo(2);
+    }
+
+    private ProductListGetVm search(ProductCriteriaDto criteria) {
+        searches.incrementAndGet();
+        return new ProductListGetVm(List.of(), criteria.page(), criteria.size(), 0, 0, true, Map.of());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+            .tag("cache", ProductSearchCache.CACHE_NAME)
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+}
@@ -2,12 +2,14 @@ package com.yas.search.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.yas.search.constant.enums.SortType;
@@ -16,6 +18,8 @@ import com.yas.search.model.ProductCriteriaDto;
 import com.yas.search.viewmodel.ProductListGetVm;
 import com.yas.search.viewmodel.ProductNameGetVm;
 import com.yas.search.viewmodel.ProductNameListVm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,12 +47,17 @@ class ProductServiceTest {
 
     private ElasticsearchOperations elasticsearchOperations;
 
+    private ProductSuggestionIndex productSuggestionIndex;
+
     private ProductService productService;
 
     @BeforeEach
     void setUp() {
         elasticsearchOperations = mock(ElasticsearchOperations.class);
-        productService = new ProductService(elasticsearchOperations);
+        productSuggestionIndex = mock(ProductSuggestionIndex.class);
+        productService = new ProductService(elasticsearchOperations,
+                new ProductSearchCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                productSuggestionIndex);
     }
 
     @Test
@@ -144,12 +153,25 @@ class ProductServiceTest {
     }
 
     @Test
-    void testAutoCompleteProductName_whenExistsProducts_returnProductNameListVm() {
+    void testFindProductAdvance_whenEquivalentCriteriaSearchedAgain_thenReturnCachedResult() {
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(Product.class))).thenReturn(getSearchHits());
+
+        ProductListGetVm first = productService.findProductAdvance(new ProductCriteriaDto(
+                " test ", 0, 10, "Brand1,Brand2", null, "", null, null, SortType.DEFAULT));
+        ProductListGetVm second = productService.findProductAdvance(new ProductCriteriaDto(
+                "test", 0, 10, "brand2, BRAND1", " ", null, null, null, SortType.DEFAULT));
+        productService.findProductAdvance(new ProductCriteriaDto(
+                "test", 1, 10, "brand1,brand2", null, null, null, null, SortType.DEFAULT));
+
+        assertSame(first, second);
+        verify(elasticsearchOperations, times(2)).search(any(NativeQuery.class), eq(Product.class));
+        verify(productSuggestionIndex, times(3)).recordListings(List.of(1L));
+    }
 
-        SearchHits<Product> searchHits = getSearchHits();
+    @Test
+    void testAutoCompleteProductName_whenExistsProducts_returnProductNameListVm() {
 
-        when(elasticsearchOperations.search(any(NativeQuery.class), eq(Product.class)))
-                .thenReturn(searchHits);
+        when(productSuggestionIndex.suggest("Product", 10)).thenReturn(List.of("Test Product"));
 
         ProductNameListVm result = productService.autoCompleteProductName("Product");
 
@@ -158,7 +180,7 @@ class ProductServiceTest {
         ProductNameGetVm productNameGetVm = result.productNames().getFirst();
         assertEquals("Test Product", productNameGetVm.name());
 
-        verify(elasticsearchOperations).search(any(NativeQuery.class), eq(Product.class));
+        verifyNoInteractions(elasticsearchOperations);
     }
 
     @ParameterizedTest(name = "Test {index}: Filter with brands={0}, categories={1}, attributes={2}")
@@ -252,17 +274,15 @@ class ProductServiceTest {
     @Test
     void testAutoCompleteProductName_whenEmptyKeyword_thenReturnResults() {
         // Given
-        SearchHits<Product> searchHits = getSearchHits();
-
-        when(elasticsearchOperations.search(any(NativeQuery.class), eq(Product.class)))
-                .thenReturn(searchHits);
+        when(productSuggestionIndex.suggest("", 10)).thenReturn(List.of());
 
         // When
         ProductNameListVm result = productService.autoCompleteProductName("");
 
         // Then
         assertNotNull(result);
-        verify(elasticsearchOperations).search(any(NativeQuery.class), eq(Product.class));
+        assertTrue(result.productNames().isEmpty());
+        verify(productSuggestionIndex).suggest("", 10);
     }
 
     @Test
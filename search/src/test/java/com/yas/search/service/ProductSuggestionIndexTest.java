@@ -0,0 +1,160 @@
+package com.yas.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.search.model.Product;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+
+class ProductSuggestionIndexTest {
+
+    private ElasticsearchOperations elasticsearchOperations;
+
+    private ProductSuggestionIndex productSuggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        elasticsearchOperations = mock(ElasticsearchOperations.class);
+        productSuggestionIndex = new ProductSuggestionIndex(elasticsearchOperations);
+    }
+
+    @Test
+    void suggest_whenKeywordWordsPrefixConsecutiveNameWords_thenMatch() {
+        mockIndexedProducts(
+            product(1L, "Macbook Pro 14", false),
+            product(2L, "iPhone 15 Pro Max", false),
+            product(3L, "Mac mini", false));
+
+        assertThat(productSuggestionIndex.suggest("mac", 10)).containsExactly("Mac mini", "Macbook Pro 14");
+        assertThat(productSuggestionIndex.suggest("MAC  pro", 10)).containsExactly("Macbook Pro 14");
+        assertThat(productSuggestionIndex.suggest("pro m", 10)).containsExactly("iPhone 15 Pro Max");
+        assertThat(productSuggestionIndex.suggest("pro mini", 10)).isEmpty();
+        assertThat(productSuggestionIndex.suggest(" - ", 10)).isEmpty();
+        verify(elasticsearchOperations, times(1)).searchForStream(any(NativeQuery.class), eq(Product.class));
+    }
+
+    @Test
+    void suggest_thenRankByPopularityThenFeaturedAndLimit() {
+        mockIndexedProducts(
+            product(1L, "Phone case", false),
+            product(2L, "Phone charger", true),
+            product(3L, "Phone stand", false),
+            product(4L, "Phone stand", false));
+
+        productSuggestionIndex.recordListings(List.of(3L, 3L));
+
+        assertThat(productSuggestionIndex.suggest("phone", 2)).containsExactly("Phone stand", "Phone charger");
+        assertThat(productSuggestionIndex.suggest("phone", 10))
+            .containsExactly("Phone stand", "Phone charger", "Phone case");
+    }
+
+    @Test
+    void suggest_whenShortPrefix_thenServeRankedNamesComputedAhead() {
+        mockIndexedProducts(
+            product(1L, "Phone case", false),
+            product(2L, "Phone charger", true),
+            product(3L, "Pen", false),
+            product(4L, "Smart phone", false));
+
+        assertThat(productSuggestionIndex.suggest("p", 10))
+            .containsExactly("Phone charger", "Pen", "Phone case", "Smart phone");
+        assertThat(productSuggestionIndex.suggest("PH", 2)).containsExactly("Phone charger", "Phone case");
+
+        productSuggestionIndex.recordListings(List.of(4L));
+        assertThat(productSuggestionIndex.suggest("ph", 1)).containsExactly("Phone charger");
+        productSuggestionIndex.refreshRanking();
+        assertThat(productSuggestionIndex.suggest("ph", 1)).containsExactly("Smart phone");
+
+        productSuggestionIndex.put(List.of(product(5L, "Photo frame", true)));
+        assertThat(productSuggestionIndex.suggest("ph", 10))
+            .containsExactly("Smart phone", "Photo frame", "Phone charger", "Phone case");
+    }
+
+    @Test
+    void putAndRemove_whenLoaded_thenApplyRightAway() {
+        mockIndexedProducts(product(1L, "Desk lamp", false));
+        productSuggestionIndex.suggest("desk", 10);
+
+        productSuggestionIndex.put(List.of(product(1L, "Floor lamp", false), product(2L, "Desk chair", false)));
+        assertThat(productSuggestionIndex.suggest("desk", 10)).containsExactly("Desk chair");
+        assertThat(productSuggestionIndex.suggest("lamp", 10)).containsExactly("Floor lamp");
+
+        productSuggestionIndex.remove(List.of(2L));
+        assertThat(productSuggestionIndex.suggest("desk", 10)).isEmpty();
+    }
+
+    @Test
+    void putAndRemove_whenShortPrefix_thenRerankTouchedPrefixesUntilRefresh() {
+        mockIndexedProducts(
+            product(1L, "Phone case", false),
+            product(2L, "Desk", false),
+            product(3L, "Phone stand", false),
+            product(4L, "Phone stand", false));
+        productSuggestionIndex.recordListings(List.of(3L, 3L, 4L));
+        assertThat(productSuggestionIndex.suggest("ph", 10)).containsExactly("Phone stand", "Phone case");
+
+        productSuggestionIndex.put(List.of(product(2L, "Photo desk", true)));
+        assertThat(productSuggestionIndex.suggest("ph", 10)).containsExactly("Phone stand", "Photo desk", "Phone case");
+        assertThat(productSuggestionIndex.suggest("d", 10)).containsExactly("Photo desk");
+
+        productSuggestionIndex.remove(List.of(3L));
+        assertThat(productSuggestionIndex.suggest("ph", 10)).containsExactly("Photo desk", "Phone case");
+        productSuggestionIndex.refreshRanking();
+        assertThat(productSuggestionIndex.suggest("ph", 10)).containsExactly("Phone stand", "Photo desk", "Phone case");
+    }
+
+    @Test
+    void rebuild_whenProductsPutWhileLoading_thenKeepThem() {
+        mockIndexedProducts(product(1L, "Desk lamp", false));
+        productSuggestionIndex.suggest("desk", 10);
+
+        mockIndexedProducts(() -> productSuggestionIndex.put(List.of(product(2L, "Desk chair", false))),
+            product(1L, "Desk lamp", false));
+        productSuggestionIndex.rebuild();
+
+        assertThat(productSuggestionIndex.suggest("desk", 10)).containsExactly("Desk lamp", "Desk chair");
+        assertThat(productSuggestionIndex.suggest("de", 10)).containsExactly("Desk lamp", "Desk chair");
+    }
+
+    private void mockIndexedProducts(Product... products) {
+        mockIndexedProducts(() -> { }, products);
+    }
+
+    /**
+     * Mocks the products found by a rebuild, running {@code whileLoading} after each product is read.
+     */
+    @SuppressWarnings("unchecked")
+    private void mockIndexedProducts(Runnable whileLoading, Product... products) {
+        Iterator<SearchHit<Product>> hits = List.of(products).stream()
+            .map(product -> {
+                SearchHit<Product> hit = mock(SearchHit.class);
+                when(hit.getContent()).thenReturn(product);
+                return hit;
+            })
+            .iterator();
+        SearchHitsIterator<Product> iterator = mock(SearchHitsIterator.class);
+        when(iterator.hasNext()).thenAnswer(invocation -> hits.hasNext());
+        when(iterator.next()).thenAnswer(invocation -> {
+            SearchHit<Product> hit = hits.next();
+            whileLoading.run();
+            return hit;
+        });
+        when(elasticsearchOperations.searchForStream(any(NativeQuery.class), eq(Product.class))).thenReturn(iterator);
+    }
+
+    private static Product product(Long id, String name, boolean featured) {
+        return Product.builder().id(id).name(name).isFeatured(featured).build();
+    }
+}
@@ -1,8 +1,16 @@
 
+# The product connector creates the dbproduct.public.product topic compacted: the cart and inventory rebuild their
+# product snapshots from it, so it must keep the latest record of every product. A topic created before is altered
+# with: kafka-configs --bootstrap-server kafka:9092 --alter --entity-type topics
+#       --entity-name dbproduct.public.product --add-config cleanup.policy=compact
 curl -i -X PUT -H  "Content-Type:application/json" \
     http://localhost:8083/connectors/product-connector/config \
     -d @kafka/connects/debezium-product.json
 
 curl -i -X PUT -H  "Content-Type:application/json" \
     http://localhost:8083/connectors/order-connector/config \
-    -d @kafka/connects/debezium-order.json
\ No newline at end of file
+    -d @kafka/connects/debezium-order.json
+
+curl -i -X PUT -H  "Content-Type:application/json" \
+    http://localhost:8083/connectors/order-outbox-connector/config \
+    -d @kafka/connects/debezium-order-outbox.json
\ No newline at end of file
@@ -6,6 +6,8 @@ import static org.instancio.Select.field;
 import com.yas.commonlibrary.IntegrationTestConfiguration;
 import com.yas.tax.model.TaxClass;
 import com.yas.tax.model.TaxRate;
+import com.yas.tax.viewmodel.taxrate.TaxRateVm;
+import java.util.Comparator;
 import java.util.Set;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.AfterEach;
@@ -67,26 +69,6 @@ class TaxRateRepositoryIT {
         taxClassRepository.deleteAll();
     }
 
-    @Test
-    void testGetTaxPercent_shouldReturnCorrectTaxRate_whenGivenCorrectParams(){
-        assertThat(taxRateRepository.getTaxPercent(
-            taxRate.getCountryId(),
-            taxRate.getStateOrProvinceId(),
-            taxRate.getZipCode(),
-            taxRate.getTaxClass().getId()))
-            .isEqualTo(taxRate.getRate());
-    }
-
-    @Test
-    void testGetTaxPercent_shouldReturnNull_whenGivenWrongParams() {
-        assertThat(taxRateRepository.getTaxPercent(
-            Instancio.of(Long.class).create(),
-            Instancio.of(Long.class).create(),
-            Instancio.of(String.class).create(),
-            Instancio.of(Long.class).create()))
-            .isNull();
-    }
-
     @Test
     void testGetBatchTaxPercent_shouldReturnListOfRates_whenGivenCorrectParams() {
         assertThat(taxRateRepository.getBatchTaxRates(
@@ -98,4 +80,12 @@ class TaxRateRepositoryIT {
             .anyMatch(t -> t.getRate().equals(taxRate2.getRate()))
             .hasSize(2);
     }
+
+    @Test
+    void testFindAllTaxRateVms_shouldReturnEveryRateOrderedById() {
+        assertThat(taxRateRepository.findAllTaxRateVms())
+            .hasSize(3)
+            .isSortedAccordingTo(Comparator.comparing(TaxRateVm::id))
+            .contains(TaxRateVm.fromModel(taxRate), TaxRateVm.fromModel(taxRate2));
+    }
 }
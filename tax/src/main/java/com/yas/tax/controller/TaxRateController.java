@@ -5,6 +5,8 @@ import com.yas.tax.constants.PageableConstant;
 import com.yas.tax.model.TaxRate;
 import com.yas.tax.service.TaxRateService;
 import com.yas.tax.viewmodel.error.ErrorVm;
+import com.yas.tax.viewmodel.taxrate.TaxComputationPostVm;
+import com.yas.tax.viewmodel.taxrate.TaxComputationVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateListGetVm;
 import com.yas.tax.viewmodel.taxrate.TaxRatePostVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateVm;
@@ -106,6 +108,17 @@ public class TaxRateController {
         return ResponseEntity.ok(taxRateService.getTaxPercent(taxClassId, countryId, stateOrProvinceId, zipCode));
     }
 
+    @PostMapping("/compute")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = ApiConstant.CODE_200, description = ApiConstant.OK,
+            content = @Content(schema = @Schema(implementation = TaxComputationVm.class))),
+        @ApiResponse(responseCode = ApiConstant.CODE_400, description = ApiConstant.BAD_REQUEST,
+            content = @Content(schema = @Schema(implementation = ErrorVm.class)))})
+    public ResponseEntity<TaxComputationVm> computeTax(
+        @Valid @RequestBody final TaxComputationPostVm taxComputationPostVm) {
+        return ResponseEntity.ok(taxRateService.computeTax(taxComputationPostVm));
+    }
+
     @GetMapping("/location-based-batch")
     public ResponseEntity<List<TaxRateVm>> getBatchTaxPercentsByAddress(
         @RequestParam(value = "taxClassIds", required = true) final List<Long> taxClassIds,
@@ -1,6 +1,7 @@
 package com.yas.tax.repository;
 
 import com.yas.tax.model.TaxRate;
+import com.yas.tax.viewmodel.taxrate.TaxRateVm;
 import java.util.List;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,14 +12,6 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TaxRateRepository extends JpaRepository<TaxRate, Long> {
 
-    @Query(value = "SELECT rate FROM tax_rate tr WHERE tr.country_id = :countryId "
-        + "AND (tr.state_or_province_id = :stateOrProvinceId OR  tr.state_or_province_id is null) "
-        + "AND tr.tax_class_id = :taxClassId "
-        + "AND (tr.zip_code = :zipCode OR  trim(tr.zip_code) = '' OR  tr.zip_code is null ) "
-        + "FETCH FIRST 1 ROWS ONLY", nativeQuery = true)
-    Double getTaxPercent(@Param("countryId") Long countryId, @Param("stateOrProvinceId") Long stateOrProvinceId,
-                         @Param("zipCode") String zipCode, @Param("taxClassId") Long taxClassId);
-
     @Query(value = """
         SELECT tr FROM TaxRate tr
         WHERE tr.countryId = :countryId
@@ -31,4 +24,12 @@ public interface TaxRateRepository extends JpaRepository<TaxRate, Long> {
                                    @Param("stateOrProvinceId") Long stateOrProvinceId,
                                    @Param("zipCode") String zipCode,
                                    @Param("taxClassIds") Set<Long> taxClassIds);
+
+    @Query(value = """
+        SELECT new com.yas.tax.viewmodel.taxrate.TaxRateVm(
+            tr.id, tr.rate, tr.zipCode, tr.taxClass.id, tr.stateOrProvinceId, tr.countryId)
+        FROM TaxRate tr
+        ORDER BY tr.id
+        """)
+    List<TaxRateVm> findAllTaxRateVms();
 }
@@ -0,0 +1,117 @@
+package com.yas.tax.service;
+
+import com.yas.tax.repository.TaxRateRepository;
+import com.yas.tax.viewmodel.taxrate.TaxRateVm;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * In-memory index of the tax rates keyed by (country, state or province, zip code, tax class), so that a tax
+ * percent is found with a few hash lookups instead of a query per tax class.
+ *
+ * <p>The index is loaded on first use and dropped after each committed tax rate change of this instance. It is
+ * also reloaded periodically to pick up the changes made through other instances.</p>
+ */
+@Slf4j
+@Component
+public class TaxRateIndex {
+
+    private final TaxRateRepository taxRateRepository;
+
+    private volatile Map<Key, Double> rates;
+
+    public TaxRateIndex(TaxRateRepository taxRateRepository) {
+        this.taxRateRepository = taxRateRepository;
+    }
+
+    /**
+     * A missing state or province, or a blank zip code, matches any.
+     */
+    record Key(Long countryId, Long stateOrProvinceId, String zipCode, Long taxClassId) {
+    }
+
+    /**
+     * Finds the rate applying to an address: a rate of the tax class and country matches when its state or province
+     * and its zip code are missing or equal to the address ones. When several rates match, the most specific one
+     * wins: state and zip code, then state, then zip code.
+     *
+     * @return the tax percent, 0 when no rate applies
+     */
+    public double getTaxPercent(Long taxClassId, Long countryId, Long stateOrProvinceId, String zipCode) {
+        Map<Key, Double> snapshot = rates();
+        String zip = StringUtils.hasText(zipCode) ? zipCode : null;
+        List<Key> candidates = List.of(
+            new Key(countryId, stateOrProvinceId, zip, taxClassId),
+            new Key(countryId, stateOrProvinceId, null, taxClassId),
+            new Key(countryId, null, zip, taxClassId),
+            new Key(countryId, null, null, taxClassId)
+        );
+        for (Key candidate : candidates) {
+            Double rate = snapshot.get(candidate);
+            if (rate != null) {
+                return rate;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Drops the index once the current transaction commits, the next lookup reloads it.
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    @Scheduled(
+        initialDelayString = "${yas.tax.rate-index.refresh-interval:PT1M}",
+        fixedDelayString = "${yas.tax.rate-index.refresh-interval:PT1M}"
+    )
+    public synchronized void refresh() {
+        Map<Key, Double> loaded = new HashMap<>();
+        List<TaxRateVm> taxRates = taxRateRepository.findAllTaxRateVms();
+        for (TaxRateVm taxRate : taxRates) {
+            String zip = StringUtils.hasText(taxRate.zipCode()) ? taxRate.zipCode() : null;
+            // rates come ordered by id, the oldest of duplicated rates wins
+            loaded.putIfAbsent(
+                new Key(taxRate.countryId(), taxRate.stateOrProvinceId(), zip, taxRate.taxClassId()),
+                taxRate.rate());
+        }
+        rates = Collections.unmodifiableMap(loaded);
+        log.debug("Loaded {} tax rates into the index", taxRates.size());
+    }
+
+    /* Synchronized with refresh so that a reload reading the data before a change can not overwrite the drop */
+    private synchronized void invalidate() {
+        rates = null;
+    }
+
+    private Map<Key, Double> rates() {
+        Map<Key, Double> snapshot = rates;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (rates == null) {
+                    refresh();
+                }
+                snapshot = rates;
+            }
+        }
+        return snapshot;
+    }
+}
@@ -6,10 +6,16 @@ import com.yas.tax.model.TaxRate;
 import com.yas.tax.repository.TaxClassRepository;
 import com.yas.tax.repository.TaxRateRepository;
 import com.yas.tax.viewmodel.location.StateOrProvinceAndCountryGetNameVm;
+import com.yas.tax.viewmodel.taxrate.TaxComputationPostVm;
+import com.yas.tax.viewmodel.taxrate.TaxComputationVm;
+import com.yas.tax.viewmodel.taxrate.TaxLinePostVm;
+import com.yas.tax.viewmodel.taxrate.TaxLineVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateGetDetailVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateListGetVm;
 import com.yas.tax.viewmodel.taxrate.TaxRatePostVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateVm;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -23,16 +29,22 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class TaxRateService {
 
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final int TAX_AMOUNT_SCALE = 2;
+
     private final TaxRateRepository taxRateRepository;
     private final TaxClassRepository taxClassRepository;
 
+    private final TaxRateIndex taxRateIndex;
+
     private final LocationService locationService;
 
     public TaxRateService(LocationService locationService, TaxRateRepository taxRateRepository,
-                          TaxClassRepository taxClassRepository) {
+                          TaxClassRepository taxClassRepository, TaxRateIndex taxRateIndex) {
         this.locationService = locationService;
         this.taxRateRepository = taxRateRepository;
         this.taxClassRepository = taxClassRepository;
+        this.taxRateIndex = taxRateIndex;
     }
 
     /**
@@ -58,7 +70,9 @@ public class TaxRateService {
             .countryId(taxRatePostVm.countryId())
             .build();
 
-        return taxRateRepository.save(taxRate);
+        final TaxRate savedTaxRate = taxRateRepository.save(taxRate);
+        taxRateIndex.invalidateAfterCommit();
+        return savedTaxRate;
     }
 
     /**
@@ -87,6 +101,7 @@ public class TaxRateService {
         taxRate.setCountryId(taxRatePostVm.countryId());
 
         taxRateRepository.save(taxRate);
+        taxRateIndex.invalidateAfterCommit();
     }
 
     @Transactional
@@ -96,6 +111,7 @@ public class TaxRateService {
             throw new NotFoundException(MessageCode.TAX_RATE_NOT_FOUND, id);
         }
         taxRateRepository.deleteById(id);
+        taxRateIndex.invalidateAfterCommit();
     }
 
     @Transactional(readOnly = true)
@@ -163,12 +179,28 @@ public class TaxRateService {
     }
 
     public double getTaxPercent(Long taxClassId, Long countryId, Long stateOrProvinceId, String zipCode) {
-        Double taxPercent = taxRateRepository.getTaxPercent(countryId, stateOrProvinceId, zipCode, taxClassId);
-        if (taxPercent != null) {
-            return taxPercent;
-        }
+        return taxRateIndex.getTaxPercent(taxClassId, countryId, stateOrProvinceId, zipCode);
+    }
 
-        return 0;
+    /**
+     * Computes the tax of order lines shipped to the same address, from the in-memory tax rate index.
+     *
+     * @param taxComputationPostVm The address and the lines, each with its tax class and taxable amount
+     * @return TaxComputationVm with the lines in the given order and the total tax amount
+     */
+    public TaxComputationVm computeTax(final TaxComputationPostVm taxComputationPostVm) {
+        List<TaxLineVm> lines = new ArrayList<>(taxComputationPostVm.lines().size());
+        BigDecimal totalTaxAmount = BigDecimal.ZERO;
+        for (TaxLinePostVm line : taxComputationPostVm.lines()) {
+            double taxPercent = taxRateIndex.getTaxPercent(line.taxClassId(), taxComputationPostVm.countryId(),
+                taxComputationPostVm.stateOrProvinceId(), taxComputationPostVm.zipCode());
+            BigDecimal taxAmount = line.amount()
+                .multiply(BigDecimal.valueOf(taxPercent))
+                .divide(ONE_HUNDRED, TAX_AMOUNT_SCALE, RoundingMode.HALF_UP);
+            lines.add(new TaxLineVm(line.taxClassId(), line.amount(), taxPercent, taxAmount));
+            totalTaxAmount = totalTaxAmount.add(taxAmount);
+        }
+        return new TaxComputationVm(lines, totalTaxAmount);
     }
 
     public List<TaxRateVm> getBulkTaxRate(List<Long> taxClassIds,
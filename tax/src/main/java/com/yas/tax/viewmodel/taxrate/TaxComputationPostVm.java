@@ -0,0 +1,14 @@
+package com.yas.tax.viewmodel.taxrate;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record TaxComputationPostVm(@NotNull Long countryId,
+                                   Long stateOrProvinceId,
+                                   @Size(max = 25) String zipCode,
+                                   @NotEmpty @Size(max = 500) List<@Valid @NotNull TaxLinePostVm> lines) {
+
+}
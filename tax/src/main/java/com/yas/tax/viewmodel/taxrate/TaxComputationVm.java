@@ -0,0 +1,8 @@
+package com.yas.tax.viewmodel.taxrate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record TaxComputationVm(List<TaxLineVm> lines, BigDecimal totalTaxAmount) {
+
+}
@@ -0,0 +1,10 @@
+package com.yas.tax.viewmodel.taxrate;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+
+public record TaxLinePostVm(@NotNull Long taxClassId,
+                            @NotNull @PositiveOrZero BigDecimal amount) {
+
+}
@@ -0,0 +1,7 @@
+package com.yas.tax.viewmodel.taxrate;
+
+import java.math.BigDecimal;
+
+public record TaxLineVm(Long taxClassId, BigDecimal amount, double taxPercent, BigDecimal taxAmount) {
+
+}
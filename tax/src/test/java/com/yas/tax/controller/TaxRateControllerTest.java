@@ -20,10 +20,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yas.tax.model.TaxClass;
 import com.yas.tax.model.TaxRate;
 import com.yas.tax.service.TaxRateService;
+import com.yas.tax.viewmodel.taxrate.TaxComputationPostVm;
+import com.yas.tax.viewmodel.taxrate.TaxComputationVm;
+import com.yas.tax.viewmodel.taxrate.TaxLinePostVm;
+import com.yas.tax.viewmodel.taxrate.TaxLineVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateGetDetailVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateListGetVm;
 import com.yas.tax.viewmodel.taxrate.TaxRatePostVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateVm;
+import java.math.BigDecimal;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -144,4 +149,30 @@ class TaxRateControllerTest {
             .andExpect(jsonPath("$[0].id", is(3)))
             .andExpect(jsonPath("$[0].rate", is(8.8)));
     }
+
+    @Test
+    void computeTax_shouldReturnComputation() throws Exception {
+        TaxComputationPostVm request = new TaxComputationPostVm(2L, 3L, "75000",
+            List.of(new TaxLinePostVm(1L, new BigDecimal("100"))));
+        TaxComputationVm computation = new TaxComputationVm(
+            List.of(new TaxLineVm(1L, new BigDecimal("100"), 5.5, new BigDecimal("5.50"))), new BigDecimal("5.50"));
+        when(taxRateService.computeTax(request)).thenReturn(computation);
+
+        mockMvc.perform(post("/backoffice/tax-rates/compute")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.lines[0].taxPercent", is(5.5)))
+            .andExpect(jsonPath("$.totalTaxAmount", is(5.50)));
+    }
+
+    @Test
+    void computeTax_whenNoLine_shouldReturnBadRequest() throws Exception {
+        TaxComputationPostVm request = new TaxComputationPostVm(2L, null, null, List.of());
+
+        mockMvc.perform(post("/backoffice/tax-rates/compute")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+    }
 }
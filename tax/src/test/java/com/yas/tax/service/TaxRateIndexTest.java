@@ -0,0 +1,79 @@
+package com.yas.tax.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.tax.repository.TaxRateRepository;
+import com.yas.tax.viewmodel.taxrate.TaxRateVm;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TaxRateIndexTest {
+
+    @Mock
+    TaxRateRepository taxRateRepository;
+
+    TaxRateIndex taxRateIndex;
+
+    @BeforeEach
+    void setUp() {
+        taxRateIndex = new TaxRateIndex(taxRateRepository);
+    }
+
+    @Test
+    void getTaxPercent_whenSeveralRatesMatch_shouldReturnMostSpecific() {
+        when(taxRateRepository.findAllTaxRateVms()).thenReturn(List.of(
+            new TaxRateVm(1L, 1.0, null, 1L, null, 10L),
+            new TaxRateVm(2L, 2.0, "75000", 1L, null, 10L),
+            new TaxRateVm(3L, 3.0, " ", 1L, 20L, 10L),
+            new TaxRateVm(4L, 4.0, "75000", 1L, 20L, 10L)
+        ));
+
+        assertThat(taxRateIndex.getTaxPercent(1L, 10L, 20L, "75000")).isEqualTo(4.0);
+        assertThat(taxRateIndex.getTaxPercent(1L, 10L, 20L, "69000")).isEqualTo(3.0);
+        assertThat(taxRateIndex.getTaxPercent(1L, 10L, 21L, "75000")).isEqualTo(2.0);
+        assertThat(taxRateIndex.getTaxPercent(1L, 10L, null, "")).isEqualTo(1.0);
+        verify(taxRateRepository, times(1)).findAllTaxRateVms();
+    }
+
+    @Test
+    void getTaxPercent_whenNoRateMatches_shouldReturnZero() {
+        when(taxRateRepository.findAllTaxRateVms()).thenReturn(List.of(
+            new TaxRateVm(1L, 5.0, "75000", 1L, 20L, 10L)
+        ));
+
+        assertThat(taxRateIndex.getTaxPercent(2L, 10L, 20L, "75000")).isZero();
+        assertThat(taxRateIndex.getTaxPercent(1L, 11L, 20L, "75000")).isZero();
+        assertThat(taxRateIndex.getTaxPercent(1L, 10L, 20L, null)).isZero();
+    }
+
+    @Test
+    void getTaxPercent_whenDuplicatedRates_shouldReturnOldest() {
+        when(taxRateRepository.findAllTaxRateVms()).thenReturn(List.of(
+            new TaxRateVm(1L, 5.0, null, 1L, null, 10L),
+            new TaxRateVm(2L, 7.0, "", 1L, null, 10L)
+        ));
+
+        assertThat(taxRateIndex.getTaxPercent(1L, 10L, null, null)).isEqualTo(5.0);
+    }
+
+    @Test
+    void invalidateAfterCommit_whenNoTransaction_shouldReloadOnNextLookup() {
+        when(taxRateRepository.findAllTaxRateVms())
+            .thenReturn(List.of(new TaxRateVm(1L, 5.0, null, 1L, null, 10L)))
+            .thenReturn(List.of(new TaxRateVm(1L, 8.0, null, 1L, null, 10L)));
+
+        assertThat(taxRateIndex.getTaxPercent(1L, 10L, null, null)).isEqualTo(5.0);
+        taxRateIndex.invalidateAfterCommit();
+
+        assertThat(taxRateIndex.getTaxPercent(1L, 10L, null, null)).isEqualTo(8.0);
+        verify(taxRateRepository, times(2)).findAllTaxRateVms();
+    }
+}
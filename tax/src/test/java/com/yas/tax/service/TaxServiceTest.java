@@ -17,10 +17,15 @@ import com.yas.tax.model.TaxRate;
 import com.yas.tax.repository.TaxClassRepository;
 import com.yas.tax.repository.TaxRateRepository;
 import com.yas.tax.viewmodel.location.StateOrProvinceAndCountryGetNameVm;
+import com.yas.tax.viewmodel.taxrate.TaxComputationPostVm;
+import com.yas.tax.viewmodel.taxrate.TaxComputationVm;
+import com.yas.tax.viewmodel.taxrate.TaxLinePostVm;
+import com.yas.tax.viewmodel.taxrate.TaxLineVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateGetDetailVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateListGetVm;
 import com.yas.tax.viewmodel.taxrate.TaxRatePostVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateVm;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +50,9 @@ class TaxServiceTest {
     @Mock
     TaxClassRepository taxClassRepository;
 
+    @Mock
+    TaxRateIndex taxRateIndex;
+
     @InjectMocks
     TaxRateService taxRateService;
 
@@ -117,6 +125,7 @@ class TaxServiceTest {
             () -> assertThat(result.getCountryId()).isEqualTo(4L),
             () -> assertThat(result.getTaxClass()).isEqualTo(taxClass)
         );
+        verify(taxRateIndex).invalidateAfterCommit();
     }
 
     @Test
@@ -161,6 +170,7 @@ class TaxServiceTest {
             () -> assertThat(saved.getCountryId()).isEqualTo(66L),
             () -> assertThat(saved.getTaxClass()).isEqualTo(taxClass)
         );
+        verify(taxRateIndex).invalidateAfterCommit();
     }
 
     @Test
@@ -180,6 +190,7 @@ class TaxServiceTest {
         taxRateService.delete(44L);
 
         verify(taxRateRepository).deleteById(44L);
+        verify(taxRateIndex).invalidateAfterCommit();
     }
 
     @Test
@@ -221,23 +232,43 @@ class TaxServiceTest {
     }
 
     @Test
-    void getTaxPercent_whenNull_shouldReturnZero() {
-        when(taxRateRepository.getTaxPercent(anyLong(), anyLong(), any(), anyLong())).thenReturn(null);
+    void getTaxPercent_whenNoRate_shouldReturnZero() {
+        when(taxRateIndex.getTaxPercent(1L, 2L, 3L, "")).thenReturn(0.0);
 
         double result = taxRateService.getTaxPercent(1L, 2L, 3L, "");
 
         assertThat(result).isZero();
+        verifyNoInteractions(taxRateRepository);
     }
 
     @Test
     void getTaxPercent_whenValuePresent_shouldReturnValue() {
-        when(taxRateRepository.getTaxPercent(anyLong(), anyLong(), any(), anyLong())).thenReturn(4.2);
+        when(taxRateIndex.getTaxPercent(1L, 2L, 3L, "")).thenReturn(4.2);
 
         double result = taxRateService.getTaxPercent(1L, 2L, 3L, "");
 
         assertThat(result).isEqualTo(4.2);
     }
 
+    @Test
+    void computeTax_shouldComputeEveryLineFromIndex() {
+        when(taxRateIndex.getTaxPercent(1L, 2L, 3L, "75000")).thenReturn(10.0);
+        when(taxRateIndex.getTaxPercent(4L, 2L, 3L, "75000")).thenReturn(5.5);
+        TaxComputationPostVm postVm = new TaxComputationPostVm(2L, 3L, "75000", List.of(
+            new TaxLinePostVm(1L, new BigDecimal("19.99")),
+            new TaxLinePostVm(4L, new BigDecimal("100")),
+            new TaxLinePostVm(5L, new BigDecimal("42.00"))));
+
+        TaxComputationVm result = taxRateService.computeTax(postVm);
+
+        assertThat(result.lines()).containsExactly(
+            new TaxLineVm(1L, new BigDecimal("19.99"), 10.0, new BigDecimal("2.00")),
+            new TaxLineVm(4L, new BigDecimal("100"), 5.5, new BigDecimal("5.50")),
+            new TaxLineVm(5L, new BigDecimal("42.00"), 0.0, new BigDecimal("0.00")));
+        assertThat(result.totalTaxAmount()).isEqualByComparingTo("7.50");
+        verifyNoInteractions(taxRateRepository);
+    }
+
     @Test
     void getBulkTaxRate_shouldReturnMappedVms() {
         when(taxRateRepository.getBatchTaxRates(anyLong(), anyLong(), any(), any()))